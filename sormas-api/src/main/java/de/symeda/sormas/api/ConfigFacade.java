@@ -52,6 +52,12 @@ public interface ConfigFacade {
 
 	String getCustomFilesPath();
 
+	String getAuditlogSpillPath();
+
+	boolean isAuditlogSpillSync();
+
+	int getAuditlogSpillMaxFiles();
+
 	String getRScriptExecutable();
 
 	char getCsvSeparator();
@@ -74,6 +80,20 @@ public interface ConfigFacade {
 
 	int getInfrastructureSyncThreshold();
 
+	int getSyncPageSize();
+
+	int getPushBatchSize();
+
+	int getDatabaseExportThreads();
+
+	int getCacheRefreshSeconds();
+
+	int getAggregateCacheSize();
+
+	int getAggregateCacheTtlSeconds();
+
+	int getCountCacheTtlSeconds();
+
 	int getDaysAfterCaseGetsArchived();
 
 	int getDaysAfterEventGetsArchived();
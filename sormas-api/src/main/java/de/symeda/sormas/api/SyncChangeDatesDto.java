@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.api;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The latest change dates of the entities the app has, by entity type.
+ */
+public class SyncChangeDatesDto implements Serializable {
+
+	private static final long serialVersionUID = -1306258446402711829L;
+
+	private Map<SyncEntityType, Date> changeDates = new EnumMap<>(SyncEntityType.class);
+	private Date deletedSince;
+
+	/**
+	 * A missing change date means that all entities of the type are requested.
+	 */
+	public Map<SyncEntityType, Date> getChangeDates() {
+		return changeDates;
+	}
+
+	public void setChangeDates(Map<SyncEntityType, Date> changeDates) {
+		this.changeDates = changeDates;
+	}
+
+	/**
+	 * Deleted entities are only counted when this is set.
+	 */
+	public Date getDeletedSince() {
+		return deletedSince;
+	}
+
+	public void setDeletedSince(Date deletedSince) {
+		this.deletedSince = deletedSince;
+	}
+}
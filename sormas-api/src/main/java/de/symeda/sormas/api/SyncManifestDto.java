@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.api;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The number of entities that have been changed or deleted since the {@link SyncChangeDatesDto change dates} of the app,
+ * by entity type. Types without changes are not contained.
+ * <p>
+ * The counts are upper bounds: They may include entities that are not pulled, e.g. because they have been archived.
+ */
+public class SyncManifestDto implements Serializable {
+
+	private static final long serialVersionUID = 6230563370126373312L;
+
+	private Map<SyncEntityType, Long> changedCounts = new EnumMap<>(SyncEntityType.class);
+	private Map<SyncEntityType, Long> deletedCounts = new EnumMap<>(SyncEntityType.class);
+
+	public Map<SyncEntityType, Long> getChangedCounts() {
+		return changedCounts;
+	}
+
+	public void setChangedCounts(Map<SyncEntityType, Long> changedCounts) {
+		this.changedCounts = changedCounts;
+	}
+
+	public Map<SyncEntityType, Long> getDeletedCounts() {
+		return deletedCounts;
+	}
+
+	public void setDeletedCounts(Map<SyncEntityType, Long> deletedCounts) {
+		this.deletedCounts = deletedCounts;
+	}
+
+	public boolean hasChanges(SyncEntityType type) {
+		return changedCounts.containsKey(type);
+	}
+
+	public boolean hasDeletions(SyncEntityType type) {
+		return deletedCounts.containsKey(type);
+	}
+}
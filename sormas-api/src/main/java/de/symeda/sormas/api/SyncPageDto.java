@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.api;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One page of entities that have been changed since a given date, ordered by change date and id.
+ * <p>
+ * The {@link #getNextCursor() next cursor} is an opaque token that has to be passed back to the server
+ * together with the same change date to retrieve the following page. It is {@code null} for the last page.
+ */
+public class SyncPageDto<T extends EntityDto> implements Serializable {
+
+	private static final long serialVersionUID = 2914386240396217537L;
+
+	private List<T> elements;
+	private String nextCursor;
+
+	public SyncPageDto() {
+	}
+
+	public SyncPageDto(List<T> elements, String nextCursor) {
+		this.elements = elements;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<T> getElements() {
+		return elements;
+	}
+
+	public void setElements(List<T> elements) {
+		this.elements = elements;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	public boolean hasNext() {
+		return nextCursor != null;
+	}
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.api;
+
+import java.io.Serializable;
+
+import de.symeda.sormas.api.utils.UuidDigestHelper;
+
+/**
+ * The number and a digest of the uuids that start with the given prefix.
+ * Used to find out which parts of a uuid list differ between server and app without transferring the full list.
+ *
+ * @see UuidDigestHelper
+ */
+public class UuidDigestDto implements Serializable {
+
+	private static final long serialVersionUID = -3504621839240153361L;
+
+	private String prefix;
+	private int count;
+	private long digest;
+
+	public UuidDigestDto() {
+	}
+
+	public UuidDigestDto(String prefix, int count, long digest) {
+		this.prefix = prefix;
+		this.count = count;
+		this.digest = digest;
+	}
+
+	public String getPrefix() {
+		return prefix;
+	}
+
+	public void setPrefix(String prefix) {
+		this.prefix = prefix;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public void setCount(int count) {
+		this.count = count;
+	}
+
+	public long getDigest() {
+		return digest;
+	}
+
+	public void setDigest(long digest) {
+		this.digest = digest;
+	}
+}
@@ -27,6 +27,7 @@ import javax.ejb.Remote;
 import de.symeda.sormas.api.CaseMeasure;
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
 import de.symeda.sormas.api.event.EventParticipantReferenceDto;
 import de.symeda.sormas.api.importexport.ExportConfigurationDto;
@@ -34,6 +35,7 @@ import de.symeda.sormas.api.person.PresentCondition;
 import de.symeda.sormas.api.region.DistrictDto;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
 import de.symeda.sormas.api.region.RegionReferenceDto;
+import de.symeda.sormas.api.utils.CountStrategy;
 import de.symeda.sormas.api.utils.DataHelper.Pair;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
@@ -47,8 +49,22 @@ public interface CaseFacade {
 	//additional change dates filters for: sample, pathogenTests, patient and location.
 	List<CaseDataDto> getAllActiveCasesAfter(Date date, Boolean includeExtendedChangeDateFilters);
 
+	/**
+	 * Pages through the active cases that have been changed after the given date.
+	 * 
+	 * @param cursor
+	 *            {@link SyncPageDto#getNextCursor()} of the previous page or null to retrieve the first page
+	 */
+	SyncPageDto<CaseDataDto> getAllActiveCasesPage(Date date, String cursor);
+
 	long count(CaseCriteria caseCriteria);
 
+	/**
+	 * @param max
+	 *            Only used by {@link CountStrategy#HAS_MORE}
+	 */
+	long count(CaseCriteria caseCriteria, CountStrategy countStrategy, int max);
+
 	List<CaseIndexDto> getIndexList(CaseCriteria caseCriteria, Integer first, Integer max, List<SortProperty> sortProperties);
 
 	List<CaseIndexDetailedDto> getIndexDetailedList(CaseCriteria caseCriteria, Integer first, Integer max, List<SortProperty> sortProperties);
@@ -61,6 +77,21 @@ public interface CaseFacade {
 		ExportConfigurationDto exportConfiguration,
 		Language userLanguage);
 
+	/**
+	 * Keyset paged variant of {@link #getExportList(CaseCriteria, CaseExportType, int, int, ExportConfigurationDto, Language)}
+	 * that does not have to skip the previously exported cases.
+	 * 
+	 * @param afterCaseId
+	 *            {@link CaseExportDto#getId()} of the last case of the previous block or null to retrieve the first block
+	 */
+	List<CaseExportDto> getExportListAfter(
+		CaseCriteria caseCriteria,
+		CaseExportType exportType,
+		Long afterCaseId,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage);
+
 	CaseDataDto getCaseDataByUuid(String uuid);
 
 	CaseDataDto saveCase(CaseDataDto dto) throws ValidationRuntimeException;
@@ -19,6 +19,7 @@ package de.symeda.sormas.api.caze.classification;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import javax.ejb.Remote;
 
@@ -32,6 +33,16 @@ public interface CaseClassificationFacade {
 
 	CaseClassification getClassification(CaseDataDto caze, List<PathogenTestDto> sampleTests);
 
+	/**
+	 * Classifies several cases at once, e.g. to reclassify all cases of a disease after its criteria have been changed.
+	 * The persons of all cases are loaded in one query, so the cases should be passed in reasonably sized batches.
+	 * 
+	 * @param sampleTestsByCase
+	 *            The pathogen tests of the cases' samples by case uuid. Cases without an entry are classified without tests.
+	 * @return The classification of each case, in the same order as the cases
+	 */
+	List<CaseClassification> getClassifications(List<CaseDataDto> cases, Map<String, List<PathogenTestDto>> sampleTestsByCase);
+
 	DiseaseClassificationCriteriaDto getByDisease(Disease disease);
 
 	List<DiseaseClassificationCriteriaDto> getAllSince(Date changeDate);
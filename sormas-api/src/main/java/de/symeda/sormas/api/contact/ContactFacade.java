@@ -25,9 +25,11 @@ import javax.ejb.Remote;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.MapCaseDto;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
 import de.symeda.sormas.api.region.RegionReferenceDto;
+import de.symeda.sormas.api.utils.CountStrategy;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.visit.VisitSummaryExportDto;
 
@@ -36,6 +38,12 @@ public interface ContactFacade {
 
 	List<ContactDto> getAllActiveContactsAfter(Date date);
 
+	/**
+	 * @param cursor
+	 *            {@link SyncPageDto#getNextCursor()} of the previous page or null to retrieve the first page
+	 */
+	SyncPageDto<ContactDto> getAllActiveContactsPage(Date date, String cursor);
+
 	ContactDto getContactByUuid(String uuid);
 
 	Boolean isValidContactUuid(String uuid);
@@ -91,6 +99,12 @@ public interface ContactFacade {
 
 	long count(ContactCriteria contactCriteria);
 
+	/**
+	 * @param max
+	 *            Only used by {@link CountStrategy#HAS_MORE}
+	 */
+	long count(ContactCriteria contactCriteria, CountStrategy countStrategy, int max);
+
 	List<String> getDeletedUuidsSince(Date since);
 
 	boolean isDeleted(String contactUuid);
@@ -0,0 +1,112 @@
+package de.symeda.sormas.api.dashboard;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.symeda.sormas.api.caze.DashboardCaseDto;
+import de.symeda.sormas.api.contact.DashboardContactDto;
+import de.symeda.sormas.api.event.DashboardEventDto;
+import de.symeda.sormas.api.event.EventStatus;
+import de.symeda.sormas.api.sample.PathogenTestResultType;
+
+/**
+ * The data shown by a dashboard for the selected disease and period. Data that is not needed by the dashboard is left empty.
+ */
+public class DashboardDataDto implements Serializable {
+
+	private static final long serialVersionUID = -6203712307451393612L;
+
+	private List<DashboardCaseDto> cases = new ArrayList<>();
+	private List<DashboardCaseDto> previousCases = new ArrayList<>();
+	private String lastReportedDistrictName = "";
+	private Map<PathogenTestResultType, Long> testResultCountByResultType = new HashMap<>();
+	private List<DashboardEventDto> events = new ArrayList<>();
+	private List<DashboardEventDto> previousEvents = new ArrayList<>();
+	private Map<EventStatus, Long> eventCountByStatus = new HashMap<>();
+	private Long outbreakDistrictCount = 0L;
+	private List<DashboardContactDto> contacts = new ArrayList<>();
+	private List<DashboardContactDto> previousContacts = new ArrayList<>();
+
+	public List<DashboardCaseDto> getCases() {
+		return cases;
+	}
+
+	public void setCases(List<DashboardCaseDto> cases) {
+		this.cases = cases;
+	}
+
+	public List<DashboardCaseDto> getPreviousCases() {
+		return previousCases;
+	}
+
+	public void setPreviousCases(List<DashboardCaseDto> previousCases) {
+		this.previousCases = previousCases;
+	}
+
+	public String getLastReportedDistrictName() {
+		return lastReportedDistrictName;
+	}
+
+	public void setLastReportedDistrictName(String lastReportedDistrictName) {
+		this.lastReportedDistrictName = lastReportedDistrictName;
+	}
+
+	public Map<PathogenTestResultType, Long> getTestResultCountByResultType() {
+		return testResultCountByResultType;
+	}
+
+	public void setTestResultCountByResultType(Map<PathogenTestResultType, Long> testResultCountByResultType) {
+		this.testResultCountByResultType = testResultCountByResultType;
+	}
+
+	public List<DashboardEventDto> getEvents() {
+		return events;
+	}
+
+	public void setEvents(List<DashboardEventDto> events) {
+		this.events = events;
+	}
+
+	public List<DashboardEventDto> getPreviousEvents() {
+		return previousEvents;
+	}
+
+	public void setPreviousEvents(List<DashboardEventDto> previousEvents) {
+		this.previousEvents = previousEvents;
+	}
+
+	public Map<EventStatus, Long> getEventCountByStatus() {
+		return eventCountByStatus;
+	}
+
+	public void setEventCountByStatus(Map<EventStatus, Long> eventCountByStatus) {
+		this.eventCountByStatus = eventCountByStatus;
+	}
+
+	public Long getOutbreakDistrictCount() {
+		return outbreakDistrictCount;
+	}
+
+	public void setOutbreakDistrictCount(Long outbreakDistrictCount) {
+		this.outbreakDistrictCount = outbreakDistrictCount;
+	}
+
+	public List<DashboardContactDto> getContacts() {
+		return contacts;
+	}
+
+	public void setContacts(List<DashboardContactDto> contacts) {
+		this.contacts = contacts;
+	}
+
+	public List<DashboardContactDto> getPreviousContacts() {
+		return previousContacts;
+	}
+
+	public void setPreviousContacts(List<DashboardContactDto> previousContacts) {
+		this.previousContacts = previousContacts;
+	}
+}
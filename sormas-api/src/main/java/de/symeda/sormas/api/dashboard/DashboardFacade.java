@@ -0,0 +1,43 @@
+package de.symeda.sormas.api.dashboard;
+
+import java.util.Date;
+
+import javax.ejb.Remote;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.RegionReferenceDto;
+
+/**
+ * Loads the data of a dashboard in one call. The independent queries behind it are run concurrently, so loading takes about
+ * as long as the slowest of them.
+ */
+@Remote
+public interface DashboardFacade {
+
+	/**
+	 * @return The cases, test results, events and outbreaks of the disease. Empty if no disease is selected.
+	 */
+	DashboardDataDto getSurveillanceDashboardData(
+		RegionReferenceDto regionRef,
+		DistrictReferenceDto districtRef,
+		Disease disease,
+		Date from,
+		Date to,
+		Date previousFrom,
+		Date previousTo);
+
+	/**
+	 * @param disease
+	 *            May be null to load the contacts and cases of all diseases
+	 * @return The contacts and cases
+	 */
+	DashboardDataDto getContactsDashboardData(
+		RegionReferenceDto regionRef,
+		DistrictReferenceDto districtRef,
+		Disease disease,
+		Date from,
+		Date to,
+		Date previousFrom,
+		Date previousTo);
+}
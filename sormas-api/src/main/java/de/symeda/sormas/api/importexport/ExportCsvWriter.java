@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.api.importexport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.opencsv.CSVWriter;
+
+import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.caze.AgeAndBirthDateDto;
+import de.symeda.sormas.api.caze.BirthDateDto;
+import de.symeda.sormas.api.caze.BurialInfoDto;
+import de.symeda.sormas.api.caze.CaseExportType;
+import de.symeda.sormas.api.person.PersonHelper;
+import de.symeda.sormas.api.utils.CSVUtils;
+import de.symeda.sormas.api.utils.DataHelper;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.api.utils.Order;
+import de.symeda.sormas.api.utils.fieldvisibility.checkers.CountryFieldVisibilityChecker;
+import de.symeda.sormas.api.visit.VisitExportType;
+
+/**
+ * Writes export rows as CSV. There is one column for each getter of the export row class that is annotated with {@link Order};
+ * getters returning an {@link EntityDto} are replaced with the columns of that entity.
+ * <p>
+ * Used by the UI and the REST interface, so both produce the same export files.
+ */
+public class ExportCsvWriter<T> implements Closeable {
+
+	private final CSVWriter csvWriter;
+	private final Language language;
+	private final List<Method> readMethods;
+	private final Map<Method, Function<T, ?>> subEntityProviders;
+	private final String[] fieldValues;
+
+	/**
+	 * @param exportType
+	 *            Only columns with a matching {@link ExportTarget} are written; all columns if null.
+	 * @param exportConfiguration
+	 *            Only the configured columns are written; all columns if null.
+	 */
+	public ExportCsvWriter(
+		Writer writer,
+		char separator,
+		Class<T> exportRowClass,
+		Enum<?> exportType,
+		ExportConfigurationDto exportConfiguration,
+		String countryLocale,
+		Language language) {
+
+		this.csvWriter = CSVUtils.createCSVWriter(writer, separator);
+		this.language = language;
+
+		CountryFieldVisibilityChecker countryFieldVisibilityChecker = new CountryFieldVisibilityChecker(countryLocale);
+
+		// 1. fields in order of declaration - not using Introspector here, because it gives properties in alphabetical order
+		readMethods = Arrays.stream(exportRowClass.getDeclaredMethods())
+			.filter(
+				m -> (m.getName().startsWith("get") || m.getName().startsWith("is"))
+					&& m.isAnnotationPresent(Order.class)
+					&& (countryFieldVisibilityChecker.isVisible(m))
+					&& (exportType == null || hasExportTarget(exportType, m))
+					&& (exportConfiguration == null
+						|| exportConfiguration.getProperties().contains(m.getAnnotation(ExportProperty.class).value())))
+			.sorted(Comparator.comparingInt(a -> a.getAnnotationsByType(Order.class)[0].value()))
+			.collect(Collectors.toCollection(ArrayList::new));
+
+		// 2. replace entity fields with all the columns of the entity
+		subEntityProviders = new HashMap<>();
+		for (int i = 0; i < readMethods.size(); i++) {
+			Method method = readMethods.get(i);
+			if (EntityDto.class.isAssignableFrom(method.getReturnType())) {
+
+				// allows us to access the sub entity
+				Function<T, ?> subEntityProvider = o -> {
+					try {
+						return method.invoke(o);
+					} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+						throw new RuntimeException(e);
+					}
+				};
+
+				// remove entity field
+				readMethods.remove(i);
+
+				// add columns of the entity
+				List<Method> subReadMethods = Arrays.stream(method.getReturnType().getDeclaredMethods())
+					.filter(m -> (m.getName().startsWith("get") || m.getName().startsWith("is")) && m.isAnnotationPresent(Order.class))
+					.sorted(Comparator.comparingInt(a2 -> a2.getAnnotationsByType(Order.class)[0].value()))
+					.collect(Collectors.toList());
+				readMethods.addAll(i, subReadMethods);
+				i--;
+
+				for (Method subReadMethod : subReadMethods) {
+					subEntityProviders.put(subReadMethod, subEntityProvider);
+				}
+			}
+		}
+
+		fieldValues = new String[readMethods.size()];
+	}
+
+	/**
+	 * @param propertyIdCaptionFunction
+	 *            Provides the caption of a column based on its property id and type.
+	 */
+	public void writeHeader(BiFunction<String, Class<?>, String> propertyIdCaptionFunction) {
+
+		for (int i = 0; i < readMethods.size(); i++) {
+			final Method method = readMethods.get(i);
+			// field caption
+			String propertyId = method.getName().startsWith("get") ? method.getName().substring(3) : method.getName().substring(2);
+			if (method.isAnnotationPresent(ExportProperty.class)) {
+				// the captions are defined for the exported property (e.g. disease for getDiseaseFormatted), not for the getter;
+				// a combined export property covers several getters, which keep their own captions
+				final ExportProperty exportProperty = method.getAnnotation(ExportProperty.class);
+				if (!exportProperty.combined()) {
+					propertyId = exportProperty.value();
+				}
+			}
+			propertyId = Character.toLowerCase(propertyId.charAt(0)) + propertyId.substring(1);
+			fieldValues[i] = propertyIdCaptionFunction.apply(propertyId, method.getReturnType());
+		}
+		csvWriter.writeNext(fieldValues);
+	}
+
+	/**
+	 * Writes the rows and flushes them to the underlying writer.
+	 */
+	public void writeRows(List<T> exportRows) throws IOException {
+
+		try {
+			for (T exportRow : exportRows) {
+				for (int i = 0; i < readMethods.size(); i++) {
+					Method method = readMethods.get(i);
+					Function<T, ?> subEntityProvider = subEntityProviders.getOrDefault(method, null);
+					Object entity = subEntityProvider != null ? subEntityProvider.apply(exportRow) : exportRow;
+					// Sub entity might be null
+					Object value = entity != null ? method.invoke(entity) : null;
+					fieldValues[i] = formatValue(value);
+				}
+				csvWriter.writeNext(fieldValues);
+			}
+		} catch (InvocationTargetException | IllegalAccessException | IllegalArgumentException e) {
+			throw new RuntimeException(e);
+		}
+
+		csvWriter.flush();
+	}
+
+	private String formatValue(Object value) {
+
+		if (value == null) {
+			return "";
+		} else if (value instanceof Date) {
+			return DateHelper.formatLocalDate((Date) value, language);
+		} else if (value.getClass().equals(boolean.class) || value.getClass().equals(Boolean.class)) {
+			return DataHelper.parseBoolean((Boolean) value);
+		} else if (value instanceof Set) {
+			StringBuilder sb = new StringBuilder();
+			for (Object o : (Set<?>) value) {
+				if (sb.length() != 0) {
+					sb.append(", ");
+				}
+				sb.append(o);
+			}
+			return sb.toString();
+		} else if (value instanceof BurialInfoDto) {
+			return PersonHelper.buildBurialInfoString((BurialInfoDto) value, language);
+		} else if (value instanceof AgeAndBirthDateDto) {
+			AgeAndBirthDateDto ageAndBirthDate = (AgeAndBirthDateDto) value;
+			return PersonHelper.getAgeAndBirthdateString(
+				ageAndBirthDate.getAge(),
+				ageAndBirthDate.getAgeType(),
+				ageAndBirthDate.getBirthdateDD(),
+				ageAndBirthDate.getBirthdateMM(),
+				ageAndBirthDate.getBirthdateYYYY(),
+				language);
+		} else if (value instanceof BirthDateDto) {
+			BirthDateDto birthDate = (BirthDateDto) value;
+			return PersonHelper.formatBirthdate(birthDate.getBirthdateDD(), birthDate.getBirthdateMM(), birthDate.getBirthdateYYYY(), language);
+		} else {
+			return value.toString();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		csvWriter.close();
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static boolean hasExportTarget(Enum<?> exportType, Method m) {
+
+		if (m.isAnnotationPresent(ExportTarget.class)) {
+			final Class<? extends Enum> exportTypeClass = exportType.getClass();
+			final ExportTarget exportTarget = m.getAnnotation(ExportTarget.class);
+			Supplier<Enum[]> exportTypeSupplier = null;
+			if (exportTypeClass.isAssignableFrom(CaseExportType.class)) {
+				exportTypeSupplier = exportTarget::caseExportTypes;
+			}
+			if (exportTypeClass.isAssignableFrom(VisitExportType.class)) {
+				exportTypeSupplier = exportTarget::visitExportTypes;
+
+			}
+			return exportTypeSupplier == null ? false : containsExportType(exportType, exportTypeSupplier);
+		}
+		return false;
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static boolean containsExportType(Enum<?> exportType, Supplier<Enum[]> supplier) {
+		return Arrays.asList(supplier.get()).contains(exportType);
+	}
+}
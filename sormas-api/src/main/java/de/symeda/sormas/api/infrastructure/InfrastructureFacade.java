@@ -6,4 +6,9 @@ import javax.ejb.Remote;
 public interface InfrastructureFacade {
 
 	InfrastructureSyncDto getInfrastructureSyncData(InfrastructureChangeDatesDto changeDates);
+
+	/**
+	 * @return The snapshot of the current infrastructure data; it is created if it doesn't exist yet.
+	 */
+	InfrastructureSnapshotDto getInfrastructureSnapshot();
 }
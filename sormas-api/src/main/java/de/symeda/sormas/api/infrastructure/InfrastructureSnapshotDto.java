@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.api.infrastructure;
+
+import java.io.Serializable;
+
+/**
+ * A precomputed snapshot of all regions, districts, communities, facilities and points of entry, stored as a gzip compressed
+ * {@link InfrastructureSyncDto} in JSON format.
+ * <p>
+ * The {@link #getVersion() version} changes whenever the infrastructure data changes and can be used as an entity tag.
+ */
+public class InfrastructureSnapshotDto implements Serializable {
+
+	private static final long serialVersionUID = 5193587296315306724L;
+
+	private String version;
+	private String filePath;
+
+	public InfrastructureSnapshotDto() {
+	}
+
+	public InfrastructureSnapshotDto(String version, String filePath) {
+		this.version = version;
+		this.filePath = filePath;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public void setVersion(String version) {
+		this.version = version;
+	}
+
+	public String getFilePath() {
+		return filePath;
+	}
+
+	public void setFilePath(String filePath) {
+		this.filePath = filePath;
+	}
+}
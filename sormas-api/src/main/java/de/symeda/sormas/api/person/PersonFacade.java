@@ -18,6 +18,7 @@
 package de.symeda.sormas.api.person;
 
 import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
 import de.symeda.sormas.api.user.UserReferenceDto;
@@ -32,6 +33,12 @@ public interface PersonFacade {
 
 	List<PersonDto> getPersonsAfter(Date date);
 
+	/**
+	 * @param cursor
+	 *            {@link SyncPageDto#getNextCursor()} of the previous page or null to retrieve the first page
+	 */
+	SyncPageDto<PersonDto> getPersonsPage(Date date, String cursor);
+
 	List<PersonDto> getDeathsBetween(Date fromDate, Date toDate, DistrictReferenceDto districtRef, Disease disease);
 
 	PersonReferenceDto getReferenceByUuid(String uuid);
@@ -23,6 +23,7 @@ import java.util.Map;
 
 import javax.ejb.Remote;
 
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
@@ -32,6 +33,12 @@ public interface SampleFacade {
 
 	List<SampleDto> getAllActiveSamplesAfter(Date date);
 
+	/**
+	 * @param cursor
+	 *            {@link SyncPageDto#getNextCursor()} of the previous page or null to retrieve the first page
+	 */
+	SyncPageDto<SampleDto> getAllActiveSamplesPage(Date date, String cursor);
+
 	List<SampleIndexDto> getIndexList(SampleCriteria sampleCriteria, Integer first, Integer max, List<SortProperty> sortProperties);
 
 	List<SampleExportDto> getExportList(SampleCriteria sampleCriteria, int first, int max);
@@ -22,6 +22,7 @@ import java.util.List;
 
 import javax.ejb.Remote;
 
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
 import de.symeda.sormas.api.event.EventReferenceDto;
@@ -34,6 +35,12 @@ public interface TaskFacade {
 
 	List<TaskDto> getAllActiveTasksAfter(Date date);
 
+	/**
+	 * @param cursor
+	 *            {@link SyncPageDto#getNextCursor()} of the previous page or null to retrieve the first page
+	 */
+	SyncPageDto<TaskDto> getAllActiveTasksPage(Date date, String cursor);
+
 	List<TaskDto> getAllByCase(CaseReferenceDto caseRef);
 
 	List<TaskDto> getAllByContact(ContactReferenceDto contactRef);
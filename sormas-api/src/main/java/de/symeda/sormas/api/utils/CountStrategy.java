@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.api.utils;
+
+/**
+ * How the number of entities that match a criteria is determined, e.g. for the size of a lazy grid.
+ */
+public enum CountStrategy {
+
+	/**
+	 * Counts all matching entities.
+	 */
+	EXACT,
+
+	/**
+	 * Counts all matching entities, but reuses the count of the same criteria and user for a short time. The count may not
+	 * reflect the latest changes.
+	 */
+	CACHED,
+
+	/**
+	 * Counts at most {@code max + 1} matching entities, so only the first {@code max} of them can be shown. The database
+	 * can stop looking for matches early, which makes this cheap for criteria that match many entities.
+	 */
+	HAS_MORE;
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.api.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import de.symeda.sormas.api.UuidDigestDto;
+
+/**
+ * Computes digests of uuid lists, so server and app can find the parts of their lists that differ by comparing
+ * the digests of the same buckets and only transfer the uuids of buckets with different digests.
+ * <p>
+ * A bucket contains all uuids starting with the same prefix. The digest of a bucket is the sum of the hashes of its uuids and
+ * thus does not depend on the order of the uuids.
+ */
+public final class UuidDigestHelper {
+
+	private UuidDigestHelper() {
+		// Hide Utility Class Constructor
+	}
+
+	/**
+	 * Splits the uuids that start with one of the given prefixes into buckets that are one character longer than their prefix.
+	 * Uuids that don't start with any of the prefixes are ignored. The prefixes must not start with each other.
+	 * 
+	 * @return The digests of all non-empty buckets, ordered by prefix
+	 */
+	public static List<UuidDigestDto> digest(Collection<String> uuids, Collection<String> prefixes) {
+
+		Set<String> prefixSet = new HashSet<>(prefixes);
+		Set<Integer> prefixLengths = getLengths(prefixes);
+
+		Map<String, long[]> buckets = new TreeMap<>();
+		for (String uuid : uuids) {
+			String prefix = findPrefix(uuid, prefixSet, prefixLengths);
+			if (prefix == null) {
+				continue;
+			}
+
+			String bucketPrefix = uuid.substring(0, Math.min(prefix.length() + 1, uuid.length()));
+			long[] bucket = buckets.get(bucketPrefix);
+			if (bucket == null) {
+				bucket = new long[2];
+				buckets.put(bucketPrefix, bucket);
+			}
+			bucket[0]++;
+			bucket[1] += hash(uuid);
+		}
+
+		List<UuidDigestDto> digests = new ArrayList<>(buckets.size());
+		for (Map.Entry<String, long[]> bucket : buckets.entrySet()) {
+			digests.add(new UuidDigestDto(bucket.getKey(), (int) bucket.getValue()[0], bucket.getValue()[1]));
+		}
+		return digests;
+	}
+
+	/**
+	 * @return The uuids that start with one of the given prefixes, in their original order
+	 */
+	public static List<String> filterByPrefixes(Collection<String> uuids, Collection<String> prefixes) {
+
+		Set<String> prefixSet = new HashSet<>(prefixes);
+		Set<Integer> prefixLengths = getLengths(prefixes);
+
+		List<String> result = new ArrayList<>();
+		for (String uuid : uuids) {
+			if (findPrefix(uuid, prefixSet, prefixLengths) != null) {
+				result.add(uuid);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 64 bit FNV-1a hash of the uuid, with the bits mixed like in the finalization step of MurmurHash3,
+	 * so that the sums of similar uuids differ in all bits.
+	 */
+	static long hash(String uuid) {
+
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < uuid.length(); i++) {
+			hash ^= uuid.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	private static Set<Integer> getLengths(Collection<String> prefixes) {
+
+		Set<Integer> lengths = new TreeSet<>();
+		for (String prefix : prefixes) {
+			lengths.add(prefix.length());
+		}
+		return lengths;
+	}
+
+	private static String findPrefix(String uuid, Set<String> prefixes, Set<Integer> prefixLengths) {
+
+		for (int length : prefixLengths) {
+			if (length > uuid.length()) {
+				break;
+			}
+			String prefix = uuid.substring(0, length);
+			if (prefixes.contains(prefix)) {
+				return prefix;
+			}
+		}
+		return null;
+	}
+}
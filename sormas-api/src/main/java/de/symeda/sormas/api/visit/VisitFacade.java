@@ -17,6 +17,7 @@
  *******************************************************************************/
 package de.symeda.sormas.api.visit;
 
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
 import de.symeda.sormas.api.importexport.ExportConfigurationDto;
 import de.symeda.sormas.api.utils.SortProperty;
@@ -30,6 +31,12 @@ public interface VisitFacade {
 
 	List<VisitDto> getAllActiveVisitsAfter(Date date);
 
+	/**
+	 * @param cursor
+	 *            {@link SyncPageDto#getNextCursor()} of the previous page or null to retrieve the first page
+	 */
+	SyncPageDto<VisitDto> getAllActiveVisitsPage(Date date, String cursor);
+
 	VisitDto getVisitByUuid(String uuid);
 
 	VisitDto saveVisit(VisitDto dto);
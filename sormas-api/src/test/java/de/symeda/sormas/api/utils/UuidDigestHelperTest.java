@@ -0,0 +1,51 @@
+package de.symeda.sormas.api.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.UuidDigestDto;
+
+public class UuidDigestHelperTest {
+
+	@Test
+	public void testDigest() {
+
+		List<String> uuids = Arrays.asList("ABC", "ABD", "AXY", "BCD", "C");
+
+		List<UuidDigestDto> digests = UuidDigestHelper.digest(uuids, Collections.singletonList(""));
+		assertEquals(3, digests.size());
+		assertEquals("A", digests.get(0).getPrefix());
+		assertEquals(3, digests.get(0).getCount());
+		assertEquals("B", digests.get(1).getPrefix());
+		assertEquals("C", digests.get(2).getPrefix());
+
+		digests = UuidDigestHelper.digest(uuids, Arrays.asList("A", "C"));
+		assertEquals(3, digests.size());
+		assertEquals("AB", digests.get(0).getPrefix());
+		assertEquals(2, digests.get(0).getCount());
+		assertEquals("AX", digests.get(1).getPrefix());
+		assertEquals("C", digests.get(2).getPrefix());
+		assertEquals(1, digests.get(2).getCount());
+
+		// the digest doesn't depend on the order, but on every uuid
+		UuidDigestDto digest = UuidDigestHelper.digest(Arrays.asList("ABC", "ABD"), Collections.singletonList("")).get(0);
+		assertEquals(digest.getDigest(), UuidDigestHelper.digest(Arrays.asList("ABD", "ABC"), Collections.singletonList("")).get(0).getDigest());
+		assertNotEquals(digest.getDigest(), UuidDigestHelper.digest(Arrays.asList("ABC", "ABE"), Collections.singletonList("")).get(0).getDigest());
+	}
+
+	@Test
+	public void testFilterByPrefixes() {
+
+		List<String> uuids = Arrays.asList("ABC", "ABD", "AXY", "BCD", "C");
+
+		assertEquals(Arrays.asList("ABC", "ABD", "C"), UuidDigestHelper.filterByPrefixes(uuids, Arrays.asList("AB", "C")));
+		assertEquals(uuids, UuidDigestHelper.filterByPrefixes(uuids, Collections.singletonList("")));
+		assertEquals(Collections.emptyList(), UuidDigestHelper.filterByPrefixes(uuids, Collections.<String> emptyList()));
+	}
+}
@@ -18,6 +18,7 @@ package de.symeda.sormas.app.backend.caze;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.CaseDataDto;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.symptoms.SymptomsDto;
@@ -78,6 +79,11 @@ public class CaseDtoHelper extends AdoDtoHelper<Case, CaseDataDto> {
 		return RetroProvider.getCaseFacade().pullAllSince(since);
 	}
 
+	@Override
+	protected Call<SyncPageDto<CaseDataDto>> pullPageSince(long since, String cursor) throws NoConnectionException {
+		return RetroProvider.getCaseFacade().pullPageSince(since, cursor);
+	}
+
 	@Override
 	protected Call<List<CaseDataDto>> pullByUuids(List<String> uuids) throws NoConnectionException {
 		return RetroProvider.getCaseFacade().pullByUuids(uuids);
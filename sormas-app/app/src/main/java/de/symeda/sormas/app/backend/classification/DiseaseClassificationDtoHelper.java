@@ -64,6 +64,15 @@ public class DiseaseClassificationDtoHelper extends AdoDtoHelper<DiseaseClassifi
 		target.setConfirmedCriteria(ClassificationHtmlRenderer.createConfirmedHtmlString(source));
 	}
 
+	@Override
+	protected void handlePulledChunk(AbstractAdoDao<DiseaseClassificationCriteria> dao, List<DiseaseClassificationCriteriaDto> dtos)
+		throws DaoException, SQLException {
+		// the uuid of each DTO is replaced by the one of the existing criteria for its disease
+		for (DiseaseClassificationCriteriaDto dto : dtos) {
+			handlePulledDto(dao, dto);
+		}
+	}
+
 	@Override
 	protected DiseaseClassificationCriteria handlePulledDto(AbstractAdoDao<DiseaseClassificationCriteria> dao, DiseaseClassificationCriteriaDto dto)
 		throws DaoException, SQLException {
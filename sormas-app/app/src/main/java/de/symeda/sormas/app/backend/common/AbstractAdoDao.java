@@ -20,9 +20,14 @@ import java.lang.reflect.Method;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 
 import javax.persistence.NonUniqueResultException;
@@ -53,8 +58,19 @@ import de.symeda.sormas.app.backend.caze.Case;
  */
 public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 
+	/**
+	 * SQLite allows at most 999 parameters per statement
+	 */
+	private static final int MAX_IN_PARAMETERS = 500;
+
 	private Dao<ADO, Long> dao;
 
+	/**
+	 * Filled by {@link #prefetchForMerge(List)} for the thread that merges the pulled entities. The DAOs are shared, so other
+	 * threads keep querying the entities they merge.
+	 */
+	private final ThreadLocal<Prefetched<ADO>> prefetched = new ThreadLocal<>();
+
 	public AbstractAdoDao(Dao<ADO, Long> innerDao) {
 		this.dao = innerDao;
 	}
@@ -514,6 +530,121 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 		}
 	}
 
+	private void prefetchForMergeWithCast(List<AbstractDomainObject> sources) {
+		prefetchForMerge((List<ADO>) sources);
+	}
+
+	/**
+	 * Loads the existing entities and snapshots for the given sources and - recursively - for their embedded entities and list
+	 * elements with one query per table and chunk of {@link #MAX_IN_PARAMETERS} uuids. {@link #mergeOrCreate(AbstractDomainObject)}
+	 * then takes them from memory instead of querying them one by one.
+	 * Has to be called inside {@link #callBatchTasks(Callable)}, so the entities are not changed before they are merged, and
+	 * followed by {@link #clearPrefetched()} in the same transaction.
+	 */
+	public void prefetchForMerge(List<ADO> sources) {
+
+		Prefetched<ADO> prefetched = this.prefetched.get();
+		if (prefetched == null) {
+			prefetched = new Prefetched<>();
+			this.prefetched.set(prefetched);
+		}
+
+		List<String> uuids = new ArrayList<>(sources.size());
+		for (ADO source : sources) {
+			// invalid sources are left to mergeOrCreate
+			if (source.getUuid() != null) {
+				uuids.add(source.getUuid());
+			}
+		}
+		try {
+			for (int i = 0; i < uuids.size(); i += MAX_IN_PARAMETERS) {
+				List<String> chunk = uuids.subList(i, Math.min(i + MAX_IN_PARAMETERS, uuids.size()));
+				for (ADO ado : queryBuilder().where().in(AbstractDomainObject.UUID, chunk).query()) {
+					if (ado.isSnapshot()) {
+						prefetched.snapshots.put(ado.getUuid(), ado);
+					} else {
+						prefetched.entities.put(ado.getUuid(), ado);
+					}
+				}
+			}
+		} catch (SQLException e) {
+			Log.e(getTableName(), "Could not perform prefetchForMerge");
+			throw new RuntimeException(e);
+		}
+		prefetched.uuids.addAll(uuids);
+
+		if (sources.isEmpty()) {
+			return;
+		}
+
+		// collect the embedded entities and list elements by type, like they are merged by mergeOrCreate
+		Map<Class<? extends AbstractDomainObject>, List<AbstractDomainObject>> embeddedSources = new HashMap<>();
+		EmbeddedAdo annotation = sources.get(0).getClass().getAnnotation(EmbeddedAdo.class);
+		String parentProperty = annotation != null ? annotation.parentAccessor() : "";
+		try {
+			for (PropertyDescriptor property : AdoPropertyHelper.getPropertyDescriptors(sources.get(0).getClass())) {
+				if (!AdoPropertyHelper.isModifiableProperty(property) || parentProperty.equals(property.getName())) {
+					continue;
+				}
+
+				boolean embedded = AdoPropertyHelper.hasEmbeddedAnnotation(property);
+				if (!embedded && !Collection.class.isAssignableFrom(property.getPropertyType())) {
+					continue;
+				}
+				for (ADO source : sources) {
+					Object value = property.getReadMethod().invoke(source);
+					if (value == null) {
+						continue;
+					}
+					for (Object element : embedded ? Collections.singleton(value) : (Collection<?>) value) {
+						if (element instanceof AbstractDomainObject) {
+							AbstractDomainObject embeddedSource = (AbstractDomainObject) element;
+							List<AbstractDomainObject> sourcesOfType = embeddedSources.get(embeddedSource.getClass());
+							if (sourcesOfType == null) {
+								sourcesOfType = new ArrayList<>();
+								embeddedSources.put(embeddedSource.getClass(), sourcesOfType);
+							}
+							sourcesOfType.add(embeddedSource);
+						}
+					}
+				}
+			}
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new RuntimeException(e);
+		}
+
+		for (Map.Entry<Class<? extends AbstractDomainObject>, List<AbstractDomainObject>> entry : embeddedSources.entrySet()) {
+			AbstractAdoDao<? extends AbstractDomainObject> embeddedDao = DatabaseHelper.getAdoDao(entry.getKey());
+			embeddedDao.prefetchForMergeWithCast(entry.getValue());
+			prefetched.embeddedDaos.add(embeddedDao);
+		}
+	}
+
+	/**
+	 * Removes the entities loaded by {@link #prefetchForMerge(List)} on this thread, including those of the embedded entities.
+	 */
+	public void clearPrefetched() {
+
+		Prefetched<ADO> prefetched = this.prefetched.get();
+		if (prefetched != null) {
+			this.prefetched.remove();
+			for (AbstractAdoDao<?> embeddedDao : prefetched.embeddedDaos) {
+				embeddedDao.clearPrefetched();
+			}
+		}
+	}
+
+	/**
+	 * A prefetched uuid without entity or snapshot does not exist in the database
+	 */
+	private static class Prefetched<ADO extends AbstractDomainObject> {
+
+		private final Set<String> uuids = new HashSet<>();
+		private final Map<String, ADO> entities = new HashMap<>();
+		private final Map<String, ADO> snapshots = new HashMap<>();
+		private final List<AbstractAdoDao<?>> embeddedDaos = new ArrayList<>();
+	}
+
 	private AbstractDomainObject mergeOrCreateWithCast(AbstractDomainObject ado) throws DaoException {
 		return mergeOrCreate((ADO) ado);
 	}
@@ -531,8 +662,17 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 			throw new IllegalArgumentException("Merged source is not allowed to have an id");
 		}
 
-		ADO current = queryUuid(source.getUuid());
-		ADO snapshot = querySnapshotByUuid(source.getUuid());
+		ADO current;
+		ADO snapshot;
+		// each prefetched entity is only used once, because it is modified by the merge
+		Prefetched<ADO> prefetched = this.prefetched.get();
+		if (prefetched != null && prefetched.uuids.remove(source.getUuid())) {
+			current = prefetched.entities.remove(source.getUuid());
+			snapshot = prefetched.snapshots.remove(source.getUuid());
+		} else {
+			current = queryUuid(source.getUuid());
+			snapshot = querySnapshotByUuid(source.getUuid());
+		}
 		String sourceEntityString = source.toString();
 		if (StringUtils.isEmpty(sourceEntityString)) {
 			sourceEntityString = source.getEntityName();
@@ -927,11 +1067,32 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 	 * @param validUuids
 	 */
 	public void deleteInvalid(final List<String> validUuids) throws DaoException {
+		deleteInvalid(validUuids, null);
+	}
+
+	/**
+	 * Like {@link #deleteInvalid(List)}, but only entities with a uuid that starts with one of the prefixes are considered.
+	 *
+	 * @param uuidPrefixes
+	 *            null to consider all entities
+	 */
+	public void deleteInvalid(final List<String> validUuids, final List<String> uuidPrefixes) throws DaoException {
 		callBatchTasks(new Callable<Void>() {
 
 			public Void call() throws Exception {
 				QueryBuilder<ADO, Long> builder = queryBuilder();
-				builder.where().notIn(AbstractDomainObject.UUID, validUuids);
+				Where<ADO, Long> where = builder.where();
+				where.notIn(AbstractDomainObject.UUID, validUuids);
+				if (uuidPrefixes != null) {
+					if (uuidPrefixes.isEmpty()) {
+						return null;
+					}
+					for (String uuidPrefix : uuidPrefixes) {
+						where.like(AbstractDomainObject.UUID, uuidPrefix + "%");
+					}
+					where.or(uuidPrefixes.size());
+					where.and(2);
+				}
 				List<ADO> invalidEntities = builder.query();
 				int deletionCounter = 0;
 				for (ADO invalidEntity : invalidEntities) {
@@ -979,6 +1140,22 @@ public abstract class AbstractAdoDao<ADO extends AbstractDomainObject> {
 		});
 	}
 
+	/**
+	 * @return The uuids of all entities, without duplicates for snapshots
+	 */
+	public List<String> queryAllUuids() {
+		try {
+			List<String[]> results = dao.queryRaw("SELECT DISTINCT " + AbstractDomainObject.UUID + " FROM " + getTableName()).getResults();
+			List<String> uuids = new ArrayList<>(results.size());
+			for (String[] result : results) {
+				uuids.add(result[0]);
+			}
+			return uuids;
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
 	public List<String> filterMissing(List<String> uuids) {
 		try {
 			GenericRawResults<Object[]> existingUuids = dao.queryRaw(
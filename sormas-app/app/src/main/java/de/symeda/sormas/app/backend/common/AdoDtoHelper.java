@@ -30,6 +30,7 @@ import android.util.Log;
 
 import de.symeda.sormas.api.EntityDto;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.app.rest.NoConnectionException;
 import de.symeda.sormas.app.rest.RetroProvider;
 import de.symeda.sormas.app.rest.ServerCommunicationException;
@@ -42,12 +43,29 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 
 	private static final Logger logger = LoggerFactory.getLogger(AdoDtoHelper.class);
 
+	/**
+	 * Number of pulled DTOs whose existing entities are loaded together
+	 */
+	private static final int MERGE_CHUNK_SIZE = 500;
+
 	protected abstract Class<ADO> getAdoClass();
 
 	protected abstract Class<DTO> getDtoClass();
 
 	protected abstract Call<List<DTO>> pullAllSince(long since) throws NoConnectionException;
 
+	/**
+	 * Pull the entities changed since the given date one page at a time.
+	 * Only implemented for entity types with potentially large result sets.
+	 * 
+	 * @param cursor
+	 *            {@link SyncPageDto#getNextCursor()} of the previous page or null for the first page
+	 * @return null, if paging is not supported. {@link #pullAllSince(long)} is used instead.
+	 */
+	protected Call<SyncPageDto<DTO>> pullPageSince(long since, String cursor) throws NoConnectionException {
+		return null;
+	}
+
 	/**
 	 * Explicitly pull missing entities.
 	 * This is needed, because entities are synced based on user access rights and these might change
@@ -80,7 +98,12 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 			final AbstractAdoDao<ADO> dao = DatabaseHelper.getAdoDao(getAdoClass());
 
 			Date maxModifiedDate = dao.getLatestChangeDate();
-			Call<List<DTO>> dtoCall = pullAllSince(maxModifiedDate != null ? maxModifiedDate.getTime() : 0);
+			long since = maxModifiedDate != null ? maxModifiedDate.getTime() : 0;
+			if (pullPages(dao, since)) {
+				return;
+			}
+
+			Call<List<DTO>> dtoCall = pullAllSince(since);
 			if (dtoCall == null) {
 				return;
 			}
@@ -104,6 +127,10 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 		try {
 			final AbstractAdoDao<ADO> dao = DatabaseHelper.getAdoDao(getAdoClass());
 
+			if (pullPages(dao, 0)) {
+				return;
+			}
+
 			Call<List<DTO>> dtoCall = pullAllSince(0);
 			if (dtoCall == null) {
 				return;
@@ -124,6 +151,47 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 		}
 	}
 
+	/**
+	 * Pulls the entities page by page and stores each page in its own transaction,
+	 * so neither the server nor the app has to hold all changed entities in memory at once.
+	 * 
+	 * @return false, if paging is not supported for this entity type
+	 */
+	private boolean pullPages(final AbstractAdoDao<ADO> dao, long since)
+		throws DaoException, ServerCommunicationException, ServerConnectionException, NoConnectionException {
+
+		Call<SyncPageDto<DTO>> pageCall = pullPageSince(since, null);
+		if (pageCall == null) {
+			return false;
+		}
+
+		while (pageCall != null) {
+			Response<SyncPageDto<DTO>> response;
+			try {
+				response = pageCall.execute();
+			} catch (IOException e) {
+				throw new ServerCommunicationException(e);
+			}
+
+			if (!response.isSuccessful()) {
+				RetroProvider.throwException(response);
+			}
+
+			final SyncPageDto<DTO> page = response.body();
+			if (page == null) {
+				break;
+			}
+
+			if (page.getElements() != null && page.getElements().size() > 0) {
+				handlePulledList(dao, page.getElements());
+			}
+
+			pageCall = page.hasNext() ? pullPageSince(since, page.getNextCursor()) : null;
+		}
+
+		return true;
+	}
+
 	/**
 	 * @return Number of pulled entities
 	 */
@@ -144,8 +212,8 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 		preparePulledResult(result);
 		dao.callBatchTasks((Callable<Void>) () -> {
 //            boolean empty = dao.countOf() == 0;
-			for (DTO dto : result) {
-				handlePulledDto(dao, dto);
+			for (int i = 0; i < result.size(); i += MERGE_CHUNK_SIZE) {
+				handlePulledChunk(dao, result.subList(i, Math.min(i + MERGE_CHUNK_SIZE, result.size())));
 				// TODO #704
 //                        if (entity != null && markAsRead) {
 //                            dao.markAsRead(entity);
@@ -158,6 +226,29 @@ public abstract class AdoDtoHelper<ADO extends AbstractDomainObject, DTO extends
 		return result.size();
 	}
 
+	/**
+	 * Creates the entities for all DTOs of the chunk first, so the existing entities and snapshots needed to merge them can be
+	 * loaded with a few queries instead of several queries per entity.
+	 * Helpers that need to handle the DTOs one by one, e.g. because they reference entities pulled in the same chunk,
+	 * override this to call {@link #handlePulledDto(AbstractAdoDao, EntityDto)} for each DTO.
+	 */
+	protected void handlePulledChunk(AbstractAdoDao<ADO> dao, List<DTO> dtos) throws DaoException, SQLException {
+
+		List<ADO> sources = new ArrayList<>(dtos.size());
+		for (DTO dto : dtos) {
+			sources.add(fillOrCreateFromDto(null, dto));
+		}
+
+		dao.prefetchForMerge(sources);
+		try {
+			for (ADO source : sources) {
+				dao.mergeOrCreate(source);
+			}
+		} finally {
+			dao.clearPrefetched();
+		}
+	}
+
 	/**
 	 * @return The resulting entity. May be null!
 	 */
@@ -18,6 +18,7 @@ package de.symeda.sormas.app.backend.contact;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.contact.ContactDto;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
@@ -59,6 +60,11 @@ public class ContactDtoHelper extends AdoDtoHelper<Contact, ContactDto> {
 		return RetroProvider.getContactFacade().pullAllSince(since);
 	}
 
+	@Override
+	protected Call<SyncPageDto<ContactDto>> pullPageSince(long since, String cursor) throws NoConnectionException {
+		return RetroProvider.getContactFacade().pullPageSince(since, cursor);
+	}
+
 	@Override
 	protected Call<List<ContactDto>> pullByUuids(List<String> uuids) throws NoConnectionException {
 		return RetroProvider.getContactFacade().pullByUuids(uuids);
@@ -118,6 +118,26 @@ public class FacilityDtoHelper extends AdoDtoHelper<Facility, FacilityDto> {
 		}
 	}
 
+	/**
+	 * Stores the facilities of an infrastructure snapshot; skips looking for existing facilities if there are none yet.
+	 */
+	public int handlePulledSnapshot(FacilityDao facilityDao, List<FacilityDto> facilities) throws DaoException {
+		try {
+			databaseWasEmpty = facilityDao.getLatestChangeDate() == null;
+			return handlePulledList(facilityDao, facilities);
+		} finally {
+			databaseWasEmpty = false;
+		}
+	}
+
+	@Override
+	protected void handlePulledChunk(AbstractAdoDao<Facility> dao, List<FacilityDto> dtos) throws DaoException, SQLException {
+		// infrastructure is overwritten instead of merged
+		for (FacilityDto dto : dtos) {
+			handlePulledDto(dao, dto);
+		}
+	}
+
 	// performance tweak: only query for existing during pull, when database was not empty
 	private boolean databaseWasEmpty = false;
 
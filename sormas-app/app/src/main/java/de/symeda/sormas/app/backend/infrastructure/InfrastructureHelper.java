@@ -33,6 +33,18 @@ public class InfrastructureHelper {
 		return changeDates;
 	}
 
+	/**
+	 * Stores the regions, districts, communities, facilities and points of entry of an infrastructure snapshot.
+	 * Everything else is not part of the snapshot and has to be pulled separately.
+	 */
+	public static void handlePulledInfrastructureSnapshot(InfrastructureSyncDto snapshot) throws DaoException {
+		new RegionDtoHelper().handlePulledList(DatabaseHelper.getRegionDao(), snapshot.getRegions());
+		new DistrictDtoHelper().handlePulledList(DatabaseHelper.getDistrictDao(), snapshot.getDistricts());
+		new CommunityDtoHelper().handlePulledList(DatabaseHelper.getCommunityDao(), snapshot.getCommunities());
+		new FacilityDtoHelper().handlePulledSnapshot(DatabaseHelper.getFacilityDao(), snapshot.getFacilities());
+		new PointOfEntryDtoHelper().handlePulledList(DatabaseHelper.getPointOfEntryDao(), snapshot.getPointsOfEntry());
+	}
+
 	public static void handlePulledInfrastructureData(InfrastructureSyncDto infrastructureData) throws DaoException {
 		new RegionDtoHelper().handlePulledList(DatabaseHelper.getRegionDao(), infrastructureData.getRegions());
 		new DistrictDtoHelper().handlePulledList(DatabaseHelper.getDistrictDao(), infrastructureData.getDistricts());
@@ -18,6 +18,7 @@ package de.symeda.sormas.app.backend.person;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.person.PersonDto;
 import de.symeda.sormas.api.person.PersonReferenceDto;
 import de.symeda.sormas.app.backend.common.AdoDtoHelper;
@@ -55,6 +56,11 @@ public class PersonDtoHelper extends AdoDtoHelper<Person, PersonDto> {
 		return RetroProvider.getPersonFacade().pullAllSince(since);
 	}
 
+	@Override
+	protected Call<SyncPageDto<PersonDto>> pullPageSince(long since, String cursor) throws NoConnectionException {
+		return RetroProvider.getPersonFacade().pullPageSince(since, cursor);
+	}
+
 	@Override
 	protected Call<List<PersonDto>> pullByUuids(List<String> uuids) throws NoConnectionException {
 		return RetroProvider.getPersonFacade().pullByUuids(uuids);
@@ -86,6 +86,14 @@ public class CommunityDtoHelper extends AdoDtoHelper<Community, CommunityDto> {
 		}
 	}
 
+	@Override
+	protected void handlePulledChunk(AbstractAdoDao<Community> dao, List<CommunityDto> dtos) throws DaoException, SQLException {
+		// infrastructure is overwritten instead of merged
+		for (CommunityDto dto : dtos) {
+			handlePulledDto(dao, dto);
+		}
+	}
+
 	// performance tweak: only query for existing during pull, when database was not empty
 	private boolean databaseWasEmpty = false;
 
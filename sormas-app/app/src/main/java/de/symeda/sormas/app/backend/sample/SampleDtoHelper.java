@@ -18,6 +18,7 @@ package de.symeda.sormas.app.backend.sample;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.sample.SampleDto;
 import de.symeda.sormas.api.sample.SampleReferenceDto;
 import de.symeda.sormas.app.backend.caze.Case;
@@ -49,6 +50,11 @@ public class SampleDtoHelper extends AdoDtoHelper<Sample, SampleDto> {
 		return RetroProvider.getSampleFacade().pullAllSince(since);
 	}
 
+	@Override
+	protected Call<SyncPageDto<SampleDto>> pullPageSince(long since, String cursor) throws NoConnectionException {
+		return RetroProvider.getSampleFacade().pullPageSince(since, cursor);
+	}
+
 	@Override
 	protected Call<List<SampleDto>> pullByUuids(List<String> uuids) throws NoConnectionException {
 		return RetroProvider.getSampleFacade().pullByUuids(uuids);
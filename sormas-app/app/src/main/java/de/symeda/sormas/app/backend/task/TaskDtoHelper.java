@@ -18,6 +18,7 @@ package de.symeda.sormas.app.backend.task;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.task.TaskDto;
 import de.symeda.sormas.app.backend.caze.Case;
 import de.symeda.sormas.app.backend.caze.CaseDtoHelper;
@@ -53,6 +54,11 @@ public class TaskDtoHelper extends AdoDtoHelper<Task, TaskDto> {
 		return RetroProvider.getTaskFacade().pullAllSince(since);
 	}
 
+	@Override
+	protected Call<SyncPageDto<TaskDto>> pullPageSince(long since, String cursor) throws NoConnectionException {
+		return RetroProvider.getTaskFacade().pullPageSince(since, cursor);
+	}
+
 	@Override
 	protected Call<List<TaskDto>> pullByUuids(List<String> uuids) throws NoConnectionException {
 		return RetroProvider.getTaskFacade().pullByUuids(uuids);
@@ -15,6 +15,7 @@
 
 package de.symeda.sormas.app.backend.user;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -22,7 +23,9 @@ import java.util.List;
 import de.symeda.sormas.api.PushResult;
 import de.symeda.sormas.api.user.UserDto;
 import de.symeda.sormas.api.user.UserReferenceDto;
+import de.symeda.sormas.app.backend.common.AbstractAdoDao;
 import de.symeda.sormas.app.backend.common.AdoDtoHelper;
+import de.symeda.sormas.app.backend.common.DaoException;
 import de.symeda.sormas.app.backend.common.DatabaseHelper;
 import de.symeda.sormas.app.backend.location.LocationDtoHelper;
 import de.symeda.sormas.app.rest.NoConnectionException;
@@ -76,6 +79,14 @@ public class UserDtoHelper extends AdoDtoHelper<User, UserDto> {
 		});
 	}
 
+	@Override
+	protected void handlePulledChunk(AbstractAdoDao<User> dao, List<UserDto> dtos) throws DaoException, SQLException {
+		// associated officers have to be created before the users referencing them, see preparePulledResult
+		for (UserDto dto : dtos) {
+			handlePulledDto(dao, dto);
+		}
+	}
+
 	@Override
 	protected void fillInnerFromDto(User target, UserDto source) {
 		target.setActive(source.isActive());
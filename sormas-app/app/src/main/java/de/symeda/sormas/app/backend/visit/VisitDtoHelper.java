@@ -18,6 +18,7 @@ package de.symeda.sormas.app.backend.visit;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.symptoms.SymptomsDto;
 import de.symeda.sormas.api.visit.VisitDto;
 import de.symeda.sormas.app.backend.common.AdoDtoHelper;
@@ -51,6 +52,11 @@ public class VisitDtoHelper extends AdoDtoHelper<Visit, VisitDto> {
 		return RetroProvider.getVisitFacade().pullAllSince(since);
 	}
 
+	@Override
+	protected Call<SyncPageDto<VisitDto>> pullPageSince(long since, String cursor) throws NoConnectionException {
+		return RetroProvider.getVisitFacade().pullPageSince(since, cursor);
+	}
+
 	@Override
 	protected Call<List<VisitDto>> pullByUuids(List<String> uuids) throws NoConnectionException {
 		return RetroProvider.getVisitFacade().pullByUuids(uuids);
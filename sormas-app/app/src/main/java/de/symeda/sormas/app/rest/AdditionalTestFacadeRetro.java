@@ -17,6 +17,7 @@ package de.symeda.sormas.app.rest;
 
 import java.util.List;
 
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.sample.AdditionalTestDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
@@ -35,4 +36,10 @@ public interface AdditionalTestFacadeRetro {
 	@GET("additionaltests/uuids")
 	Call<List<String>> pullUuids();
 
+	@POST("additionaltests/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("additionaltests/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
+
 }
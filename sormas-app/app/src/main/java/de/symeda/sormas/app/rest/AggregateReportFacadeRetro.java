@@ -3,6 +3,7 @@ package de.symeda.sormas.app.rest;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.report.AggregateReportDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
@@ -24,4 +25,10 @@ public interface AggregateReportFacadeRetro {
 	@GET("aggregatereports/uuids")
 	Call<List<String>> pullUuids();
 
+	@POST("aggregatereports/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("aggregatereports/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
+
 }
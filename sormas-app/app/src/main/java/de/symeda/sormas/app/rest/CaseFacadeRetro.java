@@ -18,18 +18,24 @@ package de.symeda.sormas.app.rest;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.caze.CaseDataDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 public interface CaseFacadeRetro {
 
 	@GET("cases/all/{since}")
 	Call<List<CaseDataDto>> pullAllSince(@Path("since") long since);
 
+	@GET("cases/page/{since}")
+	Call<SyncPageDto<CaseDataDto>> pullPageSince(@Path("since") long since, @Query("cursor") String cursor);
+
 	@POST("cases/query")
 	Call<List<CaseDataDto>> pullByUuids(@Body List<String> uuids);
 
@@ -39,6 +45,12 @@ public interface CaseFacadeRetro {
 	@GET("cases/uuids")
 	Call<List<String>> pullUuids();
 
+	@POST("cases/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("cases/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
+
 	@GET("cases/archived/{since}")
 	Call<List<String>> pullArchivedUuidsSince(@Path("since") long since);
 
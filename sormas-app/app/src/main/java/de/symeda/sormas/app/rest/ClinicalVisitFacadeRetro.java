@@ -18,6 +18,7 @@ package de.symeda.sormas.app.rest;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.clinicalcourse.ClinicalVisitDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
@@ -39,4 +40,10 @@ public interface ClinicalVisitFacadeRetro {
 	@GET("clinicalvisits/uuids")
 	Call<List<String>> pullUuids();
 
+	@POST("clinicalvisits/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("clinicalvisits/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
+
 }
@@ -18,12 +18,15 @@ package de.symeda.sormas.app.rest;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.contact.ContactDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 /**
  * Created by Stefan Szczesny on 24.10.2016.
@@ -33,6 +36,9 @@ public interface ContactFacadeRetro {
 	@GET("contacts/all/{since}")
 	Call<List<ContactDto>> pullAllSince(@Path("since") long since);
 
+	@GET("contacts/page/{since}")
+	Call<SyncPageDto<ContactDto>> pullPageSince(@Path("since") long since, @Query("cursor") String cursor);
+
 	@POST("contacts/query")
 	Call<List<ContactDto>> pullByUuids(@Body List<String> uuids);
 
@@ -42,6 +48,12 @@ public interface ContactFacadeRetro {
 	@GET("contacts/uuids")
 	Call<List<String>> pullUuids();
 
+	@POST("contacts/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("contacts/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
+
 	@GET("contacts/deleted/{since}")
 	Call<List<String>> pullDeletedUuidsSince(@Path("since") long since);
 
@@ -18,6 +18,7 @@ package de.symeda.sormas.app.rest;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.event.EventDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
@@ -39,6 +40,12 @@ public interface EventFacadeRetro {
 	@GET("events/uuids")
 	Call<List<String>> pullUuids();
 
+	@POST("events/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("events/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
+
 	@GET("events/archived/{since}")
 	Call<List<String>> pullArchivedUuidsSince(@Path("since") long since);
 
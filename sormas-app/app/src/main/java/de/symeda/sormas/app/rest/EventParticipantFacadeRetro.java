@@ -18,6 +18,7 @@ package de.symeda.sormas.app.rest;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.event.EventParticipantDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
@@ -39,4 +40,10 @@ public interface EventParticipantFacadeRetro {
 	@GET("eventparticipants/uuids")
 	Call<List<String>> pullUuids();
 
+	@POST("eventparticipants/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("eventparticipants/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
+
 }
@@ -18,6 +18,7 @@ package de.symeda.sormas.app.rest;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.sample.PathogenTestDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
@@ -36,6 +37,12 @@ public interface PathogenTestFacadeRetro {
 	@GET("pathogentests/uuids")
 	Call<List<String>> pullUuids();
 
+	@POST("pathogentests/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("pathogentests/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
+
 	@POST("pathogentests/push")
 	Call<List<PushResult>> pushAll(@Body List<PathogenTestDto> dtos);
 
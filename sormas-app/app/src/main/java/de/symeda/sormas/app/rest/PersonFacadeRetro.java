@@ -18,12 +18,15 @@ package de.symeda.sormas.app.rest;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.person.PersonDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 /**
  * Created by Martin Wahnschaffe on 07.06.2016.
@@ -33,6 +36,9 @@ public interface PersonFacadeRetro {
 	@GET("persons/all/{since}")
 	Call<List<PersonDto>> pullAllSince(@Path("since") long since);
 
+	@GET("persons/page/{since}")
+	Call<SyncPageDto<PersonDto>> pullPageSince(@Path("since") long since, @Query("cursor") String cursor);
+
 	@POST("persons/query")
 	Call<List<PersonDto>> pullByUuids(@Body List<String> uuids);
 
@@ -41,4 +47,10 @@ public interface PersonFacadeRetro {
 
 	@GET("persons/uuids")
 	Call<List<String>> pullUuids();
+
+	@POST("persons/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("persons/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
 }
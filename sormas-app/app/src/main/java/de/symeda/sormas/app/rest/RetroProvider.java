@@ -107,6 +107,7 @@ public final class RetroProvider {
 	private ClinicalVisitFacadeRetro clinicalVisitFacadeRetro;
 	private DiseaseConfigurationFacadeRetro diseaseConfigurationFacadeRetro;
 	private InfrastructureFacadeRetro infrastructureFacadeRetro;
+	private SyncFacadeRetro syncFacadeRetro;
 	private FeatureConfigurationFacadeRetro featureConfigurationFacadeRetro;
 	private AggregateReportFacadeRetro aggregateReportFacadeRetro;
 
@@ -766,6 +767,19 @@ public final class RetroProvider {
 		return instance.infrastructureFacadeRetro;
 	}
 
+	public static SyncFacadeRetro getSyncFacade() throws NoConnectionException {
+		if (instance == null)
+			throw new NoConnectionException();
+		if (instance.syncFacadeRetro == null) {
+			synchronized ((RetroProvider.class)) {
+				if (instance.syncFacadeRetro == null) {
+					instance.syncFacadeRetro = instance.retrofit.create(SyncFacadeRetro.class);
+				}
+			}
+		}
+		return instance.syncFacadeRetro;
+	}
+
 	public static AggregateReportFacadeRetro getAggregateReportFacade() throws NoConnectionException {
 		if (instance == null)
 			throw new NoConnectionException();
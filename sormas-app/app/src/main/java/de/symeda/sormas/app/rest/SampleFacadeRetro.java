@@ -18,12 +18,15 @@ package de.symeda.sormas.app.rest;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.sample.SampleDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 /**
  * Created by Mate Strysewske on 06.02.2017.
@@ -34,6 +37,9 @@ public interface SampleFacadeRetro {
 	@GET("samples/all/{since}")
 	Call<List<SampleDto>> pullAllSince(@Path("since") long since);
 
+	@GET("samples/page/{since}")
+	Call<SyncPageDto<SampleDto>> pullPageSince(@Path("since") long since, @Query("cursor") String cursor);
+
 	@POST("samples/query")
 	Call<List<SampleDto>> pullByUuids(@Body List<String> uuids);
 
@@ -43,6 +49,12 @@ public interface SampleFacadeRetro {
 	@GET("samples/uuids")
 	Call<List<String>> pullUuids();
 
+	@POST("samples/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("samples/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
+
 	@GET("samples/deleted/{since}")
 	Call<List<String>> pullDeletedUuidsSince(@Path("since") long since);
 
@@ -0,0 +1,13 @@
+package de.symeda.sormas.app.rest;
+
+import de.symeda.sormas.api.SyncChangeDatesDto;
+import de.symeda.sormas.api.SyncManifestDto;
+import retrofit2.Call;
+import retrofit2.http.Body;
+import retrofit2.http.POST;
+
+public interface SyncFacadeRetro {
+
+	@POST("sync/manifest")
+	Call<SyncManifestDto> pullSyncManifest(@Body SyncChangeDatesDto changeDates);
+}
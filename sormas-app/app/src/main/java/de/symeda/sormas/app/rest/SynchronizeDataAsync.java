@@ -17,8 +17,21 @@ package de.symeda.sormas.app.rest;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import com.google.firebase.perf.FirebasePerformance;
 import com.google.firebase.perf.metrics.AddTrace;
@@ -28,13 +41,20 @@ import android.content.Context;
 import android.os.AsyncTask;
 import android.util.Log;
 
+import de.symeda.sormas.api.SyncChangeDatesDto;
+import de.symeda.sormas.api.SyncEntityType;
+import de.symeda.sormas.api.SyncManifestDto;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureChangeDatesDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
 import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.api.utils.UuidDigestHelper;
 import de.symeda.sormas.app.R;
 import de.symeda.sormas.app.backend.caze.CaseDtoHelper;
 import de.symeda.sormas.app.backend.classification.DiseaseClassificationDtoHelper;
 import de.symeda.sormas.app.backend.clinicalcourse.ClinicalVisitDtoHelper;
+import de.symeda.sormas.app.backend.common.AbstractAdoDao;
+import de.symeda.sormas.app.backend.common.AdoDtoHelper;
 import de.symeda.sormas.app.backend.common.DaoException;
 import de.symeda.sormas.app.backend.common.DatabaseHelper;
 import de.symeda.sormas.app.backend.config.ConfigProvider;
@@ -70,6 +90,47 @@ import retrofit2.Response;
 
 public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 
+	/**
+	 * Buckets of uuids that differ between server and app are split further as long as they are larger than this.
+	 */
+	private static final int MAX_RECONCILED_BUCKET_SIZE = 100;
+
+	private static final int MAX_PARALLEL_PULLS = 4;
+
+	/**
+	 * Shared by all synchronizations; the threads are stopped when no entities have been pulled for a minute.
+	 */
+	private static final ThreadPoolExecutor PULL_EXECUTOR =
+		new ThreadPoolExecutor(MAX_PARALLEL_PULLS, MAX_PARALLEL_PULLS, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>());
+
+	static {
+		PULL_EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * The entity types are pulled level by level, so entities are only pulled after the entities they reference.
+	 */
+	private static final SyncEntityType[][] PULL_LEVELS = {
+		{
+			SyncEntityType.PERSON,
+			SyncEntityType.EVENT,
+			SyncEntityType.WEEKLY_REPORT,
+			SyncEntityType.AGGREGATE_REPORT },
+		{
+			SyncEntityType.CASE,
+			SyncEntityType.EVENT_PARTICIPANT,
+			SyncEntityType.CONTACT,
+			SyncEntityType.VISIT },
+		{
+			SyncEntityType.SAMPLE,
+			SyncEntityType.PRESCRIPTION,
+			SyncEntityType.CLINICAL_VISIT,
+			SyncEntityType.TASK },
+		{
+			SyncEntityType.PATHOGEN_TEST,
+			SyncEntityType.ADDITIONAL_TEST,
+			SyncEntityType.TREATMENT } };
+
 	/**
 	 * Should be set to true when the synchronization fails and reset to false as soon
 	 * as the last callback is called (i.e. the synchronization has been completed/cancelled).
@@ -105,16 +166,20 @@ public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 				// infrastructure always has to be pulled - otherwise referenced data may be lost (e.g. #586)
 				pullInfrastructure();
 				// pull and remove deleted entities when the last time this has been doen is more than 24 hours ago
-				if (ConfigProvider.getLastDeletedSyncDate() == null
-					|| DateHelper.getFullDaysBetween(ConfigProvider.getLastDeletedSyncDate(), new Date()) >= 1) {
-					pullAndRemoveDeletedUuidsSince(ConfigProvider.getLastDeletedSyncDate());
+				Date lastDeletedSyncDate = ConfigProvider.getLastDeletedSyncDate();
+				boolean deletedSyncNeeded = lastDeletedSyncDate == null || DateHelper.getFullDaysBetween(lastDeletedSyncDate, new Date()) >= 1;
+				// one request tells which entity types have changed or deleted entities at all
+				SyncManifestDto manifest =
+					pullSyncManifest(deletedSyncNeeded ? (lastDeletedSyncDate != null ? lastDeletedSyncDate : new Date(0)) : null);
+				if (deletedSyncNeeded) {
+					pullAndRemoveDeletedUuidsSince(lastDeletedSyncDate, manifest);
 				}
 				// pull and remove archived entities when the last time this has been done is more than 24 hours ago
 				if (ConfigProvider.getLastArchivedSyncDate() == null
 					|| DateHelper.getFullDaysBetween(ConfigProvider.getLastArchivedSyncDate(), new Date()) >= 1) {
 					pullAndRemoveArchivedUuidsSince(ConfigProvider.getLastArchivedSyncDate());
 				}
-				synchronizeChangedData();
+				synchronizeChangedData(manifest);
 
 				syncModeTrace.stop();
 				break;
@@ -125,7 +190,7 @@ public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 				pullInfrastructure(); // do before missing, because we may have a completely empty database
 				pullMissingAndDeleteInvalidInfrastructure();
 				pushNewPullMissingAndDeleteInvalidData();
-				synchronizeChangedData();
+				synchronizeChangedData(pullSyncManifest(null));
 
 				syncModeTrace.stop();
 				break;
@@ -137,7 +202,7 @@ public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 				pullMissingAndDeleteInvalidInfrastructure();
 				repullData();
 				pushNewPullMissingAndDeleteInvalidData();
-				synchronizeChangedData();
+				synchronizeChangedData(pullSyncManifest(null));
 				ConfigProvider.setRepullNeeded(false);
 
 				syncModeTrace.stop();
@@ -226,77 +291,170 @@ public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 			|| DatabaseHelper.getClinicalVisitDao().isAnyModified();
 	}
 
+	/**
+	 * @param manifest
+	 *            Only the entity types that have changes according to the manifest are pulled. When null, all types are pulled.
+	 */
 	@AddTrace(name = "synchronizeChangedDataTrace")
-	private void synchronizeChangedData() throws DaoException, NoConnectionException, ServerConnectionException, ServerCommunicationException {
-		PersonDtoHelper personDtoHelper = new PersonDtoHelper();
-		CaseDtoHelper caseDtoHelper = new CaseDtoHelper();
-		EventDtoHelper eventDtoHelper = new EventDtoHelper();
-		EventParticipantDtoHelper eventParticipantDtoHelper = new EventParticipantDtoHelper();
-		SampleDtoHelper sampleDtoHelper = new SampleDtoHelper();
-		PathogenTestDtoHelper pathogenTestDtoHelper = new PathogenTestDtoHelper();
-		AdditionalTestDtoHelper additionalTestDtoHelper = new AdditionalTestDtoHelper();
-		ContactDtoHelper contactDtoHelper = new ContactDtoHelper();
-		VisitDtoHelper visitDtoHelper = new VisitDtoHelper();
-		TaskDtoHelper taskDtoHelper = new TaskDtoHelper();
-		WeeklyReportDtoHelper weeklyReportDtoHelper = new WeeklyReportDtoHelper();
-		AggregateReportDtoHelper aggregateReportDtoHelper = new AggregateReportDtoHelper();
-		PrescriptionDtoHelper prescriptionDtoHelper = new PrescriptionDtoHelper();
-		TreatmentDtoHelper treatmentDtoHelper = new TreatmentDtoHelper();
-		ClinicalVisitDtoHelper clinicalVisitDtoHelper = new ClinicalVisitDtoHelper();
-
-		// order is important, due to dependencies (e.g. case & person)
+	private void synchronizeChangedData(SyncManifestDto manifest)
+		throws DaoException, NoConnectionException, ServerConnectionException, ServerCommunicationException {
+
+		Map<SyncEntityType, AdoDtoHelper<?, ?>> dtoHelpers = new EnumMap<>(SyncEntityType.class);
+		dtoHelpers.put(SyncEntityType.PERSON, new PersonDtoHelper());
+		dtoHelpers.put(SyncEntityType.CASE, new CaseDtoHelper());
+		dtoHelpers.put(SyncEntityType.EVENT, new EventDtoHelper());
+		dtoHelpers.put(SyncEntityType.EVENT_PARTICIPANT, new EventParticipantDtoHelper());
+		dtoHelpers.put(SyncEntityType.SAMPLE, new SampleDtoHelper());
+		dtoHelpers.put(SyncEntityType.PATHOGEN_TEST, new PathogenTestDtoHelper());
+		dtoHelpers.put(SyncEntityType.ADDITIONAL_TEST, new AdditionalTestDtoHelper());
+		dtoHelpers.put(SyncEntityType.CONTACT, new ContactDtoHelper());
+		dtoHelpers.put(SyncEntityType.VISIT, new VisitDtoHelper());
+		dtoHelpers.put(SyncEntityType.TASK, new TaskDtoHelper());
+		dtoHelpers.put(SyncEntityType.WEEKLY_REPORT, new WeeklyReportDtoHelper());
+		dtoHelpers.put(SyncEntityType.AGGREGATE_REPORT, new AggregateReportDtoHelper());
+		dtoHelpers.put(SyncEntityType.PRESCRIPTION, new PrescriptionDtoHelper());
+		dtoHelpers.put(SyncEntityType.TREATMENT, new TreatmentDtoHelper());
+		dtoHelpers.put(SyncEntityType.CLINICAL_VISIT, new ClinicalVisitDtoHelper());
 
 		new OutbreakDtoHelper().pullEntities(false);
 		new DiseaseConfigurationDtoHelper().pullEntities(false);
 
-		boolean personsNeedPull = personDtoHelper.pullAndPushEntities();
-		boolean casesNeedPull = caseDtoHelper.pullAndPushEntities();
-		boolean eventsNeedPull = eventDtoHelper.pullAndPushEntities();
-		boolean eventParticipantsNeedPull = eventParticipantDtoHelper.pullAndPushEntities();
-		boolean samplesNeedPull = sampleDtoHelper.pullAndPushEntities();
-		boolean sampleTestsNeedPull = pathogenTestDtoHelper.pullAndPushEntities();
-		boolean additionalTestsNeedPull = additionalTestDtoHelper.pullAndPushEntities();
-		boolean contactsNeedPull = contactDtoHelper.pullAndPushEntities();
-		boolean visitsNeedPull = visitDtoHelper.pullAndPushEntities();
-		boolean tasksNeedPull = taskDtoHelper.pullAndPushEntities();
-		boolean weeklyReportsNeedPull = weeklyReportDtoHelper.pullAndPushEntities();
-		boolean aggregateReportsNeedPull = aggregateReportDtoHelper.pullAndPushEntities();
-		boolean prescriptionsNeedPull = prescriptionDtoHelper.pullAndPushEntities();
-		boolean treatmentsNeedPull = treatmentDtoHelper.pullAndPushEntities();
-		boolean clinicalVisitsNeedPull = clinicalVisitDtoHelper.pullAndPushEntities();
-
-		casesNeedPull |= clinicalVisitsNeedPull;
-
-		if (personsNeedPull)
-			personDtoHelper.pullEntities(true);
-		if (casesNeedPull)
-			caseDtoHelper.pullEntities(true);
-		if (eventsNeedPull)
-			eventDtoHelper.pullEntities(true);
-		if (eventParticipantsNeedPull)
-			eventParticipantDtoHelper.pullEntities(true);
-		if (samplesNeedPull)
-			sampleDtoHelper.pullEntities(true);
-		if (sampleTestsNeedPull)
-			pathogenTestDtoHelper.pullEntities(true);
-		if (additionalTestsNeedPull)
-			additionalTestDtoHelper.pullEntities(true);
-		if (contactsNeedPull)
-			contactDtoHelper.pullEntities(true);
-		if (visitsNeedPull)
-			visitDtoHelper.pullEntities(true);
-		if (tasksNeedPull)
-			taskDtoHelper.pullEntities(true);
-		if (weeklyReportsNeedPull)
-			weeklyReportDtoHelper.pullEntities(true);
-		if (aggregateReportsNeedPull)
-			aggregateReportDtoHelper.pullEntities(true);
-		if (prescriptionsNeedPull)
-			prescriptionDtoHelper.pullEntities(true);
-		if (treatmentsNeedPull)
-			treatmentDtoHelper.pullEntities(true);
-		if (clinicalVisitsNeedPull)
-			clinicalVisitDtoHelper.pullEntities(true);
+		pullEntities(dtoHelpers, getChangedTypes(dtoHelpers.keySet(), manifest), false);
+
+		// order is important, due to dependencies (e.g. case & person)
+		Set<SyncEntityType> needPullTypes = EnumSet.noneOf(SyncEntityType.class);
+		for (Map.Entry<SyncEntityType, AdoDtoHelper<?, ?>> entry : dtoHelpers.entrySet()) {
+			if (entry.getValue().pushEntities(false)) {
+				needPullTypes.add(entry.getKey());
+			}
+		}
+
+		if (needPullTypes.contains(SyncEntityType.CLINICAL_VISIT)) {
+			needPullTypes.add(SyncEntityType.CASE);
+		}
+		pullEntities(dtoHelpers, needPullTypes, true);
+	}
+
+	/**
+	 * @param manifest
+	 *            When null, all types are considered changed
+	 */
+	static Set<SyncEntityType> getChangedTypes(Set<SyncEntityType> types, SyncManifestDto manifest) {
+
+		Set<SyncEntityType> changedTypes = EnumSet.noneOf(SyncEntityType.class);
+		for (SyncEntityType type : types) {
+			if (manifest == null || manifest.hasChanges(type)) {
+				changedTypes.add(type);
+			}
+		}
+		return changedTypes;
+	}
+
+	/**
+	 * Pulls the entities of the given types in parallel, level by level (see {@link #PULL_LEVELS}). SQLite serializes the
+	 * transactions the pulled entities are stored in, so only the requests and the parsing of the responses overlap. Each pull
+	 * runs on its own thread, so the entities prefetched for DAOs that are shared by several types (e.g. locations) are kept apart.
+	 */
+	static void pullEntities(Map<SyncEntityType, AdoDtoHelper<?, ?>> dtoHelpers, Set<SyncEntityType> types, final boolean markAsRead)
+		throws DaoException, NoConnectionException, ServerConnectionException, ServerCommunicationException {
+
+		for (SyncEntityType[] level : PULL_LEVELS) {
+			List<Future<Void>> pulls = new ArrayList<>();
+			for (SyncEntityType type : level) {
+				if (types.contains(type)) {
+					final AdoDtoHelper<?, ?> dtoHelper = dtoHelpers.get(type);
+					pulls.add(PULL_EXECUTOR.submit(() -> {
+						dtoHelper.pullEntities(markAsRead);
+						return null;
+					}));
+				}
+			}
+
+			// all pulls of the level are finished before a failure is passed on
+			ExecutionException failure = null;
+			for (Future<Void> pull : pulls) {
+				try {
+					pull.get();
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = e;
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException(e);
+				}
+			}
+			if (failure != null) {
+				throwPullFailure(failure);
+			}
+		}
+	}
+
+	private static void throwPullFailure(ExecutionException failure)
+		throws DaoException, NoConnectionException, ServerConnectionException, ServerCommunicationException {
+
+		Throwable cause = failure.getCause();
+		if (cause instanceof DaoException) {
+			throw (DaoException) cause;
+		} else if (cause instanceof NoConnectionException) {
+			throw (NoConnectionException) cause;
+		} else if (cause instanceof ServerConnectionException) {
+			throw (ServerConnectionException) cause;
+		} else if (cause instanceof ServerCommunicationException) {
+			throw (ServerCommunicationException) cause;
+		} else if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		} else {
+			throw new RuntimeException(cause);
+		}
+	}
+
+	/**
+	 * @param deletedSince
+	 *            When set, the manifest also contains the number of deleted entities
+	 * @return null, if the server does not provide a manifest - all entity types have to be synchronized then
+	 */
+	private SyncManifestDto pullSyncManifest(Date deletedSince) throws NoConnectionException, ServerCommunicationException {
+
+		SyncChangeDatesDto changeDates = new SyncChangeDatesDto();
+		putChangeDate(changeDates, SyncEntityType.PERSON, DatabaseHelper.getPersonDao());
+		putChangeDate(changeDates, SyncEntityType.CASE, DatabaseHelper.getCaseDao());
+		putChangeDate(changeDates, SyncEntityType.EVENT, DatabaseHelper.getEventDao());
+		putChangeDate(changeDates, SyncEntityType.EVENT_PARTICIPANT, DatabaseHelper.getEventParticipantDao());
+		putChangeDate(changeDates, SyncEntityType.SAMPLE, DatabaseHelper.getSampleDao());
+		putChangeDate(changeDates, SyncEntityType.PATHOGEN_TEST, DatabaseHelper.getSampleTestDao());
+		putChangeDate(changeDates, SyncEntityType.ADDITIONAL_TEST, DatabaseHelper.getAdditionalTestDao());
+		putChangeDate(changeDates, SyncEntityType.CONTACT, DatabaseHelper.getContactDao());
+		putChangeDate(changeDates, SyncEntityType.VISIT, DatabaseHelper.getVisitDao());
+		putChangeDate(changeDates, SyncEntityType.TASK, DatabaseHelper.getTaskDao());
+		putChangeDate(changeDates, SyncEntityType.WEEKLY_REPORT, DatabaseHelper.getWeeklyReportDao());
+		putChangeDate(changeDates, SyncEntityType.AGGREGATE_REPORT, DatabaseHelper.getAggregateReportDao());
+		putChangeDate(changeDates, SyncEntityType.PRESCRIPTION, DatabaseHelper.getPrescriptionDao());
+		putChangeDate(changeDates, SyncEntityType.TREATMENT, DatabaseHelper.getTreatmentDao());
+		putChangeDate(changeDates, SyncEntityType.CLINICAL_VISIT, DatabaseHelper.getClinicalVisitDao());
+		changeDates.setDeletedSince(deletedSince);
+
+		Response<SyncManifestDto> response;
+		try {
+			response = RetroProvider.getSyncFacade().pullSyncManifest(changeDates).execute();
+		} catch (IOException e) {
+			throw new ServerCommunicationException(e);
+		}
+
+		if (response.isSuccessful() && response.body() != null) {
+			return response.body();
+		} else {
+			Log.w(SynchronizeDataAsync.class.getSimpleName(), "Sync manifest not available: " + response.code());
+			return null;
+		}
+	}
+
+	private static void putChangeDate(SyncChangeDatesDto changeDates, SyncEntityType type, AbstractAdoDao<?> dao) {
+
+		Date latestChangeDate = dao.getLatestChangeDate();
+		if (latestChangeDate != null) {
+			changeDates.getChangeDates().put(type, latestChangeDate);
+		}
 	}
 
 	@AddTrace(name = "repullDataTrace")
@@ -372,6 +530,9 @@ public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 
 	@AddTrace(name = "pullInitialInfrastructureTrace")
 	private void pullInitialInfrastructure() throws DaoException, ServerCommunicationException, ServerConnectionException, NoConnectionException {
+		// the snapshot contains most of the infrastructure; only what has been changed after it was created is pulled afterwards
+		pullInfrastructureSnapshot();
+
 		new RegionDtoHelper().pullEntities(false);
 		new DistrictDtoHelper().pullEntities(false);
 		new CommunityDtoHelper().pullEntities(false);
@@ -401,6 +562,22 @@ public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 		ConfigProvider.setInitialSyncRequired(false);
 	}
 
+	private void pullInfrastructureSnapshot() throws DaoException, ServerCommunicationException, NoConnectionException {
+		Response<InfrastructureSyncDto> response;
+		try {
+			response = RetroProvider.getInfrastructureFacade().pullInfrastructureSnapshot().execute();
+		} catch (IOException e) {
+			throw new ServerCommunicationException(e);
+		}
+
+		// servers that don't provide a snapshot are synchronized entity by entity
+		if (response.isSuccessful() && response.body() != null) {
+			InfrastructureHelper.handlePulledInfrastructureSnapshot(response.body());
+		} else {
+			Log.w(SynchronizeDataAsync.class.getSimpleName(), "Infrastructure snapshot not available: " + response.code());
+		}
+	}
+
 	@AddTrace(name = "pullAndRemoveArchivedUuidsSinceTrace")
 	private void pullAndRemoveArchivedUuidsSince(Date since) throws NoConnectionException, ServerConnectionException, ServerCommunicationException {
 		Log.d(SynchronizeDataAsync.class.getSimpleName(), "pullArchivedUuidsSince");
@@ -431,33 +608,50 @@ public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 		}
 	}
 
+	/**
+	 * @param manifest
+	 *            The deleted uuids are only pulled for the entity types that have deletions according to the manifest. When null,
+	 *            they are pulled for all types.
+	 */
 	@AddTrace(name = "pullAndRemoveDeletedUuidsSinceTrace")
-	private void pullAndRemoveDeletedUuidsSince(Date since) throws NoConnectionException, ServerConnectionException, ServerCommunicationException {
+	private void pullAndRemoveDeletedUuidsSince(Date since, SyncManifestDto manifest)
+		throws NoConnectionException, ServerConnectionException, ServerCommunicationException {
 		Log.d(SynchronizeDataAsync.class.getSimpleName(), "pullDeletedUuidsSince");
 
 		try {
 			// Cases
-			List<String> caseUuids = executeUuidCall(RetroProvider.getCaseFacade().pullDeletedUuidsSince(since != null ? since.getTime() : 0));
-			for (String caseUuid : caseUuids) {
-				DatabaseHelper.getCaseDao().deleteCaseAndAllDependingEntities(caseUuid);
+			if (manifest == null || manifest.hasDeletions(SyncEntityType.CASE)) {
+				List<String> caseUuids = executeUuidCall(RetroProvider.getCaseFacade().pullDeletedUuidsSince(since != null ? since.getTime() : 0));
+				for (String caseUuid : caseUuids) {
+					DatabaseHelper.getCaseDao().deleteCaseAndAllDependingEntities(caseUuid);
+				}
 			}
 
 			// Events
-			List<String> eventUuids = executeUuidCall(RetroProvider.getEventFacade().pullDeletedUuidsSince(since != null ? since.getTime() : 0));
-			for (String eventUuid : eventUuids) {
-				DatabaseHelper.getEventDao().deleteEventAndAllDependingEntities(eventUuid);
+			if (manifest == null || manifest.hasDeletions(SyncEntityType.EVENT)) {
+				List<String> eventUuids =
+					executeUuidCall(RetroProvider.getEventFacade().pullDeletedUuidsSince(since != null ? since.getTime() : 0));
+				for (String eventUuid : eventUuids) {
+					DatabaseHelper.getEventDao().deleteEventAndAllDependingEntities(eventUuid);
+				}
 			}
 
 			// Contacts
-			List<String> contactUuids = executeUuidCall(RetroProvider.getContactFacade().pullDeletedUuidsSince(since != null ? since.getTime() : 0));
-			for (String contactUuid : contactUuids) {
-				DatabaseHelper.getContactDao().deleteContactAndAllDependingEntities(contactUuid);
+			if (manifest == null || manifest.hasDeletions(SyncEntityType.CONTACT)) {
+				List<String> contactUuids =
+					executeUuidCall(RetroProvider.getContactFacade().pullDeletedUuidsSince(since != null ? since.getTime() : 0));
+				for (String contactUuid : contactUuids) {
+					DatabaseHelper.getContactDao().deleteContactAndAllDependingEntities(contactUuid);
+				}
 			}
 
 			// Samples
-			List<String> sampleUuids = executeUuidCall(RetroProvider.getSampleFacade().pullDeletedUuidsSince(since != null ? since.getTime() : 0));
-			for (String sampleUuid : sampleUuids) {
-				DatabaseHelper.getSampleDao().deleteSampleAndAllDependingEntities(sampleUuid);
+			if (manifest == null || manifest.hasDeletions(SyncEntityType.SAMPLE)) {
+				List<String> sampleUuids =
+					executeUuidCall(RetroProvider.getSampleFacade().pullDeletedUuidsSince(since != null ? since.getTime() : 0));
+				for (String sampleUuid : sampleUuids) {
+					DatabaseHelper.getSampleDao().deleteSampleAndAllDependingEntities(sampleUuid);
+				}
 			}
 
 			ConfigProvider.setLastDeletedSyncDate(new Date());
@@ -494,50 +688,80 @@ public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 		new ClinicalVisitDtoHelper().pushEntities(true);
 
 		// weekly reports and entries
-		List<String> weeklyReportUuids = executeUuidCall(RetroProvider.getWeeklyReportFacade().pullUuids());
-		DatabaseHelper.getWeeklyReportDao().deleteInvalid(weeklyReportUuids);
+		List<String> weeklyReportUuids = reconcileUuids(
+			DatabaseHelper.getWeeklyReportDao(),
+			RetroProvider.getWeeklyReportFacade()::pullUuidDigests,
+			RetroProvider.getWeeklyReportFacade()::pullUuidsByPrefixes);
 		// aggregate reports
-		List<String> aggregateReportUuids = executeUuidCall(RetroProvider.getAggregateReportFacade().pullUuids());
-		DatabaseHelper.getAggregateReportDao().deleteInvalid(aggregateReportUuids);
+		List<String> aggregateReportUuids = reconcileUuids(
+			DatabaseHelper.getAggregateReportDao(),
+			RetroProvider.getAggregateReportFacade()::pullUuidDigests,
+			RetroProvider.getAggregateReportFacade()::pullUuidsByPrefixes);
 		// tasks
-		List<String> taskUuids = executeUuidCall(RetroProvider.getTaskFacade().pullUuids());
-		DatabaseHelper.getTaskDao().deleteInvalid(taskUuids);
+		List<String> taskUuids = reconcileUuids(
+			DatabaseHelper.getTaskDao(),
+			RetroProvider.getTaskFacade()::pullUuidDigests,
+			RetroProvider.getTaskFacade()::pullUuidsByPrefixes);
 		// visits
-		List<String> visitUuids = executeUuidCall(RetroProvider.getVisitFacade().pullUuids());
-		DatabaseHelper.getVisitDao().deleteInvalid(visitUuids);
+		List<String> visitUuids = reconcileUuids(
+			DatabaseHelper.getVisitDao(),
+			RetroProvider.getVisitFacade()::pullUuidDigests,
+			RetroProvider.getVisitFacade()::pullUuidsByPrefixes);
 		// contacts
-		List<String> contactUuids = executeUuidCall(RetroProvider.getContactFacade().pullUuids());
-		DatabaseHelper.getContactDao().deleteInvalid(contactUuids);
+		List<String> contactUuids = reconcileUuids(
+			DatabaseHelper.getContactDao(),
+			RetroProvider.getContactFacade()::pullUuidDigests,
+			RetroProvider.getContactFacade()::pullUuidsByPrefixes);
 		// sample tests
-		List<String> sampleTestUuids = executeUuidCall(RetroProvider.getSampleTestFacade().pullUuids());
-		DatabaseHelper.getSampleTestDao().deleteInvalid(sampleTestUuids);
+		List<String> sampleTestUuids = reconcileUuids(
+			DatabaseHelper.getSampleTestDao(),
+			RetroProvider.getSampleTestFacade()::pullUuidDigests,
+			RetroProvider.getSampleTestFacade()::pullUuidsByPrefixes);
 		// additional tests
-		List<String> additionalTestUuids = executeUuidCall(RetroProvider.getAdditionalTestFacade().pullUuids());
-		DatabaseHelper.getAdditionalTestDao().deleteInvalid(additionalTestUuids);
+		List<String> additionalTestUuids = reconcileUuids(
+			DatabaseHelper.getAdditionalTestDao(),
+			RetroProvider.getAdditionalTestFacade()::pullUuidDigests,
+			RetroProvider.getAdditionalTestFacade()::pullUuidsByPrefixes);
 		// samples
-		List<String> sampleUuids = executeUuidCall(RetroProvider.getSampleFacade().pullUuids());
-		DatabaseHelper.getSampleDao().deleteInvalid(sampleUuids);
+		List<String> sampleUuids = reconcileUuids(
+			DatabaseHelper.getSampleDao(),
+			RetroProvider.getSampleFacade()::pullUuidDigests,
+			RetroProvider.getSampleFacade()::pullUuidsByPrefixes);
 		// event participants
-		List<String> eventParticipantUuids = executeUuidCall(RetroProvider.getEventParticipantFacade().pullUuids());
-		DatabaseHelper.getEventParticipantDao().deleteInvalid(eventParticipantUuids);
+		List<String> eventParticipantUuids = reconcileUuids(
+			DatabaseHelper.getEventParticipantDao(),
+			RetroProvider.getEventParticipantFacade()::pullUuidDigests,
+			RetroProvider.getEventParticipantFacade()::pullUuidsByPrefixes);
 		// events
-		List<String> eventUuids = executeUuidCall(RetroProvider.getEventFacade().pullUuids());
-		DatabaseHelper.getEventDao().deleteInvalid(eventUuids);
+		List<String> eventUuids = reconcileUuids(
+			DatabaseHelper.getEventDao(),
+			RetroProvider.getEventFacade()::pullUuidDigests,
+			RetroProvider.getEventFacade()::pullUuidsByPrefixes);
 		// treatments
-		List<String> treatmentUuids = executeUuidCall(RetroProvider.getTreatmentFacade().pullUuids());
-		DatabaseHelper.getTreatmentDao().deleteInvalid(treatmentUuids);
+		List<String> treatmentUuids = reconcileUuids(
+			DatabaseHelper.getTreatmentDao(),
+			RetroProvider.getTreatmentFacade()::pullUuidDigests,
+			RetroProvider.getTreatmentFacade()::pullUuidsByPrefixes);
 		// prescriptions
-		List<String> prescriptionUuids = executeUuidCall(RetroProvider.getPrescriptionFacade().pullUuids());
-		DatabaseHelper.getPrescriptionDao().deleteInvalid(prescriptionUuids);
+		List<String> prescriptionUuids = reconcileUuids(
+			DatabaseHelper.getPrescriptionDao(),
+			RetroProvider.getPrescriptionFacade()::pullUuidDigests,
+			RetroProvider.getPrescriptionFacade()::pullUuidsByPrefixes);
 		// clinical visits
-		List<String> clinicalVisitUuids = executeUuidCall(RetroProvider.getClinicalVisitFacade().pullUuids());
-		DatabaseHelper.getClinicalVisitDao().deleteInvalid(clinicalVisitUuids);
+		List<String> clinicalVisitUuids = reconcileUuids(
+			DatabaseHelper.getClinicalVisitDao(),
+			RetroProvider.getClinicalVisitFacade()::pullUuidDigests,
+			RetroProvider.getClinicalVisitFacade()::pullUuidsByPrefixes);
 		// cases
-		List<String> caseUuids = executeUuidCall(RetroProvider.getCaseFacade().pullUuids());
-		DatabaseHelper.getCaseDao().deleteInvalid(caseUuids);
+		List<String> caseUuids = reconcileUuids(
+			DatabaseHelper.getCaseDao(),
+			RetroProvider.getCaseFacade()::pullUuidDigests,
+			RetroProvider.getCaseFacade()::pullUuidsByPrefixes);
 		// persons
-		List<String> personUuids = executeUuidCall(RetroProvider.getPersonFacade().pullUuids());
-		DatabaseHelper.getPersonDao().deleteInvalid(personUuids);
+		List<String> personUuids = reconcileUuids(
+			DatabaseHelper.getPersonDao(),
+			RetroProvider.getPersonFacade()::pullUuidDigests,
+			RetroProvider.getPersonFacade()::pullUuidsByPrefixes);
 		// outbreak
 		List<String> outbreakUuids = executeUuidCall(RetroProvider.getOutbreakFacade().pullActiveUuids());
 		DatabaseHelper.getOutbreakDao().deleteInvalid(outbreakUuids);
@@ -613,8 +837,57 @@ public class SynchronizeDataAsync extends AsyncTask<Void, Void, Void> {
 		new FeatureConfigurationDtoHelper().pullMissing(featureConfigurationUuids);
 	}
 
-	private List<String> executeUuidCall(Call<List<String>> call) throws ServerConnectionException, ServerCommunicationException {
-		Response<List<String>> response;
+	/**
+	 * Compares the digests of the uuids on the server with the ones of the uuids in the app, starting with buckets
+	 * by the first character and splitting buckets that differ by the next character, until the differing buckets are small
+	 * enough to transfer their uuids. Entities of the differing buckets that the server no longer has are deleted.
+	 *
+	 * @return The uuids of the server that are in the differing buckets - all other uuids are already in the app
+	 */
+	static List<String> reconcileUuids(
+		AbstractAdoDao<?> dao,
+		Function<List<String>, Call<List<UuidDigestDto>>> pullUuidDigests,
+		Function<List<String>, Call<List<String>>> pullUuidsByPrefixes)
+		throws ServerConnectionException, ServerCommunicationException, DaoException {
+
+		List<String> localUuids = dao.queryAllUuids();
+		List<String> differingPrefixes = new ArrayList<>();
+		List<String> prefixes = Collections.singletonList("");
+		while (!prefixes.isEmpty()) {
+			Map<String, UuidDigestDto> localDigests = new HashMap<>();
+			for (UuidDigestDto localDigest : UuidDigestHelper.digest(localUuids, prefixes)) {
+				localDigests.put(localDigest.getPrefix(), localDigest);
+			}
+
+			List<String> splitPrefixes = new ArrayList<>();
+			for (UuidDigestDto serverDigest : executeUuidCall(pullUuidDigests.apply(prefixes))) {
+				UuidDigestDto localDigest = localDigests.remove(serverDigest.getPrefix());
+				if (localDigest != null && localDigest.getCount() == serverDigest.getCount() && localDigest.getDigest() == serverDigest.getDigest()) {
+					continue;
+				}
+				// when the app has none of the uuids, all of them are needed anyway
+				if (localDigest != null && serverDigest.getCount() > MAX_RECONCILED_BUCKET_SIZE) {
+					splitPrefixes.add(serverDigest.getPrefix());
+				} else {
+					differingPrefixes.add(serverDigest.getPrefix());
+				}
+			}
+			// the server has none of these uuids
+			differingPrefixes.addAll(localDigests.keySet());
+			prefixes = splitPrefixes;
+		}
+
+		if (differingPrefixes.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<String> uuids = executeUuidCall(pullUuidsByPrefixes.apply(differingPrefixes));
+		dao.deleteInvalid(uuids, differingPrefixes);
+		return uuids;
+	}
+
+	private static <T> T executeUuidCall(Call<T> call) throws ServerConnectionException, ServerCommunicationException {
+		Response<T> response;
 		try {
 			response = call.execute();
 		} catch (IOException e) {
@@ -18,12 +18,15 @@ package de.symeda.sormas.app.rest;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.task.TaskDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 /**
  * Created by Stefan Szczesny on 24.10.2016.
@@ -33,6 +36,9 @@ public interface TaskFacadeRetro {
 	@GET("tasks/all/{since}")
 	Call<List<TaskDto>> pullAllSince(@Path("since") long since);
 
+	@GET("tasks/page/{since}")
+	Call<SyncPageDto<TaskDto>> pullPageSince(@Path("since") long since, @Query("cursor") String cursor);
+
 	@POST("tasks/query")
 	Call<List<TaskDto>> pullByUuids(@Body List<String> uuids);
 
@@ -41,4 +47,10 @@ public interface TaskFacadeRetro {
 
 	@GET("tasks/uuids")
 	Call<List<String>> pullUuids();
+
+	@POST("tasks/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("tasks/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
 }
@@ -18,18 +18,24 @@ package de.symeda.sormas.app.rest;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.visit.VisitDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
+import retrofit2.http.Query;
 
 public interface VisitFacadeRetro {
 
 	@GET("visits/all/{since}")
 	Call<List<VisitDto>> pullAllSince(@Path("since") long since);
 
+	@GET("visits/page/{since}")
+	Call<SyncPageDto<VisitDto>> pullPageSince(@Path("since") long since, @Query("cursor") String cursor);
+
 	@POST("visits/query")
 	Call<List<VisitDto>> pullByUuids(@Body List<String> uuids);
 
@@ -38,4 +44,10 @@ public interface VisitFacadeRetro {
 
 	@GET("visits/uuids")
 	Call<List<String>> pullUuids();
+
+	@POST("visits/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("visits/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
 }
@@ -18,6 +18,7 @@ package de.symeda.sormas.app.rest;
 import java.util.List;
 
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.UuidDigestDto;
 import de.symeda.sormas.api.report.WeeklyReportDto;
 import retrofit2.Call;
 import retrofit2.http.Body;
@@ -38,4 +39,10 @@ public interface WeeklyReportFacadeRetro {
 
 	@GET("weeklyreports/uuids")
 	Call<List<String>> pullUuids();
+
+	@POST("weeklyreports/uuids/digests")
+	Call<List<UuidDigestDto>> pullUuidDigests(@Body List<String> prefixes);
+
+	@POST("weeklyreports/uuids/query")
+	Call<List<String>> pullUuidsByPrefixes(@Body List<String> prefixes);
 }
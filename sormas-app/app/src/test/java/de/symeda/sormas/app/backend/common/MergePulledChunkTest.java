@@ -0,0 +1,153 @@
+package de.symeda.sormas.app.backend.common;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import android.app.Application;
+
+import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.app.backend.person.Person;
+import de.symeda.sormas.app.backend.person.PersonDao;
+import de.symeda.sormas.app.backend.person.PersonDtoHelper;
+
+/**
+ * Merges a pulled chunk of persons with their embedded addresses, like the synchronization does, and checks that the
+ * prefetched entities are merged the same way as entities that are queried one by one.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, application = Application.class)
+public class MergePulledChunkTest {
+
+	private final PersonDtoHelper personDtoHelper = new PersonDtoHelper();
+
+	private PersonDao personDao;
+
+	@Before
+	public void setUp() {
+
+		RuntimeEnvironment.application.deleteDatabase(DatabaseHelper.DATABASE_NAME);
+		DatabaseHelper.init(RuntimeEnvironment.application);
+		personDao = DatabaseHelper.getPersonDao();
+	}
+
+	@Test
+	public void testHandlePulledChunk() throws Exception {
+
+		PersonDto unchanged = createPerson("Anna", "Unchanged", "Unchanged street");
+		PersonDto changed = createPerson("Berta", "Changed", "Changed street");
+		PersonDto modified = createPerson("Carl", "Modified", "Modified street");
+		handlePulledChunk(Arrays.asList(unchanged, changed, modified));
+		assertThat(personDao.queryAllUuids().size(), is(3));
+
+		// modify a person and its address in the app
+		Person localPerson = personDao.queryUuidWithEmbedded(modified.getUuid());
+		localPerson.setNickname("Charly");
+		localPerson.getAddress().setCity("Local city");
+		personDao.saveAndSnapshot(localPerson);
+
+		// the server changes the same person, another person and its address and sends a new person
+		changed.setFirstName("Bertha");
+		changed.getAddress().setCity("Server city");
+		stamp(changed);
+		stamp(changed.getAddress());
+		modified.setLastName("Server name");
+		modified.getAddress().setAddress("Server street");
+		stamp(modified);
+		stamp(modified.getAddress());
+		PersonDto created = createPerson("Dora", "Created", "Created street");
+		handlePulledChunk(Arrays.asList(unchanged, changed, modified, created));
+
+		Person unchangedPerson = personDao.queryUuidWithEmbedded(unchanged.getUuid());
+		assertThat(unchangedPerson.getFirstName(), is("Anna"));
+		assertThat(unchangedPerson.getAddress().getAddress(), is("Unchanged street"));
+		assertThat(unchangedPerson.isModified(), is(false));
+
+		Person changedPerson = personDao.queryUuidWithEmbedded(changed.getUuid());
+		assertThat(changedPerson.getFirstName(), is("Bertha"));
+		assertThat(changedPerson.getAddress().getCity(), is("Server city"));
+		assertThat(changedPerson.getChangeDate(), is(changed.getChangeDate()));
+		assertThat(changedPerson.isModified(), is(false));
+
+		// the local changes are kept next to the server changes until they are pushed
+		Person modifiedPerson = personDao.queryUuidWithEmbedded(modified.getUuid());
+		assertThat(modifiedPerson.getNickname(), is("Charly"));
+		assertThat(modifiedPerson.getLastName(), is("Server name"));
+		assertThat(modifiedPerson.getAddress().getCity(), is("Local city"));
+		assertThat(modifiedPerson.getAddress().getAddress(), is("Server street"));
+		assertThat(modifiedPerson.isModified(), is(true));
+		Person modifiedSnapshot = personDao.querySnapshotByUuid(modified.getUuid());
+		assertThat(modifiedSnapshot.getNickname(), nullValue());
+		assertThat(modifiedSnapshot.getLastName(), is("Server name"));
+		assertThat(modifiedSnapshot.getChangeDate(), is(modified.getChangeDate()));
+
+		Person createdPerson = personDao.queryUuidWithEmbedded(created.getUuid());
+		assertThat(createdPerson.getFirstName(), is("Dora"));
+		assertThat(createdPerson.getAddress().getUuid(), is(created.getAddress().getUuid()));
+		assertThat(createdPerson.getAddress().getAddress(), is("Created street"));
+
+		assertThat(personDao.queryAllUuids().size(), is(4));
+	}
+
+	@Test
+	public void testMergeOrCreateAfterClearPrefetched() throws Exception {
+
+		PersonDto person = createPerson("Anna", "Prefetched", "Street");
+		handlePulledChunk(Arrays.asList(person));
+
+		// entities that are not prefetched, or no longer, are queried
+		Person source = personDtoHelper.fillOrCreateFromDto(null, person);
+		source.setFirstName("Anne");
+		personDao.callBatchTasks((Callable<Void>) () -> {
+			personDao.prefetchForMerge(Arrays.asList(source));
+			personDao.clearPrefetched();
+			personDao.mergeOrCreate(source);
+			return null;
+		});
+
+		assertThat(personDao.queryUuid(person.getUuid()).getFirstName(), is("Anne"));
+		assertThat(personDao.queryAllUuids().size(), is(1));
+	}
+
+	private void handlePulledChunk(List<PersonDto> dtos) throws DaoException {
+
+		personDao.callBatchTasks((Callable<Void>) () -> {
+			personDtoHelper.handlePulledChunk(personDao, dtos);
+			return null;
+		});
+	}
+
+	private static PersonDto createPerson(String firstName, String lastName, String street) {
+
+		PersonDto person = PersonDto.build();
+		person.setFirstName(firstName);
+		person.setLastName(lastName);
+		person.getAddress().setAddress(street);
+		stamp(person);
+		stamp(person.getAddress());
+		return person;
+	}
+
+	private static void stamp(EntityDto dto) {
+
+		// the server sets a new change date for every change
+		Date changeDate = new Date(Math.max(System.currentTimeMillis(), dto.getChangeDate() != null ? dto.getChangeDate().getTime() + 1 : 0));
+		if (dto.getCreationDate() == null) {
+			dto.setCreationDate(changeDate);
+		}
+		dto.setChangeDate(changeDate);
+	}
+}
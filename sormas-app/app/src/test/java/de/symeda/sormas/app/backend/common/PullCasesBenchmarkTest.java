@@ -0,0 +1,153 @@
+package de.symeda.sormas.app.backend.common;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import android.app.Application;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.person.Sex;
+import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.RegionReferenceDto;
+import de.symeda.sormas.api.user.UserReferenceDto;
+import de.symeda.sormas.api.utils.DataHelper;
+import de.symeda.sormas.app.backend.caze.CaseDtoHelper;
+import de.symeda.sormas.app.backend.person.PersonDtoHelper;
+import de.symeda.sormas.app.backend.region.District;
+import de.symeda.sormas.app.backend.region.Region;
+import de.symeda.sormas.app.backend.user.User;
+
+/**
+ * Pulls 5000 cases into an empty database and pulls them again, first chunk by chunk like the synchronization does and then
+ * one case at a time like it did before the existing entities were prefetched. Not run by the build; remove the
+ * {@link Ignore} annotation to run it.
+ */
+@Ignore
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, application = Application.class)
+public class PullCasesBenchmarkTest {
+
+	private static final int CASE_COUNT = 5000;
+
+	private final PersonDtoHelper personDtoHelper = new PersonDtoHelper();
+	private final CaseDtoHelper caseDtoHelper = new CaseDtoHelper();
+
+	private List<PersonDto> persons;
+	private List<CaseDataDto> cases;
+
+	@Before
+	public void setUp() throws Exception {
+
+		RuntimeEnvironment.application.deleteDatabase(DatabaseHelper.DATABASE_NAME);
+		DatabaseHelper.init(RuntimeEnvironment.application);
+
+		Region region = new Region();
+		region.setName("Region");
+		DatabaseHelper.getRegionDao().create(fill(region));
+		District district = new District();
+		district.setName("District");
+		district.setRegion(region);
+		DatabaseHelper.getDistrictDao().create(fill(district));
+		User user = new User();
+		user.setUserName("SurvOff");
+		user.setActive(true);
+		user.setRegion(region);
+		user.setDistrict(district);
+		DatabaseHelper.getUserDao().create(fill(user));
+
+		persons = new ArrayList<>(CASE_COUNT);
+		cases = new ArrayList<>(CASE_COUNT);
+		for (int i = 0; i < CASE_COUNT; i++) {
+			PersonDto person = PersonDto.build();
+			person.setFirstName("First" + i);
+			person.setLastName("Last" + i);
+			person.setSex(i % 2 == 0 ? Sex.FEMALE : Sex.MALE);
+			stamp(person);
+			stamp(person.getAddress());
+			persons.add(person);
+
+			CaseDataDto caze = CaseDataDto.build(person.toReference(), Disease.CORONAVIRUS);
+			caze.setReportDate(new Date());
+			caze.setReportingUser(new UserReferenceDto(user.getUuid()));
+			caze.setRegion(new RegionReferenceDto(region.getUuid()));
+			caze.setDistrict(new DistrictReferenceDto(district.getUuid()));
+			stamp(caze);
+			stamp(caze.getSymptoms());
+			stamp(caze.getHospitalization());
+			stamp(caze.getEpiData());
+			stamp(caze.getTherapy());
+			stamp(caze.getClinicalCourse());
+			stamp(caze.getClinicalCourse().getHealthConditions());
+			stamp(caze.getMaternalHistory());
+			stamp(caze.getPortHealthInfo());
+			cases.add(caze);
+		}
+	}
+
+	@Test
+	public void pullCases() throws Exception {
+
+		long start = System.currentTimeMillis();
+		personDtoHelper.handlePulledList(DatabaseHelper.getPersonDao(), persons);
+		caseDtoHelper.handlePulledList(DatabaseHelper.getCaseDao(), cases);
+		long initialPull = System.currentTimeMillis() - start;
+
+		start = System.currentTimeMillis();
+		personDtoHelper.handlePulledList(DatabaseHelper.getPersonDao(), persons);
+		caseDtoHelper.handlePulledList(DatabaseHelper.getCaseDao(), cases);
+		long chunkedRepull = System.currentTimeMillis() - start;
+
+		start = System.currentTimeMillis();
+		handlePulledDtos(personDtoHelper, DatabaseHelper.getPersonDao(), persons);
+		handlePulledDtos(caseDtoHelper, DatabaseHelper.getCaseDao(), cases);
+		long singleRepull = System.currentTimeMillis() - start;
+
+		assertThat(DatabaseHelper.getCaseDao().countOf(), is((long) CASE_COUNT));
+		System.out.println(
+			"Pulled " + CASE_COUNT + " cases in " + initialPull + " ms, pulled them again in " + chunkedRepull + " ms by chunk and in "
+				+ singleRepull + " ms one by one");
+	}
+
+	private static <ADO extends AbstractDomainObject, DTO extends EntityDto> void handlePulledDtos(
+		AdoDtoHelper<ADO, DTO> helper,
+		AbstractAdoDao<ADO> dao,
+		List<DTO> dtos)
+		throws DaoException {
+
+		dao.callBatchTasks((Callable<Void>) () -> {
+			for (DTO dto : dtos) {
+				helper.handlePulledDto(dao, dto);
+			}
+			return null;
+		});
+	}
+
+	private static <T extends AbstractDomainObject> T fill(T ado) {
+
+		ado.setUuid(DataHelper.createUuid());
+		ado.setCreationDate(new Date());
+		ado.setChangeDate(new Date());
+		return ado;
+	}
+
+	private static void stamp(EntityDto dto) {
+		dto.setCreationDate(new Date());
+		dto.setChangeDate(new Date());
+	}
+}
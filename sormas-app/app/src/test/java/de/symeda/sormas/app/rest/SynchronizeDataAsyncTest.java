@@ -0,0 +1,203 @@
+package de.symeda.sormas.app.rest;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import android.app.Application;
+
+import de.symeda.sormas.api.SyncEntityType;
+import de.symeda.sormas.api.SyncManifestDto;
+import de.symeda.sormas.api.UuidDigestDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.utils.DataHelper;
+import de.symeda.sormas.api.utils.UuidDigestHelper;
+import de.symeda.sormas.app.backend.common.AdoDtoHelper;
+import de.symeda.sormas.app.backend.common.DaoException;
+import de.symeda.sormas.app.backend.common.DatabaseHelper;
+import de.symeda.sormas.app.backend.person.PersonDao;
+import de.symeda.sormas.app.backend.person.PersonDtoHelper;
+import retrofit2.Call;
+import retrofit2.Response;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, application = Application.class)
+public class SynchronizeDataAsyncTest {
+
+	private final Map<SyncEntityType, AdoDtoHelper<?, ?>> dtoHelpers = new EnumMap<>(SyncEntityType.class);
+	private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+	@Before
+	public void setUp() {
+
+		for (SyncEntityType type : new SyncEntityType[] {
+			SyncEntityType.PERSON,
+			SyncEntityType.EVENT,
+			SyncEntityType.CASE,
+			SyncEntityType.CONTACT }) {
+			dtoHelpers.put(type, mock(AdoDtoHelper.class));
+		}
+	}
+
+	@Test
+	public void testPullChangedTypesByLevel() throws Exception {
+
+		SyncManifestDto manifest = new SyncManifestDto();
+		manifest.getChangedCounts().put(SyncEntityType.PERSON, 2L);
+		manifest.getChangedCounts().put(SyncEntityType.EVENT, 1L);
+		manifest.getChangedCounts().put(SyncEntityType.CASE, 3L);
+		Set<SyncEntityType> changedTypes = SynchronizeDataAsync.getChangedTypes(dtoHelpers.keySet(), manifest);
+		assertThat(changedTypes, containsInAnyOrder(SyncEntityType.PERSON, SyncEntityType.EVENT, SyncEntityType.CASE));
+		assertThat(SynchronizeDataAsync.getChangedTypes(dtoHelpers.keySet(), null), is(dtoHelpers.keySet()));
+
+		// persons and events are on the same level, so each of them can only finish when the other one has been started
+		CountDownLatch levelStarted = new CountDownLatch(2);
+		expectConcurrentPull(SyncEntityType.PERSON, levelStarted);
+		expectConcurrentPull(SyncEntityType.EVENT, levelStarted);
+		expectPull(SyncEntityType.CASE);
+
+		SynchronizeDataAsync.pullEntities(dtoHelpers, changedTypes, false);
+
+		assertThat(events.subList(0, 2), containsInAnyOrder("PERSON started together", "EVENT started together"));
+		assertThat(events.subList(2, events.size()), contains("CASE"));
+		verify(dtoHelpers.get(SyncEntityType.CONTACT), never()).pullEntities(anyBoolean());
+	}
+
+	@Test
+	public void testPullFailure() throws Exception {
+
+		DaoException failure = new DaoException("Pull failed");
+		doThrow(failure).when(dtoHelpers.get(SyncEntityType.PERSON)).pullEntities(false);
+		expectPull(SyncEntityType.EVENT);
+		expectPull(SyncEntityType.CASE);
+
+		try {
+			SynchronizeDataAsync.pullEntities(dtoHelpers, dtoHelpers.keySet(), false);
+			fail("The failure of the person pull has to be passed on");
+		} catch (DaoException e) {
+			assertThat(e, is(failure));
+		}
+
+		// the other pulls of the level are finished, the next levels are not pulled
+		assertThat(events, contains("EVENT"));
+	}
+
+	@Test
+	public void testReconcileDriftedUuids() throws Exception {
+
+		RuntimeEnvironment.application.deleteDatabase(DatabaseHelper.DATABASE_NAME);
+		DatabaseHelper.init(RuntimeEnvironment.application);
+		PersonDao personDao = DatabaseHelper.getPersonDao();
+
+		List<PersonDto> persons = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			PersonDto person = PersonDto.build();
+			person.setFirstName("First" + i);
+			person.setLastName("Last" + i);
+			person.setCreationDate(new Date());
+			person.setChangeDate(new Date());
+			person.getAddress().setCreationDate(new Date());
+			person.getAddress().setChangeDate(new Date());
+			persons.add(person);
+		}
+		new PersonDtoHelper().handlePulledList(personDao, persons);
+
+		// the server has deleted some of the persons of the app and created others the app does not know yet
+		List<String> serverUuids = new ArrayList<>();
+		List<String> remainingUuids = new ArrayList<>();
+		for (int i = 0; i < persons.size(); i++) {
+			if (i % 200 != 0) {
+				serverUuids.add(persons.get(i).getUuid());
+				remainingUuids.add(persons.get(i).getUuid());
+			}
+		}
+		List<String> missingUuids = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			missingUuids.add(DataHelper.createUuid());
+		}
+		serverUuids.addAll(missingUuids);
+
+		AtomicInteger transferredUuids = new AtomicInteger();
+		Function<List<String>, Call<List<UuidDigestDto>>> pullUuidDigests =
+			prefixes -> respond(UuidDigestHelper.digest(serverUuids, prefixes));
+		Function<List<String>, Call<List<String>>> pullUuidsByPrefixes = prefixes -> {
+			List<String> uuids = UuidDigestHelper.filterByPrefixes(serverUuids, prefixes);
+			transferredUuids.addAndGet(uuids.size());
+			return respond(uuids);
+		};
+
+		List<String> reconciledUuids = SynchronizeDataAsync.reconcileUuids(personDao, pullUuidDigests, pullUuidsByPrefixes);
+		for (String missingUuid : missingUuids) {
+			assertThat(reconciledUuids.contains(missingUuid), is(true));
+		}
+		assertThat(personDao.queryAllUuids(), containsInAnyOrder(remainingUuids.toArray()));
+		// only the uuids of the buckets that differ are transferred
+		assertThat(transferredUuids.get(), lessThan(serverUuids.size() / 2));
+
+		// nothing is transferred when the uuids match
+		serverUuids.removeAll(missingUuids);
+		transferredUuids.set(0);
+		assertThat(SynchronizeDataAsync.reconcileUuids(personDao, pullUuidDigests, pullUuidsByPrefixes), is(empty()));
+		assertThat(transferredUuids.get(), is(0));
+	}
+
+	private void expectConcurrentPull(SyncEntityType type, CountDownLatch levelStarted) throws Exception {
+
+		doAnswer(invocation -> {
+			levelStarted.countDown();
+			events.add(type + (levelStarted.await(10, TimeUnit.SECONDS) ? " started together" : " started alone"));
+			return null;
+		}).when(dtoHelpers.get(type)).pullEntities(false);
+	}
+
+	private void expectPull(SyncEntityType type) throws Exception {
+
+		doAnswer(invocation -> {
+			events.add(type.toString());
+			return null;
+		}).when(dtoHelpers.get(type)).pullEntities(false);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Call<T> respond(T body) {
+
+		Call<T> call = mock(Call.class);
+		try {
+			when(call.execute()).thenReturn(Response.success(body));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		return call;
+	}
+}
@@ -19,27 +19,20 @@ package de.symeda.auditlog.api;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 
-import javax.persistence.Embedded;
-
-import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import de.symeda.auditlog.api.value.DefaultValueContainer;
 import de.symeda.auditlog.api.value.ValueContainer;
 import de.symeda.auditlog.api.value.format.CollectionFormatter;
 import de.symeda.auditlog.api.value.format.ValueFormatter;
-import de.symeda.auditlog.api.value.format.override.DateFormatOverrideDetector;
-import de.symeda.auditlog.api.value.format.override.OverrideDetector;
-import de.symeda.auditlog.api.value.reflection.EntityInspector;
+import de.symeda.auditlog.api.value.reflection.AuditedAttributeMetadata;
+import de.symeda.auditlog.api.value.reflection.AuditedClassMetadata;
 import de.symeda.sormas.api.HasUuid;
 
 /**
@@ -175,108 +168,63 @@ public class Auditor implements Serializable {
 	ValueContainer inspectEntity(HasUuid entity) {
 		DefaultValueContainer result = new DefaultValueContainer();
 
-		EntityInspector inspector = new EntityInspector(entity);
-		for (Method currentAttribute : inspector.getAuditedAttributes()) {
-
-			try {
-				AuditedAttribute auditedAttribute = currentAttribute.getAnnotation(AuditedAttribute.class);
-				AuditedCollection auditedCollection = currentAttribute.getAnnotation(AuditedCollection.class);
-				boolean isCollection = Collection.class.isAssignableFrom(currentAttribute.getReturnType());
-
-				if (auditedAttribute != null || !isCollection) {
-					logAttributeChange(result, inspector, currentAttribute, auditedAttribute);
-				} else if (auditedCollection != null || isCollection) {
-					logCollectionChange(result, inspector, currentAttribute, auditedCollection);
+		try {
+			for (AuditedAttributeMetadata attribute : AuditedClassMetadata.of(entity.getClass()).getAttributes()) {
+				if (attribute.isCollection()) {
+					logCollectionChange(result, entity, attribute);
+				} else {
+					logAttributeChange(result, entity, attribute);
 				}
-			} catch (InvocationTargetException | IllegalAccessException e) {
-				throw new AuditlogException(String.format("No changes for entity %s can be detected.", entity.toString()), e);
 			}
+		} catch (InvocationTargetException e) {
+			throw new AuditlogException(String.format("No changes for entity %s can be detected.", entity.toString()), e);
 		}
 
 		return result;
 	}
 
-	@SuppressWarnings("unchecked")
-	private void logCollectionChange(DefaultValueContainer result, EntityInspector inspector, Method currentAttribute, AuditedCollection annotation)
-		throws IllegalAccessException, InvocationTargetException {
-		@SuppressWarnings("rawtypes")
-		CollectionFormatter collectionFormatter = EntityInspector.getCollectionFormatter(annotation);
-
-		final Collection<?> fieldValue = (Collection<?>) inspector.getAttributeValue(currentAttribute);
-		final String fieldName = EntityInspector.buildFieldName(currentAttribute);
+	@SuppressWarnings({
+		"rawtypes",
+		"unchecked" })
+	private void logCollectionChange(DefaultValueContainer result, Object entity, AuditedAttributeMetadata attribute)
+		throws InvocationTargetException {
 
-		result.put(fieldName, fieldValue, collectionFormatter);
+		final Collection<?> fieldValue = (Collection<?>) attribute.getValue(entity);
+		result.put(attribute.getFieldName(), fieldValue, (CollectionFormatter) attribute.getCollectionFormatter());
 	}
 
-	private void logAttributeChange(DefaultValueContainer result, EntityInspector inspector, Method currentAttribute, AuditedAttribute annotation)
-		throws IllegalAccessException, InvocationTargetException {
+	private void logAttributeChange(DefaultValueContainer result, Object entity, AuditedAttributeMetadata attribute)
+		throws InvocationTargetException {
 
-		if (isEmbeddedElement(currentAttribute)) {
+		if (attribute.isEmbedded()) {
 
-			if (isClassAudited(currentAttribute.getReturnType())) {
+			if (isClassAudited(attribute.getMethod().getReturnType())) {
 				// Log the attributes of the Embeddable
-				Object embeddable = inspector.getAttributeValue(currentAttribute);
-				EntityInspector embeddableInspector = new EntityInspector(embeddable);
-
-				List<Method> auditedAttributes = embeddableInspector.getAuditedAttributes();
-
-				for (Method embeddableAttribute : auditedAttributes) {
-					logSingularAttributeChange(
-						result,
-						EntityInspector.buildFieldName(currentAttribute),
-						embeddableInspector,
-						embeddableAttribute,
-						embeddableAttribute.getDeclaredAnnotation(AuditedAttribute.class));
+				Object embeddable = attribute.getValue(entity);
+				if (embeddable != null) {
+					for (AuditedAttributeMetadata embeddableAttribute : AuditedClassMetadata.of(embeddable.getClass()).getAttributes()) {
+						logSingularAttributeChange(result, attribute.getFieldName(), embeddable, embeddableAttribute);
+					}
 				}
-
 			}
 		} else {
 			// Log simple value
-			logSingularAttributeChange(result, inspector, currentAttribute, annotation);
+			logSingularAttributeChange(result, "", entity, attribute);
 		}
-
 	}
 
-	private boolean isClassAudited(final Class<?> clazz) {
-
-		return clazz.getDeclaredAnnotation(Audited.class) != null;
-	}
-
-	private boolean isEmbeddedElement(Method currentAttribute) {
-
-		return currentAttribute.getDeclaredAnnotation(Embedded.class) != null;
-	}
+	@SuppressWarnings({
+		"rawtypes",
+		"unchecked" })
+	private void logSingularAttributeChange(DefaultValueContainer result, String prefix, Object entity, AuditedAttributeMetadata attribute)
+		throws InvocationTargetException {
 
-	private void logSingularAttributeChange(
-		DefaultValueContainer result,
-		EntityInspector inspector,
-		Method currentAttribute,
-		AuditedAttribute annotation)
-		throws IllegalAccessException, InvocationTargetException {
+		final String fieldName = attribute.getFieldName();
+		final Object fieldValue = attribute.getValue(entity);
 
-		this.logSingularAttributeChange(result, "", inspector, currentAttribute, annotation);
-
-	}
-
-	@SuppressWarnings("unchecked")
-	private void logSingularAttributeChange(
-		DefaultValueContainer result,
-		String prefix,
-		EntityInspector inspector,
-		Method currentAttribute,
-		AuditedAttribute annotation)
-		throws IllegalAccessException, InvocationTargetException {
-
-		@SuppressWarnings("rawtypes")
-		ValueFormatter formatter = EntityInspector.getFormatter(annotation);
-
-		formatter = overrideFormatter(formatter, currentAttribute);
-
-		final String fieldName = EntityInspector.buildFieldName(currentAttribute);
-		final Object fieldValue = inspector.getAttributeValue(currentAttribute);
-
-		result.put(prefixFieldNameWith(prefix, fieldName), fieldValue, formatter);
+		result.put(prefixFieldNameWith(prefix, fieldName), fieldValue, (ValueFormatter) attribute.getFormatter());
 
+		AuditedAttribute annotation = attribute.getAuditedAttribute();
 		if (annotation != null) {
 			if (annotation.anonymous()) {
 				result.configureAnonymizeValue(fieldName, annotation.anonymizingString());
@@ -284,6 +232,11 @@ public class Auditor implements Serializable {
 		}
 	}
 
+	private boolean isClassAudited(final Class<?> clazz) {
+
+		return clazz.getDeclaredAnnotation(Audited.class) != null;
+	}
+
 	private String prefixFieldNameWith(String prefix, final String fieldName) {
 
 		if (StringUtils.isBlank(prefix)) {
@@ -293,62 +246,4 @@ public class Auditor implements Serializable {
 		}
 
 	}
-
-	/**
-	 * Decides which {@link ValueFormatter} should be used for this entity property. Returns the original {@link ValueFormatter} if
-	 * <ol>
-	 * <li>it already differs from the default ValueFormatter</li>
-	 * <li>no reasonable derivation based on the entity property can be found</li>
-	 * <ol>
-	 * 
-	 * @param original
-	 *            The {@link ValueFormatter} given as a parameter to {@link AuditedAttribute}.
-	 * @param m
-	 *            The entity property.
-	 * @return The {@link ValueFormatter} to be used. Must not return <code>null</code>.
-	 */
-	ValueFormatter<?> overrideFormatter(ValueFormatter<?> original, Method m) {
-
-		if (isDefaultFormatter(original.getClass())) {
-			OverrideDetector<?> detector = findOverrideDector(m);
-
-			if (detector != null) {
-				// If a reasonable default exists, use it.
-				return ObjectUtils.firstNonNull(detector.override(m), original);
-			} else {
-				return original;
-			}
-		}
-
-		return original;
-	}
-
-	/**
-	 * Checks based on the entity property which OverrideDetector may be used.
-	 * 
-	 * @param m
-	 *            The entity property.
-	 * @return Returns <code>null</code> if no {@link OverrideDetector} for the entity property can be found.
-	 */
-	private OverrideDetector<?> findOverrideDector(Method m) {
-
-		OverrideDetector<?> suitedDetector = null;
-		if (Date.class.isAssignableFrom(m.getReturnType())) {
-			suitedDetector = new DateFormatOverrideDetector();
-		}
-
-		return suitedDetector;
-	}
-
-	/**
-	 * Checks whether a {@link ValueFormatter} is the default ValueFormatter.
-	 * 
-	 * @param specifiedFormatter
-	 *            The {@link ValueFormatter} to check.
-	 * @return Returns <code>true</code> if the Formatter to check matches the default ValueFormatter. Returns <code>false</code> otherwise.
-	 */
-	@SuppressWarnings("rawtypes")
-	private static boolean isDefaultFormatter(Class<? extends ValueFormatter> specifiedFormatter) {
-		return AuditedAttribute.DEFAULT_FORMATTER.equals(specifiedFormatter);
-	}
 }
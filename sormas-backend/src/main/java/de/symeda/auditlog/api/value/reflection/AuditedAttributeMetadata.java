@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.auditlog.api.value.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+import javax.persistence.Embedded;
+
+import de.symeda.auditlog.api.Audited;
+import de.symeda.auditlog.api.AuditedAttribute;
+import de.symeda.auditlog.api.AuditedCollection;
+import de.symeda.auditlog.api.AuditlogException;
+import de.symeda.auditlog.api.value.format.CollectionFormatter;
+import de.symeda.auditlog.api.value.format.ValueFormatter;
+
+/**
+ * An audited attribute with its getter and formatter resolved in advance.
+ */
+public final class AuditedAttributeMetadata {
+
+	private final Method method;
+	private final MethodHandle getter;
+	private final String fieldName;
+	private final AuditedAttribute auditedAttribute;
+	private final boolean collection;
+	private final boolean embedded;
+	private final ValueFormatter<?> formatter;
+	private final CollectionFormatter<?> collectionFormatter;
+
+	AuditedAttributeMetadata(Method method) {
+
+		this.method = method;
+		this.fieldName = EntityInspector.buildFieldName(method);
+		this.auditedAttribute = method.getAnnotation(AuditedAttribute.class);
+
+		try {
+			this.getter = MethodHandles.publicLookup().unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+		} catch (IllegalAccessException e) {
+			throw new AuditlogException(String.format("Audited attribute %s can not be accessed!", method), e);
+		}
+
+		boolean isCollection = Collection.class.isAssignableFrom(method.getReturnType());
+		this.collection = auditedAttribute == null && isCollection;
+		this.embedded = method.getDeclaredAnnotation(Embedded.class) != null;
+		this.formatter = EntityInspector.overrideFormatter(EntityInspector.getFormatter(auditedAttribute), method);
+		this.collectionFormatter = collection ? EntityInspector.getCollectionFormatter(method.getAnnotation(AuditedCollection.class)) : null;
+	}
+
+	/**
+	 * Returns the actual value of the attribute for the given {@code entity}.
+	 * 
+	 * @throws InvocationTargetException
+	 *             If the getter throws an exception (wrapping the original exception).
+	 */
+	public Object getValue(Object entity) throws InvocationTargetException {
+
+		try {
+			return (Object) getter.invokeExact(entity);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	public Method getMethod() {
+		return method;
+	}
+
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	/**
+	 * @return The {@link AuditedAttribute} annotation of the getter or {@code null} if none is set.
+	 */
+	public AuditedAttribute getAuditedAttribute() {
+		return auditedAttribute;
+	}
+
+	/**
+	 * @return {@code true} if the attribute is logged with its {@link #getCollectionFormatter()}.
+	 */
+	public boolean isCollection() {
+		return collection;
+	}
+
+	/**
+	 * @return {@code true} if the attribute is annotated as {@link Embedded}. The attributes of the embeddable are logged instead of
+	 *         the attribute itself, in case its type is {@link Audited}.
+	 */
+	public boolean isEmbedded() {
+		return embedded;
+	}
+
+	/**
+	 * @return The formatter used when the attribute is logged as a singular value.
+	 */
+	public ValueFormatter<?> getFormatter() {
+		return formatter;
+	}
+
+	/**
+	 * @return The formatter for collections, {@code null} for singular attributes.
+	 */
+	public CollectionFormatter<?> getCollectionFormatter() {
+		return collectionFormatter;
+	}
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.auditlog.api.value.reflection;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.symeda.auditlog.api.Audited;
+
+/**
+ * Audited attributes of a class, resolved once per class and shared by all inspections of its instances.
+ * <p>
+ * Resolving the attributes requires walking the declared methods and annotations of the whole class hierarchy,
+ * which is too expensive to be done for every entity that is loaded.
+ */
+public final class AuditedClassMetadata {
+
+	private static final Map<Class<?>, AuditedClassMetadata> CACHE = new ConcurrentHashMap<>();
+
+	private final Class<?> type;
+	private final List<AuditedAttributeMetadata> attributes;
+
+	private AuditedClassMetadata(Class<?> type, List<AuditedAttributeMetadata> attributes) {
+		this.type = type;
+		this.attributes = Collections.unmodifiableList(attributes);
+	}
+
+	/**
+	 * @return The cached metadata of the given {@code clazz}. The attributes are empty if the class is not {@link Audited}.
+	 */
+	public static AuditedClassMetadata of(Class<?> clazz) {
+
+		AuditedClassMetadata metadata = CACHE.get(clazz);
+		if (metadata == null) {
+			// not using computeIfAbsent, because the metadata of embeddables may be resolved while building this one
+			List<AuditedAttributeMetadata> attributes = new ArrayList<>();
+			for (Method method : EntityInspector.getAuditedAttributes(clazz)) {
+				attributes.add(new AuditedAttributeMetadata(method));
+			}
+			CACHE.putIfAbsent(clazz, new AuditedClassMetadata(clazz, attributes));
+			metadata = CACHE.get(clazz);
+		}
+
+		return metadata;
+	}
+
+	public Class<?> getType() {
+		return type;
+	}
+
+	public List<AuditedAttributeMetadata> getAttributes() {
+		return attributes;
+	}
+}
@@ -21,6 +21,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import javax.persistence.ManyToMany;
@@ -28,6 +29,8 @@ import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Transient;
 
+import org.apache.commons.lang3.ObjectUtils;
+
 import de.symeda.auditlog.api.Audited;
 import de.symeda.auditlog.api.AuditedAttribute;
 import de.symeda.auditlog.api.AuditedCollection;
@@ -37,6 +40,8 @@ import de.symeda.auditlog.api.value.format.CollectionFormatter;
 import de.symeda.auditlog.api.value.format.DefaultCollectionFormatter;
 import de.symeda.auditlog.api.value.format.DefaultValueFormatter;
 import de.symeda.auditlog.api.value.format.ValueFormatter;
+import de.symeda.auditlog.api.value.format.override.DateFormatOverrideDetector;
+import de.symeda.auditlog.api.value.format.override.OverrideDetector;
 
 /**
  * Inspects entities to track changes made to them.
@@ -64,8 +69,9 @@ public class EntityInspector {
 		List<Method> auditedMethods = new ArrayList<>();
 
 		if (this.entity != null) {
-			Class<?> clazz = this.entity.getClass();
-			auditedMethods.addAll(getAuditedAttributes(clazz));
+			for (AuditedAttributeMetadata attribute : AuditedClassMetadata.of(this.entity.getClass()).getAttributes()) {
+				auditedMethods.add(attribute.getMethod());
+			}
 		}
 
 		return auditedMethods;
@@ -75,8 +81,9 @@ public class EntityInspector {
 	 * @param clazz
 	 *            This class and all super classes that are annotated with {@link Audited} are checked for methods to be audited.
 	 * @return All methods to be audited of the given {@code clazz}.
+	 * @see AuditedClassMetadata#of(Class)
 	 */
-	private List<Method> getAuditedAttributes(Class<?> clazz) {
+	static List<Method> getAuditedAttributes(Class<?> clazz) {
 
 		List<Method> auditedMethods = new ArrayList<>();
 
@@ -114,7 +121,7 @@ public class EntityInspector {
 	 *            The method to check.
 	 * @return True if the method should be audited, false if not.
 	 */
-	private boolean isAudited(Method method) {
+	private static boolean isAudited(Method method) {
 		if (method.getAnnotation(AuditedIgnore.class) != null) {
 			return false;
 		} else if (method.getAnnotation(AuditedAttribute.class) != null || method.getAnnotation(AuditedCollection.class) != null) {
@@ -186,6 +193,64 @@ public class EntityInspector {
 		return resultingCollectionFormatter;
 	}
 
+	/**
+	 * Decides which {@link ValueFormatter} should be used for this entity property. Returns the original {@link ValueFormatter} if
+	 * <ol>
+	 * <li>it already differs from the default ValueFormatter</li>
+	 * <li>no reasonable derivation based on the entity property can be found</li>
+	 * <ol>
+	 * 
+	 * @param original
+	 *            The {@link ValueFormatter} given as a parameter to {@link AuditedAttribute}.
+	 * @param m
+	 *            The entity property.
+	 * @return The {@link ValueFormatter} to be used. Must not return <code>null</code>.
+	 */
+	public static ValueFormatter<?> overrideFormatter(ValueFormatter<?> original, Method m) {
+
+		if (isDefaultFormatter(original.getClass())) {
+			OverrideDetector<?> detector = findOverrideDector(m);
+
+			if (detector != null) {
+				// If a reasonable default exists, use it.
+				return ObjectUtils.firstNonNull(detector.override(m), original);
+			} else {
+				return original;
+			}
+		}
+
+		return original;
+	}
+
+	/**
+	 * Checks based on the entity property which OverrideDetector may be used.
+	 * 
+	 * @param m
+	 *            The entity property.
+	 * @return Returns <code>null</code> if no {@link OverrideDetector} for the entity property can be found.
+	 */
+	private static OverrideDetector<?> findOverrideDector(Method m) {
+
+		OverrideDetector<?> suitedDetector = null;
+		if (Date.class.isAssignableFrom(m.getReturnType())) {
+			suitedDetector = new DateFormatOverrideDetector();
+		}
+
+		return suitedDetector;
+	}
+
+	/**
+	 * Checks whether a {@link ValueFormatter} is the default ValueFormatter.
+	 * 
+	 * @param specifiedFormatter
+	 *            The {@link ValueFormatter} to check.
+	 * @return Returns <code>true</code> if the Formatter to check matches the default ValueFormatter. Returns <code>false</code> otherwise.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static boolean isDefaultFormatter(Class<? extends ValueFormatter> specifiedFormatter) {
+		return AuditedAttribute.DEFAULT_FORMATTER.equals(specifiedFormatter);
+	}
+
 	private static ValueFormatter<?> buildFormatter(Class<? extends ValueFormatter<?>> formatterClass) {
 
 		try {
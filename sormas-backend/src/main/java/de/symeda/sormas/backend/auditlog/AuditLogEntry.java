@@ -63,6 +63,9 @@ public class AuditLogEntry implements Serializable {
 	@Column(name = "transaction_id", nullable = false)
 	private String transactionId;
 
+	@Column(name = "entry_key", unique = true)
+	private String entryKey;
+
 	@Temporal(TemporalType.TIMESTAMP)
 	@Column(name = "detection_ts", nullable = false)
 	private Date detectionTimestamp;
@@ -139,6 +142,17 @@ public class AuditLogEntry implements Serializable {
 		this.transactionId = transactionId;
 	}
 
+	/**
+	 * @return Unique key of the entry, so it is not inserted twice when it is written again after a restart.
+	 */
+	public String getEntryKey() {
+		return entryKey;
+	}
+
+	public void setEntryKey(String entryKey) {
+		this.entryKey = entryKey;
+	}
+
 	public Map<String, String> getAttributes() {
 		return attributes;
 	}
@@ -17,29 +17,41 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.auditlog;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
+import javax.annotation.Resource;
+import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.enterprise.event.Observes;
 import javax.enterprise.event.TransactionPhase;
-import javax.persistence.EntityManager;
-import javax.persistence.PersistenceContext;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
 
 import de.symeda.auditlog.api.ChangeEvent;
-import de.symeda.sormas.backend.util.ModelConstants;
 
 /**
- * Turns {@link ChangeEvent}s to {@link AuditLogEntry} and saves it.
+ * Turns {@link ChangeEvent}s to {@link AuditLogEntry} and collects them per transaction.
+ * Once the transaction has been committed, they are handed over to the {@link AuditLogWriter}.
  * 
  * @author Oliver Milke
  */
 @Stateless
 public class AuditLogServiceBean {
 
-	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME_AUDITLOG)
-	private EntityManager entityManager;
+	private static final String TRANSACTION_ENTRIES_KEY = AuditLogServiceBean.class.getName() + ".entries";
+	private static final String TRANSACTION_KEY_KEY = AuditLogServiceBean.class.getName() + ".key";
+
+	@Resource
+	private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+	@EJB
+	private AuditLogWriter auditLogWriter;
 
 	@TransactionAttribute(TransactionAttributeType.MANDATORY)
 	public void receiveChanges(@Observes(during = TransactionPhase.IN_PROGRESS) ChangeEvent event) {
@@ -55,6 +67,40 @@ public class AuditLogServiceBean {
 		log.setUuid(event.getOid().getEntityUuid());
 		log.setClazz(event.getOid().getEntityClass().getName());
 
-		this.entityManager.persist(log);
+		List<AuditLogEntry> entries = getTransactionEntries();
+		log.setEntryKey(transactionSynchronizationRegistry.getResource(TRANSACTION_KEY_KEY) + "_" + entries.size());
+		entries.add(log);
+	}
+
+	/**
+	 * @return The entries of the current transaction. They are handed over to the {@link AuditLogWriter} after a commit and
+	 *         discarded after a rollback.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<AuditLogEntry> getTransactionEntries() {
+
+		List<AuditLogEntry> entries = (List<AuditLogEntry>) transactionSynchronizationRegistry.getResource(TRANSACTION_ENTRIES_KEY);
+		if (entries == null) {
+			List<AuditLogEntry> transactionEntries = new ArrayList<>();
+			transactionSynchronizationRegistry.putResource(TRANSACTION_ENTRIES_KEY, transactionEntries);
+			transactionSynchronizationRegistry.putResource(TRANSACTION_KEY_KEY, UUID.randomUUID().toString());
+			transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+
+				@Override
+				public void beforeCompletion() {
+					// nothing to do
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					if (status == Status.STATUS_COMMITTED) {
+						auditLogWriter.enqueue(transactionEntries);
+					}
+				}
+			});
+			entries = transactionEntries;
+		}
+
+		return entries;
 	}
 }
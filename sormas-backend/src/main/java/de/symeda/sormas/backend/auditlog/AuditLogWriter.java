@@ -0,0 +1,478 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2018 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.auditlog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.sql.DataSource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.symeda.sormas.backend.common.ConfigFacadeEjb;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+
+/**
+ * Writes the {@link AuditLogEntry}s of committed transactions asynchronously, using JDBC batch inserts.
+ * <p>
+ * The entries of each transaction are stored in an outbox file before they are handed over. Each server has its own outbox
+ * folder in {@link ConfigFacadeEjb#AUDITLOG_SPILL_PATH}, so servers sharing the path don't write each other's files. The files
+ * are written to the database in the order they have been created and deleted afterwards, so entries survive a restart or an
+ * unavailable audit database. The entries of the most recent files are kept in memory as well, to not read them back from disk.
+ * <p>
+ * The outbox files are written by the thread that committed the transaction. They are only synced to the disk when
+ * {@link ConfigFacadeEjb#AUDITLOG_SPILL_SYNC} is enabled, because that adds the latency of the disk to every committed
+ * transaction; otherwise, the entries of the last seconds can get lost when the operating system crashes.
+ * <p>
+ * Each entry has a unique key, so the entries of a file that is written again, e.g. because the server stopped before the
+ * file could be deleted, are not inserted twice.
+ * <p>
+ * The outbox holds at most {@link ConfigFacadeEjb#AUDITLOG_SPILL_MAX_FILES} files. When it is full, the entries are written to
+ * the database by the committing thread right away and are lost if that fails as well.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class AuditLogWriter {
+
+	public static final int FLUSH_INTERVAL_SECONDS = 2;
+
+	static final int CACHE_CAPACITY = 10000;
+	static final int BATCH_SIZE = 500;
+
+	static final String OUTBOX_FILE_PREFIX = "auditlog_";
+	static final String OUTBOX_FILE_SUFFIX = ".ser";
+	static final String CORRUPT_OUTBOX_FILE_SUFFIX = ".corrupt";
+	private static final String INCOMPLETE_OUTBOX_FILE_SUFFIX = ".tmp";
+
+	private static final String NEXT_IDS = "SELECT nextval('auditlog_seq') FROM generate_series(1, ?)";
+	private static final String INSERT_ENTRY =
+		"INSERT INTO auditlogentry (id, detection_ts, changetype, editinguser, clazz, uuid, transaction_id, entry_key)"
+			+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (entry_key) DO NOTHING";
+	// the attributes of entries that have already been written are skipped together with the entry
+	private static final String INSERT_ATTRIBUTE = "INSERT INTO auditlogentry_attributes (auditlogentry_id, attribute_key, attribute_value)"
+		+ " SELECT ?, ?, ? WHERE EXISTS (SELECT 1 FROM auditlogentry WHERE id = ?)";
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	// entries of outbox files that have not been written yet, at most CACHE_CAPACITY
+	private final Map<Path, List<AuditLogEntry>> cachedEntries = new ConcurrentHashMap<>();
+	private final AtomicInteger cachedEntryCount = new AtomicInteger();
+
+	// makes the names of outbox files created within the same millisecond unique and ordered
+	private final AtomicLong outboxSequence = new AtomicLong();
+
+	private Path outboxDirectory;
+	// outbox files that have not been written yet, including those that are still being written
+	private final AtomicInteger outboxFileCount = new AtomicInteger();
+	// to log only once when the outbox is full or filling up
+	private volatile boolean outboxFull;
+	private volatile boolean outboxFillingUp;
+
+	// only one thread at a time is writing to the database and reading outbox files
+	private final Object flushLock = new Object();
+
+	@Resource(lookup = "jdbc/AuditlogPool")
+	private DataSource dataSource;
+
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+
+	/**
+	 * Outbox files that were still being written when the server stopped are handed over like the others. Incomplete ones
+	 * can't be read and are marked as corrupt. Outbox files that have been stored directly in the spill path by earlier versions
+	 * are taken over by the first server that starts.
+	 */
+	@PostConstruct
+	public void initOutbox() {
+
+		Path spillDirectory = Paths.get(configFacade.getAuditlogSpillPath());
+		outboxDirectory = spillDirectory.resolve(getNodeName());
+		try {
+			Files.createDirectories(outboxDirectory);
+			syncDirectory(spillDirectory);
+		} catch (IOException e) {
+			logger.error("Could not create audit log outbox " + outboxDirectory, e);
+			return;
+		}
+
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDirectory, OUTBOX_FILE_PREFIX + "*")) {
+			for (Path legacyFile : stream) {
+				Files.move(legacyFile, outboxDirectory.resolve(legacyFile.getFileName()), StandardCopyOption.ATOMIC_MOVE);
+			}
+		} catch (IOException e) {
+			logger.error("Could not take over audit log outbox files in " + spillDirectory, e);
+		}
+
+		try (DirectoryStream<Path> stream =
+			Files.newDirectoryStream(outboxDirectory, OUTBOX_FILE_PREFIX + "*" + OUTBOX_FILE_SUFFIX + INCOMPLETE_OUTBOX_FILE_SUFFIX)) {
+			for (Path incompleteFile : stream) {
+				String fileName = incompleteFile.getFileName().toString();
+				String outboxFileName = fileName.substring(0, fileName.length() - INCOMPLETE_OUTBOX_FILE_SUFFIX.length());
+				Files.move(incompleteFile, incompleteFile.resolveSibling(outboxFileName));
+			}
+		} catch (IOException e) {
+			logger.error("Could not recover incomplete audit log outbox files in " + outboxDirectory, e);
+		}
+
+		outboxFileCount.set(listOutboxFiles().size());
+	}
+
+	/**
+	 * @return The name of the host and of the server instance on it, to give each server its own outbox
+	 */
+	static String getNodeName() {
+
+		String hostName;
+		try {
+			hostName = InetAddress.getLocalHost().getHostName();
+		} catch (UnknownHostException e) {
+			hostName = "localhost";
+		}
+		String instanceName = StringUtils.defaultIfBlank(System.getProperty("com.sun.aas.instanceName"), "server");
+		return (hostName + "_" + instanceName).replaceAll("[^\\w.-]", "_");
+	}
+
+	Path getOutboxDirectory() {
+		return outboxDirectory;
+	}
+
+	/**
+	 * Stores the entries of a committed transaction in the outbox to be written asynchronously. If the outbox can't be written,
+	 * the entries are written to the database right away.
+	 */
+	public void enqueue(List<AuditLogEntry> entries) {
+
+		if (entries.isEmpty()) {
+			return;
+		}
+
+		// a longer outage of the audit database must not fill up the disk
+		if (outboxFileCount.incrementAndGet() > configFacade.getAuditlogSpillMaxFiles()) {
+			outboxFileCount.decrementAndGet();
+			if (!outboxFull) {
+				outboxFull = true;
+				logger.error(
+					"The audit log outbox {} is full, audit log entries are written right away until it has been written",
+					outboxDirectory);
+			}
+			if (!write(entries)) {
+				logger.error("Could not write {} audit log entries, they are lost", entries.size());
+			}
+			return;
+		}
+
+		boolean sync = configFacade.isAuditlogSpillSync();
+		Path outboxFile;
+		Path incompleteFile;
+		try {
+			Files.createDirectories(outboxDirectory);
+			// the creation time in the name determines the order the files are written in
+			outboxFile = outboxDirectory.resolve(
+				String.format(
+					"%s%013d_%010d%s",
+					OUTBOX_FILE_PREFIX,
+					System.currentTimeMillis(),
+					outboxSequence.incrementAndGet(),
+					OUTBOX_FILE_SUFFIX));
+			incompleteFile = outboxFile.resolveSibling(outboxFile.getFileName() + INCOMPLETE_OUTBOX_FILE_SUFFIX);
+			writeOutboxFile(incompleteFile, entries, sync);
+		} catch (IOException e) {
+			outboxFileCount.decrementAndGet();
+			logger.error("Could not store " + entries.size() + " audit log entries in the outbox, writing them right away", e);
+			if (!write(entries)) {
+				logger.error("Could not write {} audit log entries, they are lost", entries.size());
+			}
+			return;
+		}
+
+		// cache before the file becomes visible to the flush, which removes it from the cache again
+		boolean cached = cachedEntryCount.addAndGet(entries.size()) <= CACHE_CAPACITY;
+		if (cached) {
+			cachedEntries.put(outboxFile, entries);
+		} else {
+			cachedEntryCount.addAndGet(-entries.size());
+		}
+
+		try {
+			Files.move(incompleteFile, outboxFile, StandardCopyOption.ATOMIC_MOVE);
+			if (sync) {
+				syncDirectory(outboxDirectory);
+			}
+		} catch (IOException e) {
+			// the file is handed over on the next start
+			logger.error("Could not hand over audit log outbox file " + incompleteFile, e);
+			if (cached && cachedEntries.remove(outboxFile) != null) {
+				cachedEntryCount.addAndGet(-entries.size());
+			}
+		}
+	}
+
+	@Schedule(hour = "*", minute = "*", second = "*/" + FLUSH_INTERVAL_SECONDS, persistent = false)
+	public void flush() {
+
+		synchronized (flushLock) {
+			writeOutbox();
+		}
+
+		int maxFiles = configFacade.getAuditlogSpillMaxFiles();
+		int fileCount = outboxFileCount.get();
+		if (fileCount > maxFiles / 2) {
+			if (!outboxFillingUp) {
+				outboxFillingUp = true;
+				logger.warn(
+					"The audit log outbox {} contains {} of at most {} files that have not been written yet",
+					outboxDirectory,
+					fileCount,
+					maxFiles);
+			}
+		} else if (outboxFillingUp || outboxFull) {
+			outboxFillingUp = false;
+			outboxFull = false;
+			logger.info("The audit log outbox {} has been written and contains {} files", outboxDirectory, fileCount);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		// whatever can't be written stays in the outbox for the next start
+		flush();
+	}
+
+	/**
+	 * Writes the outbox files in the order they have been created, in batches of about {@link #BATCH_SIZE} entries. Stops at the
+	 * first batch that can't be written.
+	 */
+	private void writeOutbox() {
+
+		List<Path> outboxFiles = listOutboxFiles();
+		List<Path> batchFiles = new ArrayList<>();
+		List<AuditLogEntry> batch = new ArrayList<>(BATCH_SIZE);
+		for (Path outboxFile : outboxFiles) {
+
+			List<AuditLogEntry> entries = readOutboxFile(outboxFile);
+			if (entries == null) {
+				continue;
+			}
+
+			batchFiles.add(outboxFile);
+			batch.addAll(entries);
+			if (batch.size() >= BATCH_SIZE) {
+				if (!writeBatch(batchFiles, batch)) {
+					return;
+				}
+				batchFiles.clear();
+				batch.clear();
+			}
+		}
+
+		if (!batch.isEmpty()) {
+			writeBatch(batchFiles, batch);
+		}
+	}
+
+	/**
+	 * @return The outbox files that have been handed over, in the order they have been created
+	 */
+	private List<Path> listOutboxFiles() {
+
+		List<Path> outboxFiles = new ArrayList<>();
+		if (outboxDirectory == null || !Files.isDirectory(outboxDirectory)) {
+			return outboxFiles;
+		}
+
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(outboxDirectory, OUTBOX_FILE_PREFIX + "*" + OUTBOX_FILE_SUFFIX)) {
+			stream.forEach(outboxFiles::add);
+		} catch (IOException e) {
+			logger.error("Could not list audit log outbox files in " + outboxDirectory, e);
+		}
+		outboxFiles.sort(null);
+		return outboxFiles;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<AuditLogEntry> readOutboxFile(Path outboxFile) {
+
+		List<AuditLogEntry> entries = cachedEntries.remove(outboxFile);
+		if (entries != null) {
+			cachedEntryCount.addAndGet(-entries.size());
+			return entries;
+		}
+
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(outboxFile)))) {
+			return (List<AuditLogEntry>) in.readObject();
+		} catch (IOException | ClassNotFoundException e) {
+			logger.error("Could not read audit log outbox file " + outboxFile, e);
+			markCorrupt(outboxFile);
+			return null;
+		}
+	}
+
+	private boolean writeBatch(List<Path> batchFiles, List<AuditLogEntry> batch) {
+
+		if (!write(batch)) {
+			return false;
+		}
+
+		for (Path outboxFile : batchFiles) {
+			try {
+				Files.delete(outboxFile);
+				outboxFileCount.decrementAndGet();
+			} catch (IOException e) {
+				// would only be skipped when written a second time
+				logger.error("Could not delete written audit log outbox file " + outboxFile, e);
+				markCorrupt(outboxFile);
+			}
+		}
+
+		return true;
+	}
+
+	private boolean write(List<AuditLogEntry> entries) {
+
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+			try {
+				insert(connection, entries);
+				connection.commit();
+				return true;
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			}
+		} catch (SQLException e) {
+			logger.error("Could not write " + entries.size() + " audit log entries", e);
+			return false;
+		}
+	}
+
+	private void insert(Connection connection, List<AuditLogEntry> entries) throws SQLException {
+
+		List<Long> ids = new ArrayList<>(entries.size());
+		try (PreparedStatement nextIds = connection.prepareStatement(NEXT_IDS)) {
+			nextIds.setInt(1, entries.size());
+			try (ResultSet resultSet = nextIds.executeQuery()) {
+				while (resultSet.next()) {
+					ids.add(resultSet.getLong(1));
+				}
+			}
+		}
+
+		try (PreparedStatement insertEntry = connection.prepareStatement(INSERT_ENTRY);
+			PreparedStatement insertAttribute = connection.prepareStatement(INSERT_ATTRIBUTE)) {
+
+			for (int i = 0; i < entries.size(); i++) {
+				AuditLogEntry entry = entries.get(i);
+				long id = ids.get(i);
+
+				insertEntry.setLong(1, id);
+				insertEntry.setTimestamp(2, new Timestamp(entry.getDetectionTimestamp().getTime()));
+				insertEntry.setString(3, entry.getChangeType().name());
+				insertEntry.setString(4, entry.getEditingUser());
+				insertEntry.setString(5, entry.getClazz());
+				insertEntry.setString(6, entry.getUuid());
+				insertEntry.setString(7, entry.getTransactionId());
+				insertEntry.setString(8, entry.getEntryKey());
+				insertEntry.addBatch();
+
+				if (entry.getAttributes() != null) {
+					for (Map.Entry<String, String> attribute : entry.getAttributes().entrySet()) {
+						insertAttribute.setLong(1, id);
+						insertAttribute.setString(2, attribute.getKey());
+						insertAttribute.setString(3, attribute.getValue());
+						insertAttribute.setLong(4, id);
+						insertAttribute.addBatch();
+					}
+				}
+			}
+
+			insertEntry.executeBatch();
+			insertAttribute.executeBatch();
+		}
+	}
+
+	private static void writeOutboxFile(Path file, List<AuditLogEntry> entries, boolean sync) throws IOException {
+
+		try (FileOutputStream fileOut = new FileOutputStream(file.toFile());
+			ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(fileOut))) {
+			out.writeObject(new ArrayList<>(entries));
+			out.flush();
+			if (sync) {
+				fileOut.getFD().sync();
+			}
+		}
+	}
+
+	/**
+	 * Makes the creation and renaming of files in the directory durable. Not supported on all platforms, e.g. Windows.
+	 */
+	private void syncDirectory(Path directory) {
+
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException e) {
+			logger.debug("Could not sync audit log outbox directory " + directory, e);
+		}
+	}
+
+	private void markCorrupt(Path outboxFile) {
+
+		try {
+			Files.move(outboxFile, outboxFile.resolveSibling(outboxFile.getFileName() + CORRUPT_OUTBOX_FILE_SUFFIX));
+			outboxFileCount.decrementAndGet();
+		} catch (IOException e) {
+			logger.error("Could not mark audit log outbox file " + outboxFile + " as corrupt", e);
+		}
+	}
+}
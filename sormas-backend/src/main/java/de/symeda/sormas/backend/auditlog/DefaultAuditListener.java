@@ -23,11 +23,15 @@ import java.util.Collections;
 
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.persistence.PostLoad;
 import javax.persistence.PrePersist;
 import javax.persistence.PreRemove;
 import javax.persistence.PreUpdate;
 
+import org.hibernate.Session;
+
 import de.symeda.auditlog.api.AuditListener;
 import de.symeda.auditlog.api.Auditor;
 import de.symeda.auditlog.api.ChangeEvent;
@@ -37,6 +41,7 @@ import de.symeda.auditlog.api.EntityId;
 import de.symeda.auditlog.api.TransactionId;
 import de.symeda.auditlog.api.UserId;
 import de.symeda.sormas.api.HasUuid;
+import de.symeda.sormas.backend.util.ModelConstants;
 
 /**
  * Entity life cycle listener that can detect changes on entities.
@@ -63,6 +68,12 @@ public class DefaultAuditListener implements Serializable, AuditListener {
 	@Inject
 	Event<ChangeEvent> event;
 
+	@Inject
+	private ReadOnlyLoadingScope readOnlyLoadingScope;
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
 	@Override
 	@PrePersist
 	@PreUpdate
@@ -76,7 +87,19 @@ public class DefaultAuditListener implements Serializable, AuditListener {
 	@PostLoad
 	public void postLoad(HasUuid o) {
 
-		auditor.register(o);
+		// entities loaded read-only are never flushed, so there is no need to keep their original state for a later comparison
+		if (!readOnlyLoadingScope.isActive() && !isLoadedReadOnly(o)) {
+			auditor.register(o);
+		}
+	}
+
+	/**
+	 * @return Whether the entity has been loaded read-only by a query with {@link ModelConstants#HINT_HIBERNATE_READ_ONLY}.
+	 */
+	private boolean isLoadedReadOnly(HasUuid o) {
+
+		Session session = em.unwrap(Session.class);
+		return session.contains(o) && session.isReadOnly(o);
 	}
 
 	@Override
@@ -0,0 +1,27 @@
+package de.symeda.sormas.backend.auditlog;
+
+import javax.enterprise.context.RequestScoped;
+
+import de.symeda.sormas.backend.common.AbstractAdoService;
+
+/**
+ * Tells whether entities are currently being loaded read-only by {@link AbstractAdoService#executeReadOnly}. These entities are
+ * never flushed, so the audit log doesn't keep a snapshot of them.
+ */
+@RequestScoped
+public class ReadOnlyLoadingScope {
+
+	private int depth;
+
+	public void enter() {
+		depth++;
+	}
+
+	public void leave() {
+		depth--;
+	}
+
+	public boolean isActive() {
+		return depth > 0;
+	}
+}
@@ -20,6 +20,7 @@ package de.symeda.sormas.backend.caze;
 import static de.symeda.sormas.api.EntityDto.COLUMN_LENGTH_BIG;
 import static de.symeda.sormas.api.EntityDto.COLUMN_LENGTH_DEFAULT;
 
+import java.sql.Timestamp;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -153,6 +154,8 @@ public class Case extends CoreAdo {
 	public static final String POSTPARTUM = "postpartum";
 	public static final String TRIMESTER = "trimester";
 	public static final String SAMPLES = "samples";
+	public static final String AGGREGATE_CHANGE_DATE = "aggregateChangeDate";
+	public static final String SEARCH_TEXT = "searchText";
 
 	private Person person;
 	private String description;
@@ -261,6 +264,8 @@ public class Case extends CoreAdo {
 
 	private List<Task> tasks;
 	private Set<Sample> samples;
+	private Timestamp aggregateChangeDate;
+	private String searchText;
 
 	@ManyToOne(cascade = {})
 	@JoinColumn(nullable = false)
@@ -1081,4 +1086,33 @@ public class Case extends CoreAdo {
 	public void setTrimester(Trimester trimester) {
 		this.trimester = trimester;
 	}
+
+	/**
+	 * Latest change date of the case and the entities it owns (symptoms, hospitalization, epi data, therapy, clinical course, maternal history and port health info). Maintained by {@link CaseService} with a separate update,
+	 * so it does not change the version of the entity.
+	 */
+	@AuditedIgnore
+	@Column(insertable = false, updatable = false)
+	public Timestamp getAggregateChangeDate() {
+		return aggregateChangeDate;
+	}
+
+	public void setAggregateChangeDate(Timestamp aggregateChangeDate) {
+		this.aggregateChangeDate = aggregateChangeDate;
+	}
+
+	/**
+	 * The person's names, uuid, epid number, health facility name and details in lower case, searched by the free text filter of
+	 * the case directory. Maintained by {@link CaseService} with a separate update, so it does not change the version of the
+	 * entity.
+	 */
+	@AuditedIgnore
+	@Column(insertable = false, updatable = false, columnDefinition = "text")
+	public String getSearchText() {
+		return searchText;
+	}
+
+	public void setSearchText(String searchText) {
+		this.searchText = searchText;
+	}
 }
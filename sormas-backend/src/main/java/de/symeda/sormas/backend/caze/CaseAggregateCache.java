@@ -0,0 +1,272 @@
+package de.symeda.sormas.backend.caze;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.CacheKey;
+import de.symeda.sormas.backend.common.CacheLoader;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.common.VersionedCache;
+import de.symeda.sormas.backend.contact.Contact;
+import de.symeda.sormas.backend.infrastructure.PopulationData;
+import de.symeda.sormas.backend.person.Person;
+import de.symeda.sormas.backend.sample.Sample;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Application wide cache of results that are aggregated from cases, like the case counts of the statistics and the cases shown on
+ * the dashboard. Results are identified by the {@link CacheKey canonical form} of the query name and its parameters, so criteria
+ * objects do not need to implement equals. Results that are filtered by the jurisdiction of the current user are cached per
+ * {@link CaseService#getUserFilterScope() user filter scope}.
+ * <p>
+ * All results are discarded when the latest change date of the cases, contacts, persons or samples or the population data have
+ * changed. Cases, contacts and samples are only marked as deleted, which also changes their change date. This is checked at most
+ * once per {@link ConfigFacadeEjbLocal#getCacheRefreshSeconds() refresh interval}. Changes made on this server discard all
+ * results on the first access after they have been committed. In addition, results expire after
+ * {@link ConfigFacadeEjbLocal#getAggregateCacheTtlSeconds()}.
+ * <p>
+ * The size of a result is the number of its elements. When the total size exceeds {@link ConfigFacadeEjbLocal#getAggregateCacheSize()},
+ * the least recently used results are removed.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class CaseAggregateCache {
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+	@EJB
+	private CacheLoader cacheLoader;
+
+	private final VersionedCache<Results> cache = new VersionedCache<>(this::loadVersion, this::createResults);
+	private boolean resultsCreated;
+	// changes committed on this server, which may not change the latest change dates within their precision
+	private final AtomicLong committedChanges = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder invalidations = new LongAdder();
+
+	/**
+	 * Caches a result that is the same for all users.
+	 *
+	 * @param loader
+	 *            Loads the result if it is not cached. Is called without holding a lock, so the same result may be loaded
+	 *            concurrently.
+	 * @param keyParts
+	 *            The query name and all parameters the result depends on
+	 * @return The cached or loaded result. Lists and maps are copied, so the caller may modify them.
+	 */
+	public <T> T get(Supplier<T> loader, Object... keyParts) {
+		return getForUserFilterScope(null, loader, keyParts);
+	}
+
+	/**
+	 * Caches a result that is filtered by the jurisdiction of the current user.
+	 *
+	 * @param userFilterScope
+	 *            The {@link CaseService#getUserFilterScope() user filter scope} of the current user. Has to be determined by the
+	 *            caller, because the result may be loaded in a thread that doesn't know the current user.
+	 * @see #get(Supplier, Object...)
+	 */
+	public <T> T getForUserFilterScope(String userFilterScope, Supplier<T> loader, Object... keyParts) {
+
+		int maxSize = configFacade.getAggregateCacheSize();
+		if (maxSize <= 0) {
+			return loader.get();
+		}
+
+		Results results = cache.get(cacheLoader, configFacade.getCacheRefreshSeconds());
+		CacheKey key = new CacheKey(userFilterScope, Arrays.asList(keyParts));
+		long now = System.currentTimeMillis();
+
+		synchronized (results) {
+			Entry entry = results.entries.get(key);
+			if (entry != null) {
+				if (now < entry.expiry) {
+					hits.increment();
+					return copy(entry.value);
+				}
+				results.remove(key);
+			}
+		}
+
+		misses.increment();
+		T value = loader.get();
+		int size = sizeOf(value);
+		if (size <= maxSize) {
+			Entry entry = new Entry(copy(value), size, now + configFacade.getAggregateCacheTtlSeconds() * 1000L);
+			synchronized (results) {
+				results.remove(key);
+				results.entries.put(key, entry);
+				results.totalSize += size;
+
+				Iterator<Entry> leastRecentlyUsed = results.entries.values().iterator();
+				while (results.totalSize > maxSize && leastRecentlyUsed.hasNext()) {
+					results.totalSize -= leastRecentlyUsed.next().size;
+					leastRecentlyUsed.remove();
+					evictions.increment();
+				}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Has to be called when cases or the data aggregated with them are changed. The change markers are checked again on the first
+	 * access after the current transaction has been completed.
+	 */
+	public void invalidate() {
+
+		cacheLoader.invalidateAfterCompletion(committedChanges::incrementAndGet);
+		cache.invalidate(cacheLoader);
+	}
+
+	/**
+	 * @return Hits, misses, evictions because of the size limit, invalidations because of changed data, the number of cached
+	 *         results and their total size
+	 */
+	public Map<String, Long> getStatistics() {
+
+		Map<String, Long> statistics = new LinkedHashMap<>();
+		statistics.put("hits", hits.sum());
+		statistics.put("misses", misses.sum());
+		statistics.put("evictions", evictions.sum());
+		statistics.put("invalidations", invalidations.sum());
+		Results results = cache.get(cacheLoader, configFacade.getCacheRefreshSeconds());
+		synchronized (results) {
+			statistics.put("entries", (long) results.entries.size());
+			statistics.put("size", results.totalSize);
+		}
+		return statistics;
+	}
+
+	public void logStatistics() {
+		logger.info("Case aggregate cache statistics: {}", getStatistics());
+	}
+
+	/**
+	 * Uses the indexed change dates only. The population data is small and replaced instead of updated, so it is also counted.
+	 */
+	private Object loadVersion() {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+
+		CriteriaQuery<Object[]> caseCq = cb.createQuery(Object[].class);
+		Root<Case> caze = caseCq.from(Case.class);
+		caseCq.multiselect(
+			cb.greatest(caze.<Timestamp> get(AbstractDomainObject.CHANGE_DATE)),
+			cb.greatest(caze.<Timestamp> get(Case.AGGREGATE_CHANGE_DATE)));
+
+		CriteriaQuery<Object[]> populationCq = cb.createQuery(Object[].class);
+		Root<PopulationData> populationData = populationCq.from(PopulationData.class);
+		populationCq.multiselect(cb.count(populationData), cb.greatest(populationData.<Timestamp> get(AbstractDomainObject.CHANGE_DATE)));
+
+		List<Object> loadedVersion = new ArrayList<>();
+		loadedVersion.add(committedChanges.get());
+		loadedVersion.addAll(Arrays.asList(em.createQuery(caseCq).getSingleResult()));
+		loadedVersion.add(loadLatestChangeDate(cb, Contact.class));
+		loadedVersion.add(loadLatestChangeDate(cb, Person.class));
+		loadedVersion.add(loadLatestChangeDate(cb, Sample.class));
+		loadedVersion.addAll(Arrays.asList(em.createQuery(populationCq).getSingleResult()));
+		return loadedVersion;
+	}
+
+	private Timestamp loadLatestChangeDate(CriteriaBuilder cb, Class<? extends AbstractDomainObject> entityClass) {
+
+		CriteriaQuery<Timestamp> cq = cb.createQuery(Timestamp.class);
+		Root<? extends AbstractDomainObject> root = cq.from(entityClass);
+		cq.select(cb.greatest(root.<Timestamp> get(AbstractDomainObject.CHANGE_DATE)));
+		return em.createQuery(cq).getSingleResult();
+	}
+
+	private synchronized Results createResults() {
+
+		if (resultsCreated) {
+			invalidations.increment();
+		}
+		resultsCreated = true;
+		return new Results();
+	}
+
+	private static int sizeOf(Object value) {
+
+		if (value instanceof Collection) {
+			return ((Collection<?>) value).size() + 1;
+		} else if (value instanceof Map) {
+			return ((Map<?, ?>) value).size() + 1;
+		}
+		return 1;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T value) {
+
+		if (value instanceof List) {
+			return (T) new ArrayList<>((List<?>) value);
+		} else if (value instanceof Map) {
+			return (T) new HashMap<>((Map<?, ?>) value);
+		}
+		return value;
+	}
+
+	/**
+	 * Results for one version of the aggregated data.
+	 */
+	private static final class Results {
+
+		// ordered by access, the least recently used entry comes first
+		private final Map<CacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+		private long totalSize;
+
+		private void remove(CacheKey key) {
+
+			Entry removed = entries.remove(key);
+			if (removed != null) {
+				totalSize -= removed.size;
+			}
+		}
+	}
+
+	private static final class Entry {
+
+		private final Object value;
+		private final int size;
+		private final long expiry;
+
+		private Entry(Object value, int size, long expiry) {
+			this.value = value;
+			this.size = size;
+			this.expiry = expiry;
+		}
+	}
+}
@@ -55,6 +55,7 @@ import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.StringUtils;
@@ -64,8 +65,8 @@ import org.slf4j.LoggerFactory;
 import de.symeda.sormas.api.CaseMeasure;
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.DiseaseHelper;
-import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseDataDto;
@@ -127,6 +128,7 @@ import de.symeda.sormas.api.therapy.TreatmentCriteria;
 import de.symeda.sormas.api.therapy.TreatmentDto;
 import de.symeda.sormas.api.user.UserRight;
 import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.CountStrategy;
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.api.utils.DataHelper.Pair;
 import de.symeda.sormas.api.utils.DateHelper;
@@ -135,6 +137,8 @@ import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.api.utils.YesNoUnknown;
 import de.symeda.sormas.backend.caze.classification.CaseClassificationFacadeEjb.CaseClassificationFacadeEjbLocal;
+import de.symeda.sormas.backend.caze.duplicate.CaseDuplicateCandidate;
+import de.symeda.sormas.backend.caze.duplicate.CaseDuplicateCandidateUpdater;
 import de.symeda.sormas.backend.caze.maternalhistory.MaternalHistoryFacadeEjb;
 import de.symeda.sormas.backend.caze.maternalhistory.MaternalHistoryFacadeEjb.MaternalHistoryFacadeEjbLocal;
 import de.symeda.sormas.backend.caze.porthealthinfo.PortHealthInfoFacadeEjb;
@@ -149,9 +153,11 @@ import de.symeda.sormas.backend.clinicalcourse.HealthConditions;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.common.CountCache;
 import de.symeda.sormas.backend.common.MessageType;
 import de.symeda.sormas.backend.common.MessagingService;
 import de.symeda.sormas.backend.common.NotificationDeliveryFailedException;
+import de.symeda.sormas.backend.common.SyncCursor;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb.ContactFacadeEjbLocal;
@@ -237,6 +243,10 @@ public class CaseFacadeEjb implements CaseFacade {
 	@EJB
 	private CaseListCriteriaBuilder listQueryBuilder;
 	@EJB
+	private CountCache countCache;
+	@EJB
+	private CaseAggregateCache caseAggregateCache;
+	@EJB
 	private PersonService personService;
 	@EJB
 	private FacilityService facilityService;
@@ -334,6 +344,20 @@ public class CaseFacadeEjb implements CaseFacade {
 			.collect(Collectors.toList());
 	}
 
+	@Override
+	public SyncPageDto<CaseDataDto> getAllActiveCasesPage(Date date, String cursor) {
+
+		if (userService.getCurrentUser() == null) {
+			return new SyncPageDto<>(Collections.emptyList(), null);
+		}
+
+		int pageSize = configFacade.getSyncPageSize();
+		return caseService.executeReadOnly(() -> {
+			List<Case> cases = caseService.getAllActiveCasesAfter(date, false, SyncCursor.parse(cursor), pageSize + 1);
+			return SyncCursor.toPage(cases, pageSize, this::convertToDto);
+		});
+	}
+
 	@Override
 	public List<CaseDataDto> getByUuids(List<String> uuids) {
 		return caseService.getByUuids(uuids).stream().map(c -> convertToDto(c)).collect(Collectors.toList());
@@ -346,6 +370,30 @@ public class CaseFacadeEjb implements CaseFacade {
 
 	@Override
 	public long count(CaseCriteria caseCriteria) {
+		return em.createQuery(createCountQuery(caseCriteria, false)).getSingleResult();
+	}
+
+	@Override
+	public long count(CaseCriteria caseCriteria, CountStrategy countStrategy, int max) {
+
+		switch (countStrategy) {
+		case EXACT:
+			return count(caseCriteria);
+		case CACHED:
+			return countCache.get(() -> count(caseCriteria), Case.class.getSimpleName(), caseCriteria, caseService.getUserFilterScope());
+		case HAS_MORE:
+			// without aggregation, the database stops looking for cases as soon as it has found enough of them
+			return em.createQuery(createCountQuery(caseCriteria, true)).setMaxResults(max + 1).getResultList().size();
+		default:
+			throw new IllegalArgumentException(countStrategy.toString());
+		}
+	}
+
+	/**
+	 * @param selectIds
+	 *            Selects the ids of the matching cases instead of their number
+	 */
+	private CriteriaQuery<Long> createCountQuery(CaseCriteria caseCriteria, boolean selectIds) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
@@ -360,8 +408,8 @@ public class CaseFacadeEjb implements CaseFacade {
 			cq.where(filter);
 		}
 
-		cq.select(cb.count(root));
-		return em.createQuery(cq).getSingleResult();
+		cq.select(selectIds ? root.<Long> get(AbstractDomainObject.ID) : cb.count(root));
+		return cq;
 	}
 
 	@Override
@@ -420,6 +468,35 @@ public class CaseFacadeEjb implements CaseFacade {
 		ExportConfigurationDto exportConfiguration,
 		Language userLanguage) {
 
+		return getExportList(caseCriteria, exportType, null, first, max, exportConfiguration, userLanguage);
+	}
+
+	@Override
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public List<CaseExportDto> getExportListAfter(
+		CaseCriteria caseCriteria,
+		CaseExportType exportType,
+		Long afterCaseId,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage) {
+
+		return getExportList(caseCriteria, exportType, afterCaseId, 0, max, exportConfiguration, userLanguage);
+	}
+
+	/**
+	 * @param afterCaseId
+	 *            When not null, only cases following this case in the export order are returned (keyset paging)
+	 */
+	private List<CaseExportDto> getExportList(
+		CaseCriteria caseCriteria,
+		CaseExportType exportType,
+		Long afterCaseId,
+		int first,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage) {
+
 		Boolean previousCaseManagementDataCriteria = caseCriteria.getMustHaveCaseManagementData();
 		if (CaseExportType.CASE_MANAGEMENT == exportType) {
 			caseCriteria.setMustHaveCaseManagementData(Boolean.TRUE);
@@ -482,6 +559,20 @@ public class CaseFacadeEjb implements CaseFacade {
 			filter = AbstractAdoService.and(cb, filter, criteriaFilter);
 		}
 
+		if (afterCaseId != null) {
+			// the report date is taken from the database to compare it with its full precision
+			Subquery<Date> afterReportDateSq = cq.subquery(Date.class);
+			Root<Case> afterCaseRoot = afterReportDateSq.from(Case.class);
+			afterReportDateSq.select(afterCaseRoot.get(Case.REPORT_DATE));
+			afterReportDateSq.where(cb.equal(afterCaseRoot.get(Case.ID), afterCaseId));
+
+			Path<Date> reportDatePath = caseRoot.get(Case.REPORT_DATE);
+			Predicate keysetFilter = cb.or(
+				cb.lessThan(reportDatePath, afterReportDateSq),
+				cb.and(cb.equal(reportDatePath, afterReportDateSq), cb.lessThan(caseRoot.get(Case.ID), afterCaseId)));
+			filter = AbstractAdoService.and(cb, filter, keysetFilter);
+		}
+
 		if (filter != null) {
 			cq.where(filter);
 		}
@@ -935,7 +1026,7 @@ public class CaseFacadeEjb implements CaseFacade {
 		return new Random().ints(count, 0, uuids.size()).mapToObj(i -> new CaseReferenceDto(uuids.get(i))).collect(Collectors.toList());
 	}
 
-	public Map<Disease, District> getLastReportedDistrictByDisease(
+	public Map<Disease, DistrictReferenceDto> getLastReportedDistrictByDisease(
 		CaseCriteria caseCriteria,
 		boolean excludeSharedCases,
 		boolean excludeCasesFromContacts) {
@@ -964,12 +1055,12 @@ public class CaseFacadeEjb implements CaseFacade {
 
 		List<Object[]> results = em.createQuery(cq).getResultList();
 
-		Map<Disease, District> resultMap = new HashMap<>();
+		Map<Disease, DistrictReferenceDto> resultMap = new HashMap<>();
 		for (Object[] e : results) {
 			Disease disease = (Disease) e[0];
 			if (!resultMap.containsKey(disease)) {
 				District district = (District) e[1];
-				resultMap.put(disease, district);
+				resultMap.put(disease, DistrictFacadeEjb.toReferenceDto(district));
 			}
 		}
 
@@ -1012,97 +1103,34 @@ public class CaseFacadeEjb implements CaseFacade {
 		return em.createQuery(cq).getResultList();
 	}
 
+	/**
+	 * The pairs are found by {@link CaseDuplicateCandidateUpdater#update()} in the background. Here, they are only
+	 * filtered by the current user, the criteria and the region, and cases that have been deleted since are left out. The
+	 * criteria and the user filter apply to the older case of each pair.
+	 */
 	@Override
 	public List<CaseIndexDto[]> getCasesForDuplicateMerging(CaseCriteria criteria, boolean ignoreRegion) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
-		Root<Case> root = cq.from(Case.class);
-		Root<Case> root2 = cq.from(Case.class);
-		Join<Case, Person> person = root.join(Case.PERSON, JoinType.LEFT);
-		Join<Case, Person> person2 = root2.join(Case.PERSON, JoinType.LEFT);
-		Join<Case, Region> region = root.join(Case.REGION, JoinType.LEFT);
-		Join<Case, Region> region2 = root2.join(Case.REGION, JoinType.LEFT);
-		Join<Case, Symptoms> symptoms = root.join(Case.SYMPTOMS, JoinType.LEFT);
-		Join<Case, Symptoms> symptoms2 = root2.join(Case.SYMPTOMS, JoinType.LEFT);
-
-		Predicate userFilter = caseService.createUserFilter(cb, cq, root);
-		Predicate criteriaFilter = criteria != null ? caseService.createCriteriaFilter(criteria, cb, cq, root) : null;
-		Expression<String> nameSimilarityExpr = cb.concat(person.get(Person.FIRST_NAME), " ");
-		nameSimilarityExpr = cb.concat(nameSimilarityExpr, person.get(Person.LAST_NAME));
-		Expression<String> nameSimilarityExpr2 = cb.concat(person2.get(Person.FIRST_NAME), " ");
-		nameSimilarityExpr2 = cb.concat(nameSimilarityExpr2, person2.get(Person.LAST_NAME));
-		Predicate nameSimilarityFilter = cb.gt(
-			cb.function("similarity", double.class, nameSimilarityExpr, nameSimilarityExpr2),
-			FacadeProvider.getConfigFacade().getNameSimilarityThreshold());
-		Predicate diseaseFilter = cb.equal(root.get(Case.DISEASE), root2.get(Case.DISEASE));
-		Predicate regionFilter = cb.equal(region.get(Region.ID), region2.get(Region.ID));
-		Predicate reportDateFilter = cb.lessThanOrEqualTo(
-			cb.abs(
-				cb.diff(
-					cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), root.get(Case.REPORT_DATE)),
-					cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), root2.get(Case.REPORT_DATE)))),
-			new Long(30 * 24 * 60 * 60) // 30 days
-		);
-		// Sex filter: only when sex is filled in for both cases
-		Predicate sexFilter = cb.or(
-			cb.or(cb.isNull(person.get(Person.SEX)), cb.isNull(person2.get(Person.SEX))),
-			cb.equal(person.get(Person.SEX), person2.get(Person.SEX)));
-		// Birth date filter: only when birth date is filled in for both cases
-		Predicate birthDateFilter = cb.or(
-			cb.or(
-				cb.isNull(person.get(Person.BIRTHDATE_DD)),
-				cb.isNull(person.get(Person.BIRTHDATE_MM)),
-				cb.isNull(person.get(Person.BIRTHDATE_YYYY)),
-				cb.isNull(person2.get(Person.BIRTHDATE_DD)),
-				cb.isNull(person2.get(Person.BIRTHDATE_MM)),
-				cb.isNull(person2.get(Person.BIRTHDATE_YYYY))),
-			cb.and(
-				cb.equal(person.get(Person.BIRTHDATE_DD), person2.get(Person.BIRTHDATE_DD)),
-				cb.equal(person.get(Person.BIRTHDATE_MM), person2.get(Person.BIRTHDATE_MM)),
-				cb.equal(person.get(Person.BIRTHDATE_YYYY), person2.get(Person.BIRTHDATE_YYYY))));
-		// Onset date filter: only when onset date is filled in for both cases
-		Predicate onsetDateFilter = cb.or(
-			cb.or(cb.isNull(symptoms.get(Symptoms.ONSET_DATE)), cb.isNull(symptoms2.get(Symptoms.ONSET_DATE))),
-			cb.lessThanOrEqualTo(
-				cb.abs(
-					cb.diff(
-						cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), symptoms.get(Symptoms.ONSET_DATE)),
-						cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), symptoms2.get(Symptoms.ONSET_DATE)))),
-				new Long(30 * 24 * 60 * 60) // 30 days
-			));
-		Predicate creationDateFilter = cb.lessThan(root.get(Case.CREATION_DATE), root2.get(Case.CREATION_DATE));
+		Root<CaseDuplicateCandidate> candidate = cq.from(CaseDuplicateCandidate.class);
+		Join<CaseDuplicateCandidate, Case> root = candidate.join(CaseDuplicateCandidate.OLDER_CASE);
+		Join<CaseDuplicateCandidate, Case> root2 = candidate.join(CaseDuplicateCandidate.NEWER_CASE);
 
 		Predicate filter = cb.and(caseService.createDefaultFilter(cb, root), caseService.createDefaultFilter(cb, root2));
-		if (userFilter != null) {
-			filter = cb.and(filter, userFilter);
-		}
-		if (filter != null) {
-			filter = cb.and(filter, criteriaFilter);
-		} else {
-			filter = criteriaFilter;
+		filter = AbstractAdoService.and(cb, filter, caseService.createUserFilter(cb, cq, root, null));
+		if (criteria != null) {
+			filter = AbstractAdoService.and(cb, filter, caseService.createCriteriaFilter(criteria, cb, cq, root));
 		}
-		if (filter != null) {
-			filter = cb.and(filter, nameSimilarityFilter);
-		} else {
-			filter = nameSimilarityFilter;
-		}
-		filter = cb.and(filter, diseaseFilter);
-
 		if (!ignoreRegion) {
-			filter = cb.and(filter, regionFilter);
+			filter = cb.and(filter, cb.equal(root.get(Case.REGION), root2.get(Case.REGION)));
 		}
 
-		filter = cb.and(filter, reportDateFilter);
-		filter = cb.and(filter, cb.or(sexFilter, birthDateFilter));
-		filter = cb.and(filter, onsetDateFilter);
-		filter = cb.and(filter, creationDateFilter);
-
 		cq.where(filter);
 		cq.multiselect(root.get(Case.ID), root2.get(Case.ID));
 		cq.orderBy(cb.desc(root.get(Case.CREATION_DATE)));
 
-		List<Object[]> foundIds = em.createQuery(cq).setParameter("date_type", "epoch").getResultList();
+		List<Object[]> foundIds = em.createQuery(cq).getResultList();
 		List<CaseIndexDto[]> resultList = new ArrayList<>();
 
 		if (!foundIds.isEmpty()) {
@@ -1222,7 +1250,11 @@ public class CaseFacadeEjb implements CaseFacade {
 		caseService.ensurePersisted(caze);
 		if (handleChanges) {
 			onCaseChanged(existingCaseDto, caze);
+			// flush the changes made to the case and its owned entities to update the aggregate change date
+			caseService.ensurePersisted(caze);
 		}
+		caseAggregateCache.invalidate();
+		countCache.invalidate();
 
 		return convertToDto(caze);
 	}
@@ -1233,7 +1265,10 @@ public class CaseFacadeEjb implements CaseFacade {
 		if (sourceContact != null) {
 			final Contact contact = contactService.getByUuid(sourceContact.getUuid());
 			final Case caze = caseService.getByUuid(cazeRef.getUuid());
-			contact.getSamples().forEach(sample -> sample.setAssociatedCase(caze));
+			contact.getSamples().forEach(sample -> {
+				sample.setAssociatedCase(caze);
+				sampleService.ensurePersisted(sample);
+			});
 		}
 	}
 
@@ -1242,7 +1277,10 @@ public class CaseFacadeEjb implements CaseFacade {
 		if (sourceEventParticipant != null) {
 			final EventParticipant eventParticipant = eventParticipantService.getByUuid(sourceEventParticipant.getUuid());
 			final Case caze = caseService.getByUuid(cazeRef.getUuid());
-			eventParticipant.getSamples().forEach(sample -> sample.setAssociatedCase(caze));
+			eventParticipant.getSamples().forEach(sample -> {
+				sample.setAssociatedCase(caze);
+				sampleService.ensurePersisted(sample);
+			});
 		}
 	}
 
@@ -1664,6 +1702,8 @@ public class CaseFacadeEjb implements CaseFacade {
 		}
 
 		caseService.delete(caseService.getByUuid(caseUuid));
+		caseAggregateCache.invalidate();
+		countCache.invalidate();
 	}
 
 	@Override
@@ -18,6 +18,8 @@
 package de.symeda.sormas.backend.caze;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -25,6 +27,7 @@ import java.util.List;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.EntityExistsException;
 import javax.persistence.NoResultException;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -60,26 +63,23 @@ import de.symeda.sormas.api.user.JurisdictionLevel;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.api.utils.DateHelper;
-import de.symeda.sormas.backend.caze.maternalhistory.MaternalHistory;
-import de.symeda.sormas.backend.caze.porthealthinfo.PortHealthInfo;
+import de.symeda.sormas.backend.caze.scope.CaseScope;
+import de.symeda.sormas.backend.caze.scope.CaseScopeService;
 import de.symeda.sormas.backend.clinicalcourse.ClinicalCourse;
 import de.symeda.sormas.backend.clinicalcourse.ClinicalVisit;
 import de.symeda.sormas.backend.clinicalcourse.ClinicalVisitService;
-import de.symeda.sormas.backend.clinicalcourse.HealthConditions;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractCoreAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.common.CoreAdo;
+import de.symeda.sormas.backend.common.SyncCursor;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactService;
-import de.symeda.sormas.backend.epidata.EpiData;
 import de.symeda.sormas.backend.epidata.EpiDataService;
 import de.symeda.sormas.backend.event.EventParticipantService;
 import de.symeda.sormas.backend.facility.Facility;
 import de.symeda.sormas.backend.feature.FeatureConfigurationFacadeEjb.FeatureConfigurationFacadeEjbLocal;
-import de.symeda.sormas.backend.hospitalization.Hospitalization;
 import de.symeda.sormas.backend.hospitalization.HospitalizationService;
-import de.symeda.sormas.backend.hospitalization.PreviousHospitalization;
 import de.symeda.sormas.backend.infrastructure.PointOfEntry;
 import de.symeda.sormas.backend.location.Location;
 import de.symeda.sormas.backend.person.Person;
@@ -90,14 +90,12 @@ import de.symeda.sormas.backend.region.District;
 import de.symeda.sormas.backend.region.Region;
 import de.symeda.sormas.backend.sample.PathogenTest;
 import de.symeda.sormas.backend.sample.Sample;
-import de.symeda.sormas.backend.sample.SampleJoins;
 import de.symeda.sormas.backend.sample.SampleService;
 import de.symeda.sormas.backend.symptoms.Symptoms;
 import de.symeda.sormas.backend.task.Task;
 import de.symeda.sormas.backend.task.TaskService;
 import de.symeda.sormas.backend.therapy.Prescription;
 import de.symeda.sormas.backend.therapy.PrescriptionService;
-import de.symeda.sormas.backend.therapy.Therapy;
 import de.symeda.sormas.backend.therapy.Treatment;
 import de.symeda.sormas.backend.therapy.TreatmentService;
 import de.symeda.sormas.backend.user.User;
@@ -133,6 +131,8 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 	private PrescriptionService prescriptionService;
 	@EJB
 	private FeatureConfigurationFacadeEjbLocal featureConfigurationFacade;
+	@EJB
+	private CaseScopeService caseScopeService;
 
 	public CaseService() {
 		super(Case.class);
@@ -164,6 +164,16 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 	}
 
 	public List<Case> getAllActiveCasesAfter(Date date, Boolean includeExtendedChangeDateFilters) {
+		return getAllActiveCasesAfter(date, includeExtendedChangeDateFilters, null, null);
+	}
+
+	/**
+	 * @param cursor
+	 *            When not null, only cases positioned after the cursor are returned, ordered by {@link SyncCursor#ORDER}.
+	 * @param maxResults
+	 *            When not null, the result is limited and ordered by {@link SyncCursor#ORDER}.
+	 */
+	public List<Case> getAllActiveCasesAfter(Date date, Boolean includeExtendedChangeDateFilters, SyncCursor cursor, Integer maxResults) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Case> cq = cb.createQuery(getElementClass());
@@ -193,11 +203,23 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 			}
 		}
 
+		if (cursor != null) {
+			filter = cb.and(filter, cursor.createFilter(cb, from));
+		}
+
 		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Case.CHANGE_DATE)));
+		if (cursor != null || maxResults != null) {
+			cq.orderBy(SyncCursor.createOrder(cb, from));
+		} else {
+			cq.orderBy(cb.desc(from.get(Case.CHANGE_DATE)));
+		}
 		cq.distinct(true);
 
-		return em.createQuery(cq).getResultList();
+		TypedQuery<Case> query = em.createQuery(cq);
+		if (maxResults != null) {
+			query.setMaxResults(maxResults);
+		}
+		return query.getResultList();
 	}
 
 	public List<String> getAllActiveUuids() {
@@ -447,7 +469,6 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		Join<Case, Region> region = from.join(Case.REGION, JoinType.LEFT);
 		Join<Case, District> district = from.join(Case.DISTRICT, JoinType.LEFT);
 		Join<Case, Community> community = from.join(Case.COMMUNITY, JoinType.LEFT);
-		Join<Case, Facility> facility = from.join(Case.HEALTH_FACILITY, JoinType.LEFT);
 		Predicate filter = null;
 		if (caseCriteria.getReportingUserRole() != null) {
 			filter =
@@ -591,20 +612,7 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 			filter = and(cb, filter, cb.equal(from.get(Case.DELETED), caseCriteria.getDeleted()));
 		}
 		if (caseCriteria.getNameUuidEpidNumberLike() != null) {
-			String[] textFilters = caseCriteria.getNameUuidEpidNumberLike().split("\\s+");
-			for (int i = 0; i < textFilters.length; i++) {
-				String textFilter = "%" + textFilters[i].toLowerCase() + "%";
-				if (!DataHelper.isNullOrEmpty(textFilter)) {
-					Predicate likeFilters = cb.or(
-						cb.like(cb.lower(person.get(Person.FIRST_NAME)), textFilter),
-						cb.like(cb.lower(person.get(Person.LAST_NAME)), textFilter),
-						cb.like(cb.lower(from.get(Case.UUID)), textFilter),
-						cb.like(cb.lower(from.get(Case.EPID_NUMBER)), textFilter),
-						cb.like(cb.lower(facility.get(Facility.NAME)), textFilter),
-						cb.like(cb.lower(from.get(Case.HEALTH_FACILITY_DETAILS)), textFilter));
-					filter = and(cb, filter, likeFilters);
-				}
-			}
+			filter = and(cb, filter, createSearchTextFilter(cb, from.get(Case.SEARCH_TEXT), caseCriteria.getNameUuidEpidNumberLike()));
 		}
 		if (caseCriteria.getReportingUserLike() != null) {
 			String[] textFilters = caseCriteria.getReportingUserLike().split("\\s+");
@@ -700,55 +708,105 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		return createChangeDateFilter(cb, casePath, date, false);
 	}
 
+	/**
+	 * The changes of the entities owned by the case are covered by {@link Case#getAggregateChangeDate()}. The case's own change
+	 * date is still checked, because it is also changed by bulk updates (e.g. archiving).
+	 */
 	public Predicate createChangeDateFilter(CriteriaBuilder cb, From<?, Case> casePath, Timestamp date, Boolean includeExtendedChangeDateFilters) {
 
 		Predicate dateFilter = greaterThanAndNotNull(cb, casePath.get(Case.CHANGE_DATE), date);
+		dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, casePath.get(Case.AGGREGATE_CHANGE_DATE), date));
 
-		Join<Case, Symptoms> symptoms = casePath.join(Case.SYMPTOMS, JoinType.LEFT);
-		dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, symptoms.get(AbstractDomainObject.CHANGE_DATE), date));
+		if (includeExtendedChangeDateFilters) {
+			Join<Case, Sample> caseSampleJoin = casePath.join(Case.SAMPLES, JoinType.LEFT);
+			dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, caseSampleJoin.get(AbstractDomainObject.CHANGE_DATE), date));
 
-		Join<Case, Hospitalization> hospitalization = casePath.join(Case.HOSPITALIZATION, JoinType.LEFT);
-		dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, hospitalization.get(AbstractDomainObject.CHANGE_DATE), date));
+			Join<Sample, PathogenTest> samplePathogenTestJoin = caseSampleJoin.join(Sample.PATHOGENTESTS, JoinType.LEFT);
+			dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, samplePathogenTestJoin.get(AbstractDomainObject.CHANGE_DATE), date));
 
-		Join<Hospitalization, PreviousHospitalization> previousHospitalization =
-			hospitalization.join(Hospitalization.PREVIOUS_HOSPITALIZATIONS, JoinType.LEFT);
-		dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, previousHospitalization.get(AbstractDomainObject.CHANGE_DATE), date));
+			Join<Case, Person> casePersonJoin = casePath.join(Case.PERSON, JoinType.LEFT);
+			dateFilter = cb.or(dateFilter, personService.createChangeDateFilter(cb, casePersonJoin, date));
+		}
 
-		dateFilter = cb.or(dateFilter, epiDataService.createChangeDateFilter(cb, casePath.join(Contact.EPI_DATA, JoinType.LEFT), date));
+		return dateFilter;
+	}
 
-		Join<Case, EpiData> epiData = casePath.join(Case.EPI_DATA, JoinType.LEFT);
-		dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, epiData.get(AbstractDomainObject.CHANGE_DATE), date));
+	@Override
+	public void ensurePersisted(Case caze) throws EntityExistsException {
 
-		Join<Case, Therapy> therapy = casePath.join(Case.THERAPY, JoinType.LEFT);
-		dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, therapy.get(AbstractDomainObject.CHANGE_DATE), date));
+		super.ensurePersisted(caze);
+		updateAggregateChangeDate(caze);
+		updateSearchText(caze);
+	}
 
-		Join<Case, ClinicalCourse> clinicalCourse = casePath.join(Case.CLINICAL_COURSE, JoinType.LEFT);
-		dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, clinicalCourse.get(AbstractDomainObject.CHANGE_DATE), date));
+	/**
+	 * Updates the search texts of the person's cases, e.g. after the names of the person have been changed.
+	 */
+	public void updateSearchTexts(Person person) {
+		updateSearchTexts(Case.PERSON, person);
+	}
 
-		Join<ClinicalCourse, HealthConditions> healthConditions = clinicalCourse.join(ClinicalCourse.HEALTH_CONDITIONS, JoinType.LEFT);
-		dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, healthConditions.get(AbstractDomainObject.CHANGE_DATE), date));
+	/**
+	 * Updates the search texts of the facility's cases, e.g. after the facility has been renamed.
+	 */
+	public void updateSearchTexts(Facility facility) {
+		updateSearchTexts(Case.HEALTH_FACILITY, facility);
+	}
 
-		Join<Case, MaternalHistory> maternalHistory = casePath.join(Case.MATERNAL_HISTORY, JoinType.LEFT);
-		dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, maternalHistory.get(AbstractDomainObject.CHANGE_DATE), date));
+	private void updateSearchTexts(String attribute, AbstractDomainObject value) {
 
-		Join<Case, PortHealthInfo> portHealthInfo = casePath.join(Case.PORT_HEALTH_INFO, JoinType.LEFT);
-		dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, portHealthInfo.get(AbstractDomainObject.CHANGE_DATE), date));
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Case> cq = cb.createQuery(getElementClass());
+		Root<Case> from = cq.from(getElementClass());
+		cq.where(cb.equal(from.get(attribute), value));
 
-		if (includeExtendedChangeDateFilters) {
-			Join<Case, Sample> caseSampleJoin = casePath.join(Case.SAMPLES, JoinType.LEFT);
-			dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, caseSampleJoin.get(AbstractDomainObject.CHANGE_DATE), date));
+		for (Case caze : em.createQuery(cq).getResultList()) {
+			updateSearchText(caze);
+		}
+	}
 
-			Join<Sample, PathogenTest> samplePathogenTestJoin = caseSampleJoin.join(Sample.PATHOGENTESTS, JoinType.LEFT);
-			dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, samplePathogenTestJoin.get(AbstractDomainObject.CHANGE_DATE), date));
+	/**
+	 * The search texts of the case's contacts and samples contain the names of the case person, so they are updated as well when
+	 * the search text of the case has changed.
+	 */
+	private void updateSearchText(Case caze) {
+
+		Facility facility = caze.getHealthFacility();
+		String searchText = buildSearchText(
+			caze.getPerson().getFirstName(),
+			caze.getPerson().getLastName(),
+			caze.getUuid(),
+			caze.getEpidNumber(),
+			facility != null ? facility.getName() : null,
+			caze.getHealthFacilityDetails());
+
+		if (!searchText.equals(caze.getSearchText())) {
+			caze.setSearchText(updateSearchText(caze, Case.SEARCH_TEXT, caze.getSearchText(), searchText));
+			contactService.updateSearchTexts(caze);
+			sampleService.updateSearchTexts(caze);
+		}
+	}
 
-			Join<Case, Person> casePersonJoin = casePath.join(Case.PERSON, JoinType.LEFT);
-			dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, casePersonJoin.get(AbstractDomainObject.CHANGE_DATE), date));
+	private void updateAggregateChangeDate(Case caze) {
 
-			Join<Person, Location> personLocationJoin = casePersonJoin.join(Person.ADDRESS, JoinType.LEFT);
-			dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, personLocationJoin.get(AbstractDomainObject.CHANGE_DATE), date));
+		List<AbstractDomainObject> entities = new ArrayList<>();
+		entities.add(caze);
+		entities.add(caze.getSymptoms());
+		entities.add(caze.getHospitalization());
+		if (caze.getHospitalization() != null) {
+			entities.addAll(caze.getHospitalization().getPreviousHospitalizations());
 		}
+		entities.addAll(epiDataService.getAggregatedEntities(caze.getEpiData()));
+		entities.add(caze.getTherapy());
+		entities.add(caze.getClinicalCourse());
+		if (caze.getClinicalCourse() != null) {
+			entities.add(caze.getClinicalCourse().getHealthConditions());
+		}
+		entities.add(caze.getMaternalHistory());
+		entities.add(caze.getPortHealthInfo());
 
-		return dateFilter;
+		caze.setAggregateChangeDate(
+			updateAggregateChangeDate(caze, Case.AGGREGATE_CHANGE_DATE, caze.getAggregateChangeDate(), getLatestChangeDate(entities.stream())));
 	}
 
 	@SuppressWarnings("rawtypes")
@@ -765,9 +823,9 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		final JurisdictionLevel jurisdictionLevel = currentUser.getJurisdictionLevel();
 		if (jurisdictionLevel != JurisdictionLevel.NATION && !currentUser.hasAnyUserRole(UserRole.REST_USER)) {
 			// whoever created the case or is assigned to it is allowed to access it
-			filterResponsible = cb.equal(casePath.join(Case.REPORTING_USER, JoinType.LEFT), currentUser);
-			filterResponsible = cb.or(filterResponsible, cb.equal(casePath.join(Case.SURVEILLANCE_OFFICER, JoinType.LEFT), currentUser));
-			filterResponsible = cb.or(filterResponsible, cb.equal(casePath.join(Case.CASE_OFFICER, JoinType.LEFT), currentUser));
+			filterResponsible = cb.equal(casePath.get(Case.REPORTING_USER), currentUser);
+			filterResponsible = cb.or(filterResponsible, cb.equal(casePath.get(Case.SURVEILLANCE_OFFICER), currentUser));
+			filterResponsible = cb.or(filterResponsible, cb.equal(casePath.get(Case.CASE_OFFICER), currentUser));
 
 			switch (jurisdictionLevel) {
 			case REGION:
@@ -800,23 +858,21 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 					filter = or(cb, filter, cb.equal(casePath.get(Case.POINT_OF_ENTRY), pointOfEntry));
 				}
 				break;
-			case LABORATORY:
-				Subquery<Long> sampleCaseSubquery = cq.subquery(Long.class);
-				Root<Sample> sampleRoot = sampleCaseSubquery.from(Sample.class);
-				sampleCaseSubquery.where(sampleService.createUserFilterWithoutCase(cb, new SampleJoins(sampleRoot)));
-				sampleCaseSubquery.select(sampleRoot.get(Sample.ASSOCIATED_CASE).get(Case.ID));
-				filter = or(cb, filter, cb.in(casePath.get(Case.ID)).value(sampleCaseSubquery));
-				break;
 			default:
 			}
 
-			// get all cases based on the user's contact association
-			if (userFilterCriteria == null || !userFilterCriteria.isExcludeCasesFromContacts()) {
-				Subquery<Long> contactCaseSubquery = cq.subquery(Long.class);
-				Root<Contact> contactRoot = contactCaseSubquery.from(Contact.class);
-				contactCaseSubquery.where(contactService.createUserFilterWithoutCase(cb, cq, contactRoot));
-				contactCaseSubquery.select(contactRoot.get(Contact.CAZE).get(Case.ID));
-				filter = or(cb, filter, cb.in(casePath.get(Case.ID)).value(contactCaseSubquery));
+			// get all cases based on the user's laboratory and contact association
+			Subquery<Long> scopeCaseSubquery = cq.subquery(Long.class);
+			Root<CaseScope> scopeRoot = scopeCaseSubquery.from(CaseScope.class);
+			Predicate scopeFilter = caseScopeService.createScopeFilter(
+				cb,
+				scopeRoot,
+				currentUser,
+				userFilterCriteria == null || !userFilterCriteria.isExcludeCasesFromContacts());
+			if (scopeFilter != null) {
+				scopeCaseSubquery.where(scopeFilter);
+				scopeCaseSubquery.select(scopeRoot.get(CaseScope.CAZE).get(Case.ID));
+				filter = or(cb, filter, cb.in(casePath.get(Case.ID)).value(scopeCaseSubquery));
 			}
 
 			// users can only be assigned to a task when they have also access to the case
@@ -851,6 +907,39 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		return createUserFilter(cb, cq, casePath, null);
 	}
 
+	/**
+	 * @return A key that is equal for users for whom {@link #createUserFilter} creates the same filter: Users below national
+	 *         level get their own key, because they have access to the cases they are responsible for. The key also contains
+	 *         everything else the filter depends on, so it changes when the jurisdiction of the user is changed.
+	 */
+	public String getUserFilterScope() {
+
+		User currentUser = getCurrentUser();
+		if (currentUser == null) {
+			return "";
+		}
+
+		StringBuilder scope = new StringBuilder();
+		if (currentUser.getJurisdictionLevel() == JurisdictionLevel.NATION || currentUser.hasAnyUserRole(UserRole.REST_USER)) {
+			scope.append(JurisdictionLevel.NATION.name());
+		} else {
+			scope.append(currentUser.getUuid()).append(';').append(currentUser.getJurisdictionLevel());
+			// the jurisdiction and the laboratory used by the case scope filter
+			Arrays
+				.asList(
+					currentUser.getRegion(),
+					currentUser.getDistrict(),
+					currentUser.getCommunity(),
+					currentUser.getHealthFacility(),
+					currentUser.getPointOfEntry(),
+					currentUser.getLaboratory())
+				.forEach(entity -> scope.append(';').append(entity != null ? entity.getUuid() : null));
+			scope.append(';').append(featureConfigurationFacade.isFeatureDisabled(FeatureType.NATIONAL_CASE_SHARING));
+		}
+		scope.append(';').append(currentUser.getLimitedDisease()).append(';').append(UserRole.isPortHealthUser(currentUser.getUserRoles()));
+		return scope.toString();
+	}
+
 	/**
 	 * Creates a filter that checks whether the case has "started" within the time frame specified by {@code fromDate} and {@code toDate}.
 	 * By default (if {@code newCaseDateType} is null), this logic looks at the {@link Symptoms#onsetDate} first or, if this is null,
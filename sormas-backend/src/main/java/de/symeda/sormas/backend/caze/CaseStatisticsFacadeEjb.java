@@ -52,6 +52,9 @@ import de.symeda.sormas.api.statistics.StatisticsCaseSubAttribute;
 import de.symeda.sormas.api.statistics.StatisticsGroupingKey;
 import de.symeda.sormas.api.statistics.StatisticsHelper;
 import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.caze.rollup.CaseCountRollup;
+import de.symeda.sormas.backend.caze.rollup.CaseCountRollupUpdater;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.facility.Facility;
 import de.symeda.sormas.backend.facility.FacilityFacadeEjb.FacilityFacadeEjbLocal;
@@ -94,8 +97,11 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 	private CommunityFacadeEjbLocal communityFacade;
 	@EJB
 	private FacilityFacadeEjbLocal facilityFacade;
+	@EJB
+	private CaseCountRollupUpdater caseCountRollupUpdater;
+	@EJB
+	private CaseAggregateCache caseAggregateCache;
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public List<StatisticsCaseCountDto> queryCaseCount(
 		StatisticsCaseCriteria caseCriteria,
@@ -107,9 +113,46 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		boolean includeZeroValues,
 		Integer populationReferenceYear) {
 
+		// the case counts are not filtered by the jurisdiction of the user
+		return caseAggregateCache.get(
+			() -> queryCaseCountFromDatabase(
+				caseCriteria,
+				rowGrouping,
+				rowSubGrouping,
+				columnGrouping,
+				columnSubGrouping,
+				includePopulation,
+				includeZeroValues,
+				populationReferenceYear),
+			"queryCaseCount",
+			caseCriteria,
+			rowGrouping,
+			rowSubGrouping,
+			columnGrouping,
+			columnSubGrouping,
+			includePopulation,
+			includeZeroValues,
+			populationReferenceYear);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<StatisticsCaseCountDto> queryCaseCountFromDatabase(
+		StatisticsCaseCriteria caseCriteria,
+		StatisticsCaseAttribute rowGrouping,
+		StatisticsCaseSubAttribute rowSubGrouping,
+		StatisticsCaseAttribute columnGrouping,
+		StatisticsCaseSubAttribute columnSubGrouping,
+		boolean includePopulation,
+		boolean includeZeroValues,
+		Integer populationReferenceYear) {
+
 		// case counts
+		boolean fromRollup = canUseCaseCountRollup(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping);
+		if (fromRollup) {
+			caseCountRollupUpdater.update();
+		}
 		Pair<String, List<Object>> caseCountQueryAndParams =
-			buildCaseCountQuery(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping);
+			buildCaseCountQuery(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping, fromRollup);
 
 		Query caseCountQuery = em.createNativeQuery(caseCountQueryAndParams.getKey().toString());
 		for (int i = 0; i < caseCountQueryAndParams.getValue().size(); i++) {
@@ -238,6 +281,50 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		return caseCountResults;
 	}
 
+	/**
+	 * The case count rollup only knows the day, region and district of a case. It can not be used to filter or group by
+	 * community, health facility or reporting user role, or to filter by date ranges that do not consist of whole days.
+	 */
+	boolean canUseCaseCountRollup(
+		StatisticsCaseCriteria caseCriteria,
+		StatisticsCaseAttribute groupingA,
+		StatisticsCaseSubAttribute subGroupingA,
+		StatisticsCaseAttribute groupingB,
+		StatisticsCaseSubAttribute subGroupingB) {
+
+		if (!caseCountRollupUpdater.isUpToDate()) {
+			return false;
+		}
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getCommunities())
+			|| CollectionUtils.isNotEmpty(caseCriteria.getHealthFacilities())
+			|| CollectionUtils.isNotEmpty(caseCriteria.getReportingUserRoles())) {
+			return false;
+		}
+
+		if (!isRollupGrouping(groupingA, subGroupingA) || !isRollupGrouping(groupingB, subGroupingB)) {
+			return false;
+		}
+
+		return isWholeDays(caseCriteria.getOnsetDateFrom(), caseCriteria.getOnsetDateTo())
+			&& isWholeDays(caseCriteria.getReportDateFrom(), caseCriteria.getReportDateTo());
+	}
+
+	private static boolean isRollupGrouping(StatisticsCaseAttribute grouping, StatisticsCaseSubAttribute subGrouping) {
+
+		if (grouping == StatisticsCaseAttribute.REPORTING_USER_ROLE) {
+			return false;
+		}
+		return grouping != StatisticsCaseAttribute.JURISDICTION
+			|| subGrouping == StatisticsCaseSubAttribute.REGION
+			|| subGrouping == StatisticsCaseSubAttribute.DISTRICT;
+	}
+
+	private static boolean isWholeDays(Date from, Date to) {
+		return (from == null || from.getTime() == DateHelper.getStartOfDay(from).getTime())
+			&& (to == null || to.getTime() == DateHelper.getEndOfDay(to).getTime());
+	}
+
 	/**
 	 * private void replaceIdsWithGroupingKeys(List<StatisticsCaseCountDto> results, StatisticsCaseAttribute groupingA,
 	 * for (StatisticsCaseCountDto result : results) {
@@ -249,6 +336,26 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		StatisticsCaseSubAttribute subGroupingA,
 		StatisticsCaseAttribute groupingB,
 		StatisticsCaseSubAttribute subGroupingB) {
+		return buildCaseCountQuery(caseCriteria, groupingA, subGroupingA, groupingB, subGroupingB, false);
+	}
+
+	/**
+	 * @param fromRollup
+	 *            Count the cases in {@link CaseCountRollup} instead of the cases table. Only valid if
+	 *            {@link #canUseCaseCountRollup} is true for the criteria and groupings.
+	 */
+	private Pair<String, List<Object>> buildCaseCountQuery(
+		StatisticsCaseCriteria caseCriteria,
+		StatisticsCaseAttribute groupingA,
+		StatisticsCaseSubAttribute subGroupingA,
+		StatisticsCaseAttribute groupingB,
+		StatisticsCaseSubAttribute subGroupingB,
+		boolean fromRollup) {
+
+		// the rollup has columns named like those of the cases, symptoms and person tables
+		String caseTable = fromRollup ? CaseCountRollup.TABLE_NAME : Case.TABLE_NAME;
+		String symptomsTable = fromRollup ? CaseCountRollup.TABLE_NAME : Symptoms.TABLE_NAME;
+		String personTable = fromRollup ? CaseCountRollup.TABLE_NAME : Person.TABLE_NAME;
 
 		// Steps to build the query:
 		// 1. Join the required tables
@@ -266,7 +373,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			caseJoinBuilder.append(" LEFT JOIN ")
 				.append(Facility.TABLE_NAME)
 				.append(" ON ")
-				.append(Case.TABLE_NAME)
+				.append(caseTable)
 				.append(".")
 				.append(Case.HEALTH_FACILITY)
 				.append("_id = ")
@@ -278,7 +385,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			caseJoinBuilder.append(" LEFT JOIN ")
 				.append(Community.TABLE_NAME)
 				.append(" ON ")
-				.append(Case.TABLE_NAME)
+				.append(caseTable)
 				.append(".")
 				.append(Case.COMMUNITY)
 				.append("_id = ")
@@ -290,7 +397,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			caseJoinBuilder.append(" LEFT JOIN ")
 				.append(District.TABLE_NAME)
 				.append(" ON ")
-				.append(Case.TABLE_NAME)
+				.append(caseTable)
 				.append(".")
 				.append(Case.DISTRICT)
 				.append("_id = ")
@@ -302,7 +409,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			caseJoinBuilder.append(" LEFT JOIN ")
 				.append(Region.TABLE_NAME)
 				.append(" ON ")
-				.append(Case.TABLE_NAME)
+				.append(caseTable)
 				.append(".")
 				.append(Case.REGION)
 				.append("_id = ")
@@ -311,11 +418,12 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				.append(Region.ID);
 		}
 
-		if (groupingA == StatisticsCaseAttribute.ONSET_TIME || groupingB == StatisticsCaseAttribute.ONSET_TIME || caseCriteria.hasOnsetDate()) {
+		if (!fromRollup
+			&& (groupingA == StatisticsCaseAttribute.ONSET_TIME || groupingB == StatisticsCaseAttribute.ONSET_TIME || caseCriteria.hasOnsetDate())) {
 			caseJoinBuilder.append(" LEFT JOIN ")
 				.append(Symptoms.TABLE_NAME)
 				.append(" ON ")
-				.append(Case.TABLE_NAME)
+				.append(caseTable)
 				.append(".")
 				.append(Case.SYMPTOMS)
 				.append("_id")
@@ -325,7 +433,8 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				.append(Symptoms.ID);
 		}
 
-		if (groupingA == StatisticsCaseAttribute.SEX
+		if (!fromRollup
+			&& (groupingA == StatisticsCaseAttribute.SEX
 			|| groupingB == StatisticsCaseAttribute.SEX
 			|| groupingA == StatisticsCaseAttribute.AGE_INTERVAL_1_YEAR
 			|| groupingB == StatisticsCaseAttribute.AGE_INTERVAL_1_YEAR
@@ -340,11 +449,11 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			|| groupingA == StatisticsCaseAttribute.AGE_INTERVAL_BASIC
 			|| groupingB == StatisticsCaseAttribute.AGE_INTERVAL_BASIC
 			|| caseCriteria.getSexes() != null
-			|| caseCriteria.getAgeIntervals() != null) {
+			|| caseCriteria.getAgeIntervals() != null)) {
 			caseJoinBuilder.append(" LEFT JOIN ")
 				.append(Person.TABLE_NAME)
 				.append(" ON ")
-				.append(Case.TABLE_NAME)
+				.append(caseTable)
 				.append(".")
 				.append(Case.PERSON)
 				.append("_id")
@@ -360,7 +469,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			caseJoinBuilder.append(" LEFT JOIN ")
 				.append(User.TABLE_NAME_USERROLES)
 				.append(" ON ")
-				.append(Case.TABLE_NAME)
+				.append(caseTable)
 				.append(".")
 				.append(Case.REPORTING_USER)
 				.append("_id")
@@ -376,10 +485,14 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 
 		StringBuilder caseFilterBuilder = new StringBuilder(" WHERE ");
 
-		caseFilterBuilder.append("(").append(Case.TABLE_NAME).append(".").append(Case.DELETED).append(" = false");
-		// needed for the full join on population
-		caseFilterBuilder.append(" OR ").append(Case.TABLE_NAME).append(".").append(Case.DELETED).append(" IS NULL ");
-		caseFilterBuilder.append(")");
+		if (fromRollup) {
+			caseFilterBuilder.append("(").append(caseTable).append(".").append(CaseCountRollup.CASE_COUNT).append(" > 0)");
+		} else {
+			caseFilterBuilder.append("(").append(Case.TABLE_NAME).append(".").append(Case.DELETED).append(" = false");
+			// needed for the full join on population
+			caseFilterBuilder.append(" OR ").append(Case.TABLE_NAME).append(".").append(Case.DELETED).append(" IS NULL ");
+			caseFilterBuilder.append(")");
+		}
 		List<Object> filterBuilderParameters = new ArrayList<Object>();
 
 		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetYears())) {
@@ -387,7 +500,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				caseFilterBuilder,
 				filterBuilderParameters,
 				"YEAR",
-				Symptoms.TABLE_NAME,
+				symptomsTable,
 				Symptoms.ONSET_DATE,
 				caseCriteria.getOnsetYears(),
 				dateValue -> (dateValue.getValue()));
@@ -398,7 +511,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				caseFilterBuilder,
 				filterBuilderParameters,
 				"QUARTER",
-				Symptoms.TABLE_NAME,
+				symptomsTable,
 				Symptoms.ONSET_DATE,
 				caseCriteria.getOnsetQuarters(),
 				dateValue -> (dateValue.getValue()));
@@ -409,7 +522,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				caseFilterBuilder,
 				filterBuilderParameters,
 				"MONTH",
-				Symptoms.TABLE_NAME,
+				symptomsTable,
 				Symptoms.ONSET_DATE,
 				caseCriteria.getOnsetMonths(),
 				dateValue -> (dateValue.ordinal() + 1));
@@ -419,7 +532,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithEpiWeek(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Symptoms.TABLE_NAME,
+				symptomsTable,
 				Symptoms.ONSET_DATE,
 				caseCriteria.getOnsetEpiWeeks(),
 				value -> value.getWeek());
@@ -429,7 +542,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithQuarterOfYear(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Symptoms.TABLE_NAME,
+				symptomsTable,
 				Symptoms.ONSET_DATE,
 				caseCriteria.getOnsetQuartersOfYear(),
 				value -> value.getYear().getValue() * 10 + value.getQuarter().getValue());
@@ -439,7 +552,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithMonthOfYear(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Symptoms.TABLE_NAME,
+				symptomsTable,
 				Symptoms.ONSET_DATE,
 				caseCriteria.getOnsetMonthsOfYear(),
 				value -> value.getYear().getValue() * 100 + (value.getMonth().ordinal() + 1));
@@ -449,7 +562,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithEpiWeekOfYear(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Symptoms.TABLE_NAME,
+				symptomsTable,
 				Symptoms.ONSET_DATE,
 				caseCriteria.getOnsetEpiWeeksOfYear(),
 				value -> value.getYear() * 100 + value.getWeek());
@@ -461,7 +574,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				filterBuilderParameters,
 				caseCriteria.getOnsetDateFrom(),
 				caseCriteria.getOnsetDateTo(),
-				Symptoms.TABLE_NAME,
+				symptomsTable,
 				Symptoms.ONSET_DATE);
 		}
 
@@ -470,7 +583,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				caseFilterBuilder,
 				filterBuilderParameters,
 				"YEAR",
-				Case.TABLE_NAME,
+				caseTable,
 				Case.REPORT_DATE,
 				caseCriteria.getReportYears(),
 				dateValue -> (dateValue.getValue()));
@@ -481,7 +594,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				caseFilterBuilder,
 				filterBuilderParameters,
 				"QUARTER",
-				Case.TABLE_NAME,
+				caseTable,
 				Case.REPORT_DATE,
 				caseCriteria.getReportQuarters(),
 				dateValue -> (dateValue.getValue()));
@@ -492,7 +605,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				caseFilterBuilder,
 				filterBuilderParameters,
 				"MONTH",
-				Case.TABLE_NAME,
+				caseTable,
 				Case.REPORT_DATE,
 				caseCriteria.getReportMonths(),
 				dateValue -> (dateValue.ordinal() + 1));
@@ -502,7 +615,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithEpiWeek(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Case.TABLE_NAME,
+				caseTable,
 				Case.REPORT_DATE,
 				caseCriteria.getReportEpiWeeks(),
 				value -> value.getWeek());
@@ -512,7 +625,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithQuarterOfYear(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Case.TABLE_NAME,
+				caseTable,
 				Case.REPORT_DATE,
 				caseCriteria.getReportQuartersOfYear(),
 				value -> value.getYear().getValue() * 10 + value.getQuarter().getValue());
@@ -522,7 +635,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithMonthOfYear(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Case.TABLE_NAME,
+				caseTable,
 				Case.REPORT_DATE,
 				caseCriteria.getReportMonthsOfYear(),
 				value -> value.getYear().getValue() * 100 + (value.getMonth().ordinal() + 1));
@@ -532,7 +645,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithEpiWeekOfYear(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Case.TABLE_NAME,
+				caseTable,
 				Case.REPORT_DATE,
 				caseCriteria.getReportEpiWeeksOfYear(),
 				value -> value.getYear() * 100 + value.getWeek());
@@ -544,7 +657,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				filterBuilderParameters,
 				caseCriteria.getReportDateFrom(),
 				caseCriteria.getReportDateTo(),
-				Case.TABLE_NAME,
+				caseTable,
 				Case.REPORT_DATE);
 		}
 
@@ -560,7 +673,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				extendFilterBuilderWithSimpleValue(
 					subFilterBuilder,
 					filterBuilderParameters,
-					Person.TABLE_NAME,
+					personTable,
 					Person.SEX,
 					caseCriteria.getSexes(),
 					entry -> entry.name());
@@ -570,7 +683,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				if (subFilterBuilder.length() > 0) {
 					subFilterBuilder.append(" OR ");
 				}
-				subFilterBuilder.append(Person.TABLE_NAME)
+				subFilterBuilder.append(personTable)
 					.append(".")
 					.append(Person.SEX)
 					.append(" IS ")
@@ -608,7 +721,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				extendFilterBuilderWithSimpleValue(
 					subFilterBuilder,
 					filterBuilderParameters,
-					Case.TABLE_NAME,
+					caseTable,
 					Case.CASE_AGE,
 					agesList,
 					value -> value);
@@ -618,7 +731,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				if (subFilterBuilder.length() > 0) {
 					subFilterBuilder.append(" OR ");
 				}
-				subFilterBuilder.append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" >= ?").append(filterBuilderParameters.size() + 1);
+				subFilterBuilder.append(caseTable).append(".").append(Case.CASE_AGE).append(" >= ?").append(filterBuilderParameters.size() + 1);
 				filterBuilderParameters.add(upperRangeBoundary);
 			}
 
@@ -626,7 +739,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 				if (subFilterBuilder.length() > 0) {
 					subFilterBuilder.append(" OR ");
 				}
-				subFilterBuilder.append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" IS NULL");
+				subFilterBuilder.append(caseTable).append(".").append(Case.CASE_AGE).append(" IS NULL");
 			}
 
 			caseFilterBuilder.append(subFilterBuilder);
@@ -637,7 +750,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithSimpleValue(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Case.TABLE_NAME,
+				caseTable,
 				Case.DISEASE,
 				caseCriteria.getDiseases(),
 				entry -> entry.name());
@@ -647,7 +760,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithSimpleValue(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Case.TABLE_NAME,
+				caseTable,
 				Case.CASE_CLASSIFICATION,
 				caseCriteria.getClassifications(),
 				entry -> entry.name());
@@ -657,7 +770,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithSimpleValue(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Case.TABLE_NAME,
+				caseTable,
 				Case.OUTCOME,
 				caseCriteria.getOutcomes(),
 				entry -> entry.name());
@@ -668,7 +781,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithSimpleValue(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Case.TABLE_NAME,
+				caseTable,
 				Case.REGION + "_id",
 				regionIds,
 				entry -> entry);
@@ -679,7 +792,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithSimpleValue(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Case.TABLE_NAME,
+				caseTable,
 				Case.DISTRICT + "_id",
 				districtIds,
 				entry -> entry);
@@ -690,7 +803,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithSimpleValue(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Case.TABLE_NAME,
+				caseTable,
 				Case.COMMUNITY + "_id",
 				communityIds,
 				entry -> entry);
@@ -701,7 +814,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithSimpleValue(
 				caseFilterBuilder,
 				filterBuilderParameters,
-				Case.TABLE_NAME,
+				caseTable,
 				Case.HEALTH_FACILITY + "_id",
 				facilityIds,
 				entry -> entry);
@@ -731,11 +844,11 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			caseGroupByBuilder.append(" GROUP BY ");
 
 			if (groupingA != null) {
-				groupingSelectQueryA = buildCaseGroupingSelectQuery(groupingA, subGroupingA, groupAAlias);
+				groupingSelectQueryA = buildCaseGroupingSelectQuery(groupingA, subGroupingA, groupAAlias, caseTable, symptomsTable, personTable);
 				caseGroupByBuilder.append(groupAAlias);
 			}
 			if (groupingB != null) {
-				groupingSelectQueryB = buildCaseGroupingSelectQuery(groupingB, subGroupingB, groupBAlias);
+				groupingSelectQueryB = buildCaseGroupingSelectQuery(groupingB, subGroupingB, groupBAlias, caseTable, symptomsTable, personTable);
 				if (groupingA != null) {
 					caseGroupByBuilder.append(",");
 				}
@@ -760,7 +873,15 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 
 		StringBuilder queryBuilder = new StringBuilder();
 
-		queryBuilder.append("SELECT COUNT(*) AS casecount ");
+		if (fromRollup) {
+			queryBuilder.append("SELECT COALESCE(SUM(")
+				.append(caseTable)
+				.append(".")
+				.append(CaseCountRollup.CASE_COUNT)
+				.append("), 0) AS casecount ");
+		} else {
+			queryBuilder.append("SELECT COUNT(*) AS casecount ");
+		}
 
 		if (groupingSelectQueryA != null) {
 			queryBuilder.append(", ").append(groupingSelectQueryA);
@@ -773,7 +894,7 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			queryBuilder.append(", null\\:\\:text AS ").append(groupBAlias);
 		}
 
-		queryBuilder.append(" FROM ").append(Case.TABLE_NAME).append(caseJoinBuilder).append(caseFilterBuilder).append(caseGroupByBuilder);
+		queryBuilder.append(" FROM ").append(caseTable).append(caseJoinBuilder).append(caseFilterBuilder).append(caseGroupByBuilder);
 
 		if (groupingA != null || groupingB != null) {
 			queryBuilder.append(orderByBuilder);
@@ -1186,21 +1307,27 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		return AbstractAdoService.appendInFilterValues(filterBuilder, filterBuilderParameters, values, valueMapper);
 	}
 
-	private String buildCaseGroupingSelectQuery(StatisticsCaseAttribute grouping, StatisticsCaseSubAttribute subGrouping, String groupAlias) {
+	private String buildCaseGroupingSelectQuery(
+		StatisticsCaseAttribute grouping,
+		StatisticsCaseSubAttribute subGrouping,
+		String groupAlias,
+		String caseTable,
+		String symptomsTable,
+		String personTable) {
 
 		StringBuilder groupingSelectPartBuilder = new StringBuilder();
 		switch (grouping) {
 		case SEX:
-			groupingSelectPartBuilder.append(Person.TABLE_NAME).append(".").append(Person.SEX).append(" AS ").append(groupAlias);
+			groupingSelectPartBuilder.append(personTable).append(".").append(Person.SEX).append(" AS ").append(groupAlias);
 			break;
 		case DISEASE:
-			groupingSelectPartBuilder.append(Case.TABLE_NAME).append(".").append(Case.DISEASE).append(" AS ").append(groupAlias);
+			groupingSelectPartBuilder.append(caseTable).append(".").append(Case.DISEASE).append(" AS ").append(groupAlias);
 			break;
 		case CLASSIFICATION:
-			groupingSelectPartBuilder.append(Case.TABLE_NAME).append(".").append(Case.CASE_CLASSIFICATION).append(" AS ").append(groupAlias);
+			groupingSelectPartBuilder.append(caseTable).append(".").append(Case.CASE_CLASSIFICATION).append(" AS ").append(groupAlias);
 			break;
 		case OUTCOME:
-			groupingSelectPartBuilder.append(Case.TABLE_NAME).append(".").append(Case.OUTCOME).append(" AS ").append(groupAlias);
+			groupingSelectPartBuilder.append(caseTable).append(".").append(Case.OUTCOME).append(" AS ").append(groupAlias);
 			break;
 		case JURISDICTION: {
 			switch (subGrouping) {
@@ -1227,30 +1354,30 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		case AGE_INTERVAL_CHILDREN_FINE:
 		case AGE_INTERVAL_CHILDREN_MEDIUM:
 		case AGE_INTERVAL_BASIC:
-			extendGroupingBuilderWithAgeInterval(groupingSelectPartBuilder, grouping, groupAlias);
+			extendGroupingBuilderWithAgeInterval(groupingSelectPartBuilder, grouping, groupAlias, caseTable);
 			break;
 		case ONSET_TIME:
 			switch (subGrouping) {
 			case YEAR:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "YEAR", Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
+				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "YEAR", symptomsTable, Symptoms.ONSET_DATE, groupAlias);
 				break;
 			case QUARTER:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "QUARTER", Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
+				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "QUARTER", symptomsTable, Symptoms.ONSET_DATE, groupAlias);
 				break;
 			case MONTH:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "MONTH", Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
+				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "MONTH", symptomsTable, Symptoms.ONSET_DATE, groupAlias);
 				break;
 			case EPI_WEEK:
-				extendGroupingBuilderWithEpiWeek(groupingSelectPartBuilder, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
+				extendGroupingBuilderWithEpiWeek(groupingSelectPartBuilder, symptomsTable, Symptoms.ONSET_DATE, groupAlias);
 				break;
 			case QUARTER_OF_YEAR:
-				extendGroupingBuilderWithQuarterOfYear(groupingSelectPartBuilder, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
+				extendGroupingBuilderWithQuarterOfYear(groupingSelectPartBuilder, symptomsTable, Symptoms.ONSET_DATE, groupAlias);
 				break;
 			case MONTH_OF_YEAR:
-				extendGroupingBuilderWithMonthOfYear(groupingSelectPartBuilder, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
+				extendGroupingBuilderWithMonthOfYear(groupingSelectPartBuilder, symptomsTable, Symptoms.ONSET_DATE, groupAlias);
 				break;
 			case EPI_WEEK_OF_YEAR:
-				extendGroupingBuilderWithEpiWeekOfYear(groupingSelectPartBuilder, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
+				extendGroupingBuilderWithEpiWeekOfYear(groupingSelectPartBuilder, symptomsTable, Symptoms.ONSET_DATE, groupAlias);
 				break;
 			default:
 				throw new IllegalArgumentException(subGrouping.toString());
@@ -1259,25 +1386,25 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		case REPORT_TIME:
 			switch (subGrouping) {
 			case YEAR:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "YEAR", Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
+				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "YEAR", caseTable, Case.REPORT_DATE, groupAlias);
 				break;
 			case QUARTER:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "QUARTER", Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
+				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "QUARTER", caseTable, Case.REPORT_DATE, groupAlias);
 				break;
 			case MONTH:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "MONTH", Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
+				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "MONTH", caseTable, Case.REPORT_DATE, groupAlias);
 				break;
 			case EPI_WEEK:
-				extendGroupingBuilderWithEpiWeek(groupingSelectPartBuilder, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
+				extendGroupingBuilderWithEpiWeek(groupingSelectPartBuilder, caseTable, Case.REPORT_DATE, groupAlias);
 				break;
 			case QUARTER_OF_YEAR:
-				extendGroupingBuilderWithQuarterOfYear(groupingSelectPartBuilder, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
+				extendGroupingBuilderWithQuarterOfYear(groupingSelectPartBuilder, caseTable, Case.REPORT_DATE, groupAlias);
 				break;
 			case MONTH_OF_YEAR:
-				extendGroupingBuilderWithMonthOfYear(groupingSelectPartBuilder, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
+				extendGroupingBuilderWithMonthOfYear(groupingSelectPartBuilder, caseTable, Case.REPORT_DATE, groupAlias);
 				break;
 			case EPI_WEEK_OF_YEAR:
-				extendGroupingBuilderWithEpiWeekOfYear(groupingSelectPartBuilder, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
+				extendGroupingBuilderWithEpiWeekOfYear(groupingSelectPartBuilder, caseTable, Case.REPORT_DATE, groupAlias);
 				break;
 			default:
 				throw new IllegalArgumentException(subGrouping.toString());
@@ -1360,14 +1487,18 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			.append(groupAlias);
 	}
 
-	private void extendGroupingBuilderWithAgeInterval(StringBuilder groupingBuilder, StatisticsCaseAttribute grouping, String groupAlias) {
+	private void extendGroupingBuilderWithAgeInterval(
+		StringBuilder groupingBuilder,
+		StatisticsCaseAttribute grouping,
+		String groupAlias,
+		String caseTable) {
 
 		groupingBuilder.append("CASE ");
 		switch (grouping) {
 		case AGE_INTERVAL_1_YEAR:
 			for (int i = 0; i < 80; i++) {
 				groupingBuilder.append("WHEN ")
-					.append(Case.TABLE_NAME)
+					.append(caseTable)
 					.append(".")
 					.append(Case.CASE_AGE)
 					.append(" = ")
@@ -1380,22 +1511,22 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			break;
 		case AGE_INTERVAL_5_YEARS:
 			for (AgeGroup ageGroup : AgeGroup.values()) {
-				addAgeGroupToStringBuilder(groupingBuilder, ageGroup);
+				addAgeGroupToStringBuilder(groupingBuilder, caseTable, ageGroup);
 			}
 			break;
 		case AGE_INTERVAL_CHILDREN_COARSE:
-			addAgeIntervalToStringBuilder(groupingBuilder, 0, 14);
+			addAgeIntervalToStringBuilder(groupingBuilder, caseTable, 0, 14);
 			for (int i = 15; i < 30; i += 5) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 4);
+				addAgeIntervalToStringBuilder(groupingBuilder, caseTable, i, 4);
 			}
 			for (int i = 30; i < 80; i += 10) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 9);
+				addAgeIntervalToStringBuilder(groupingBuilder, caseTable, i, 9);
 			}
 			break;
 		case AGE_INTERVAL_CHILDREN_FINE:
 			for (int i = 0; i < 5; i++) {
 				groupingBuilder.append("WHEN ")
-					.append(Case.TABLE_NAME)
+					.append(caseTable)
 					.append(".")
 					.append(Case.CASE_AGE)
 					.append(" = ")
@@ -1408,42 +1539,42 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 					.append("' ");
 			}
 			for (int i = 5; i < 30; i += 5) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 4);
+				addAgeIntervalToStringBuilder(groupingBuilder, caseTable, i, 4);
 			}
 			for (int i = 30; i < 80; i += 10) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 9);
+				addAgeIntervalToStringBuilder(groupingBuilder, caseTable, i, 9);
 			}
 			break;
 		case AGE_INTERVAL_CHILDREN_MEDIUM:
 			for (int i = 0; i < 30; i += 5) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 4);
+				addAgeIntervalToStringBuilder(groupingBuilder, caseTable, i, 4);
 			}
 			for (int i = 30; i < 80; i += 10) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 9);
+				addAgeIntervalToStringBuilder(groupingBuilder, caseTable, i, 9);
 			}
 			break;
 		case AGE_INTERVAL_BASIC:
-			addAgeIntervalToStringBuilder(groupingBuilder, 0, 0);
-			addAgeIntervalToStringBuilder(groupingBuilder, 1, 3);
-			addAgeIntervalToStringBuilder(groupingBuilder, 5, 9);
-			groupingBuilder.append("WHEN ").append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" >= 15 THEN '15+' ");
+			addAgeIntervalToStringBuilder(groupingBuilder, caseTable, 0, 0);
+			addAgeIntervalToStringBuilder(groupingBuilder, caseTable, 1, 3);
+			addAgeIntervalToStringBuilder(groupingBuilder, caseTable, 5, 9);
+			groupingBuilder.append("WHEN ").append(caseTable).append(".").append(Case.CASE_AGE).append(" >= 15 THEN '15+' ");
 			break;
 		default:
 			throw new IllegalArgumentException(grouping.toString());
 		}
 
 		if (grouping != StatisticsCaseAttribute.AGE_INTERVAL_BASIC && grouping != StatisticsCaseAttribute.AGE_INTERVAL_5_YEARS) {
-			groupingBuilder.append("WHEN ").append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" >= 80 THEN '80+' ");
+			groupingBuilder.append("WHEN ").append(caseTable).append(".").append(Case.CASE_AGE).append(" >= 80 THEN '80+' ");
 		}
 		groupingBuilder.append("ELSE NULL END AS " + groupAlias);
 	}
 
-	private void addAgeIntervalToStringBuilder(StringBuilder groupingBuilder, int number, int increase) {
+	private void addAgeIntervalToStringBuilder(StringBuilder groupingBuilder, String caseTable, int number, int increase) {
 
 		String lowerNumberString = number < 10 ? "0" + number : String.valueOf(number);
 		String higherNumberString = number + increase < 10 ? "0" + (number + increase) : String.valueOf(number + increase);
 		groupingBuilder.append("WHEN ")
-			.append(Case.TABLE_NAME)
+			.append(caseTable)
 			.append(".")
 			.append(Case.CASE_AGE)
 			.append(" BETWEEN ")
@@ -1457,10 +1588,10 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			.append("' ");
 	}
 
-	private void addAgeGroupToStringBuilder(StringBuilder groupingBuilder, AgeGroup ageGroup) {
+	private void addAgeGroupToStringBuilder(StringBuilder groupingBuilder, String caseTable, AgeGroup ageGroup) {
 
 		IntegerRange ageRange = ageGroup.toIntegerRange();
-		groupingBuilder.append("WHEN ").append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE);
+		groupingBuilder.append("WHEN ").append(caseTable).append(".").append(Case.CASE_AGE);
 		if (ageRange.getTo() == null) {
 			groupingBuilder.append(" >= ").append(ageRange.getFrom());
 		} else {
@@ -19,10 +19,12 @@ package de.symeda.sormas.backend.caze.classification;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
@@ -73,6 +75,8 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 
 	/** local cache */
 	private Map<Disease, DiseaseClassificationCriteriaDto> criteriaMap = new HashMap<>();
+	/** the criteria of {@link #criteriaMap} compiled for evaluation */
+	private Map<Disease, DiseaseClassificationEvaluator> evaluatorMap = new HashMap<>();
 
 	@Override
 	public CaseClassification getClassification(CaseDataDto caze, List<PathogenTestDto> sampleTests) {
@@ -82,19 +86,35 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 		}
 
 		PersonDto person = personFacade.getPersonByUuid(caze.getPerson().getUuid());
-		DiseaseClassificationCriteriaDto criteria = criteriaMap.get(caze.getDisease());
-
-		if (criteria != null && criteria.getConfirmedCriteria() != null && criteria.getConfirmedCriteria().eval(caze, person, sampleTests)) {
-			return CaseClassification.CONFIRMED;
-		} else if (criteria != null && criteria.getNotACaseCriteria() != null && criteria.getNotACaseCriteria().eval(caze, person, sampleTests)) {
-			return CaseClassification.NO_CASE;
-		} else if (criteria != null && criteria.getProbableCriteria() != null && criteria.getProbableCriteria().eval(caze, person, sampleTests)) {
-			return CaseClassification.PROBABLE;
-		} else if (criteria != null && criteria.getSuspectCriteria() != null && criteria.getSuspectCriteria().eval(caze, person, sampleTests)) {
-			return CaseClassification.SUSPECT;
-		} else {
-			return CaseClassification.NOT_CLASSIFIED;
+		return classify(caze, person, sampleTests);
+	}
+
+	@Override
+	public List<CaseClassification> getClassifications(List<CaseDataDto> cases, Map<String, List<PathogenTestDto>> sampleTestsByCase) {
+
+		if (cases.isEmpty()) {
+			return new ArrayList<>();
+		}
+		if (criteriaMap.isEmpty()) {
+			buildCriteria();
+		}
+
+		// one query for the persons of all cases
+		List<String> personUuids = cases.stream().map(c -> c.getPerson().getUuid()).distinct().collect(Collectors.toList());
+		Map<String, PersonDto> persons = personFacade.getByUuids(personUuids).stream().collect(Collectors.toMap(PersonDto::getUuid, p -> p));
+
+		List<CaseClassification> classifications = new ArrayList<>(cases.size());
+		for (CaseDataDto caze : cases) {
+			List<PathogenTestDto> sampleTests = sampleTestsByCase.getOrDefault(caze.getUuid(), Collections.emptyList());
+			classifications.add(classify(caze, persons.get(caze.getPerson().getUuid()), sampleTests));
 		}
+		return classifications;
+	}
+
+	private CaseClassification classify(CaseDataDto caze, PersonDto person, List<PathogenTestDto> sampleTests) {
+
+		DiseaseClassificationEvaluator evaluator = evaluatorMap.get(caze.getDisease());
+		return evaluator != null ? evaluator.classify(caze, person, sampleTests) : CaseClassification.NOT_CLASSIFIED;
 	}
 
 	@Override
@@ -417,6 +437,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 
 		DiseaseClassificationCriteriaDto criteria = new DiseaseClassificationCriteriaDto(disease, changeDate, suspect, probable, confirmed, notACase);
 		criteriaMap.put(disease, criteria);
+		evaluatorMap.put(disease, ClassificationCriteriaCompiler.compile(criteria));
 	}
 
 	private static ClassificationAllOfCriteriaDto allOf(ClassificationCriteriaDto... criteria) {
@@ -0,0 +1,217 @@
+package de.symeda.sormas.backend.caze.classification;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.caze.CaseLogic;
+import de.symeda.sormas.api.caze.classification.ClassificationAllOfCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationCaseCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationEpiDataCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationNoneOfCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationNotInStartDateRangeCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationPathogenTestCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationSymptomsCriteriaDto;
+import de.symeda.sormas.api.caze.classification.ClassificationXOfCriteriaDto;
+import de.symeda.sormas.api.caze.classification.DiseaseClassificationCriteriaDto;
+import de.symeda.sormas.api.epidata.EpiDataDto;
+import de.symeda.sormas.api.sample.PathogenTestDto;
+import de.symeda.sormas.api.sample.PathogenTestType;
+import de.symeda.sormas.api.symptoms.SymptomsDto;
+import de.symeda.sormas.api.utils.DateHelper;
+
+/**
+ * Compiles classification criteria into {@link ClassificationEvaluator}s that behave exactly like
+ * {@link ClassificationCriteriaDto#eval}, but don't look up the getters of the evaluated properties by reflection
+ * every time they are evaluated. The getters are resolved once and bound to functional interfaces instead.
+ * <p>
+ * This is done in the backend and not in the criteria DTOs themselves, because the DTOs are also used by the
+ * mobile app, which can't rely on {@link LambdaMetafactory}.
+ */
+public final class ClassificationCriteriaCompiler {
+
+	private ClassificationCriteriaCompiler() {
+		// Hide Utility Class Constructor
+	}
+
+	public static DiseaseClassificationEvaluator compile(DiseaseClassificationCriteriaDto criteria) {
+
+		return new DiseaseClassificationEvaluator(
+			compile(criteria.getConfirmedCriteria()),
+			compile(criteria.getNotACaseCriteria()),
+			compile(criteria.getProbableCriteria()),
+			compile(criteria.getSuspectCriteria()));
+	}
+
+	/**
+	 * @return null if the criteria is null
+	 * @throws IllegalArgumentException
+	 *             if a property used by the criteria does not exist
+	 */
+	public static ClassificationEvaluator compile(ClassificationCriteriaDto criteria) {
+
+		if (criteria == null) {
+			return null;
+		}
+
+		// the compact and sub criteria variants only differ in their description
+		if (criteria instanceof ClassificationAllOfCriteriaDto) {
+			ClassificationEvaluator[] subEvaluators = compileAll(((ClassificationAllOfCriteriaDto) criteria).getSubCriteria());
+			return (caze, person, sampleTests) -> {
+				for (ClassificationEvaluator subEvaluator : subEvaluators) {
+					if (!subEvaluator.eval(caze, person, sampleTests)) {
+						return false;
+					}
+				}
+				return true;
+			};
+		}
+
+		if (criteria instanceof ClassificationXOfCriteriaDto) {
+			int requiredAmount = ((ClassificationXOfCriteriaDto) criteria).getRequiredAmount();
+			ClassificationEvaluator[] subEvaluators = compileAll(((ClassificationXOfCriteriaDto) criteria).getClassificationCriteria());
+			return (caze, person, sampleTests) -> {
+				int amount = 0;
+				for (ClassificationEvaluator subEvaluator : subEvaluators) {
+					if (subEvaluator.eval(caze, person, sampleTests)) {
+						amount++;
+						if (amount >= requiredAmount) {
+							return true;
+						}
+					}
+				}
+				return false;
+			};
+		}
+
+		if (criteria instanceof ClassificationNoneOfCriteriaDto) {
+			ClassificationEvaluator[] subEvaluators = compileAll(((ClassificationNoneOfCriteriaDto) criteria).getClassificationCriteria());
+			return (caze, person, sampleTests) -> {
+				for (ClassificationEvaluator subEvaluator : subEvaluators) {
+					if (subEvaluator.eval(caze, person, sampleTests)) {
+						return false;
+					}
+				}
+				return true;
+			};
+		}
+
+		// subclasses of these criteria may evaluate differently, so only the exact classes are compiled
+		Class<?> criteriaClass = criteria.getClass();
+		if (criteriaClass == ClassificationCaseCriteriaDto.class) {
+			return compilePropertyValues((ClassificationCaseCriteriaDto) criteria, CaseDataDto.class, caze -> caze);
+		} else if (criteriaClass == ClassificationSymptomsCriteriaDto.class) {
+			return compilePropertyValues((ClassificationCaseCriteriaDto) criteria, SymptomsDto.class, CaseDataDto::getSymptoms);
+		} else if (criteriaClass == ClassificationEpiDataCriteriaDto.class) {
+			return compilePropertyValues((ClassificationCaseCriteriaDto) criteria, EpiDataDto.class, CaseDataDto::getEpiData);
+		} else if (criteriaClass == ClassificationNotInStartDateRangeCriteriaDto.class) {
+			return compileNotInStartDateRange((ClassificationNotInStartDateRangeCriteriaDto) criteria);
+		} else if (criteriaClass == ClassificationPathogenTestCriteriaDto.class) {
+			return compilePathogenTest((ClassificationPathogenTestCriteriaDto) criteria);
+		}
+
+		// all other criteria don't use reflection
+		return criteria::eval;
+	}
+
+	private static ClassificationEvaluator[] compileAll(List<ClassificationCriteriaDto> criteria) {
+		return criteria.stream().map(ClassificationCriteriaCompiler::compile).toArray(ClassificationEvaluator[]::new);
+	}
+
+	/**
+	 * Equivalent to {@link ClassificationCaseCriteriaDto#eval}.
+	 */
+	private static ClassificationEvaluator compilePropertyValues(
+		ClassificationCaseCriteriaDto criteria,
+		Class<?> propertyOwnerClass,
+		Function<CaseDataDto, Object> propertyOwner) {
+
+		Function<Object, Object> getter = createGetter(propertyOwnerClass, criteria.getPropertyId(), false);
+		List<Object> propertyValues = new ArrayList<>(criteria.getPropertyValues());
+		return (caze, person, sampleTests) -> propertyValues.contains(getter.apply(propertyOwner.apply(caze)));
+	}
+
+	/**
+	 * Equivalent to {@link ClassificationNotInStartDateRangeCriteriaDto#eval}.
+	 */
+	private static ClassificationEvaluator compileNotInStartDateRange(ClassificationNotInStartDateRangeCriteriaDto criteria) {
+
+		Function<Object, Object> getter = createGetter(CaseDataDto.class, criteria.getPropertyId(), false);
+		int daysBeforeStartDate = criteria.getDaysBeforeStartDate();
+		return (caze, person, sampleTests) -> {
+			Object value = getter.apply(caze);
+			if (!(value instanceof Date)) {
+				return true;
+			}
+
+			Date date = (Date) value;
+			Date startDate = CaseLogic.getStartDate(caze.getSymptoms().getOnsetDate(), caze.getReportDate());
+			Date lowerThresholdDate = DateHelper.subtractDays(startDate, daysBeforeStartDate);
+			return !(date.equals(lowerThresholdDate) || date.equals(startDate) || (date.after(lowerThresholdDate) && date.before(startDate)));
+		};
+	}
+
+	/**
+	 * Equivalent to {@link ClassificationPathogenTestCriteriaDto#eval}.
+	 */
+	private static ClassificationEvaluator compilePathogenTest(ClassificationPathogenTestCriteriaDto criteria) {
+
+		Function<Object, Object> getter = createGetter(PathogenTestDto.class, criteria.getPropertyId(), true);
+		List<PathogenTestType> testTypes = new ArrayList<>(criteria.getTestTypes());
+		List<Object> propertyValues = new ArrayList<>(criteria.getPropertyValues());
+		return (caze, person, sampleTests) -> {
+			for (PathogenTestDto sampleTest : sampleTests) {
+				if (testTypes.contains(sampleTest.getTestType()) && propertyValues.contains(getter.apply(sampleTest))) {
+					return true;
+				}
+			}
+			return false;
+		};
+	}
+
+	/**
+	 * Binds the getter of the property to a {@link Function}, which the JIT compiler can inline like a direct call.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object> createGetter(Class<?> propertyOwnerClass, String propertyId, boolean allowIsGetter) {
+
+		String capitalizedPropertyId = propertyId.substring(0, 1).toUpperCase() + propertyId.substring(1);
+		Method method;
+		try {
+			method = propertyOwnerClass.getMethod("get" + capitalizedPropertyId);
+		} catch (NoSuchMethodException e) {
+			if (!allowIsGetter) {
+				throw new IllegalArgumentException("No getter for " + propertyId + " in " + propertyOwnerClass.getSimpleName(), e);
+			}
+			try {
+				method = propertyOwnerClass.getMethod("is" + capitalizedPropertyId);
+			} catch (NoSuchMethodException isE) {
+				throw new IllegalArgumentException("No getter for " + propertyId + " in " + propertyOwnerClass.getSimpleName(), isE);
+			}
+		}
+
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			MethodHandle getterHandle = lookup.unreflect(method);
+			CallSite callSite = LambdaMetafactory.metafactory(
+				lookup,
+				"apply",
+				MethodType.methodType(Function.class),
+				MethodType.methodType(Object.class, Object.class),
+				getterHandle,
+				getterHandle.type().wrap());
+			return (Function<Object, Object>) callSite.getTarget().invokeExact();
+		} catch (Throwable e) {
+			throw new IllegalStateException("Could not bind getter " + method, e);
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package de.symeda.sormas.backend.caze.classification;
+
+import java.util.List;
+
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.sample.PathogenTestDto;
+
+/**
+ * Evaluates a classification criteria that has been compiled by {@link ClassificationCriteriaCompiler}.
+ * Same contract as {@link de.symeda.sormas.api.caze.classification.ClassificationCriteriaDto#eval}.
+ */
+@FunctionalInterface
+public interface ClassificationEvaluator {
+
+	boolean eval(CaseDataDto caze, PersonDto person, List<PathogenTestDto> sampleTests);
+}
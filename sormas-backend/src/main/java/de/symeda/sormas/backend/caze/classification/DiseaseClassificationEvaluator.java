@@ -0,0 +1,49 @@
+package de.symeda.sormas.backend.caze.classification;
+
+import java.util.List;
+
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.sample.PathogenTestDto;
+
+/**
+ * The compiled criteria of one disease. Immutable, so it can be shared by all threads.
+ */
+public class DiseaseClassificationEvaluator {
+
+	private final ClassificationEvaluator confirmed;
+	private final ClassificationEvaluator notACase;
+	private final ClassificationEvaluator probable;
+	private final ClassificationEvaluator suspect;
+
+	public DiseaseClassificationEvaluator(
+		ClassificationEvaluator confirmed,
+		ClassificationEvaluator notACase,
+		ClassificationEvaluator probable,
+		ClassificationEvaluator suspect) {
+
+		this.confirmed = confirmed;
+		this.notACase = notACase;
+		this.probable = probable;
+		this.suspect = suspect;
+	}
+
+	/**
+	 * The criteria are checked from the most to the least specific classification; the first one that applies wins.
+	 */
+	public CaseClassification classify(CaseDataDto caze, PersonDto person, List<PathogenTestDto> sampleTests) {
+
+		if (confirmed != null && confirmed.eval(caze, person, sampleTests)) {
+			return CaseClassification.CONFIRMED;
+		} else if (notACase != null && notACase.eval(caze, person, sampleTests)) {
+			return CaseClassification.NO_CASE;
+		} else if (probable != null && probable.eval(caze, person, sampleTests)) {
+			return CaseClassification.PROBABLE;
+		} else if (suspect != null && suspect.eval(caze, person, sampleTests)) {
+			return CaseClassification.SUSPECT;
+		} else {
+			return CaseClassification.NOT_CLASSIFIED;
+		}
+	}
+}
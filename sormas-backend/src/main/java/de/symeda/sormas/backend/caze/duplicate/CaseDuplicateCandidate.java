@@ -0,0 +1,58 @@
+package de.symeda.sormas.backend.caze.duplicate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+
+/**
+ * Two cases that have been found to be probable duplicates by {@link CaseDuplicateCandidateUpdater#update()}.
+ */
+@Entity(name = CaseDuplicateCandidate.TABLE_NAME)
+public class CaseDuplicateCandidate extends AbstractDomainObject {
+
+	private static final long serialVersionUID = 3264183405726158831L;
+
+	public static final String TABLE_NAME = "caseduplicatecandidate";
+
+	public static final String OLDER_CASE = "olderCase";
+	public static final String NEWER_CASE = "newerCase";
+	public static final String NAME_SIMILARITY = "nameSimilarity";
+
+	private Case olderCase;
+	private Case newerCase;
+	private double nameSimilarity;
+
+	@ManyToOne(cascade = {}, fetch = FetchType.LAZY)
+	@JoinColumn(nullable = false)
+	public Case getOlderCase() {
+		return olderCase;
+	}
+
+	public void setOlderCase(Case olderCase) {
+		this.olderCase = olderCase;
+	}
+
+	@ManyToOne(cascade = {}, fetch = FetchType.LAZY)
+	@JoinColumn(nullable = false)
+	public Case getNewerCase() {
+		return newerCase;
+	}
+
+	public void setNewerCase(Case newerCase) {
+		this.newerCase = newerCase;
+	}
+
+	@Column(nullable = false)
+	public double getNameSimilarity() {
+		return nameSimilarity;
+	}
+
+	public void setNameSimilarity(double nameSimilarity) {
+		this.nameSimilarity = nameSimilarity;
+	}
+}
@@ -0,0 +1,33 @@
+package de.symeda.sormas.backend.caze.duplicate;
+
+import java.sql.Timestamp;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+
+/**
+ * The time up to which the changes of cases and persons have been searched for {@link CaseDuplicateCandidate}s. There is at most
+ * one row; without it, all cases are searched.
+ */
+@Entity(name = CaseDuplicateCandidateCursor.TABLE_NAME)
+public class CaseDuplicateCandidateCursor extends AbstractDomainObject {
+
+	private static final long serialVersionUID = -4158297743146853619L;
+
+	public static final String TABLE_NAME = "caseduplicatecandidatecursor";
+
+	public static final String PROCESSED_UNTIL = "processedUntil";
+
+	private Timestamp processedUntil;
+
+	@Column(nullable = false)
+	public Timestamp getProcessedUntil() {
+		return processedUntil;
+	}
+
+	public void setProcessedUntil(Timestamp processedUntil) {
+		this.processedUntil = processedUntil;
+	}
+}
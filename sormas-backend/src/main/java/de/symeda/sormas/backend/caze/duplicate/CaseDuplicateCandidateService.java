@@ -0,0 +1,254 @@
+package de.symeda.sormas.backend.caze.duplicate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.person.Sex;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.caze.duplicate.CaseDuplicateFinder.CandidatePair;
+import de.symeda.sormas.backend.caze.duplicate.CaseDuplicateFinder.CaseData;
+import de.symeda.sormas.backend.common.AbstractAdoService;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.person.Person;
+import de.symeda.sormas.backend.symptoms.Symptoms;
+
+@Stateless
+@LocalBean
+public class CaseDuplicateCandidateService extends AbstractAdoService<CaseDuplicateCandidate> {
+
+	private static final int BATCH_SIZE = 10000;
+
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+
+	public CaseDuplicateCandidateService() {
+		super(CaseDuplicateCandidate.class);
+	}
+
+	public Date getProcessedUntil() {
+
+		CaseDuplicateCandidateCursor cursor = getCursor();
+		return cursor != null ? cursor.getProcessedUntil() : null;
+	}
+
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void saveProcessedUntil(Date processedUntil) {
+
+		CaseDuplicateCandidateCursor cursor = getCursor();
+		if (cursor == null) {
+			cursor = new CaseDuplicateCandidateCursor();
+		}
+		cursor.setProcessedUntil(new Timestamp(processedUntil.getTime()));
+		em.persist(cursor);
+	}
+
+	private CaseDuplicateCandidateCursor getCursor() {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<CaseDuplicateCandidateCursor> cq = cb.createQuery(CaseDuplicateCandidateCursor.class);
+		cq.from(CaseDuplicateCandidateCursor.class);
+		return em.createQuery(cq).getResultList().stream().findFirst().orElse(null);
+	}
+
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void deleteAllCandidates() {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaDelete<CaseDuplicateCandidate> cd = cb.createCriteriaDelete(getElementClass());
+		cd.from(getElementClass());
+		em.createQuery(cd).executeUpdate();
+	}
+
+	/**
+	 * @param since
+	 *            null for all cases that are not deleted
+	 * @return The ids of the cases that, or whose aggregated entities or person, have been changed after {@code since}, including
+	 *         deleted cases. They are ordered by disease and report date, so the cases of a batch are reported at similar times.
+	 */
+	public List<Long> getChangedCaseIds(Date since) {
+
+		Map<Long, Object[]> changedCases = new HashMap<>();
+		if (since == null) {
+			getCaseKeys((cb, caze) -> cb.isFalse(caze.get(Case.DELETED))).forEach(row -> changedCases.put((Long) row[0], row));
+		} else {
+			// separate queries, so each of them can use the index of its change date
+			getCaseKeys((cb, caze) -> cb.greaterThan(caze.<Date> get(AbstractDomainObject.CHANGE_DATE), since))
+				.forEach(row -> changedCases.put((Long) row[0], row));
+			getCaseKeys((cb, caze) -> cb.greaterThan(caze.<Date> get(Case.AGGREGATE_CHANGE_DATE), since))
+				.forEach(row -> changedCases.put((Long) row[0], row));
+			getCaseKeys((cb, caze) -> cb.greaterThan(caze.join(Case.PERSON).<Date> get(AbstractDomainObject.CHANGE_DATE), since))
+				.forEach(row -> changedCases.put((Long) row[0], row));
+		}
+
+		return changedCases.values()
+			.stream()
+			.sorted(
+				Comparator.comparing((Object[] row) -> (Disease) row[1], Comparator.nullsFirst(Comparator.naturalOrder()))
+					.thenComparing(row -> (Date) row[2], Comparator.nullsFirst(Comparator.naturalOrder())))
+			.map(row -> (Long) row[0])
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * @return id, disease and report date of the cases matching the filter
+	 */
+	private List<Object[]> getCaseKeys(BiFunction<CriteriaBuilder, Root<Case>, Predicate> filterBuilder) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> caze = cq.from(Case.class);
+		cq.multiselect(caze.get(Case.ID), caze.get(Case.DISEASE), caze.get(Case.REPORT_DATE));
+		cq.where(filterBuilder.apply(cb, caze));
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	/**
+	 * Replaces the stored candidates of the given cases by the duplicates the {@link CaseDuplicateFinder} finds among the cases
+	 * that are not deleted. Only the cases of the same disease that are reported at most 30 days before or after the given cases
+	 * are loaded, because the other cases can't be their duplicates.
+	 *
+	 * @param caseIds
+	 *            Cases that have been changed, including deleted ones
+	 * @return The number of candidates found
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public int updateCandidates(List<Long> caseIds) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaDelete<CaseDuplicateCandidate> cd = cb.createCriteriaDelete(getElementClass());
+		Root<CaseDuplicateCandidate> candidateRoot = cd.from(getElementClass());
+		cd.where(
+			cb.or(
+				candidateRoot.get(CaseDuplicateCandidate.OLDER_CASE).get(Case.ID).in(caseIds),
+				candidateRoot.get(CaseDuplicateCandidate.NEWER_CASE).get(Case.ID).in(caseIds)));
+		em.createQuery(cd).executeUpdate();
+
+		Map<Disease, List<CaseData>> changedCasesByDisease = getCaseData((builder, caze) -> caze.get(Case.ID).in(caseIds)).stream()
+			.filter(caze -> caze.getReportDate() != null)
+			.collect(Collectors.groupingBy(CaseData::getDisease));
+		Set<Long> changedCaseIds = new HashSet<>(caseIds);
+
+		CaseDuplicateFinder finder = new CaseDuplicateFinder(configFacade.getNameSimilarityThreshold());
+		int candidateCount = 0;
+		for (Map.Entry<Disease, List<CaseData>> changedCases : changedCasesByDisease.entrySet()) {
+			Date earliestReportDate = changedCases.getValue().stream().map(CaseData::getReportDate).min(Date::compareTo).get();
+			Date latestReportDate = changedCases.getValue().stream().map(CaseData::getReportDate).max(Date::compareTo).get();
+			List<CaseData> cases = getCaseData(
+				(builder, caze) -> builder.and(
+					builder.equal(caze.get(Case.DISEASE), changedCases.getKey()),
+					builder.between(
+						caze.<Date> get(Case.REPORT_DATE),
+						DateHelper.subtractDays(earliestReportDate, 30),
+						DateHelper.addDays(latestReportDate, 30))));
+
+			List<CandidatePair> pairs = finder.find(cases, changedCaseIds);
+			for (CandidatePair pair : pairs) {
+				CaseDuplicateCandidate candidate = new CaseDuplicateCandidate();
+				candidate.setOlderCase(em.getReference(Case.class, pair.getOlderCaseId()));
+				candidate.setNewerCase(em.getReference(Case.class, pair.getNewerCaseId()));
+				candidate.setNameSimilarity(pair.getNameSimilarity());
+				em.persist(candidate);
+			}
+			em.flush();
+			em.clear();
+			candidateCount += pairs.size();
+		}
+
+		return candidateCount;
+	}
+
+	/**
+	 * Loads the cases that are not deleted in batches ordered by id, so the database does not have to keep a large result in
+	 * memory.
+	 */
+	private List<CaseData> getCaseData(BiFunction<CriteriaBuilder, Root<Case>, Predicate> filterBuilder) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		List<CaseData> cases = new ArrayList<>();
+		Long lastId = null;
+		List<Object[]> batch;
+		do {
+			CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+			Root<Case> caze = cq.from(Case.class);
+			Join<Case, Person> person = caze.join(Case.PERSON, JoinType.LEFT);
+			Join<Case, Symptoms> symptoms = caze.join(Case.SYMPTOMS, JoinType.LEFT);
+
+			cq.multiselect(
+				caze.get(Case.ID),
+				caze.get(Case.DISEASE),
+				person.get(Person.FIRST_NAME),
+				person.get(Person.LAST_NAME),
+				person.get(Person.SEX),
+				person.get(Person.BIRTHDATE_DD),
+				person.get(Person.BIRTHDATE_MM),
+				person.get(Person.BIRTHDATE_YYYY),
+				caze.get(Case.REPORT_DATE),
+				symptoms.get(Symptoms.ONSET_DATE),
+				caze.get(Case.CREATION_DATE));
+
+			Predicate filter = cb.and(cb.isFalse(caze.get(Case.DELETED)), filterBuilder.apply(cb, caze));
+			if (lastId != null) {
+				filter = cb.and(filter, cb.greaterThan(caze.get(Case.ID), lastId));
+			}
+			cq.where(filter);
+			cq.orderBy(cb.asc(caze.get(Case.ID)));
+
+			batch = em.createQuery(cq).setMaxResults(BATCH_SIZE).getResultList();
+			for (Object[] row : batch) {
+				cases.add(
+					new CaseData(
+						(Long) row[0],
+						(Disease) row[1],
+						(String) row[2],
+						(String) row[3],
+						(Sex) row[4],
+						(Integer) row[5],
+						(Integer) row[6],
+						(Integer) row[7],
+						(Date) row[8],
+						(Date) row[9],
+						(Date) row[10]));
+			}
+			if (!batch.isEmpty()) {
+				lastId = (Long) batch.get(batch.size() - 1)[0];
+			}
+		}
+		while (batch.size() == BATCH_SIZE);
+
+		return cases;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Predicate createUserFilter(CriteriaBuilder cb, CriteriaQuery cq, From<CaseDuplicateCandidate, CaseDuplicateCandidate> from) {
+		// A user should not directly query for this
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,66 @@
+package de.symeda.sormas.backend.caze.duplicate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Updates the {@link CaseDuplicateCandidate}s of the cases that have been changed since the previous update. The first update
+ * searches all cases; afterwards, the time up to which the changes have been processed is stored in
+ * {@link CaseDuplicateCandidateCursor}.
+ * <p>
+ * Changes are found by their change dates, which are set when they are flushed, but only become visible when their
+ * transaction commits. Each update therefore processes the changes again that have been made up to
+ * {@link #CHANGE_TOLERANCE_MILLIS} before the previous update.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class CaseDuplicateCandidateUpdater {
+
+	private static final long CHANGE_TOLERANCE_MILLIS = 5 * 60 * 1000L;
+
+	/**
+	 * Number of changed cases that are processed in one transaction.
+	 */
+	private static final int BATCH_SIZE = 1000;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@EJB
+	private CaseDuplicateCandidateService caseDuplicateCandidateService;
+
+	public synchronized void update() {
+
+		long startTime = System.currentTimeMillis();
+		Date processedUntil = caseDuplicateCandidateService.getProcessedUntil();
+		Date since = null;
+		if (processedUntil != null) {
+			since = new Date(processedUntil.getTime() - CHANGE_TOLERANCE_MILLIS);
+		} else {
+			// removes the candidates of cases that have been deleted before
+			caseDuplicateCandidateService.deleteAllCandidates();
+		}
+
+		List<Long> caseIds = caseDuplicateCandidateService.getChangedCaseIds(since);
+		int candidateCount = 0;
+		for (int i = 0; i < caseIds.size(); i += BATCH_SIZE) {
+			candidateCount +=
+				caseDuplicateCandidateService.updateCandidates(new ArrayList<>(caseIds.subList(i, Math.min(i + BATCH_SIZE, caseIds.size()))));
+		}
+		caseDuplicateCandidateService.saveProcessedUntil(new Date(startTime));
+
+		logger.info(
+			"Found {} case duplicate candidates for {} changed cases in {} ms",
+			candidateCount,
+			caseIds.size(),
+			System.currentTimeMillis() - startTime);
+	}
+}
@@ -0,0 +1,432 @@
+package de.symeda.sormas.backend.caze.duplicate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.person.Sex;
+
+/**
+ * Finds pairs of cases that probably belong to the same person. Instead of comparing every case with every other case, the
+ * cases are grouped into blocks and only the cases within the same block are compared:
+ * <ul>
+ * <li>A block contains the cases of one disease whose first or last name has the same {@link #nameKey(String) key}. Every
+ * case is put into the blocks of both of its names, so pairs with a typo in one name or with switched names are still
+ * found.</li>
+ * <li>Within a block, the cases are sorted by report date and each case is only compared with the cases reported at most 30
+ * days later, because the report dates of duplicates have to be that close anyway. Cases with different birth years are not
+ * compared; cases without birth year are compared with all cases in that time span.</li>
+ * </ul>
+ * The pairs of a block are accepted when the {@link #similarity(long[], long[]) trigram similarity} of the full names exceeds
+ * the threshold, the report dates and onset dates are at most 30 days apart and sex or birth date match.
+ */
+public final class CaseDuplicateFinder {
+
+	private static final long MAX_DATE_DIFFERENCE_MILLIS = 30L * 24 * 60 * 60 * 1000;
+
+	/**
+	 * Soundex codes of the letters A to Z; 0 for letters that are not coded.
+	 */
+	private static final String SOUNDEX_CODES = "01230120022455012623010202";
+
+	private final double nameSimilarityThreshold;
+
+	public CaseDuplicateFinder(double nameSimilarityThreshold) {
+		this.nameSimilarityThreshold = nameSimilarityThreshold;
+	}
+
+	/**
+	 * @return The pairs of probable duplicates, each pair only once
+	 */
+	public List<CandidatePair> find(Collection<CaseData> cases) {
+		return find(cases, null);
+	}
+
+	/**
+	 * @param changedCaseIds
+	 *            Only the pairs that contain at least one of these cases are returned; null for all pairs
+	 * @return The pairs of probable duplicates, each pair only once
+	 */
+	public List<CandidatePair> find(Collection<CaseData> cases, Set<Long> changedCaseIds) {
+
+		Map<BlockKey, List<CaseData>> blocks = new HashMap<>();
+		for (CaseData caze : cases) {
+			// cases without report date can't be within 30 days of another case
+			if (caze.reportDate == null) {
+				continue;
+			}
+			caze.firstNameKey = nameKey(caze.firstName);
+			caze.lastNameKey = nameKey(caze.lastName);
+			if (caze.firstNameKey != null) {
+				blocks.computeIfAbsent(new BlockKey(caze.disease, caze.firstNameKey), k -> new ArrayList<>()).add(caze);
+			}
+			if (caze.lastNameKey != null && !caze.lastNameKey.equals(caze.firstNameKey)) {
+				blocks.computeIfAbsent(new BlockKey(caze.disease, caze.lastNameKey), k -> new ArrayList<>()).add(caze);
+			}
+		}
+
+		List<CandidatePair> pairs = new ArrayList<>();
+		for (Map.Entry<BlockKey, List<CaseData>> block : blocks.entrySet()) {
+			if (block.getValue().size() < 2) {
+				continue;
+			}
+
+			String nameKey = block.getKey().nameKey;
+			List<CaseData> blockCases = block.getValue();
+			blockCases.sort(Comparator.comparing(caze -> caze.reportDate));
+			for (int i = 0; i < blockCases.size(); i++) {
+				CaseData caze = blockCases.get(i);
+				for (int j = i + 1; j < blockCases.size() && isWithin30Days(caze.reportDate, blockCases.get(j).reportDate); j++) {
+					CaseData other = blockCases.get(j);
+					if (changedCaseIds != null && !changedCaseIds.contains(caze.id) && !changedCaseIds.contains(other.id)) {
+						continue;
+					}
+					if (caze.birthdateYYYY != null && other.birthdateYYYY != null && !caze.birthdateYYYY.equals(other.birthdateYYYY)) {
+						continue;
+					}
+					compare(nameKey, caze, other, pairs);
+				}
+			}
+		}
+
+		return pairs;
+	}
+
+	private void compare(String nameKey, CaseData caze, CaseData other, List<CandidatePair> pairs) {
+
+		// the older case is the first one of the pair; cases created at the same time are not considered duplicates
+		int creationOrder = caze.creationDate.compareTo(other.creationDate);
+		if (creationOrder == 0 || !isFirstSharedBlock(nameKey, caze, other)) {
+			return;
+		}
+		CaseData older = creationOrder < 0 ? caze : other;
+		CaseData newer = creationOrder < 0 ? other : caze;
+
+		if (!isWithin30Days(older.reportDate, newer.reportDate)) {
+			return;
+		}
+		if (older.onsetDate != null && newer.onsetDate != null && !isWithin30Days(older.onsetDate, newer.onsetDate)) {
+			return;
+		}
+		if (!isSexMatching(older, newer) && !isBirthdateMatching(older, newer)) {
+			return;
+		}
+
+		double similarity = similarity(older.getNameTrigrams(), newer.getNameTrigrams());
+		if (similarity > nameSimilarityThreshold) {
+			pairs.add(new CandidatePair(older.id, newer.id, similarity));
+		}
+	}
+
+	/**
+	 * Cases that share the blocks of both names are only compared in the block with the smaller key, so each pair is compared
+	 * only once without having to remember the compared pairs.
+	 */
+	private static boolean isFirstSharedBlock(String nameKey, CaseData caze, CaseData other) {
+		return !isSmallerSharedKey(caze.firstNameKey, nameKey, other) && !isSmallerSharedKey(caze.lastNameKey, nameKey, other);
+	}
+
+	private static boolean isSmallerSharedKey(String key, String nameKey, CaseData other) {
+		return key != null && key.compareTo(nameKey) < 0 && (key.equals(other.firstNameKey) || key.equals(other.lastNameKey));
+	}
+
+	private static boolean isWithin30Days(Date date, Date other) {
+		return date != null && other != null && Math.abs(date.getTime() - other.getTime()) <= MAX_DATE_DIFFERENCE_MILLIS;
+	}
+
+	private static boolean isSexMatching(CaseData caze, CaseData other) {
+		return caze.sex == null || other.sex == null || caze.sex == other.sex;
+	}
+
+	private static boolean isBirthdateMatching(CaseData caze, CaseData other) {
+
+		if (caze.birthdateDD == null
+			|| caze.birthdateMM == null
+			|| caze.birthdateYYYY == null
+			|| other.birthdateDD == null
+			|| other.birthdateMM == null
+			|| other.birthdateYYYY == null) {
+			return true;
+		}
+		return caze.birthdateDD.equals(other.birthdateDD)
+			&& caze.birthdateMM.equals(other.birthdateMM)
+			&& caze.birthdateYYYY.equals(other.birthdateYYYY);
+	}
+
+	/**
+	 * @return The {@link #soundex(String) Soundex code} of the name, or for names without the letters A to Z, like Arabic or
+	 *         Cyrillic names, the first two letters in lower case and without diacritics; null if the name does not contain any
+	 *         letters
+	 */
+	static String nameKey(String name) {
+
+		String soundex = soundex(name);
+		if (soundex != null || name == null) {
+			return soundex;
+		}
+
+		// the prefix distinguishes these keys from the Soundex codes
+		StringBuilder key = new StringBuilder("~");
+		String letters = Normalizer.normalize(name, Normalizer.Form.NFKD).toLowerCase(Locale.ROOT);
+		for (int i = 0; i < letters.length() && key.length() < 3; i++) {
+			if (Character.isLetter(letters.charAt(i))) {
+				key.append(letters.charAt(i));
+			}
+		}
+		return key.length() > 1 ? key.toString() : null;
+	}
+
+	/**
+	 * American Soundex code of the name, e.g. R163 for Robert and Rupert. Diacritics are removed and all characters other than
+	 * the letters A to Z are ignored.
+	 *
+	 * @return null if the name does not contain any letters
+	 */
+	static String soundex(String name) {
+
+		if (name == null) {
+			return null;
+		}
+
+		String letters = Normalizer.normalize(name, Normalizer.Form.NFD).toUpperCase(Locale.ROOT);
+		char[] code = new char[] {
+			'0',
+			'0',
+			'0',
+			'0' };
+		int length = 0;
+		char previousDigit = 0;
+		for (int i = 0; i < letters.length() && length < code.length; i++) {
+			char letter = letters.charAt(i);
+			if (letter < 'A' || letter > 'Z') {
+				continue;
+			}
+
+			char digit = SOUNDEX_CODES.charAt(letter - 'A');
+			if (length == 0) {
+				code[length++] = letter;
+				previousDigit = digit;
+			} else if (digit == '0') {
+				// vowels separate letters with the same code, H and W do not
+				if (letter != 'H' && letter != 'W') {
+					previousDigit = 0;
+				}
+			} else if (digit != previousDigit) {
+				code[length++] = digit;
+				previousDigit = digit;
+			}
+		}
+
+		return length > 0 ? new String(code) : null;
+	}
+
+	/**
+	 * The trigrams of the text like they are extracted by the PostgreSQL pg_trgm extension: The text is split into words of
+	 * letters and digits, which are converted to lower case and padded with two blanks in front and one behind.
+	 *
+	 * @return The trigrams, each encoded as a long with 16 bits per character, sorted and without duplicates
+	 */
+	static long[] trigrams(String text) {
+
+		List<Long> trigrams = new ArrayList<>();
+		StringBuilder word = new StringBuilder("  ");
+		for (int i = 0; i <= text.length(); i++) {
+			char c = i < text.length() ? Character.toLowerCase(text.charAt(i)) : ' ';
+			if (Character.isLetterOrDigit(c)) {
+				word.append(c);
+			} else if (word.length() > 2) {
+				word.append(' ');
+				for (int j = 0; j + 3 <= word.length(); j++) {
+					trigrams.add(((long) word.charAt(j) << 32) | ((long) word.charAt(j + 1) << 16) | word.charAt(j + 2));
+				}
+				word.setLength(2);
+			}
+		}
+
+		return trigrams.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+	}
+
+	/**
+	 * The number of trigrams shared by both texts divided by the number of distinct trigrams of both texts, which is what the
+	 * similarity function of pg_trgm computes.
+	 *
+	 * @param trigrams
+	 *            The result of {@link #trigrams(String)} for the first text
+	 * @param otherTrigrams
+	 *            The result of {@link #trigrams(String)} for the second text
+	 */
+	static double similarity(long[] trigrams, long[] otherTrigrams) {
+
+		int shared = 0;
+		int i = 0;
+		int j = 0;
+		while (i < trigrams.length && j < otherTrigrams.length) {
+			if (trigrams[i] == otherTrigrams[j]) {
+				shared++;
+				i++;
+				j++;
+			} else if (trigrams[i] < otherTrigrams[j]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+
+		int total = trigrams.length + otherTrigrams.length - shared;
+		return total > 0 ? (double) shared / total : 0;
+	}
+
+	/**
+	 * The attributes of a case that are needed to find its duplicates.
+	 */
+	public static final class CaseData {
+
+		private final long id;
+		private final Disease disease;
+		private final String firstName;
+		private final String lastName;
+		private final Sex sex;
+		private final Integer birthdateDD;
+		private final Integer birthdateMM;
+		private final Integer birthdateYYYY;
+		private final Date reportDate;
+		private final Date onsetDate;
+		private final Date creationDate;
+
+		// set and computed while finding the duplicates
+		private String firstNameKey;
+		private String lastNameKey;
+		private long[] nameTrigrams;
+
+		public CaseData(
+			long id,
+			Disease disease,
+			String firstName,
+			String lastName,
+			Sex sex,
+			Integer birthdateDD,
+			Integer birthdateMM,
+			Integer birthdateYYYY,
+			Date reportDate,
+			Date onsetDate,
+			Date creationDate) {
+
+			this.id = id;
+			this.disease = disease;
+			this.firstName = firstName;
+			this.lastName = lastName;
+			this.sex = sex;
+			this.birthdateDD = birthdateDD;
+			this.birthdateMM = birthdateMM;
+			this.birthdateYYYY = birthdateYYYY;
+			this.reportDate = reportDate;
+			this.onsetDate = onsetDate;
+			this.creationDate = creationDate;
+		}
+
+		public Disease getDisease() {
+			return disease;
+		}
+
+		public Date getReportDate() {
+			return reportDate;
+		}
+
+		private long[] getNameTrigrams() {
+
+			if (nameTrigrams == null) {
+				nameTrigrams = trigrams(Objects.toString(firstName, "") + " " + Objects.toString(lastName, ""));
+			}
+			return nameTrigrams;
+		}
+	}
+
+	/**
+	 * Two cases that are probably duplicates. Pairs are equal when they consist of the same cases.
+	 */
+	public static final class CandidatePair {
+
+		private final long olderCaseId;
+		private final long newerCaseId;
+		private final double nameSimilarity;
+
+		public CandidatePair(long olderCaseId, long newerCaseId, double nameSimilarity) {
+			this.olderCaseId = olderCaseId;
+			this.newerCaseId = newerCaseId;
+			this.nameSimilarity = nameSimilarity;
+		}
+
+		/**
+		 * @return The case that has been created first
+		 */
+		public long getOlderCaseId() {
+			return olderCaseId;
+		}
+
+		public long getNewerCaseId() {
+			return newerCaseId;
+		}
+
+		public double getNameSimilarity() {
+			return nameSimilarity;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (!(o instanceof CandidatePair)) {
+				return false;
+			}
+			CandidatePair other = (CandidatePair) o;
+			return olderCaseId == other.olderCaseId && newerCaseId == other.newerCaseId;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(new long[] {
+				olderCaseId,
+				newerCaseId });
+		}
+
+		@Override
+		public String toString() {
+			return olderCaseId + "/" + newerCaseId;
+		}
+	}
+
+	private static final class BlockKey {
+
+		private final Disease disease;
+		private final String nameKey;
+
+		private BlockKey(Disease disease, String nameKey) {
+			this.disease = disease;
+			this.nameKey = nameKey;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (!(o instanceof BlockKey)) {
+				return false;
+			}
+			BlockKey other = (BlockKey) o;
+			return disease == other.disease && nameKey.equals(other.nameKey);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(disease, nameKey);
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package de.symeda.sormas.backend.caze.rollup;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.ManyToOne;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseOutcome;
+import de.symeda.sormas.api.person.Sex;
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.region.District;
+import de.symeda.sormas.backend.region.Region;
+
+/**
+ * The number of non-deleted cases that share the same report day, onset day, disease, classification, outcome, sex, age,
+ * region and district. Maintained by {@link CaseCountRollupService}.
+ * <p>
+ * The properties are named like the corresponding properties of {@link Case},
+ * {@link de.symeda.sormas.backend.symptoms.Symptoms} and {@link de.symeda.sormas.backend.person.Person}, so the statistics
+ * queries can use the same column names for both tables.
+ */
+@Entity(name = CaseCountRollup.TABLE_NAME)
+public class CaseCountRollup extends AbstractDomainObject {
+
+	private static final long serialVersionUID = 4361723519370428126L;
+
+	public static final String TABLE_NAME = "casecountrollup";
+
+	public static final String REPORT_DATE = "reportDate";
+	public static final String ONSET_DATE = "onsetDate";
+	public static final String DISEASE = "disease";
+	public static final String CASE_CLASSIFICATION = "caseClassification";
+	public static final String OUTCOME = "outcome";
+	public static final String SEX = "sex";
+	public static final String CASE_AGE = "caseAge";
+	public static final String REGION = "region";
+	public static final String DISTRICT = "district";
+	public static final String CASE_COUNT = "caseCount";
+
+	private Date reportDate;
+	private Date onsetDate;
+	private Disease disease;
+	private CaseClassification caseClassification;
+	private CaseOutcome outcome;
+	private Sex sex;
+	private Integer caseAge;
+	private Region region;
+	private District district;
+	private long caseCount;
+
+	@Temporal(TemporalType.DATE)
+	public Date getReportDate() {
+		return reportDate;
+	}
+
+	public void setReportDate(Date reportDate) {
+		this.reportDate = reportDate;
+	}
+
+	@Temporal(TemporalType.DATE)
+	public Date getOnsetDate() {
+		return onsetDate;
+	}
+
+	public void setOnsetDate(Date onsetDate) {
+		this.onsetDate = onsetDate;
+	}
+
+	@Enumerated(EnumType.STRING)
+	public Disease getDisease() {
+		return disease;
+	}
+
+	public void setDisease(Disease disease) {
+		this.disease = disease;
+	}
+
+	@Enumerated(EnumType.STRING)
+	public CaseClassification getCaseClassification() {
+		return caseClassification;
+	}
+
+	public void setCaseClassification(CaseClassification caseClassification) {
+		this.caseClassification = caseClassification;
+	}
+
+	@Enumerated(EnumType.STRING)
+	public CaseOutcome getOutcome() {
+		return outcome;
+	}
+
+	public void setOutcome(CaseOutcome outcome) {
+		this.outcome = outcome;
+	}
+
+	@Enumerated(EnumType.STRING)
+	public Sex getSex() {
+		return sex;
+	}
+
+	public void setSex(Sex sex) {
+		this.sex = sex;
+	}
+
+	public Integer getCaseAge() {
+		return caseAge;
+	}
+
+	public void setCaseAge(Integer caseAge) {
+		this.caseAge = caseAge;
+	}
+
+	@ManyToOne(cascade = {})
+	public Region getRegion() {
+		return region;
+	}
+
+	public void setRegion(Region region) {
+		this.region = region;
+	}
+
+	@ManyToOne(cascade = {})
+	public District getDistrict() {
+		return district;
+	}
+
+	public void setDistrict(District district) {
+		this.district = district;
+	}
+
+	@Column(nullable = false)
+	public long getCaseCount() {
+		return caseCount;
+	}
+
+	public void setCaseCount(long caseCount) {
+		this.caseCount = caseCount;
+	}
+}
@@ -0,0 +1,48 @@
+package de.symeda.sormas.backend.caze.rollup;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToOne;
+
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+
+/**
+ * The {@link CaseCountRollup} a case is currently counted in. Needed to remove the case from its old row when one of its
+ * attributes has changed.
+ */
+@Entity(name = CaseCountRollupCase.TABLE_NAME)
+public class CaseCountRollupCase extends AbstractDomainObject {
+
+	private static final long serialVersionUID = -5128706123958290842L;
+
+	public static final String TABLE_NAME = "casecountrollup_cases";
+
+	public static final String CAZE = "caze";
+	public static final String ROLLUP = "rollup";
+
+	private Case caze;
+	private CaseCountRollup rollup;
+
+	@OneToOne(cascade = {}, fetch = FetchType.LAZY)
+	@JoinColumn(nullable = false, unique = true)
+	public Case getCaze() {
+		return caze;
+	}
+
+	public void setCaze(Case caze) {
+		this.caze = caze;
+	}
+
+	@ManyToOne(cascade = {})
+	@JoinColumn(nullable = false)
+	public CaseCountRollup getRollup() {
+		return rollup;
+	}
+
+	public void setRollup(CaseCountRollup rollup) {
+		this.rollup = rollup;
+	}
+}
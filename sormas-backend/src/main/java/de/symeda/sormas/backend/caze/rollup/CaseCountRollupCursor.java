@@ -0,0 +1,59 @@
+package de.symeda.sormas.backend.caze.rollup;
+
+import java.sql.Timestamp;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+
+import de.symeda.sormas.backend.caze.rollup.CaseCountRollupService.ChangeSource;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+
+/**
+ * The change of the last case that has been counted in {@link CaseCountRollup}, for each {@link ChangeSource}. Changes are
+ * processed in the order of their change date and case id, so all changes up to this position have been processed.
+ */
+@Entity(name = CaseCountRollupCursor.TABLE_NAME)
+public class CaseCountRollupCursor extends AbstractDomainObject {
+
+	private static final long serialVersionUID = 2863619203746201538L;
+
+	public static final String TABLE_NAME = "casecountrollupcursor";
+
+	public static final String SOURCE = "source";
+	public static final String CURSOR_DATE = "cursorDate";
+	public static final String CASE_ID = "caseId";
+
+	private ChangeSource source;
+	private Timestamp cursorDate;
+	private long caseId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, unique = true)
+	public ChangeSource getSource() {
+		return source;
+	}
+
+	public void setSource(ChangeSource source) {
+		this.source = source;
+	}
+
+	@Column(nullable = false)
+	public Timestamp getCursorDate() {
+		return cursorDate;
+	}
+
+	public void setCursorDate(Timestamp cursorDate) {
+		this.cursorDate = cursorDate;
+	}
+
+	@Column(nullable = false)
+	public long getCaseId() {
+		return caseId;
+	}
+
+	public void setCaseId(long caseId) {
+		this.caseId = caseId;
+	}
+}
@@ -0,0 +1,393 @@
+package de.symeda.sormas.backend.caze.rollup;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseOutcome;
+import de.symeda.sormas.api.person.Sex;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.common.AbstractAdoService;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.person.Person;
+import de.symeda.sormas.backend.region.District;
+import de.symeda.sormas.backend.region.Region;
+import de.symeda.sormas.backend.symptoms.Symptoms;
+
+@Stateless
+@LocalBean
+public class CaseCountRollupService extends AbstractAdoService<CaseCountRollup> {
+
+	private static final int BATCH_SIZE = 1000;
+
+	public CaseCountRollupService() {
+		super(CaseCountRollup.class);
+	}
+
+	/**
+	 * @return The position up to which the changes of the given source have been processed; the beginning if there is none yet
+	 */
+	public ChangePosition getCursorPosition(ChangeSource source) {
+
+		CaseCountRollupCursor cursor = getCursor(source);
+		return cursor != null ? new ChangePosition(cursor.getCursorDate(), cursor.getCaseId()) : new ChangePosition(new Timestamp(0), 0);
+	}
+
+	/**
+	 * Moves the next {@link #BATCH_SIZE} cases that have been changed after the given position to the rollup row matching their
+	 * current attributes and removes deleted cases. Cases whose attributes are unchanged are left alone, so processing a case
+	 * more than once is harmless.
+	 *
+	 * @param until
+	 *            The latest change date to process; null to process all changes
+	 * @param saveCursor
+	 *            Stores the position of the last processed change, so the changes up to it are not processed again
+	 * @return The position of the last processed change if there may be more changes up to {@code until}, otherwise null
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public ChangePosition updateChangedCases(ChangeSource source, ChangePosition after, Date until, boolean saveCursor) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> caze = cq.from(Case.class);
+		Path<Timestamp> changeDate = source.getChangeDate(caze);
+		cq.multiselect(changeDate, caze.get(Case.ID));
+
+		// the first condition is redundant, but allows to use the index of the change date
+		Predicate filter = cb.and(
+			cb.greaterThanOrEqualTo(changeDate, after.changeDate),
+			cb.or(
+				cb.greaterThan(changeDate, after.changeDate),
+				cb.greaterThan(caze.get(Case.ID), after.caseId)));
+		if (until != null) {
+			filter = cb.and(filter, cb.lessThanOrEqualTo(changeDate, new Timestamp(until.getTime())));
+		}
+		cq.where(filter);
+		cq.orderBy(cb.asc(changeDate), cb.asc(caze.get(Case.ID)));
+		List<Object[]> changes = em.createQuery(cq).setMaxResults(BATCH_SIZE).getResultList();
+		if (changes.isEmpty()) {
+			return null;
+		}
+
+		List<Long> caseIds = changes.stream().map(change -> (Long) change[1]).distinct().collect(Collectors.toList());
+		updateCases(getCaseKeys((builder, root) -> root.get(Case.ID).in(caseIds)));
+
+		CriteriaDelete<CaseCountRollup> cd = cb.createCriteriaDelete(getElementClass());
+		Root<CaseCountRollup> from = cd.from(getElementClass());
+		cd.where(cb.equal(from.get(CaseCountRollup.CASE_COUNT), 0L));
+		em.createQuery(cd).executeUpdate();
+
+		Object[] lastChange = changes.get(changes.size() - 1);
+		ChangePosition position = new ChangePosition((Timestamp) lastChange[0], (Long) lastChange[1]);
+		if (saveCursor) {
+			CaseCountRollupCursor cursor = getCursor(source);
+			if (cursor == null) {
+				cursor = new CaseCountRollupCursor();
+				cursor.setSource(source);
+			}
+			cursor.setCursorDate(position.changeDate);
+			cursor.setCaseId(position.caseId);
+			em.persist(cursor);
+		}
+
+		return changes.size() == BATCH_SIZE ? position : null;
+	}
+
+	private CaseCountRollupCursor getCursor(ChangeSource source) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<CaseCountRollupCursor> cq = cb.createQuery(CaseCountRollupCursor.class);
+		Root<CaseCountRollupCursor> from = cq.from(CaseCountRollupCursor.class);
+		cq.where(cb.equal(from.get(CaseCountRollupCursor.SOURCE), source));
+		return em.createQuery(cq).getResultList().stream().findFirst().orElse(null);
+	}
+
+	/**
+	 * @return id, deleted and the attributes of {@link RollupKey} of at most {@link #BATCH_SIZE} cases, ordered by id
+	 */
+	private List<Object[]> getCaseKeys(BiFunction<CriteriaBuilder, Root<Case>, Predicate> filterBuilder) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> caze = cq.from(Case.class);
+		Join<Case, Symptoms> symptoms = caze.join(Case.SYMPTOMS, JoinType.LEFT);
+		Join<Case, Person> person = caze.join(Case.PERSON, JoinType.LEFT);
+		Join<Case, Region> region = caze.join(Case.REGION, JoinType.LEFT);
+		Join<Case, District> district = caze.join(Case.DISTRICT, JoinType.LEFT);
+
+		cq.multiselect(
+			caze.get(Case.ID),
+			caze.get(Case.DELETED),
+			caze.get(Case.REPORT_DATE),
+			symptoms.get(Symptoms.ONSET_DATE),
+			caze.get(Case.DISEASE),
+			caze.get(Case.CASE_CLASSIFICATION),
+			caze.get(Case.OUTCOME),
+			person.get(Person.SEX),
+			caze.get(Case.CASE_AGE),
+			region.get(Region.ID),
+			district.get(District.ID));
+
+		Predicate filter = filterBuilder.apply(cb, caze);
+		if (filter != null) {
+			cq.where(filter);
+		}
+		cq.orderBy(cb.asc(caze.get(Case.ID)));
+
+		return em.createQuery(cq).setMaxResults(BATCH_SIZE).getResultList();
+	}
+
+	private void updateCases(List<Object[]> caseKeys) {
+
+		List<Long> caseIds = caseKeys.stream().map(caseKey -> (Long) caseKey[0]).collect(Collectors.toList());
+		Map<Long, CaseCountRollupCase> links = getLinks(caseIds);
+		Map<RollupKey, CaseCountRollup> rollups = new HashMap<>();
+
+		for (Object[] caseKey : caseKeys) {
+			Long caseId = (Long) caseKey[0];
+			RollupKey key = Boolean.TRUE.equals(caseKey[1]) ? null : new RollupKey(caseKey);
+			CaseCountRollupCase link = links.get(caseId);
+
+			if (link != null) {
+				if (key != null && key.equals(new RollupKey(link.getRollup()))) {
+					continue;
+				}
+				link.getRollup().setCaseCount(link.getRollup().getCaseCount() - 1);
+			}
+
+			if (key == null) {
+				if (link != null) {
+					em.remove(link);
+				}
+				continue;
+			}
+
+			CaseCountRollup rollup = rollups.computeIfAbsent(key, this::getOrCreate);
+			rollup.setCaseCount(rollup.getCaseCount() + 1);
+			if (link == null) {
+				link = new CaseCountRollupCase();
+				link.setCaze(em.getReference(Case.class, caseId));
+				link.setRollup(rollup);
+				em.persist(link);
+			} else {
+				link.setRollup(rollup);
+			}
+		}
+
+		// keeps the persistence context small when all cases are processed
+		em.flush();
+		em.clear();
+	}
+
+	private Map<Long, CaseCountRollupCase> getLinks(List<Long> caseIds) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<CaseCountRollupCase> from = cq.from(CaseCountRollupCase.class);
+		from.fetch(CaseCountRollupCase.ROLLUP);
+		Join<CaseCountRollupCase, Case> caze = from.join(CaseCountRollupCase.CAZE);
+		cq.multiselect(caze.get(Case.ID), from);
+		cq.where(caze.get(Case.ID).in(caseIds));
+
+		return em.createQuery(cq)
+			.getResultList()
+			.stream()
+			.collect(Collectors.toMap(result -> (Long) result[0], result -> (CaseCountRollupCase) result[1]));
+	}
+
+	private CaseCountRollup getOrCreate(RollupKey key) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<CaseCountRollup> cq = cb.createQuery(getElementClass());
+		Root<CaseCountRollup> from = cq.from(getElementClass());
+		Predicate filter = cb.and(
+			equalOrNull(cb, from, CaseCountRollup.REPORT_DATE, key.reportDay != null ? new Date(key.reportDay) : null),
+			equalOrNull(cb, from, CaseCountRollup.ONSET_DATE, key.onsetDay != null ? new Date(key.onsetDay) : null),
+			equalOrNull(cb, from, CaseCountRollup.DISEASE, key.disease),
+			equalOrNull(cb, from, CaseCountRollup.CASE_CLASSIFICATION, key.caseClassification),
+			equalOrNull(cb, from, CaseCountRollup.OUTCOME, key.outcome),
+			equalOrNull(cb, from, CaseCountRollup.SEX, key.sex),
+			equalOrNull(cb, from, CaseCountRollup.CASE_AGE, key.caseAge));
+		filter = cb.and(
+			filter,
+			key.regionId != null
+				? cb.equal(from.get(CaseCountRollup.REGION).get(Region.ID), key.regionId)
+				: cb.isNull(from.get(CaseCountRollup.REGION)));
+		filter = cb.and(
+			filter,
+			key.districtId != null
+				? cb.equal(from.get(CaseCountRollup.DISTRICT).get(District.ID), key.districtId)
+				: cb.isNull(from.get(CaseCountRollup.DISTRICT)));
+		cq.where(filter);
+
+		CaseCountRollup rollup = em.createQuery(cq).getResultList().stream().findFirst().orElse(null);
+		if (rollup == null) {
+			rollup = new CaseCountRollup();
+			rollup.setReportDate(key.reportDay != null ? new Date(key.reportDay) : null);
+			rollup.setOnsetDate(key.onsetDay != null ? new Date(key.onsetDay) : null);
+			rollup.setDisease(key.disease);
+			rollup.setCaseClassification(key.caseClassification);
+			rollup.setOutcome(key.outcome);
+			rollup.setSex(key.sex);
+			rollup.setCaseAge(key.caseAge);
+			rollup.setRegion(key.regionId != null ? em.getReference(Region.class, key.regionId) : null);
+			rollup.setDistrict(key.districtId != null ? em.getReference(District.class, key.districtId) : null);
+			em.persist(rollup);
+		}
+		return rollup;
+	}
+
+	private static Predicate equalOrNull(CriteriaBuilder cb, From<?, CaseCountRollup> from, String property, Object value) {
+		return value != null ? cb.equal(from.get(property), value) : cb.isNull(from.get(property));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Predicate createUserFilter(CriteriaBuilder cb, CriteriaQuery cq, From<CaseCountRollup, CaseCountRollup> from) {
+		// A user should not directly query for this
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * The change dates that indicate that the attributes a case is counted by may have changed. The person is a separate
+	 * source, because an OR over the change dates of both tables could not use their indexes.
+	 */
+	public enum ChangeSource {
+
+		CASE,
+		CASE_AGGREGATE,
+		PERSON;
+
+		private Path<Timestamp> getChangeDate(Root<Case> caze) {
+
+			switch (this) {
+			case CASE:
+				return caze.get(Case.CHANGE_DATE);
+			case CASE_AGGREGATE:
+				return caze.get(Case.AGGREGATE_CHANGE_DATE);
+			case PERSON:
+				return caze.join(Case.PERSON).get(Person.CHANGE_DATE);
+			default:
+				throw new IllegalStateException(name());
+			}
+		}
+	}
+
+	/**
+	 * A change of a case, ordered by its change date and case id.
+	 */
+	public static final class ChangePosition {
+
+		private final Timestamp changeDate;
+		private final long caseId;
+
+		public ChangePosition(Timestamp changeDate, long caseId) {
+			this.changeDate = changeDate;
+			this.caseId = caseId;
+		}
+
+		public Timestamp getChangeDate() {
+			return changeDate;
+		}
+
+		public long getCaseId() {
+			return caseId;
+		}
+	}
+
+	/**
+	 * The attributes a case is counted by. Dates are truncated to the start of the day.
+	 */
+	private static final class RollupKey {
+
+		private final Long reportDay;
+		private final Long onsetDay;
+		private final Disease disease;
+		private final CaseClassification caseClassification;
+		private final CaseOutcome outcome;
+		private final Sex sex;
+		private final Integer caseAge;
+		private final Long regionId;
+		private final Long districtId;
+
+		private RollupKey(Object[] caseKey) {
+			this.reportDay = toDay((Date) caseKey[2]);
+			this.onsetDay = toDay((Date) caseKey[3]);
+			this.disease = (Disease) caseKey[4];
+			this.caseClassification = (CaseClassification) caseKey[5];
+			this.outcome = (CaseOutcome) caseKey[6];
+			this.sex = (Sex) caseKey[7];
+			this.caseAge = (Integer) caseKey[8];
+			this.regionId = (Long) caseKey[9];
+			this.districtId = (Long) caseKey[10];
+		}
+
+		private RollupKey(CaseCountRollup rollup) {
+			this.reportDay = toDay(rollup.getReportDate());
+			this.onsetDay = toDay(rollup.getOnsetDate());
+			this.disease = rollup.getDisease();
+			this.caseClassification = rollup.getCaseClassification();
+			this.outcome = rollup.getOutcome();
+			this.sex = rollup.getSex();
+			this.caseAge = rollup.getCaseAge();
+			this.regionId = idOf(rollup.getRegion());
+			this.districtId = idOf(rollup.getDistrict());
+		}
+
+		private static Long toDay(Date date) {
+			return date != null ? DateHelper.getStartOfDay(date).getTime() : null;
+		}
+
+		private static Long idOf(AbstractDomainObject ado) {
+			return ado != null ? ado.getId() : null;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			RollupKey that = (RollupKey) o;
+			return Objects.equals(reportDay, that.reportDay)
+				&& Objects.equals(onsetDay, that.onsetDay)
+				&& disease == that.disease
+				&& caseClassification == that.caseClassification
+				&& outcome == that.outcome
+				&& sex == that.sex
+				&& Objects.equals(caseAge, that.caseAge)
+				&& Objects.equals(regionId, that.regionId)
+				&& Objects.equals(districtId, that.districtId);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(reportDay, onsetDay, disease, caseClassification, outcome, sex, caseAge, regionId, districtId);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package de.symeda.sormas.backend.caze.rollup;
+
+import java.sql.Timestamp;
+import java.util.Date;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.symeda.sormas.backend.caze.rollup.CaseCountRollupService.ChangePosition;
+import de.symeda.sormas.backend.caze.rollup.CaseCountRollupService.ChangeSource;
+
+/**
+ * Brings the case count rollup up to date with the cases changed since the previous update. The rollup is filled by the
+ * database schema update that created it; afterwards, the position up to which the changes have been processed is stored in
+ * {@link CaseCountRollupCursor}, so nothing needs to be processed again when the server is restarted.
+ * <p>
+ * Changes are found by their change dates, which are set when they are flushed, but only become visible when their
+ * transaction commits. The cursors are therefore only moved up to {@link #CHANGE_TOLERANCE_MILLIS} before the update; the
+ * cases changed after that are processed again by every update, until the cursor has passed them. A change whose transaction
+ * takes longer than that to commit is missed until the case, its aggregated entities or its person are changed again.
+ * <p>
+ * Until all changes up to that point have been processed, {@link #isUpToDate()} returns false and the rollup must not be used.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class CaseCountRollupUpdater {
+
+	private static final long CHANGE_TOLERANCE_MILLIS = 5 * 60 * 1000L;
+
+	/**
+	 * Limits the time an update takes, e.g. after many cases have been imported; the remaining changes are processed by the next
+	 * updates.
+	 */
+	private static final int MAX_BATCHES_PER_UPDATE = 20;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@EJB
+	private CaseCountRollupService caseCountRollupService;
+
+	private volatile boolean upToDate;
+
+	public boolean isUpToDate() {
+		return upToDate;
+	}
+
+	/**
+	 * Processes the committed case changes, each batch in its own transaction.
+	 */
+	public synchronized void update() {
+
+		Date until = new Date(System.currentTimeMillis() - CHANGE_TOLERANCE_MILLIS);
+		boolean allProcessed = true;
+
+		for (ChangeSource source : ChangeSource.values()) {
+			ChangePosition position = caseCountRollupService.getCursorPosition(source);
+			for (int batch = 0; position != null && batch < MAX_BATCHES_PER_UPDATE; batch++) {
+				position = caseCountRollupService.updateChangedCases(source, position, until, true);
+			}
+
+			if (position != null) {
+				allProcessed = false;
+				logger.info("Case count rollup is behind for changes of {}, continuing with the next update", source);
+				continue;
+			}
+
+			// changes that may not have been committed yet are processed again by the next update
+			ChangePosition recentPosition = new ChangePosition(new Timestamp(until.getTime()), Long.MAX_VALUE);
+			while (recentPosition != null) {
+				recentPosition = caseCountRollupService.updateChangedCases(source, recentPosition, null, false);
+			}
+		}
+
+		upToDate = allProcessed;
+	}
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.caze.scope;
+
+import javax.persistence.Entity;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToOne;
+
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.contact.Contact;
+import de.symeda.sormas.backend.facility.Facility;
+import de.symeda.sormas.backend.region.District;
+import de.symeda.sormas.backend.region.Region;
+import de.symeda.sormas.backend.sample.Sample;
+import de.symeda.sormas.backend.user.User;
+
+/**
+ * Materialized access of users to a case that is not derived from the case itself, but from one of its contacts
+ * or samples. Exactly one of {@link #getContact()} and {@link #getSample()} is set.
+ * <p>
+ * The rows are maintained by {@link CaseScopeService} whenever a contact or sample is persisted, so the case user
+ * filter can look them up instead of evaluating the contact and sample user filters for every query.
+ */
+@Entity(name = CaseScope.TABLE_NAME)
+public class CaseScope extends AbstractDomainObject {
+
+	private static final long serialVersionUID = -2187398140236479814L;
+
+	public static final String TABLE_NAME = "casescope";
+
+	public static final String CAZE = "caze";
+	public static final String CONTACT = "contact";
+	public static final String SAMPLE = "sample";
+	public static final String REGION = "region";
+	public static final String DISTRICT = "district";
+	public static final String LABORATORY = "laboratory";
+	public static final String REPORTING_USER = "reportingUser";
+	public static final String CONTACT_OFFICER = "contactOfficer";
+
+	private Case caze;
+	private Contact contact;
+	private Sample sample;
+	private Region region;
+	private District district;
+	private Facility laboratory;
+	private User reportingUser;
+	private User contactOfficer;
+
+	@ManyToOne(cascade = {})
+	@JoinColumn(nullable = false)
+	public Case getCaze() {
+		return caze;
+	}
+
+	public void setCaze(Case caze) {
+		this.caze = caze;
+	}
+
+	@OneToOne(cascade = {})
+	@JoinColumn(unique = true)
+	public Contact getContact() {
+		return contact;
+	}
+
+	public void setContact(Contact contact) {
+		this.contact = contact;
+	}
+
+	@OneToOne(cascade = {})
+	@JoinColumn(unique = true)
+	public Sample getSample() {
+		return sample;
+	}
+
+	public void setSample(Sample sample) {
+		this.sample = sample;
+	}
+
+	@ManyToOne(cascade = {})
+	public Region getRegion() {
+		return region;
+	}
+
+	public void setRegion(Region region) {
+		this.region = region;
+	}
+
+	@ManyToOne(cascade = {})
+	public District getDistrict() {
+		return district;
+	}
+
+	public void setDistrict(District district) {
+		this.district = district;
+	}
+
+	@ManyToOne(cascade = {})
+	public Facility getLaboratory() {
+		return laboratory;
+	}
+
+	public void setLaboratory(Facility laboratory) {
+		this.laboratory = laboratory;
+	}
+
+	@ManyToOne(cascade = {})
+	public User getReportingUser() {
+		return reportingUser;
+	}
+
+	public void setReportingUser(User reportingUser) {
+		this.reportingUser = reportingUser;
+	}
+
+	@ManyToOne(cascade = {})
+	public User getContactOfficer() {
+		return contactOfficer;
+	}
+
+	public void setContactOfficer(User contactOfficer) {
+		this.contactOfficer = contactOfficer;
+	}
+}
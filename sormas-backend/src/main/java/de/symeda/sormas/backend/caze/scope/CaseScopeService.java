@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.caze.scope;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import de.symeda.sormas.api.user.JurisdictionLevel;
+import de.symeda.sormas.backend.common.AbstractAdoService;
+import de.symeda.sormas.backend.contact.Contact;
+import de.symeda.sormas.backend.sample.Sample;
+import de.symeda.sormas.backend.user.User;
+
+@Stateless
+@LocalBean
+public class CaseScopeService extends AbstractAdoService<CaseScope> {
+
+	public CaseScopeService() {
+		super(CaseScope.class);
+	}
+
+	/**
+	 * Has to be called whenever the case, jurisdiction or responsible users of the contact may have changed.
+	 */
+	public void updateContactScope(Contact contact) {
+
+		CaseScope scope = getBySource(CaseScope.CONTACT, contact);
+		if (contact.getCaze() == null) {
+			if (scope != null) {
+				delete(scope);
+			}
+			return;
+		}
+
+		if (scope == null) {
+			scope = new CaseScope();
+			scope.setContact(contact);
+		}
+		scope.setCaze(contact.getCaze());
+		scope.setRegion(contact.getRegion());
+		scope.setDistrict(contact.getDistrict());
+		scope.setReportingUser(contact.getReportingUser());
+		scope.setContactOfficer(contact.getContactOfficer());
+		persist(scope);
+	}
+
+	/**
+	 * Has to be called whenever the case or laboratory of the sample may have changed.
+	 */
+	public void updateSampleScope(Sample sample) {
+
+		CaseScope scope = getBySource(CaseScope.SAMPLE, sample);
+		if (sample.getAssociatedCase() == null || sample.getLab() == null) {
+			if (scope != null) {
+				delete(scope);
+			}
+			return;
+		}
+
+		if (scope == null) {
+			scope = new CaseScope();
+			scope.setSample(sample);
+		}
+		scope.setCaze(sample.getAssociatedCase());
+		scope.setLaboratory(sample.getLab());
+		persist(scope);
+	}
+
+	private CaseScope getBySource(String sourceProperty, Object source) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<CaseScope> cq = cb.createQuery(getElementClass());
+		Root<CaseScope> from = cq.from(getElementClass());
+		cq.where(cb.equal(from.get(sourceProperty), source));
+
+		return em.createQuery(cq).getResultList().stream().findFirst().orElse(null);
+	}
+
+	/**
+	 * Equivalent to the case related parts of {@link de.symeda.sormas.backend.sample.SampleService#createUserFilterWithoutCase} and
+	 * {@link de.symeda.sormas.backend.contact.ContactService#createUserFilterWithoutCase} for users below national level.
+	 *
+	 * @return null if no scope grants the user access to a case
+	 */
+	public Predicate createScopeFilter(CriteriaBuilder cb, From<?, CaseScope> scope, User user, boolean includeContacts) {
+
+		Predicate filter = null;
+
+		if (user.getJurisdictionLevel() == JurisdictionLevel.LABORATORY && user.getLaboratory() != null) {
+			filter = cb.equal(scope.get(CaseScope.LABORATORY), user.getLaboratory());
+		}
+
+		if (includeContacts) {
+			// whoever created the contact or is assigned to it is allowed to access the case
+			filter = or(cb, filter, cb.equal(scope.get(CaseScope.REPORTING_USER), user));
+			filter = cb.or(filter, cb.equal(scope.get(CaseScope.CONTACT_OFFICER), user));
+
+			switch (user.getJurisdictionLevel()) {
+			case REGION:
+				if (user.getRegion() != null) {
+					filter = cb.or(filter, cb.equal(scope.get(CaseScope.REGION), user.getRegion()));
+				}
+				break;
+			case DISTRICT:
+				if (user.getDistrict() != null) {
+					filter = cb.or(filter, cb.equal(scope.get(CaseScope.DISTRICT), user.getDistrict()));
+				}
+				break;
+			default:
+			}
+		}
+
+		return filter;
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Predicate createUserFilter(CriteriaBuilder cb, CriteriaQuery cq, From<CaseScope, CaseScope> from) {
+		// A user should not directly query for this
+		throw new UnsupportedOperationException();
+	}
+}
@@ -19,10 +19,15 @@ package de.symeda.sormas.backend.common;
 
 import java.sql.Timestamp;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.StringJoiner;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -37,6 +42,7 @@ import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.From;
 import javax.persistence.criteria.ParameterExpression;
@@ -46,12 +52,14 @@ import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
 import javax.validation.constraints.NotNull;
 
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.symeda.sormas.api.ReferenceDto;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.auditlog.ReadOnlyLoadingScope;
 import de.symeda.sormas.backend.caze.Case;
 import de.symeda.sormas.backend.user.CurrentUser;
 import de.symeda.sormas.backend.user.CurrentUserQualifier;
@@ -72,6 +80,9 @@ public abstract class AbstractAdoService<ADO extends AbstractDomainObject> imple
 	@CurrentUserQualifier
 	private Instance<CurrentUser> currentUser;
 
+	@Inject
+	private ReadOnlyLoadingScope readOnlyLoadingScope;
+
 	// protected to be used by implementations
 	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
 	protected EntityManager em;
@@ -157,6 +168,32 @@ public abstract class AbstractAdoService<ADO extends AbstractDomainObject> imple
 		return em.createQuery(cq).getSingleResult();
 	}
 
+	/**
+	 * Counts the entities {@link #getAllAfter(Date, User)} would return.
+	 */
+	public long countAfter(Date since, User user) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<ADO> root = cq.from(getElementClass());
+
+		Predicate filter = createUserFilter(cb, cq, root);
+		if (since != null) {
+			Predicate dateFilter = createChangeDateFilter(cb, root, since);
+			if (filter != null) {
+				filter = cb.and(filter, dateFilter);
+			} else {
+				filter = dateFilter;
+			}
+		}
+		if (filter != null) {
+			cq.where(filter);
+		}
+		cq.select(cb.countDistinct(root));
+
+		return em.createQuery(cq).getSingleResult();
+	}
+
 	public List<ADO> getAllAfter(Date since, User user) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
@@ -332,6 +369,29 @@ public abstract class AbstractAdoService<ADO extends AbstractDomainObject> imple
 		em.flush();
 	}
 
+	/**
+	 * Executes {@code read} with all entities that are loaded meanwhile being read-only in the persistence context
+	 * (like using {@link ModelConstants#HINT_HIBERNATE_READ_ONLY} for every query, including lazy loaded associations).
+	 * Neither Hibernate's dirty checking nor the audit log keep a snapshot of these entities.
+	 * <p>
+	 * Only to be used for pure reads: changes to the loaded entities are not persisted, also not later in the same transaction.
+	 * {@code read} must not call methods that write in a new transaction, because the audit log ignores all entities loaded
+	 * meanwhile.
+	 */
+	public <T> T executeReadOnly(Supplier<T> read) {
+
+		Session session = em.unwrap(Session.class);
+		boolean defaultReadOnly = session.isDefaultReadOnly();
+		session.setDefaultReadOnly(true);
+		readOnlyLoadingScope.enter();
+		try {
+			return read.get();
+		} finally {
+			readOnlyLoadingScope.leave();
+			session.setDefaultReadOnly(defaultReadOnly);
+		}
+	}
+
 	/**
 	 * TODO move to CriteriaBuilderHelper
 	 * 
@@ -377,6 +437,93 @@ public abstract class AbstractAdoService<ADO extends AbstractDomainObject> imple
 		return cb.and(cb.greaterThan(path, date), cb.isNotNull(path));
 	}
 
+	/**
+	 * @return The latest change date of the given entities, ignoring null entries.
+	 */
+	public static Timestamp getLatestChangeDate(Stream<? extends AbstractDomainObject> ados) {
+		return ados.filter(Objects::nonNull)
+			.map(AbstractDomainObject::getChangeDate)
+			.filter(Objects::nonNull)
+			.max(Comparator.naturalOrder())
+			.orElse(null);
+	}
+
+	/**
+	 * Writes the aggregate change date of an entity that also reflects changes of the entities it owns.
+	 * A bulk update is used, so the version (change date) of the entity itself is not increased. Has to be called after
+	 * the changes have been flushed, because the change dates of the owned entities are only set on flush.
+	 *
+	 * @param aggregateChangeDate
+	 *            Only written when it is after {@code currentAggregateChangeDate}.
+	 * @return The aggregate change date that is now stored for the entity
+	 */
+	protected Timestamp updateAggregateChangeDate(ADO ado, String property, Timestamp currentAggregateChangeDate, Timestamp aggregateChangeDate) {
+
+		if (aggregateChangeDate == null || (currentAggregateChangeDate != null && !aggregateChangeDate.after(currentAggregateChangeDate))) {
+			return currentAggregateChangeDate;
+		}
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaUpdate<ADO> cu = cb.createCriteriaUpdate(getElementClass());
+		Root<ADO> root = cu.from(getElementClass());
+		cu.set(root.get(property), aggregateChangeDate);
+		cu.where(cb.equal(root.get(AbstractDomainObject.ID), ado.getId()));
+		em.createQuery(cu).executeUpdate();
+
+		return aggregateChangeDate;
+	}
+
+	/**
+	 * Builds the text the free text filters search in: The values in lower case, separated by spaces. Null values are left out,
+	 * like with {@code lower(concat_ws(' ', ...))}, which is used to fill the search texts in the database schema.
+	 */
+	public static String buildSearchText(String... values) {
+
+		StringJoiner searchText = new StringJoiner(" ");
+		for (String value : values) {
+			if (value != null) {
+				searchText.add(value);
+			}
+		}
+		return searchText.toString().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Writes the search text of an entity with a bulk update, so the version (change date) of the entity is not increased.
+	 *
+	 * @return The search text that is now stored for the entity
+	 */
+	protected String updateSearchText(ADO ado, String property, String currentSearchText, String searchText) {
+
+		if (searchText.equals(currentSearchText)) {
+			return currentSearchText;
+		}
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaUpdate<ADO> cu = cb.createCriteriaUpdate(getElementClass());
+		Root<ADO> root = cu.from(getElementClass());
+		cu.set(root.get(property), searchText);
+		cu.where(cb.equal(root.get(AbstractDomainObject.ID), ado.getId()));
+		em.createQuery(cu).executeUpdate();
+
+		return searchText;
+	}
+
+	/**
+	 * Requires each whitespace separated term of the text to be contained in the search text. The search text is stored in
+	 * lower case, so the filter can use the trigram index of the search text column.
+	 */
+	public static Predicate createSearchTextFilter(CriteriaBuilder cb, Expression<String> searchText, String text) {
+
+		Predicate filter = null;
+		for (String term : text.split("\\s+")) {
+			if (!term.isEmpty()) {
+				filter = and(cb, filter, cb.like(searchText, "%" + term.toLowerCase(Locale.ROOT) + "%"));
+			}
+		}
+		return filter;
+	}
+
 	/**
 	 * @return {@code true}, if the system itself is the executing user.
 	 */
@@ -0,0 +1,102 @@
+package de.symeda.sormas.backend.common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Key of a cached query result, consisting of the query name and parameters in a canonical JSON form. Criteria objects don't
+ * implement equals, so their fields are compared instead: Properties and map entries are sorted, as are the elements of sets,
+ * and equal objects always have the same form, independent of their identity.
+ */
+public final class CacheKey {
+
+	private static final ObjectMapper MAPPER = createMapper();
+
+	private final String canonical;
+
+	/**
+	 * @param keyParts
+	 *            The query name and all parameters the result depends on
+	 */
+	public CacheKey(Object... keyParts) {
+
+		StringBuilder builder = new StringBuilder();
+		try {
+			for (Object keyPart : keyParts) {
+				// parts of different types may have the same fields
+				builder.append(keyPart != null ? keyPart.getClass().getName() : "null").append('=');
+				builder.append(MAPPER.writeValueAsString(keyPart)).append(';');
+			}
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException("Cache key can't be created: " + Arrays.toString(keyParts), e);
+		}
+		this.canonical = builder.toString();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof CacheKey && canonical.equals(((CacheKey) o).canonical);
+	}
+
+	@Override
+	public int hashCode() {
+		return canonical.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return canonical;
+	}
+
+	@SuppressWarnings({
+		"rawtypes",
+		"unchecked" })
+	private static ObjectMapper createMapper() {
+
+		ObjectMapper mapper = new ObjectMapper();
+		// getters may be derived from other fields or missing, e.g. for Boolean "is" getters
+		mapper.setVisibility(PropertyAccessor.ALL, Visibility.NONE);
+		mapper.setVisibility(PropertyAccessor.FIELD, Visibility.ANY);
+		mapper.configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true);
+		mapper.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+		mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+
+		SimpleModule module = new SimpleModule();
+		module.addSerializer(Set.class, new StdSerializer<Set>(Set.class) {
+
+			@Override
+			public void serialize(Set value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+				List<String> elements = new ArrayList<>(value.size());
+				for (Object element : value) {
+					elements.add(mapper.writeValueAsString(element));
+				}
+				Collections.sort(elements);
+
+				gen.writeStartArray();
+				for (String element : elements) {
+					gen.writeRawValue(element);
+				}
+				gen.writeEndArray();
+			}
+		});
+		mapper.registerModule(module);
+		return mapper;
+	}
+}
@@ -0,0 +1,57 @@
+package de.symeda.sormas.backend.common;
+
+import java.util.function.Supplier;
+
+import javax.annotation.Resource;
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Loads and invalidates the content of application wide caches independently of the caller's transaction: Content loaded within
+ * the caller's transaction could contain its uncommitted changes, which would stay cached even if it is rolled back. And when a
+ * cache is invalidated before the commit, concurrent requests may load the old state again.
+ *
+ * @see VersionedCache
+ */
+@Stateless
+@LocalBean
+public class CacheLoader {
+
+	@Resource
+	private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public <T> T load(Supplier<T> loader) {
+		return loader.get();
+	}
+
+	/**
+	 * Runs {@code invalidation} once the caller's transaction has been completed, or right away when there is none.
+	 */
+	@TransactionAttribute(TransactionAttributeType.SUPPORTS)
+	public void invalidateAfterCompletion(Runnable invalidation) {
+
+		if (transactionSynchronizationRegistry.getTransactionKey() == null) {
+			invalidation.run();
+			return;
+		}
+
+		transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+
+			@Override
+			public void beforeCompletion() {
+				// nothing to do
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				// also after a rollback, which at worst causes an unnecessary check
+				invalidation.run();
+			}
+		});
+	}
+}
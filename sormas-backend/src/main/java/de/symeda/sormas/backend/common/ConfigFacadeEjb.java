@@ -65,6 +65,9 @@ public class ConfigFacadeEjb implements ConfigFacade {
 	public static final String TEMP_FILES_PATH = "temp.path";
 	public static final String GENERATED_FILES_PATH = "generated.path";
 	public static final String CUSTOM_FILES_PATH = "custom.path";
+	public static final String AUDITLOG_SPILL_PATH = "auditlog.spill.path";
+	public static final String AUDITLOG_SPILL_SYNC = "auditlog.spill.sync";
+	public static final String AUDITLOG_SPILL_MAX_FILES = "auditlog.spill.maxfiles";
 	public static final String CSV_SEPARATOR = "csv.separator";
 	public static final String RSCRIPT_EXECUTABLE = "rscript.executable";
 
@@ -76,6 +79,13 @@ public class ConfigFacadeEjb implements ConfigFacade {
 
 	public static final String NAME_SIMILARITY_THRESHOLD = "namesimilaritythreshold";
 	public static final String INFRASTRUCTURE_SYNC_THRESHOLD = "infrastructuresyncthreshold";
+	public static final String SYNC_PAGE_SIZE = "syncpagesize";
+	public static final String PUSH_BATCH_SIZE = "pushbatchsize";
+	public static final String DATABASE_EXPORT_THREADS = "dbexportthreads";
+	public static final String CACHE_REFRESH = "cacherefresh";
+	public static final String AGGREGATE_CACHE_SIZE = "aggregatecachesize";
+	public static final String AGGREGATE_CACHE_TTL = "aggregatecachettl";
+	public static final String COUNT_CACHE_TTL = "countcachettl";
 
 	public static final String INTERFACE_SYMPTOM_JOURNAL_URL = "interface.symptomjournal.url";
 	public static final String INTERFACE_SYMPTOM_JOURNAL_AUTH_URL = "interface.symptomjournal.authurl";
@@ -239,6 +249,21 @@ public class ConfigFacadeEjb implements ConfigFacade {
 		return getProperty(CUSTOM_FILES_PATH, "/opt/sormas/custom/");
 	}
 
+	@Override
+	public String getAuditlogSpillPath() {
+		return getProperty(AUDITLOG_SPILL_PATH, "/opt/sormas/auditlog/");
+	}
+
+	@Override
+	public boolean isAuditlogSpillSync() {
+		return getBoolean(AUDITLOG_SPILL_SYNC, false);
+	}
+
+	@Override
+	public int getAuditlogSpillMaxFiles() {
+		return Math.max(1, getInt(AUDITLOG_SPILL_MAX_FILES, 100000));
+	}
+
 	@Override
 	public String getRScriptExecutable() {
 		return getProperty(RSCRIPT_EXECUTABLE, null);
@@ -284,6 +309,41 @@ public class ConfigFacadeEjb implements ConfigFacade {
 		return getInt(INFRASTRUCTURE_SYNC_THRESHOLD, 1000);
 	}
 
+	@Override
+	public int getSyncPageSize() {
+		return Math.max(1, getInt(SYNC_PAGE_SIZE, 1000));
+	}
+
+	@Override
+	public int getPushBatchSize() {
+		return Math.max(1, getInt(PUSH_BATCH_SIZE, 100));
+	}
+
+	@Override
+	public int getDatabaseExportThreads() {
+		return Math.max(1, getInt(DATABASE_EXPORT_THREADS, 1));
+	}
+
+	@Override
+	public int getCacheRefreshSeconds() {
+		return Math.max(0, getInt(CACHE_REFRESH, 10));
+	}
+
+	@Override
+	public int getAggregateCacheSize() {
+		return Math.max(0, getInt(AGGREGATE_CACHE_SIZE, 100000));
+	}
+
+	@Override
+	public int getAggregateCacheTtlSeconds() {
+		return Math.max(0, getInt(AGGREGATE_CACHE_TTL, 600));
+	}
+
+	@Override
+	public int getCountCacheTtlSeconds() {
+		return Math.max(0, getInt(COUNT_CACHE_TTL, 30));
+	}
+
 	@Override
 	public char getCsvSeparator() {
 
@@ -0,0 +1,112 @@
+package de.symeda.sormas.backend.common;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+
+import de.symeda.sormas.api.utils.CountStrategy;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+
+/**
+ * Application wide cache of the counts used by {@link CountStrategy#CACHED}. Lazy grids count their entities whenever they are
+ * refreshed, which is expensive for large directories and rarely changes the result within a few seconds.
+ * <p>
+ * All counts are discarded when cases or contacts are saved or deleted on this server, once the transaction has been completed.
+ * Other changes, e.g. by other servers, are only reflected when the counts expire after
+ * {@link ConfigFacadeEjbLocal#getCountCacheTtlSeconds()}. Counts that depend on the current user have to include the user filter
+ * scope of the counted entities in their key.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class CountCache {
+
+	private static final int MAX_ENTRIES = 1000;
+
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+	@EJB
+	private CacheLoader cacheLoader;
+
+	// ordered by access, the least recently used entry comes first
+	private final Map<CacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	// incremented when the entries are cleared, so counts determined before are not cached
+	private long generation;
+
+	/**
+	 * @param counter
+	 *            Counts the entities if the count is not cached. Is called without holding a lock, so the same count may be
+	 *            determined concurrently.
+	 * @param keyParts
+	 *            The counted entity, the criteria and the user filter scope; have to be serializable
+	 */
+	public long get(LongSupplier counter, Object... keyParts) {
+
+		int ttlSeconds = configFacade.getCountCacheTtlSeconds();
+		if (ttlSeconds <= 0) {
+			return counter.getAsLong();
+		}
+
+		CacheKey key = new CacheKey(keyParts);
+		long now = System.currentTimeMillis();
+		long countGeneration;
+
+		synchronized (entries) {
+			countGeneration = generation;
+			Entry entry = entries.get(key);
+			if (entry != null) {
+				if (now < entry.expiry) {
+					return entry.count;
+				}
+				entries.remove(key);
+			}
+		}
+
+		long count = counter.getAsLong();
+		synchronized (entries) {
+			if (countGeneration != generation) {
+				return count;
+			}
+			entries.put(key, new Entry(count, now + ttlSeconds * 1000L));
+
+			Iterator<Entry> leastRecentlyUsed = entries.values().iterator();
+			while (entries.size() > MAX_ENTRIES && leastRecentlyUsed.hasNext()) {
+				leastRecentlyUsed.next();
+				leastRecentlyUsed.remove();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Has to be called when counted entities are changed. All counts are discarded once the current transaction has been
+	 * completed.
+	 */
+	public void invalidate() {
+		cacheLoader.invalidateAfterCompletion(this::clear);
+	}
+
+	private void clear() {
+
+		synchronized (entries) {
+			entries.clear();
+			generation++;
+		}
+	}
+
+	private static final class Entry {
+
+		private final long count;
+		private final long expiry;
+
+		private Entry(long count, long expiry) {
+			this.count = count;
+			this.expiry = expiry;
+		}
+	}
+}
@@ -34,11 +34,15 @@ import org.slf4j.LoggerFactory;
 import de.symeda.sormas.api.importexport.ImportExportUtils;
 import de.symeda.sormas.api.task.TaskType;
 import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.backend.caze.CaseAggregateCache;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
+import de.symeda.sormas.backend.caze.duplicate.CaseDuplicateCandidateUpdater;
+import de.symeda.sormas.backend.caze.rollup.CaseCountRollupUpdater;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb.ContactFacadeEjbLocal;
 import de.symeda.sormas.backend.event.EventFacadeEjb.EventFacadeEjbLocal;
 import de.symeda.sormas.backend.feature.FeatureConfigurationFacadeEjb.FeatureConfigurationFacadeEjbLocal;
+import de.symeda.sormas.backend.infrastructure.InfrastructureSnapshotService;
 import de.symeda.sormas.backend.report.WeeklyReportFacadeEjb.WeeklyReportFacadeEjbLocal;
 import de.symeda.sormas.backend.task.TaskFacadeEjb.TaskFacadeEjbLocal;
 
@@ -64,12 +68,40 @@ public class CronService {
 	private CaseFacadeEjbLocal caseFacade;
 	@EJB
 	private EventFacadeEjbLocal eventFacade;
+	@EJB
+	private InfrastructureSnapshotService infrastructureSnapshotService;
+	@EJB
+	private CaseCountRollupUpdater caseCountRollupUpdater;
+	@EJB
+	private CaseAggregateCache caseAggregateCache;
+	@EJB
+	private CaseDuplicateCandidateUpdater caseDuplicateCandidateUpdater;
 
 	@Schedule(hour = "*", minute = "*/" + TASK_UPDATE_INTERVAL, second = "0", persistent = false)
 	public void sendNewAndDueTaskMessages() {
 		taskFacade.sendNewAndDueTaskMessages();
 	}
 
+	@Schedule(hour = "*", minute = "*/" + TASK_UPDATE_INTERVAL, second = "30", persistent = false)
+	public void updateInfrastructureSnapshot() {
+		infrastructureSnapshotService.updateSnapshot();
+	}
+
+	@Schedule(hour = "*", minute = "*/" + TASK_UPDATE_INTERVAL, second = "45", persistent = false)
+	public void updateCaseCountRollup() {
+		caseCountRollupUpdater.update();
+	}
+
+	@Schedule(hour = "*", minute = "0", second = "0", persistent = false)
+	public void logCaseAggregateCacheStatistics() {
+		caseAggregateCache.logStatistics();
+	}
+
+	@Schedule(hour = "*", minute = "*/" + TASK_UPDATE_INTERVAL, second = "50", persistent = false)
+	public void updateCaseDuplicateCandidates() {
+		caseDuplicateCandidateUpdater.update();
+	}
+
 	@Schedule(hour = "1", minute = "0", second = "0", persistent = false)
 	public void deleteAllExpiredFeatureConfigurations() {
 
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.common;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+
+import org.apache.commons.lang3.StringUtils;
+
+import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.api.SyncPageDto;
+
+/**
+ * Keyset position (change date + id) of the last entity that has been delivered in a {@link SyncPageDto}.
+ * <p>
+ * The change date is kept with its full precision (the database stores microseconds), so the keyset comparison
+ * does not skip or repeat entities that have been changed within the same millisecond.
+ */
+public final class SyncCursor {
+
+	public static final Comparator<AbstractDomainObject> ORDER =
+		Comparator.comparing(AbstractDomainObject::getChangeDate).thenComparing(AbstractDomainObject::getId);
+
+	private static final char SEPARATOR = '_';
+
+	private final Timestamp changeDate;
+	private final long id;
+
+	private SyncCursor(Timestamp changeDate, long id) {
+		this.changeDate = changeDate;
+		this.id = id;
+	}
+
+	public static SyncCursor of(AbstractDomainObject ado) {
+
+		Timestamp changeDate = new Timestamp(ado.getChangeDate().getTime());
+		changeDate.setNanos(ado.getChangeDate().getNanos());
+		return new SyncCursor(changeDate, ado.getId());
+	}
+
+	/**
+	 * @return null if the token is empty
+	 * @throws IllegalArgumentException
+	 *             if the token has not been created by {@link #toToken()}
+	 */
+	public static SyncCursor parse(String token) {
+
+		if (StringUtils.isBlank(token)) {
+			return null;
+		}
+
+		String[] parts = StringUtils.split(token, SEPARATOR);
+		if (parts.length != 3) {
+			throw new IllegalArgumentException("Invalid sync cursor: " + token);
+		}
+
+		try {
+			Timestamp changeDate = new Timestamp(Long.parseLong(parts[0]));
+			changeDate.setNanos(Integer.parseInt(parts[1]));
+			return new SyncCursor(changeDate, Long.parseLong(parts[2]));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid sync cursor: " + token, e);
+		}
+	}
+
+	public String toToken() {
+		return Long.toString(changeDate.getTime()) + SEPARATOR + changeDate.getNanos() + SEPARATOR + id;
+	}
+
+	public Timestamp getChangeDate() {
+		return changeDate;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * @return Entities positioned after this cursor: {@code changeDate > cursor.changeDate OR (changeDate = cursor.changeDate AND id > cursor.id)}
+	 */
+	public Predicate createFilter(CriteriaBuilder cb, From<?, ? extends AbstractDomainObject> from) {
+
+		Path<Timestamp> changeDatePath = from.get(AbstractDomainObject.CHANGE_DATE);
+		return cb.or(
+			cb.greaterThan(changeDatePath, changeDate),
+			cb.and(cb.equal(changeDatePath, changeDate), cb.greaterThan(from.get(AbstractDomainObject.ID), id)));
+	}
+
+	/**
+	 * The order that has to be used by all queries that are paged with a {@link SyncCursor}.
+	 */
+	public static List<Order> createOrder(CriteriaBuilder cb, From<?, ? extends AbstractDomainObject> from) {
+
+		List<Order> order = new ArrayList<>(2);
+		order.add(cb.asc(from.get(AbstractDomainObject.CHANGE_DATE)));
+		order.add(cb.asc(from.get(AbstractDomainObject.ID)));
+		return order;
+	}
+
+	/**
+	 * @param adoList
+	 *            Entities in {@link #ORDER}, retrieved with a limit of {@code pageSize + 1} to find out whether there is another page.
+	 */
+	public static <ADO extends AbstractDomainObject, DTO extends EntityDto> SyncPageDto<DTO> toPage(
+		List<ADO> adoList,
+		int pageSize,
+		Function<ADO, DTO> toDto) {
+
+		String nextCursor = null;
+		if (adoList.size() > pageSize) {
+			adoList = adoList.subList(0, pageSize);
+			nextCursor = of(adoList.get(pageSize - 1)).toToken();
+		}
+
+		return new SyncPageDto<>(adoList.stream().map(toDto).collect(Collectors.toList()), nextCursor);
+	}
+}
@@ -0,0 +1,126 @@
+package de.symeda.sormas.backend.common;
+
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+
+import de.symeda.sormas.api.SyncChangeDatesDto;
+import de.symeda.sormas.api.SyncEntityType;
+import de.symeda.sormas.api.SyncFacade;
+import de.symeda.sormas.api.SyncManifestDto;
+import de.symeda.sormas.backend.caze.CaseService;
+import de.symeda.sormas.backend.clinicalcourse.ClinicalVisitService;
+import de.symeda.sormas.backend.contact.ContactService;
+import de.symeda.sormas.backend.event.EventParticipantService;
+import de.symeda.sormas.backend.event.EventService;
+import de.symeda.sormas.backend.person.PersonService;
+import de.symeda.sormas.backend.report.AggregateReportService;
+import de.symeda.sormas.backend.report.WeeklyReportService;
+import de.symeda.sormas.backend.sample.AdditionalTestService;
+import de.symeda.sormas.backend.sample.PathogenTestService;
+import de.symeda.sormas.backend.sample.SampleService;
+import de.symeda.sormas.backend.task.TaskService;
+import de.symeda.sormas.backend.therapy.PrescriptionService;
+import de.symeda.sormas.backend.therapy.TreatmentService;
+import de.symeda.sormas.backend.user.User;
+import de.symeda.sormas.backend.user.UserService;
+import de.symeda.sormas.backend.visit.VisitService;
+
+@Stateless(name = "SyncFacade")
+public class SyncFacadeEjb implements SyncFacade {
+
+	@EJB
+	private UserService userService;
+	@EJB
+	private PersonService personService;
+	@EJB
+	private CaseService caseService;
+	@EJB
+	private EventService eventService;
+	@EJB
+	private EventParticipantService eventParticipantService;
+	@EJB
+	private SampleService sampleService;
+	@EJB
+	private PathogenTestService pathogenTestService;
+	@EJB
+	private AdditionalTestService additionalTestService;
+	@EJB
+	private ContactService contactService;
+	@EJB
+	private VisitService visitService;
+	@EJB
+	private TaskService taskService;
+	@EJB
+	private WeeklyReportService weeklyReportService;
+	@EJB
+	private AggregateReportService aggregateReportService;
+	@EJB
+	private PrescriptionService prescriptionService;
+	@EJB
+	private TreatmentService treatmentService;
+	@EJB
+	private ClinicalVisitService clinicalVisitService;
+
+	@Override
+	public SyncManifestDto getSyncManifest(SyncChangeDatesDto changeDates) {
+
+		SyncManifestDto manifest = new SyncManifestDto();
+
+		User user = userService.getCurrentUser();
+		if (user == null) {
+			return manifest;
+		}
+
+		Map<SyncEntityType, AbstractAdoService<?>> services = new EnumMap<>(SyncEntityType.class);
+		services.put(SyncEntityType.PERSON, personService);
+		services.put(SyncEntityType.CASE, caseService);
+		services.put(SyncEntityType.EVENT, eventService);
+		services.put(SyncEntityType.EVENT_PARTICIPANT, eventParticipantService);
+		services.put(SyncEntityType.SAMPLE, sampleService);
+		services.put(SyncEntityType.PATHOGEN_TEST, pathogenTestService);
+		services.put(SyncEntityType.ADDITIONAL_TEST, additionalTestService);
+		services.put(SyncEntityType.CONTACT, contactService);
+		services.put(SyncEntityType.VISIT, visitService);
+		services.put(SyncEntityType.TASK, taskService);
+		services.put(SyncEntityType.WEEKLY_REPORT, weeklyReportService);
+		services.put(SyncEntityType.AGGREGATE_REPORT, aggregateReportService);
+		services.put(SyncEntityType.PRESCRIPTION, prescriptionService);
+		services.put(SyncEntityType.TREATMENT, treatmentService);
+		services.put(SyncEntityType.CLINICAL_VISIT, clinicalVisitService);
+
+		for (Map.Entry<SyncEntityType, AbstractAdoService<?>> entry : services.entrySet()) {
+			long count = entry.getValue().countAfter(changeDates.getChangeDates().get(entry.getKey()), user);
+			if (count > 0) {
+				manifest.getChangedCounts().put(entry.getKey(), count);
+			}
+		}
+
+		Date deletedSince = changeDates.getDeletedSince();
+		if (deletedSince != null) {
+			putDeletedCount(manifest, SyncEntityType.CASE, caseService.getDeletedUuidsSince(deletedSince).size());
+			putDeletedCount(manifest, SyncEntityType.EVENT, eventService.getDeletedUuidsSince(deletedSince).size());
+			putDeletedCount(manifest, SyncEntityType.CONTACT, contactService.getDeletedUuidsSince(user, deletedSince).size());
+			putDeletedCount(manifest, SyncEntityType.SAMPLE, sampleService.getDeletedUuidsSince(user, deletedSince).size());
+		}
+
+		return manifest;
+	}
+
+	private void putDeletedCount(SyncManifestDto manifest, SyncEntityType type, long count) {
+
+		if (count > 0) {
+			manifest.getDeletedCounts().put(type, count);
+		}
+	}
+
+	@LocalBean
+	@Stateless
+	public static class SyncFacadeEjbLocal extends SyncFacadeEjb {
+
+	}
+}
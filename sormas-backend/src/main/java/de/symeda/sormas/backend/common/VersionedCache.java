@@ -0,0 +1,88 @@
+package de.symeda.sormas.backend.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Application wide snapshot of data that is read often and changed rarely, like configurations or infrastructure data.
+ * <p>
+ * The snapshot is reloaded when its version has changed, e.g. the number of entities or their latest change date. The version
+ * is checked at most once per refresh interval, which also is the maximum time it takes until changes made on another server
+ * node are visible. Changes made on this node call {@link #invalidate(CacheLoader)}, so the version is checked again on the
+ * first access after they have been committed. Version and content are loaded together in a new transaction by the
+ * {@link CacheLoader}.
+ */
+public final class VersionedCache<T> {
+
+	private final Supplier<?> versionLoader;
+	private final Supplier<T> contentLoader;
+
+	private volatile Snapshot<T> snapshot;
+	private volatile long nextCheck;
+	private final AtomicLong invalidations = new AtomicLong();
+
+	/**
+	 * @param versionLoader
+	 *            Loads a cheap representation of the current state that has to be equal as long as the content is unchanged
+	 * @param contentLoader
+	 *            Loads the content; it must not be modified afterwards
+	 */
+	public VersionedCache(Supplier<?> versionLoader, Supplier<T> contentLoader) {
+		this.versionLoader = versionLoader;
+		this.contentLoader = contentLoader;
+	}
+
+	/**
+	 * @param refreshSeconds
+	 *            The time after which the version is checked again
+	 * @return The current content
+	 */
+	public T get(CacheLoader cacheLoader, int refreshSeconds) {
+
+		Snapshot<T> current = snapshot;
+		if (current != null && System.currentTimeMillis() < nextCheck) {
+			return current.content;
+		}
+
+		synchronized (this) {
+			current = snapshot;
+			if (current == null || System.currentTimeMillis() >= nextCheck) {
+				long checkTime = System.currentTimeMillis();
+				long invalidationCount = invalidations.get();
+
+				Snapshot<T> previous = current;
+				current = cacheLoader.load(() -> {
+					Object version = versionLoader.get();
+					return previous != null && previous.version.equals(version) ? previous : new Snapshot<>(version, contentLoader.get());
+				});
+				snapshot = current;
+
+				// an invalidation that happened while loading may not be included in the loaded version
+				nextCheck = invalidationCount == invalidations.get() ? checkTime + refreshSeconds * 1000L : 0;
+			}
+			return current.content;
+		}
+	}
+
+	/**
+	 * Makes sure the first access after the current transaction has been completed checks the version again.
+	 */
+	public void invalidate(CacheLoader cacheLoader) {
+
+		cacheLoader.invalidateAfterCompletion(() -> {
+			invalidations.incrementAndGet();
+			nextCheck = 0;
+		});
+	}
+
+	private static final class Snapshot<T> {
+
+		private final Object version;
+		private final T content;
+
+		private Snapshot(Object version, T content) {
+			this.version = version;
+			this.content = content;
+		}
+	}
+}
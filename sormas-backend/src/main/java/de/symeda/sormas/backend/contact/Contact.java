@@ -20,6 +20,7 @@ package de.symeda.sormas.backend.contact;
 import static de.symeda.sormas.api.EntityDto.COLUMN_LENGTH_BIG;
 import static de.symeda.sormas.api.EntityDto.COLUMN_LENGTH_DEFAULT;
 
+import java.sql.Timestamp;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -127,6 +128,8 @@ public class Contact extends CoreAdo {
 	public static final String VISITS = "visits";
 	public static final String ADDITIONAL_DETAILS = "additionalDetails";
 	public static final String EPI_DATA = "epiData";
+	public static final String AGGREGATE_CHANGE_DATE = "aggregateChangeDate";
+	public static final String SEARCH_TEXT = "searchText";
 
 	private Date reportDateTime;
 	private User reportingUser;
@@ -193,6 +196,8 @@ public class Contact extends CoreAdo {
 	private List<Task> tasks;
 	private Set<Sample> samples;
 	private Set<Visit> visits = new HashSet<>();
+	private Timestamp aggregateChangeDate;
+	private String searchText;
 
 	@ManyToOne(cascade = {})
 	@JoinColumn(nullable = false)
@@ -730,4 +735,32 @@ public class Contact extends CoreAdo {
 	public void setEpiData(EpiData epiData) {
 		this.epiData = epiData;
 	}
+
+	/**
+	 * Latest change date of the contact and its epi data. Maintained by {@link ContactService} with a separate update,
+	 * so it does not change the version of the entity.
+	 */
+	@AuditedIgnore
+	@Column(insertable = false, updatable = false)
+	public Timestamp getAggregateChangeDate() {
+		return aggregateChangeDate;
+	}
+
+	public void setAggregateChangeDate(Timestamp aggregateChangeDate) {
+		this.aggregateChangeDate = aggregateChangeDate;
+	}
+
+	/**
+	 * The uuid and the person's names of the contact and its case in lower case, searched by the free text filter of the contact
+	 * directory. Maintained by {@link ContactService} with a separate update, so it does not change the version of the entity.
+	 */
+	@AuditedIgnore
+	@Column(insertable = false, updatable = false, columnDefinition = "text")
+	public String getSearchText() {
+		return searchText;
+	}
+
+	public void setSearchText(String searchText) {
+		this.searchText = searchText;
+	}
 }
@@ -57,6 +57,7 @@ import org.slf4j.LoggerFactory;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.caze.MapCaseDto;
 import de.symeda.sormas.api.contact.ContactClassification;
@@ -88,6 +89,7 @@ import de.symeda.sormas.api.task.TaskStatus;
 import de.symeda.sormas.api.task.TaskType;
 import de.symeda.sormas.api.user.UserRight;
 import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.CountStrategy;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
@@ -97,12 +99,16 @@ import de.symeda.sormas.api.visit.VisitStatus;
 import de.symeda.sormas.api.visit.VisitSummaryExportDetailsDto;
 import de.symeda.sormas.api.visit.VisitSummaryExportDto;
 import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.caze.CaseAggregateCache;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
 import de.symeda.sormas.backend.caze.CaseJurisdictionChecker;
 import de.symeda.sormas.backend.caze.CaseService;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.common.CountCache;
+import de.symeda.sormas.backend.common.SyncCursor;
 import de.symeda.sormas.backend.epidata.EpiData;
 import de.symeda.sormas.backend.epidata.EpiDataFacadeEjb;
 import de.symeda.sormas.backend.epidata.EpiDataFacadeEjb.EpiDataFacadeEjbLocal;
@@ -147,6 +153,10 @@ public class ContactFacadeEjb implements ContactFacade {
 
 	@EJB
 	private ContactListCriteriaBuilder listCriteriaBuilder;
+	@EJB
+	private CountCache countCache;
+	@EJB
+	private CaseAggregateCache caseAggregateCache;
 
 	@EJB
 	private CaseService caseService;
@@ -167,6 +177,8 @@ public class ContactFacadeEjb implements ContactFacade {
 	@EJB
 	private UserRoleConfigFacadeEjbLocal userRoleConfigFacade;
 	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+	@EJB
 	private ContactJurisdictionChecker contactJurisdictionChecker;
 	@EJB
 	private CaseJurisdictionChecker caseJurisdictionChecker;
@@ -199,6 +211,22 @@ public class ContactFacadeEjb implements ContactFacade {
 		return contactService.getAllActiveContactsAfter(date).stream().map(c -> convertToDto(c)).collect(Collectors.toList());
 	}
 
+	@Override
+	public SyncPageDto<ContactDto> getAllActiveContactsPage(Date date, String cursor) {
+
+		User user = userService.getCurrentUser();
+
+		if (user == null) {
+			return new SyncPageDto<>(Collections.emptyList(), null);
+		}
+
+		int pageSize = configFacade.getSyncPageSize();
+		return contactService.executeReadOnly(() -> {
+			List<Contact> contacts = contactService.getAllActiveContactsAfter(date, SyncCursor.parse(cursor), pageSize + 1);
+			return SyncCursor.toPage(contacts, pageSize, this::convertToDto);
+		});
+	}
+
 	@Override
 	public List<ContactDto> getByUuids(List<String> uuids) {
 		return contactService.getByUuids(uuids).stream().map(c -> convertToDto(c)).collect(Collectors.toList());
@@ -262,8 +290,11 @@ public class ContactFacadeEjb implements ContactFacade {
 
 			if (entity.getCaze() != null) {
 				caseFacade.onCaseChanged(CaseFacadeEjbLocal.toDto(entity.getCaze()), entity.getCaze());
+				caseService.ensurePersisted(entity.getCaze());
 			}
 		}
+		caseAggregateCache.invalidate();
+		countCache.invalidate();
 
 		return toDto(entity);
 	}
@@ -332,6 +363,8 @@ public class ContactFacadeEjb implements ContactFacade {
 		if (contact.getCaze() != null) {
 			caseFacade.onCaseChanged(CaseFacadeEjbLocal.toDto(contact.getCaze()), contact.getCaze());
 		}
+		caseAggregateCache.invalidate();
+		countCache.invalidate();
 	}
 
 	@Override
@@ -590,6 +623,31 @@ public class ContactFacadeEjb implements ContactFacade {
 
 	@Override
 	public long count(ContactCriteria contactCriteria) {
+		return em.createQuery(createCountQuery(contactCriteria, false)).getSingleResult();
+	}
+
+	@Override
+	public long count(ContactCriteria contactCriteria, CountStrategy countStrategy, int max) {
+
+		switch (countStrategy) {
+		case EXACT:
+			return count(contactCriteria);
+		case CACHED:
+			return countCache
+				.get(() -> count(contactCriteria), Contact.class.getSimpleName(), contactCriteria, contactService.getUserFilterScope());
+		case HAS_MORE:
+			// without aggregation, the database stops looking for contacts as soon as it has found enough of them
+			return em.createQuery(createCountQuery(contactCriteria, true)).setMaxResults(max + 1).getResultList().size();
+		default:
+			throw new IllegalArgumentException(countStrategy.toString());
+		}
+	}
+
+	/**
+	 * @param selectIds
+	 *            Selects the ids of the matching contacts instead of their number
+	 */
+	private CriteriaQuery<Long> createCountQuery(ContactCriteria contactCriteria, boolean selectIds) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
@@ -601,8 +659,8 @@ public class ContactFacadeEjb implements ContactFacade {
 			cq.where(filter);
 		}
 
-		cq.select(cb.count(root));
-		return em.createQuery(cq).getSingleResult();
+		cq.select(selectIds ? root.<Long> get(AbstractDomainObject.ID) : cb.count(root));
+		return cq;
 	}
 
 	@Override
@@ -38,10 +38,12 @@ import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.visit.VisitStatus;
 import de.symeda.sormas.backend.caze.Case;
 import de.symeda.sormas.backend.caze.CaseService;
+import de.symeda.sormas.backend.caze.scope.CaseScopeService;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractCoreAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.common.CoreAdo;
+import de.symeda.sormas.backend.common.SyncCursor;
 import de.symeda.sormas.backend.disease.DiseaseConfigurationFacadeEjb.DiseaseConfigurationFacadeEjbLocal;
 import de.symeda.sormas.backend.epidata.EpiDataService;
 import de.symeda.sormas.backend.location.Location;
@@ -61,6 +63,8 @@ import org.apache.commons.collections.CollectionUtils;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.EntityExistsException;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
@@ -73,6 +77,7 @@ import javax.persistence.criteria.Root;
 import javax.validation.constraints.NotNull;
 import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
@@ -98,6 +103,8 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 	private SampleService sampleService;
 	@EJB
 	private EpiDataService epiDataService;
+	@EJB
+	private CaseScopeService caseScopeService;
 
 	public ContactService() {
 		super(Contact.class);
@@ -124,6 +131,16 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 	}
 
 	public List<Contact> getAllActiveContactsAfter(Date date) {
+		return getAllActiveContactsAfter(date, null, null);
+	}
+
+	/**
+	 * @param cursor
+	 *            When not null, only contacts positioned after the cursor are returned, ordered by {@link SyncCursor#ORDER}.
+	 * @param maxResults
+	 *            When not null, the result is limited and ordered by {@link SyncCursor#ORDER}.
+	 */
+	public List<Contact> getAllActiveContactsAfter(Date date, SyncCursor cursor, Integer maxResults) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Contact> cq = cb.createQuery(getElementClass());
@@ -141,11 +158,23 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 			filter = AbstractAdoService.and(cb, filter, dateFilter);
 		}
 
+		if (cursor != null) {
+			filter = AbstractAdoService.and(cb, filter, cursor.createFilter(cb, from));
+		}
+
 		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Contact.CHANGE_DATE)));
+		if (cursor != null || maxResults != null) {
+			cq.orderBy(SyncCursor.createOrder(cb, from));
+		} else {
+			cq.orderBy(cb.desc(from.get(Contact.CHANGE_DATE)));
+		}
 		cq.distinct(true);
 
-		return em.createQuery(cq).getResultList();
+		TypedQuery<Contact> query = em.createQuery(cq);
+		if (maxResults != null) {
+			query.setMaxResults(maxResults);
+		}
+		return query.getResultList();
 	}
 
 	@Override
@@ -157,7 +186,8 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 	public Predicate createChangeDateFilter(CriteriaBuilder cb, From<?, Contact> from, Timestamp date) {
 
 		Predicate dateFilter = greaterThanAndNotNull(cb, from.get(AbstractDomainObject.CHANGE_DATE), date);
-		return cb.or(dateFilter, epiDataService.createChangeDateFilter(cb, from.join(Contact.EPI_DATA, JoinType.LEFT), date));
+		// changes of the epi data are covered by the aggregate change date
+		return cb.or(dateFilter, greaterThanAndNotNull(cb, from.get(Contact.AGGREGATE_CHANGE_DATE), date));
 	}
 
 	public List<String> getAllActiveUuids(User user) {
@@ -834,6 +864,25 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 		return filter;
 	}
 
+	/**
+	 * @return A key that is equal for users for whom {@link #createUserFilter} creates the same filter: Users below national
+	 *         level and port health users get their own key, because they have access to the contacts they are responsible for.
+	 */
+	public String getUserFilterScope() {
+
+		User currentUser = getCurrentUser();
+		if (currentUser == null) {
+			return "";
+		}
+
+		if ((currentUser.getJurisdictionLevel() == JurisdictionLevel.NATION && !UserRole.isPortHealthUser(currentUser.getUserRoles()))
+			|| currentUser.hasAnyUserRole(UserRole.REST_USER)) {
+			return caseService.getUserFilterScope();
+		}
+		// the contacts of the cases the user has access to are included
+		return currentUser.getUuid() + ";" + caseService.getUserFilterScope();
+	}
+
 	@SuppressWarnings("rawtypes")
 	public Predicate createUserFilterWithoutCase(CriteriaBuilder cb, CriteriaQuery cq, From<?, Contact> contactPath) {
 
@@ -1003,22 +1052,7 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 			filter = and(cb, filter, cb.equal(from.get(Case.DELETED), contactCriteria.getDeleted()));
 		}
 		if (contactCriteria.getNameUuidCaseLike() != null) {
-			Join<Contact, Person> person = from.join(Contact.PERSON, JoinType.LEFT);
-			Join<Case, Person> casePerson = caze.join(Case.PERSON, JoinType.LEFT);
-			String[] textFilters = contactCriteria.getNameUuidCaseLike().split("\\s+");
-			for (int i = 0; i < textFilters.length; i++) {
-				String textFilter = "%" + textFilters[i].toLowerCase() + "%";
-				if (!DataHelper.isNullOrEmpty(textFilter)) {
-					Predicate likeFilters = cb.or(
-						cb.like(cb.lower(from.get(Contact.UUID)), textFilter),
-						cb.like(cb.lower(person.get(Person.FIRST_NAME)), textFilter),
-						cb.like(cb.lower(person.get(Person.LAST_NAME)), textFilter),
-						cb.like(cb.lower(caze.get(Case.UUID)), textFilter),
-						cb.like(cb.lower(casePerson.get(Person.FIRST_NAME)), textFilter),
-						cb.like(cb.lower(casePerson.get(Person.LAST_NAME)), textFilter));
-					filter = and(cb, filter, likeFilters);
-				}
-			}
+			filter = and(cb, filter, createSearchTextFilter(cb, from.get(Contact.SEARCH_TEXT), contactCriteria.getNameUuidCaseLike()));
 		}
 		if (Boolean.TRUE.equals(contactCriteria.getOnlyHighPriorityContacts())) {
 			filter = and(cb, filter, cb.equal(from.get(Contact.HIGH_PRIORITY), true));
@@ -1037,6 +1071,64 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 		return filter;
 	}
 
+	@Override
+	public void ensurePersisted(Contact contact) throws EntityExistsException {
+
+		super.ensurePersisted(contact);
+		caseScopeService.updateContactScope(contact);
+
+		List<AbstractDomainObject> entities = new ArrayList<>();
+		entities.add(contact);
+		entities.addAll(epiDataService.getAggregatedEntities(contact.getEpiData()));
+		contact.setAggregateChangeDate(
+			updateAggregateChangeDate(
+				contact,
+				Contact.AGGREGATE_CHANGE_DATE,
+				contact.getAggregateChangeDate(),
+				getLatestChangeDate(entities.stream())));
+		updateSearchText(contact);
+	}
+
+	/**
+	 * Updates the search texts of the person's contacts, e.g. after the names of the person have been changed.
+	 */
+	public void updateSearchTexts(Person person) {
+		updateSearchTexts(Contact.PERSON, person);
+	}
+
+	/**
+	 * Updates the search texts of the case's contacts, e.g. after the names of the case person have been changed.
+	 */
+	public void updateSearchTexts(Case caze) {
+		updateSearchTexts(Contact.CAZE, caze);
+	}
+
+	private void updateSearchTexts(String attribute, AbstractDomainObject value) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Contact> cq = cb.createQuery(getElementClass());
+		Root<Contact> from = cq.from(getElementClass());
+		cq.where(cb.equal(from.get(attribute), value));
+
+		for (Contact contact : em.createQuery(cq).getResultList()) {
+			updateSearchText(contact);
+		}
+	}
+
+	private void updateSearchText(Contact contact) {
+
+		Case caze = contact.getCaze();
+		String searchText = buildSearchText(
+			contact.getUuid(),
+			contact.getPerson().getFirstName(),
+			contact.getPerson().getLastName(),
+			caze != null ? caze.getUuid() : null,
+			caze != null ? caze.getPerson().getFirstName() : null,
+			caze != null ? caze.getPerson().getLastName() : null);
+
+		contact.setSearchText(updateSearchText(contact, Contact.SEARCH_TEXT, contact.getSearchText(), searchText));
+	}
+
 	@Override
 	public void delete(Contact contact) {
 
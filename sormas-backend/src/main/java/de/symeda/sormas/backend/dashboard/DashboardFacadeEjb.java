@@ -0,0 +1,202 @@
+package de.symeda.sormas.backend.dashboard;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import javax.annotation.Resource;
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.enterprise.concurrent.ManagedExecutorService;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseCriteria;
+import de.symeda.sormas.api.caze.DashboardCaseDto;
+import de.symeda.sormas.api.caze.NewCaseDateType;
+import de.symeda.sormas.api.contact.DashboardContactDto;
+import de.symeda.sormas.api.dashboard.DashboardDataDto;
+import de.symeda.sormas.api.dashboard.DashboardFacade;
+import de.symeda.sormas.api.event.DashboardEventDto;
+import de.symeda.sormas.api.event.EventCriteria;
+import de.symeda.sormas.api.event.EventStatus;
+import de.symeda.sormas.api.outbreak.OutbreakCriteria;
+import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.RegionReferenceDto;
+import de.symeda.sormas.backend.caze.CaseAggregateCache;
+import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
+import de.symeda.sormas.backend.caze.CaseService;
+import de.symeda.sormas.backend.contact.ContactFacadeEjb.ContactFacadeEjbLocal;
+import de.symeda.sormas.backend.event.EventFacadeEjb.EventFacadeEjbLocal;
+import de.symeda.sormas.backend.outbreak.OutbreakFacadeEjb.OutbreakFacadeEjbLocal;
+import de.symeda.sormas.backend.sample.SampleFacadeEjb.SampleFacadeEjbLocal;
+import de.symeda.sormas.backend.util.FutureHelper;
+
+/**
+ * Runs the independent queries of a dashboard as tasks of the managed executor service. Each task calls a local facade in its
+ * own thread and therefore in its own transaction with its own connection; the caller's security context is propagated to
+ * the tasks, so the queries are filtered by the jurisdiction of the current user as before. The first query is run in the
+ * calling thread while the others are pending. When one of the queries fails, the pending ones are cancelled.
+ * <p>
+ * The tasks share the default managed executor service of the application server. Its pool size limits how many queries of
+ * all dashboards run at the same time, and with that the additional connections taken from the database pool; further tasks
+ * wait in its queue. It can be configured in the Payara admin console (Resources - Concurrent Resources - Managed Executor
+ * Services - concurrent/__defaultManagedExecutorService).
+ */
+@Stateless(name = "DashboardFacade")
+public class DashboardFacadeEjb implements DashboardFacade {
+
+	@EJB
+	private CaseFacadeEjbLocal caseFacade;
+	@EJB
+	private CaseService caseService;
+	@EJB
+	private CaseAggregateCache caseAggregateCache;
+	@EJB
+	private ContactFacadeEjbLocal contactFacade;
+	@EJB
+	private EventFacadeEjbLocal eventFacade;
+	@EJB
+	private OutbreakFacadeEjbLocal outbreakFacade;
+	@EJB
+	private SampleFacadeEjbLocal sampleFacade;
+
+	@Resource(lookup = "java:comp/DefaultManagedExecutorService")
+	private ManagedExecutorService executorService;
+
+	@Override
+	public DashboardDataDto getSurveillanceDashboardData(
+		RegionReferenceDto regionRef,
+		DistrictReferenceDto districtRef,
+		Disease disease,
+		Date from,
+		Date to,
+		Date previousFrom,
+		Date previousTo) {
+
+		DashboardDataDto data = new DashboardDataDto();
+		if (disease == null) {
+			return data;
+		}
+
+		String userFilterScope = caseService.getUserFilterScope();
+		CaseCriteria caseCriteria = createCaseCriteria(regionRef, districtRef, disease, from, to);
+		CaseCriteria previousCaseCriteria = createCaseCriteria(regionRef, districtRef, disease, previousFrom, previousTo);
+		Future<String> lastReportedDistrict = executorService.submit(() -> getLastReportedDistrictName(caseCriteria, userFilterScope));
+		Future<List<DashboardCaseDto>> previousCases = executorService.submit(() -> getCasesForDashboard(previousCaseCriteria, userFilterScope));
+
+		EventCriteria eventCriteria = createEventCriteria(regionRef, districtRef, disease, from, to);
+		EventCriteria previousEventCriteria = createEventCriteria(regionRef, districtRef, disease, previousFrom, previousTo);
+		Future<List<DashboardEventDto>> events = executorService.submit(() -> eventFacade.getNewEventsForDashboard(eventCriteria));
+		Future<List<DashboardEventDto>> previousEvents = executorService.submit(() -> eventFacade.getNewEventsForDashboard(previousEventCriteria));
+		Future<Map<EventStatus, Long>> eventCountByStatus = executorService.submit(() -> eventFacade.getEventCountByStatus(eventCriteria));
+
+		OutbreakCriteria outbreakCriteria = new OutbreakCriteria().region(regionRef).district(districtRef).disease(disease).reportedBetween(from, to);
+		Future<Long> outbreakDistrictCount = executorService.submit(() -> outbreakFacade.getOutbreakDistrictCount(outbreakCriteria));
+
+		try {
+			// the test results depend on the cases
+			List<DashboardCaseDto> cases = getCasesForDashboard(caseCriteria, userFilterScope);
+			data.setCases(cases);
+			if (!cases.isEmpty()) {
+				data.setTestResultCountByResultType(
+					sampleFacade.getNewTestResultCountByResultType(cases.stream().map(DashboardCaseDto::getId).collect(Collectors.toList())));
+			} else {
+				data.setTestResultCountByResultType(new HashMap<>());
+			}
+
+			data.setLastReportedDistrictName(FutureHelper.getResult(lastReportedDistrict));
+			data.setPreviousCases(FutureHelper.getResult(previousCases));
+			data.setEvents(FutureHelper.getResult(events));
+			data.setPreviousEvents(FutureHelper.getResult(previousEvents));
+			data.setEventCountByStatus(FutureHelper.getResult(eventCountByStatus));
+			data.setOutbreakDistrictCount(FutureHelper.getResult(outbreakDistrictCount));
+		} catch (RuntimeException e) {
+			FutureHelper.cancelAll(lastReportedDistrict, previousCases, events, previousEvents, eventCountByStatus, outbreakDistrictCount);
+			throw e;
+		}
+		return data;
+	}
+
+	@Override
+	public DashboardDataDto getContactsDashboardData(
+		RegionReferenceDto regionRef,
+		DistrictReferenceDto districtRef,
+		Disease disease,
+		Date from,
+		Date to,
+		Date previousFrom,
+		Date previousTo) {
+
+		DashboardDataDto data = new DashboardDataDto();
+
+		Future<List<DashboardContactDto>> contacts =
+			executorService.submit(() -> contactFacade.getContactsForDashboard(regionRef, districtRef, disease, from, to));
+		Future<List<DashboardContactDto>> previousContacts =
+			executorService.submit(() -> contactFacade.getContactsForDashboard(regionRef, districtRef, disease, previousFrom, previousTo));
+
+		String userFilterScope = caseService.getUserFilterScope();
+		CaseCriteria caseCriteria = createCaseCriteria(regionRef, districtRef, disease, from, to);
+		CaseCriteria previousCaseCriteria = createCaseCriteria(regionRef, districtRef, disease, previousFrom, previousTo);
+		Future<String> lastReportedDistrict = executorService.submit(() -> getLastReportedDistrictName(caseCriteria, userFilterScope));
+		Future<List<DashboardCaseDto>> previousCases = executorService.submit(() -> getCasesForDashboard(previousCaseCriteria, userFilterScope));
+
+		try {
+			data.setCases(getCasesForDashboard(caseCriteria, userFilterScope));
+
+			data.setContacts(FutureHelper.getResult(contacts));
+			data.setPreviousContacts(FutureHelper.getResult(previousContacts));
+			data.setLastReportedDistrictName(FutureHelper.getResult(lastReportedDistrict));
+			data.setPreviousCases(FutureHelper.getResult(previousCases));
+		} catch (RuntimeException e) {
+			FutureHelper.cancelAll(contacts, previousContacts, lastReportedDistrict, previousCases);
+			throw e;
+		}
+		return data;
+	}
+
+	private List<DashboardCaseDto> getCasesForDashboard(CaseCriteria caseCriteria, String userFilterScope) {
+		return caseAggregateCache
+			.getForUserFilterScope(userFilterScope, () -> caseFacade.getCasesForDashboard(caseCriteria), "getCasesForDashboard", caseCriteria);
+	}
+
+	private String getLastReportedDistrictName(CaseCriteria caseCriteria, String userFilterScope) {
+		return caseAggregateCache.getForUserFilterScope(
+			userFilterScope,
+			() -> caseFacade.getLastReportedDistrictName(caseCriteria, true, true),
+			"getLastReportedDistrictName",
+			caseCriteria);
+	}
+
+	private static CaseCriteria createCaseCriteria(
+		RegionReferenceDto regionRef,
+		DistrictReferenceDto districtRef,
+		Disease disease,
+		Date from,
+		Date to) {
+
+		return new CaseCriteria().region(regionRef)
+			.district(districtRef)
+			.disease(disease)
+			.newCaseDateBetween(from, to, NewCaseDateType.MOST_RELEVANT);
+	}
+
+	private static EventCriteria createEventCriteria(
+		RegionReferenceDto regionRef,
+		DistrictReferenceDto districtRef,
+		Disease disease,
+		Date from,
+		Date to) {
+
+		return new EventCriteria().region(regionRef).district(districtRef).disease(disease).reportedBetween(from, to);
+	}
+
+	@LocalBean
+	@Stateless
+	public static class DashboardFacadeEjbLocal extends DashboardFacadeEjb {
+
+	}
+}
@@ -20,11 +20,14 @@ package de.symeda.sormas.backend.disease;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+import javax.annotation.Resource;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.enterprise.concurrent.ManagedExecutorService;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.caze.CaseCriteria;
@@ -39,7 +42,7 @@ import de.symeda.sormas.backend.disease.DiseaseConfigurationFacadeEjb.DiseaseCon
 import de.symeda.sormas.backend.event.EventFacadeEjb.EventFacadeEjbLocal;
 import de.symeda.sormas.backend.outbreak.OutbreakFacadeEjb.OutbreakFacadeEjbLocal;
 import de.symeda.sormas.backend.person.PersonFacadeEjb.PersonFacadeEjbLocal;
-import de.symeda.sormas.backend.region.District;
+import de.symeda.sormas.backend.util.FutureHelper;
 
 /**
  * Provides the application configuration settings
@@ -58,6 +61,9 @@ public class DiseaseFacadeEjb implements DiseaseFacade {
 	@EJB
 	private DiseaseConfigurationFacadeEjbLocal diseaseConfigurationFacade;
 
+	@Resource(lookup = "java:comp/DefaultManagedExecutorService")
+	private ManagedExecutorService executorService;
+
 	@Override
 	public List<DiseaseBurdenDto> getDiseaseBurdenForDashboard(
 		RegionReferenceDto regionRef,
@@ -70,28 +76,50 @@ public class DiseaseFacadeEjb implements DiseaseFacade {
 		//diseases
 		List<Disease> diseases = diseaseConfigurationFacade.getAllDiseases(true, true, true);
 
+		// the queries are independent of each other, so each runs in its own transaction and thread (see DashboardFacadeEjb for
+		// the executor service); when one of them fails, the pending ones are cancelled
 		//new cases
 		CaseCriteria caseCriteria = new CaseCriteria().newCaseDateBetween(from, to, null).region(regionRef).district(districtRef);
-
-		Map<Disease, Long> newCases = caseFacade.getCaseCountByDisease(caseCriteria, true, true);
+		Future<Map<Disease, Long>> newCasesFuture = executorService.submit(() -> caseFacade.getCaseCountByDisease(caseCriteria, true, true));
 
 		//events
-		Map<Disease, Long> events =
-			eventFacade.getEventCountByDisease(new EventCriteria().region(regionRef).district(districtRef).reportedBetween(from, to));
+		Future<Map<Disease, Long>> eventsFuture = executorService.submit(
+			() -> eventFacade.getEventCountByDisease(new EventCriteria().region(regionRef).district(districtRef).reportedBetween(from, to)));
 
 		//outbreaks
-		Map<Disease, Long> outbreakDistrictsCount = outbreakFacade
-			.getOutbreakDistrictCountByDisease(new OutbreakCriteria().region(regionRef).district(districtRef).reportedBetween(from, to));
+		Future<Map<Disease, Long>> outbreakDistrictsCountFuture = executorService.submit(
+			() -> outbreakFacade
+				.getOutbreakDistrictCountByDisease(new OutbreakCriteria().region(regionRef).district(districtRef).reportedBetween(from, to)));
 
-		//last report district
-		Map<Disease, District> lastReportedDistricts = caseFacade.getLastReportedDistrictByDisease(caseCriteria, true, true);
+		//last report district, as reference dtos because the entities must not be used outside of the thread that has loaded them
+		Future<Map<Disease, DistrictReferenceDto>> lastReportedDistrictsFuture =
+			executorService.submit(() -> caseFacade.getLastReportedDistrictByDisease(caseCriteria, true, true));
 
 		//case fatalities
-		Map<Disease, Long> caseFatalities = personFacade.getDeathCountByDisease(caseCriteria, true, true);
+		Future<Map<Disease, Long>> caseFatalitiesFuture = executorService.submit(() -> personFacade.getDeathCountByDisease(caseCriteria, true, true));
 
 		//previous cases
-		caseCriteria.newCaseDateBetween(previousFrom, previousTo, null);
-		Map<Disease, Long> previousCases = caseFacade.getCaseCountByDisease(caseCriteria, true, true);
+		CaseCriteria previousCaseCriteria =
+			new CaseCriteria().newCaseDateBetween(previousFrom, previousTo, null).region(regionRef).district(districtRef);
+
+		Map<Disease, Long> previousCases;
+		Map<Disease, Long> newCases;
+		Map<Disease, Long> events;
+		Map<Disease, Long> outbreakDistrictsCount;
+		Map<Disease, DistrictReferenceDto> lastReportedDistricts;
+		Map<Disease, Long> caseFatalities;
+		try {
+			previousCases = caseFacade.getCaseCountByDisease(previousCaseCriteria, true, true);
+
+			newCases = FutureHelper.getResult(newCasesFuture);
+			events = FutureHelper.getResult(eventsFuture);
+			outbreakDistrictsCount = FutureHelper.getResult(outbreakDistrictsCountFuture);
+			lastReportedDistricts = FutureHelper.getResult(lastReportedDistrictsFuture);
+			caseFatalities = FutureHelper.getResult(caseFatalitiesFuture);
+		} catch (RuntimeException e) {
+			FutureHelper.cancelAll(newCasesFuture, eventsFuture, outbreakDistrictsCountFuture, lastReportedDistrictsFuture, caseFatalitiesFuture);
+			throw e;
+		}
 
 		//build diseasesBurden
 		List<DiseaseBurdenDto> diseasesBurden = diseases.stream().map(disease -> {
@@ -100,9 +128,9 @@ public class DiseaseFacadeEjb implements DiseaseFacade {
 			Long eventCount = events.getOrDefault(disease, 0L);
 			Long outbreakDistrictCount = outbreakDistrictsCount.getOrDefault(disease, 0L);
 			Long caseFatalityCount = caseFatalities.getOrDefault(disease, 0L);
-			District lastReportedDistrict = lastReportedDistricts.getOrDefault(disease, null);
+			DistrictReferenceDto lastReportedDistrict = lastReportedDistricts.getOrDefault(disease, null);
 
-			String lastReportedDistrictName = lastReportedDistrict == null ? "" : lastReportedDistrict.getName();
+			String lastReportedDistrictName = lastReportedDistrict == null ? "" : lastReportedDistrict.getCaption();
 
 			return new DiseaseBurdenDto(
 				disease,
@@ -32,6 +32,8 @@ import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.location.Location;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 
 @Stateless
 @LocalBean
@@ -48,6 +50,29 @@ public class EpiDataService extends AbstractAdoService<EpiData> {
 		return epiData;
 	}
 
+	/**
+	 * @return The epi data and all entities owned by it that are considered by {@link #createChangeDateFilter}
+	 */
+	public List<AbstractDomainObject> getAggregatedEntities(EpiData epiData) {
+
+		List<AbstractDomainObject> entities = new ArrayList<>();
+		if (epiData == null) {
+			return entities;
+		}
+
+		entities.add(epiData);
+		entities.addAll(epiData.getTravels());
+		for (EpiDataBurial burial : epiData.getBurials()) {
+			entities.add(burial);
+			entities.add(burial.getBurialAddress());
+		}
+		for (EpiDataGathering gathering : epiData.getGatherings()) {
+			entities.add(gathering);
+			entities.add(gathering.getGatheringAddress());
+		}
+		return entities;
+	}
+
 	@SuppressWarnings("rawtypes")
 	@Override
 	public Predicate createUserFilter(CriteriaBuilder cb, CriteriaQuery cq, From<EpiData, EpiData> from) {
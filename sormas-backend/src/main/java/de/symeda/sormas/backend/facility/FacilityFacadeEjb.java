@@ -55,7 +55,9 @@ import de.symeda.sormas.api.region.CommunityReferenceDto;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
+import de.symeda.sormas.backend.caze.CaseService;
 import de.symeda.sormas.backend.common.AbstractAdoService;
+import de.symeda.sormas.backend.infrastructure.InfrastructureReferenceCache;
 import de.symeda.sormas.backend.region.Community;
 import de.symeda.sormas.backend.region.CommunityFacadeEjb;
 import de.symeda.sormas.backend.region.CommunityService;
@@ -65,6 +67,7 @@ import de.symeda.sormas.backend.region.DistrictService;
 import de.symeda.sormas.backend.region.Region;
 import de.symeda.sormas.backend.region.RegionFacadeEjb;
 import de.symeda.sormas.backend.region.RegionService;
+import de.symeda.sormas.backend.sample.SampleService;
 import de.symeda.sormas.backend.user.UserService;
 import de.symeda.sormas.backend.util.DtoHelper;
 import de.symeda.sormas.backend.util.ModelConstants;
@@ -85,6 +88,12 @@ public class FacilityFacadeEjb implements FacilityFacade {
 	private DistrictService districtService;
 	@EJB
 	private RegionService regionService;
+	@EJB
+	private InfrastructureReferenceCache infrastructureReferenceCache;
+	@EJB
+	private CaseService caseService;
+	@EJB
+	private SampleService sampleService;
 
 	@Override
 	public List<FacilityReferenceDto> getActiveHealthFacilitiesByCommunity(CommunityReferenceDto communityRef, boolean includeStaticFacilities) {
@@ -202,12 +211,12 @@ public class FacilityFacadeEjb implements FacilityFacade {
 
 	@Override
 	public FacilityReferenceDto getFacilityReferenceByUuid(String uuid) {
-		return toReferenceDto(facilityService.getByUuid(uuid));
+		return infrastructureReferenceCache.getFacilityByUuid(uuid);
 	}
 
 	@Override
 	public FacilityReferenceDto getFacilityReferenceById(long id) {
-		return toReferenceDto(facilityService.getById(id));
+		return infrastructureReferenceCache.getFacilityById(id);
 	}
 
 	@Override
@@ -257,15 +266,11 @@ public class FacilityFacadeEjb implements FacilityFacade {
 		CommunityReferenceDto communityRef,
 		boolean includeArchivedEntities) {
 
-		return facilityService
-			.getHealthFacilitiesByName(
-				name,
-				districtService.getByReferenceDto(districtRef),
-				communityService.getByReferenceDto(communityRef),
-				includeArchivedEntities)
-			.stream()
-			.map(f -> toReferenceDto(f))
-			.collect(Collectors.toList());
+		return infrastructureReferenceCache.getHealthFacilitiesByName(
+			name,
+			districtRef != null ? districtRef.getUuid() : null,
+			communityRef != null ? communityRef.getUuid() : null,
+			includeArchivedEntities);
 	}
 
 	@Override
@@ -279,6 +284,7 @@ public class FacilityFacadeEjb implements FacilityFacade {
 		Facility facility = facilityService.getByUuid(facilityUuid);
 		facility.setArchived(true);
 		facilityService.ensurePersisted(facility);
+		infrastructureReferenceCache.invalidate();
 	}
 
 	@Override
@@ -287,6 +293,7 @@ public class FacilityFacadeEjb implements FacilityFacade {
 		Facility facility = facilityService.getByUuid(facilityUuid);
 		facility.setArchived(false);
 		facilityService.ensurePersisted(facility);
+		infrastructureReferenceCache.invalidate();
 	}
 
 	@Override
@@ -480,8 +487,16 @@ public class FacilityFacadeEjb implements FacilityFacade {
 			}
 		}
 
+		String previousName = facility != null ? facility.getName() : null;
 		facility = fillOrBuildEntity(dto, facility);
 		facilityService.ensurePersisted(facility);
+		infrastructureReferenceCache.invalidate();
+
+		// the facility name is part of the search texts of cases and samples
+		if (previousName != null && !previousName.equals(facility.getName())) {
+			caseService.updateSearchTexts(facility);
+			sampleService.updateSearchTexts(facility);
+		}
 	}
 
 	private Facility fillOrBuildEntity(@NotNull FacilityDto source, Facility target) {
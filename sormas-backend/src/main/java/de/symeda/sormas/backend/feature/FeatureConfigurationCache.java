@@ -0,0 +1,123 @@
+package de.symeda.sormas.backend.feature;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import de.symeda.sormas.api.feature.FeatureType;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.CacheLoader;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.common.VersionedCache;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Application wide snapshot of the state of all feature configurations (including the ones restricted to a region, district or
+ * disease), so checking whether a feature is enabled does not need a query each time.
+ * <p>
+ * The snapshot is a {@link VersionedCache} that is reloaded when the number of feature configurations or their latest change date
+ * has changed. Changes made by {@link FeatureConfigurationFacadeEjb} call {@link #invalidate()}, so they are checked for once they
+ * have been committed.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class FeatureConfigurationCache {
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+	@EJB
+	private CacheLoader cacheLoader;
+
+	private final VersionedCache<FeatureState> cache = new VersionedCache<>(this::loadVersion, this::loadState);
+
+	/**
+	 * @return true if there is at least one feature configuration of the type that is disabled
+	 */
+	public boolean isFeatureDisabled(FeatureType featureType) {
+		return get().disabled.contains(featureType);
+	}
+
+	/**
+	 * @return The types of all enabled server feature configurations
+	 */
+	public List<FeatureType> getActiveServerFeatureTypes() {
+		return new ArrayList<>(get().activeServerFeatures);
+	}
+
+	/**
+	 * Makes sure the first access after the current transaction has been completed checks whether the feature configurations have
+	 * been changed.
+	 */
+	public void invalidate() {
+		cache.invalidate(cacheLoader);
+	}
+
+	private FeatureState get() {
+		return cache.get(cacheLoader, configFacade.getCacheRefreshSeconds());
+	}
+
+	private Object loadVersion() {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<FeatureConfiguration> root = cq.from(FeatureConfiguration.class);
+		cq.multiselect(cb.count(root), cb.greatest(root.<Timestamp> get(AbstractDomainObject.CHANGE_DATE)));
+
+		// count and latest change date; the count also changes when a configuration has been deleted
+		return Arrays.asList(em.createQuery(cq).getSingleResult());
+	}
+
+	private FeatureState loadState() {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<FeatureConfiguration> root = cq.from(FeatureConfiguration.class);
+		cq.multiselect(root.get(FeatureConfiguration.FEATURE_TYPE), root.get(FeatureConfiguration.ENABLED));
+
+		Set<FeatureType> disabled = EnumSet.noneOf(FeatureType.class);
+		List<FeatureType> activeServerFeatures = new ArrayList<>();
+		for (Object[] result : em.createQuery(cq).getResultList()) {
+			FeatureType featureType = (FeatureType) result[0];
+			if (Boolean.TRUE.equals(result[1])) {
+				if (featureType.isServerFeature()) {
+					activeServerFeatures.add(featureType);
+				}
+			} else {
+				disabled.add(featureType);
+			}
+		}
+
+		return new FeatureState(disabled, activeServerFeatures);
+	}
+
+	/**
+	 * Immutable state of all feature configurations.
+	 */
+	private static final class FeatureState {
+
+		private final Set<FeatureType> disabled;
+		private final List<FeatureType> activeServerFeatures;
+
+		private FeatureState(Set<FeatureType> disabled, List<FeatureType> activeServerFeatures) {
+			this.disabled = Collections.unmodifiableSet(disabled);
+			this.activeServerFeatures = Collections.unmodifiableList(activeServerFeatures);
+		}
+	}
+}
@@ -52,6 +52,8 @@ public class FeatureConfigurationFacadeEjb implements FeatureConfigurationFacade
 	@EJB
 	private FeatureConfigurationService service;
 	@EJB
+	private FeatureConfigurationCache featureConfigurationCache;
+	@EJB
 	private RegionService regionService;
 	@EJB
 	private DistrictService districtService;
@@ -168,6 +170,7 @@ public class FeatureConfigurationFacadeEjb implements FeatureConfigurationFacade
 			FeatureConfiguration existingConfiguration = service.getByUuid(configuration.getUuid());
 			if (existingConfiguration != null) {
 				service.delete(existingConfiguration);
+				featureConfigurationCache.invalidate();
 			}
 
 			return;
@@ -190,6 +193,7 @@ public class FeatureConfigurationFacadeEjb implements FeatureConfigurationFacade
 
 		FeatureConfiguration entity = fromDto(configurationDto);
 		service.ensurePersisted(entity);
+		featureConfigurationCache.invalidate();
 	}
 
 	@Override
@@ -210,6 +214,7 @@ public class FeatureConfigurationFacadeEjb implements FeatureConfigurationFacade
 
 		List<FeatureConfiguration> resultList = em.createQuery(cq).getResultList();
 		resultList.forEach(result -> service.delete(result));
+		featureConfigurationCache.invalidate();
 	}
 
 	@Override
@@ -223,19 +228,12 @@ public class FeatureConfigurationFacadeEjb implements FeatureConfigurationFacade
 		cq.where(cb.lessThan(root.get(FeatureConfiguration.END_DATE), date));
 		List<FeatureConfiguration> resultList = em.createQuery(cq).getResultList();
 		resultList.forEach(result -> service.delete(result));
+		featureConfigurationCache.invalidate();
 	}
 
 	@Override
 	public boolean isFeatureDisabled(FeatureType featureType) {
-
-		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
-		Root<FeatureConfiguration> root = cq.from(FeatureConfiguration.class);
-
-		cq.where(cb.and(cb.equal(root.get(FeatureConfiguration.FEATURE_TYPE), featureType), cb.isFalse(root.get(FeatureConfiguration.ENABLED))));
-		cq.select(cb.count(root));
-
-		return em.createQuery(cq).getSingleResult() > 0;
+		return featureConfigurationCache.isFeatureDisabled(featureType);
 	}
 
 	@Override
@@ -258,19 +256,11 @@ public class FeatureConfigurationFacadeEjb implements FeatureConfigurationFacade
 	@Override
 	public List<FeatureType> getActiveServerFeatureTypes() {
 
-		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<FeatureType> cq = cb.createQuery(FeatureType.class);
-		Root<FeatureConfiguration> root = cq.from(FeatureConfiguration.class);
-
-		List<FeatureType> serverFeatures = FeatureType.getAllServerFeatures();
-		if (serverFeatures.isEmpty()) {
+		if (FeatureType.getAllServerFeatures().isEmpty()) {
 			return null;
 		}
 
-		cq.where(cb.and(root.get(FeatureConfiguration.FEATURE_TYPE).in(serverFeatures), cb.isTrue(root.get(FeatureConfiguration.ENABLED))));
-		cq.select(root.get(FeatureConfiguration.FEATURE_TYPE));
-
-		return em.createQuery(cq).getResultList();
+		return featureConfigurationCache.getActiveServerFeatureTypes();
 	}
 
 	public static FeatureConfigurationDto toDto(FeatureConfiguration source) {
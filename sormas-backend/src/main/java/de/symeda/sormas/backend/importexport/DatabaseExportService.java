@@ -1,25 +1,49 @@
 package de.symeda.sormas.backend.importexport;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import javax.annotation.Resource;
+import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
 
+import org.apache.commons.compress.archivers.zip.ScatterZipOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntryRequest;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.io.FileUtils;
 import org.hibernate.Session;
 import org.postgresql.PGConnection;
 import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,6 +52,7 @@ import de.symeda.sormas.backend.caze.Case;
 import de.symeda.sormas.backend.clinicalcourse.ClinicalCourse;
 import de.symeda.sormas.backend.clinicalcourse.ClinicalVisit;
 import de.symeda.sormas.backend.clinicalcourse.HealthConditions;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.epidata.EpiData;
 import de.symeda.sormas.backend.epidata.EpiDataBurial;
@@ -104,11 +129,23 @@ public class DatabaseExportService {
 			new DatabaseExportConfiguration(Symptoms.TABLE_NAME, ClinicalVisit.TABLE_NAME, "id", "symptoms_id"));
 	}
 
+	private static final String EXPORT_SNAPSHOT = "SELECT pg_export_snapshot()";
+	private static final String IMPORT_SNAPSHOT = "SET TRANSACTION SNAPSHOT '%s'";
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
 	private EntityManager em;
 
+	@Resource(lookup = "jdbc/sormasDataPool")
+	private DataSource dataSource;
+
+	@Resource(lookup = "java:comp/DefaultManagedExecutorService")
+	private ManagedExecutorService executorService;
+
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+
 	public void exportAsCsvFiles(ZipOutputStream zos, List<DatabaseTable> databaseTables) throws IOException {
 
 		//Writer must not be closed so it does not close the zip too early
@@ -120,18 +157,7 @@ public class DatabaseExportService {
 			long startTime = System.currentTimeMillis();
 			zos.putNextEntry(new ZipEntry(databaseTable.getFileName() + ".csv"));
 
-			DatabaseExportConfiguration config = getConfig(databaseTable);
-			final String sql;
-			if (config.isUseJoinTable()) {
-				sql = String.format(
-					COPY_WITH_JOIN_TABLE,
-					config.getTableName(),
-					config.getJoinTableName(),
-					config.getColumnName(),
-					config.getJoinColumnName());
-			} else {
-				sql = String.format(COPY_SINGLE_TABLE, config.getTableName());
-			}
+			String sql = createCopySql(getConfig(databaseTable));
 			writeCsv(writer, sql, databaseTable.getFileName());
 			writer.flush();
 			zos.closeEntry();
@@ -144,6 +170,184 @@ public class DatabaseExportService {
 		}
 	}
 
+	/**
+	 * Exports the selected tables like {@link #exportAsCsvFiles(ZipOutputStream, List)}, but runs the COPY commands of up to
+	 * {@code threads} tables at the same time, each on its own connection. Every table is compressed into a temporary file by the
+	 * thread that copies it; the zip archive is assembled from these files in the order of {@code databaseTables} at the end.
+	 * <p>
+	 * All connections import the snapshot of one repeatable read transaction ({@code pg_export_snapshot}), so the exported tables
+	 * are consistent with each other. The transaction exporting the snapshot is kept open until all tables have been copied.
+	 * <p>
+	 * Needs {@code threads + 1} connections of the data pool and runs outside of the container managed transaction.
+	 */
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public void exportAsCsvFilesInParallel(OutputStream out, List<DatabaseTable> databaseTables, int threads) throws IOException {
+
+		Path tempDirectory = Files.createTempDirectory(Paths.get(configFacade.getTempFilesPath()), "dbexport");
+		ScatterZipOutputStream[] entries = new ScatterZipOutputStream[databaseTables.size()];
+		try {
+			try (Connection snapshotConnection = dataSource.getConnection()) {
+				executeInSnapshotTransaction(snapshotConnection, () -> {
+					String snapshotId;
+					try (Statement statement = snapshotConnection.createStatement();
+						ResultSet resultSet = statement.executeQuery(EXPORT_SNAPSHOT)) {
+						resultSet.next();
+						snapshotId = resultSet.getString(1);
+					}
+
+					Queue<Integer> pendingTables = new ConcurrentLinkedQueue<>();
+					for (int i = 0; i < databaseTables.size(); i++) {
+						pendingTables.add(i);
+					}
+
+					List<Future<Void>> workers = new ArrayList<>();
+					for (int i = 0; i < Math.min(threads, databaseTables.size()); i++) {
+						workers.add(executorService.submit(() -> {
+							copyTables(snapshotId, databaseTables, pendingTables, entries, tempDirectory);
+							return null;
+						}));
+					}
+					awaitWorkers(workers, pendingTables);
+				});
+			} catch (SQLException e) {
+				throw new RuntimeException("Failed to export the database snapshot", e);
+			}
+
+			ZipArchiveOutputStream zos = new ZipArchiveOutputStream(out);
+			for (ScatterZipOutputStream entry : entries) {
+				entry.writeTo(zos);
+			}
+			zos.finish();
+		} finally {
+			for (ScatterZipOutputStream entry : entries) {
+				if (entry != null) {
+					entry.close();
+				}
+			}
+			FileUtils.deleteQuietly(tempDirectory.toFile());
+		}
+	}
+
+	/**
+	 * Copies tables taken from {@code pendingTables} until there are none left, using one connection that has imported the given
+	 * snapshot.
+	 */
+	private void copyTables(
+		String snapshotId,
+		List<DatabaseTable> databaseTables,
+		Queue<Integer> pendingTables,
+		ScatterZipOutputStream[] entries,
+		Path tempDirectory)
+		throws SQLException, IOException {
+
+		try (Connection connection = dataSource.getConnection()) {
+			executeInSnapshotTransaction(connection, () -> {
+				try (Statement statement = connection.createStatement()) {
+					statement.execute(String.format(IMPORT_SNAPSHOT, snapshotId));
+				}
+				PGConnection pgConn = connection.unwrap(PGConnection.class);
+
+				Integer index;
+				while ((index = pendingTables.poll()) != null) {
+					DatabaseTable databaseTable = databaseTables.get(index);
+					long startTime = System.currentTimeMillis();
+
+					String sql = createCopySql(getConfig(databaseTable));
+					ZipArchiveEntry zipEntry = new ZipArchiveEntry(databaseTable.getFileName() + ".csv");
+					zipEntry.setMethod(ZipEntry.DEFLATED);
+					ScatterZipOutputStream entry =
+						ScatterZipOutputStream.fileBased(Files.createTempFile(tempDirectory, databaseTable.getFileName(), ".tmp").toFile());
+					entries[index] = entry;
+					entry.addArchiveEntry(ZipArchiveEntryRequest.createZipArchiveEntryRequest(zipEntry, () -> {
+						try {
+							return new PGCopyInputStream(pgConn, sql);
+						} catch (SQLException e) {
+							throw new RuntimeException(String.format("Failed to export '%s' with COPY operation", databaseTable.getFileName()), e);
+						}
+					}));
+
+					logger.trace(
+						"exportAsCsvFilesInParallel(): Exported '{}' in {} ms. sql='{}'",
+						databaseTable.getFileName(),
+						System.currentTimeMillis() - startTime,
+						sql);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Runs {@code work} in a read only repeatable read transaction, which is rolled back afterwards. The previous settings of the
+	 * connection are restored before it is returned to the pool.
+	 */
+	private static void executeInSnapshotTransaction(Connection connection, SnapshotWork work) throws SQLException, IOException {
+
+		boolean autoCommit = connection.getAutoCommit();
+		int transactionIsolation = connection.getTransactionIsolation();
+		boolean readOnly = connection.isReadOnly();
+
+		connection.setAutoCommit(false);
+		connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+		connection.setReadOnly(true);
+		try {
+			work.execute();
+		} finally {
+			// nothing has been written, ending the transaction only releases the snapshot
+			connection.rollback();
+			connection.setReadOnly(readOnly);
+			connection.setTransactionIsolation(transactionIsolation);
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+
+	@FunctionalInterface
+	private interface SnapshotWork {
+
+		void execute() throws SQLException, IOException;
+	}
+
+	/**
+	 * Waits for all workers. If one of them fails, the remaining tables are dropped so the other workers stop early.
+	 */
+	private void awaitWorkers(List<Future<Void>> workers, Queue<Integer> pendingTables) throws IOException {
+
+		Throwable failure = null;
+		for (Future<Void> worker : workers) {
+			try {
+				worker.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				pendingTables.clear();
+				failure = failure != null ? failure : e;
+			} catch (ExecutionException e) {
+				pendingTables.clear();
+				failure = failure != null ? failure : e.getCause();
+			}
+		}
+
+		if (failure instanceof IOException) {
+			throw (IOException) failure;
+		} else if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		} else if (failure != null) {
+			throw new RuntimeException("Failed to export the database tables", failure);
+		}
+	}
+
+	private static String createCopySql(DatabaseExportConfiguration config) {
+
+		if (config.isUseJoinTable()) {
+			return String.format(
+				COPY_WITH_JOIN_TABLE,
+				config.getTableName(),
+				config.getJoinTableName(),
+				config.getColumnName(),
+				config.getJoinColumnName());
+		} else {
+			return String.format(COPY_SINGLE_TABLE, config.getTableName());
+		}
+	}
+
 	/**
 	 * Run an export command and write the result directly into a Writer
 	 * 
@@ -120,9 +120,16 @@ public class ExportFacadeEjb implements ExportFacade {
 			throw new IOException("File already exists: " + zipPath);
 		}
 
-		try (OutputStream fos = Files.newOutputStream(zipPath); ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(fos))) {
+		int threads = configFacade.getDatabaseExportThreads();
+		try (OutputStream fos = new BufferedOutputStream(Files.newOutputStream(zipPath))) {
 			// Export all selected tables to .csv files
-			databaseExportService.exportAsCsvFiles(zos, databaseTables);
+			if (threads > 1) {
+				databaseExportService.exportAsCsvFilesInParallel(fos, databaseTables, threads);
+			} else {
+				try (ZipOutputStream zos = new ZipOutputStream(fos)) {
+					databaseExportService.exportAsCsvFiles(zos, databaseTables);
+				}
+			}
 		} catch (RuntimeException e) {
 			Files.deleteIfExists(zipPath);
 			throw e;
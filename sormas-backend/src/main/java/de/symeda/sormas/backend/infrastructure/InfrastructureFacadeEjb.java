@@ -5,6 +5,7 @@ import javax.ejb.Stateless;
 
 import de.symeda.sormas.api.infrastructure.InfrastructureChangeDatesDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureFacade;
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
 import de.symeda.sormas.backend.caze.classification.CaseClassificationFacadeEjb.CaseClassificationFacadeEjbLocal;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
@@ -49,6 +50,8 @@ public class InfrastructureFacadeEjb implements InfrastructureFacade {
 	private ConfigFacadeEjbLocal configFacade;
 	@EJB
 	private FeatureConfigurationFacadeEjbLocal featureConfigurationFacade;
+	@EJB
+	private InfrastructureSnapshotService infrastructureSnapshotService;
 
 	@Override
 	public InfrastructureSyncDto getInfrastructureSyncData(InfrastructureChangeDatesDto changeDates) {
@@ -76,4 +79,9 @@ public class InfrastructureFacadeEjb implements InfrastructureFacade {
 
 		return sync;
 	}
+
+	@Override
+	public InfrastructureSnapshotDto getInfrastructureSnapshot() {
+		return infrastructureSnapshotService.getSnapshot();
+	}
 }
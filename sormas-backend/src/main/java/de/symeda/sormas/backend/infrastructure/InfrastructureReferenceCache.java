@@ -0,0 +1,340 @@
+package de.symeda.sormas.backend.infrastructure;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import de.symeda.sormas.api.ReferenceDto;
+import de.symeda.sormas.api.facility.FacilityDto;
+import de.symeda.sormas.api.facility.FacilityHelper;
+import de.symeda.sormas.api.facility.FacilityReferenceDto;
+import de.symeda.sormas.api.facility.FacilityType;
+import de.symeda.sormas.api.region.CommunityReferenceDto;
+import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.RegionReferenceDto;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.CacheLoader;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.common.InfrastructureAdo;
+import de.symeda.sormas.backend.common.VersionedCache;
+import de.symeda.sormas.backend.facility.Facility;
+import de.symeda.sormas.backend.region.Community;
+import de.symeda.sormas.backend.region.District;
+import de.symeda.sormas.backend.region.Region;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Application wide cache of the reference DTOs of all regions, districts, communities and facilities, indexed by uuid, id,
+ * name and parent, so frequent lookups (e.g. during imports) don't need a query each.
+ * <p>
+ * Each table is a {@link VersionedCache} that is reloaded completely when its number of entries or its latest change date has
+ * changed. This is checked at most once per {@link ConfigFacadeEjbLocal#getCacheRefreshSeconds() refresh interval}.
+ * Changes made by the facades of this node call {@link #invalidate()}, so they are checked for once they have been committed.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class InfrastructureReferenceCache {
+
+	/**
+	 * Property shared by all cached entities.
+	 */
+	private static final String NAME = "name";
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+	@EJB
+	private CacheLoader cacheLoader;
+
+	private final CachedTable<RegionReferenceDto> regions = new CachedTable<>(Region.class, RegionReferenceDto::new);
+	private final CachedTable<DistrictReferenceDto> districts = new CachedTable<>(District.class, DistrictReferenceDto::new, District.REGION);
+	private final CachedTable<CommunityReferenceDto> communities =
+		new CachedTable<>(Community.class, CommunityReferenceDto::new, Community.DISTRICT);
+	private final CachedTable<FacilityReferenceDto> facilities = new CachedTable<>(
+		Facility.class,
+		(uuid, name) -> new FacilityReferenceDto(uuid, FacilityHelper.buildFacilityString(uuid, name)),
+		Facility.DISTRICT,
+		Facility.COMMUNITY);
+
+	public RegionReferenceDto getRegionByUuid(String uuid) {
+		return regions.get().getByUuid(uuid);
+	}
+
+	public RegionReferenceDto getRegionById(long id) {
+		return regions.get().getById(id);
+	}
+
+	public List<RegionReferenceDto> getAllActiveRegions() {
+		return regions.get().find(e -> !e.archived);
+	}
+
+	public List<RegionReferenceDto> getRegionsByName(String name, boolean includeArchivedEntities) {
+		return regions.get().findByName(name, e -> includeArchivedEntities || !e.archived);
+	}
+
+	public DistrictReferenceDto getDistrictByUuid(String uuid) {
+		return districts.get().getByUuid(uuid);
+	}
+
+	public DistrictReferenceDto getDistrictById(long id) {
+		return districts.get().getById(id);
+	}
+
+	public List<DistrictReferenceDto> getAllActiveDistricts() {
+		return districts.get().find(e -> !e.archived);
+	}
+
+	public List<DistrictReferenceDto> getActiveDistrictsByRegion(String regionUuid) {
+		return districts.get().find(e -> !e.archived && Objects.equals(e.parentUuids[0], regionUuid));
+	}
+
+	/**
+	 * @param regionUuid
+	 *            Only districts of this region are returned, unless the region does not exist.
+	 */
+	public List<DistrictReferenceDto> getDistrictsByName(String name, String regionUuid, boolean includeArchivedEntities) {
+
+		boolean byRegion = regions.get().getByUuid(regionUuid) != null;
+		return districts.get()
+			.findByName(name, e -> (includeArchivedEntities || !e.archived) && (!byRegion || regionUuid.equals(e.parentUuids[0])));
+	}
+
+	public CommunityReferenceDto getCommunityByUuid(String uuid) {
+		return communities.get().getByUuid(uuid);
+	}
+
+	public CommunityReferenceDto getCommunityById(long id) {
+		return communities.get().getById(id);
+	}
+
+	public List<CommunityReferenceDto> getActiveCommunitiesByDistrict(String districtUuid) {
+		return communities.get().find(e -> !e.archived && Objects.equals(e.parentUuids[0], districtUuid));
+	}
+
+	/**
+	 * @param districtUuid
+	 *            Only communities of this district are returned, unless the district does not exist.
+	 */
+	public List<CommunityReferenceDto> getCommunitiesByName(String name, String districtUuid, boolean includeArchivedEntities) {
+
+		boolean byDistrict = districts.get().getByUuid(districtUuid) != null;
+		return communities.get()
+			.findByName(name, e -> (includeArchivedEntities || !e.archived) && (!byDistrict || districtUuid.equals(e.parentUuids[0])));
+	}
+
+	public FacilityReferenceDto getFacilityByUuid(String uuid) {
+		return facilities.get().getByUuid(uuid);
+	}
+
+	public FacilityReferenceDto getFacilityById(long id) {
+		return facilities.get().getById(id);
+	}
+
+	/**
+	 * Equivalent to {@link de.symeda.sormas.backend.facility.FacilityService#getHealthFacilitiesByName}: Laboratories are excluded,
+	 * the community takes precedence over the district and neither is considered for the constant facilities.
+	 */
+	public List<FacilityReferenceDto> getHealthFacilitiesByName(
+		String name,
+		String districtUuid,
+		String communityUuid,
+		boolean includeArchivedEntities) {
+
+		String trimmedName = name.trim();
+		boolean constantFacility = FacilityDto.OTHER_FACILITY.equals(trimmedName) || FacilityDto.NO_FACILITY.equals(trimmedName);
+		boolean byCommunity = !constantFacility && communities.get().getByUuid(communityUuid) != null;
+		boolean byDistrict = !constantFacility && !byCommunity && districts.get().getByUuid(districtUuid) != null;
+
+		return facilities.get()
+			.findByName(
+				name,
+				e -> (includeArchivedEntities || !e.archived)
+					&& e.facilityType != FacilityType.LABORATORY
+					&& (!byCommunity || communityUuid.equals(e.parentUuids[1]))
+					&& (!byDistrict || districtUuid.equals(e.parentUuids[0])));
+	}
+
+	/**
+	 * Makes sure the first access after the current transaction has been completed checks whether the cached infrastructure data
+	 * has been changed.
+	 */
+	public void invalidate() {
+
+		regions.invalidate();
+		districts.invalidate();
+		communities.invalidate();
+		facilities.invalidate();
+	}
+
+	private static String toNameKey(String name) {
+		return name != null ? name.trim().toLowerCase(Locale.ROOT) : null;
+	}
+
+	private static final class CachedEntry {
+
+		private final long id;
+		private final String uuid;
+		private final String name;
+		private final boolean archived;
+		private final String[] parentUuids;
+		private final FacilityType facilityType;
+
+		private CachedEntry(long id, String uuid, String name, boolean archived, String[] parentUuids, FacilityType facilityType) {
+			this.id = id;
+			this.uuid = uuid;
+			this.name = name;
+			this.archived = archived;
+			this.parentUuids = parentUuids;
+			this.facilityType = facilityType;
+		}
+	}
+
+	/**
+	 * Immutable content of one table, sorted by name.
+	 */
+	private static final class CachedContent<R extends ReferenceDto> {
+
+		private final BiFunction<String, String, R> referenceFactory;
+		private final List<CachedEntry> entries;
+		private final Map<String, CachedEntry> byUuid = new HashMap<>();
+		private final Map<Long, CachedEntry> byId = new HashMap<>();
+		private final Map<String, List<CachedEntry>> byName = new HashMap<>();
+
+		private CachedContent(BiFunction<String, String, R> referenceFactory, List<CachedEntry> entries) {
+
+			this.referenceFactory = referenceFactory;
+			this.entries = entries;
+			for (CachedEntry entry : entries) {
+				byUuid.put(entry.uuid, entry);
+				byId.put(entry.id, entry);
+				byName.computeIfAbsent(toNameKey(entry.name), k -> new ArrayList<>()).add(entry);
+			}
+		}
+
+		/**
+		 * Reference DTOs are mutable, so every caller gets its own instance.
+		 */
+		private R toReference(CachedEntry entry) {
+			return entry != null ? referenceFactory.apply(entry.uuid, entry.name) : null;
+		}
+
+		R getByUuid(String uuid) {
+			return uuid != null ? toReference(byUuid.get(uuid)) : null;
+		}
+
+		R getById(long id) {
+			return toReference(byId.get(id));
+		}
+
+		List<R> find(Predicate<CachedEntry> filter) {
+			return entries.stream().filter(filter).map(this::toReference).collect(Collectors.toList());
+		}
+
+		List<R> findByName(String name, Predicate<CachedEntry> filter) {
+			return byName.getOrDefault(toNameKey(name), Collections.emptyList())
+				.stream()
+				.filter(filter)
+				.map(this::toReference)
+				.collect(Collectors.toList());
+		}
+	}
+
+	private final class CachedTable<R extends ReferenceDto> {
+
+		private final Class<? extends InfrastructureAdo> entityClass;
+		private final String[] parentProperties;
+
+		private final VersionedCache<CachedContent<R>> cache;
+
+		private CachedTable(
+			Class<? extends InfrastructureAdo> entityClass,
+			BiFunction<String, String, R> referenceFactory,
+			String... parentProperties) {
+
+			this.entityClass = entityClass;
+			this.parentProperties = parentProperties;
+			this.cache = new VersionedCache<>(this::loadVersion, () -> new CachedContent<>(referenceFactory, loadEntries()));
+		}
+
+		CachedContent<R> get() {
+			return cache.get(cacheLoader, configFacade.getCacheRefreshSeconds());
+		}
+
+		void invalidate() {
+			cache.invalidate(cacheLoader);
+		}
+
+		private Object loadVersion() {
+
+			CriteriaBuilder cb = em.getCriteriaBuilder();
+			CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+			Root<? extends InfrastructureAdo> root = cq.from(entityClass);
+			cq.multiselect(cb.count(root), cb.greatest(root.<Timestamp> get(AbstractDomainObject.CHANGE_DATE)));
+
+			// count and latest change date; the time stamp is compared including its fractional seconds
+			return Arrays.asList(em.createQuery(cq).getSingleResult());
+		}
+
+		private List<CachedEntry> loadEntries() {
+
+			CriteriaBuilder cb = em.getCriteriaBuilder();
+			CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+			Root<? extends InfrastructureAdo> root = cq.from(entityClass);
+
+			List<Selection<?>> selections = new ArrayList<>();
+			selections.add(root.get(AbstractDomainObject.ID));
+			selections.add(root.get(AbstractDomainObject.UUID));
+			selections.add(root.get(NAME));
+			selections.add(root.get(InfrastructureAdo.ARCHIVED));
+			for (String parentProperty : parentProperties) {
+				selections.add(root.join(parentProperty, JoinType.LEFT).get(AbstractDomainObject.UUID));
+			}
+			boolean isFacility = entityClass == Facility.class;
+			if (isFacility) {
+				selections.add(root.get(Facility.TYPE));
+			}
+			cq.multiselect(selections);
+			cq.orderBy(cb.asc(root.get(NAME)), cb.asc(root.get(AbstractDomainObject.ID)));
+
+			List<CachedEntry> entries = new ArrayList<>();
+			for (Object[] row : em.createQuery(cq).getResultList()) {
+				String[] parentUuids = new String[parentProperties.length];
+				for (int i = 0; i < parentUuids.length; i++) {
+					parentUuids[i] = (String) row[4 + i];
+				}
+				entries.add(
+					new CachedEntry(
+						(Long) row[0],
+						(String) row[1],
+						(String) row[2],
+						Boolean.TRUE.equals(row[3]),
+						parentUuids,
+						isFacility ? (FacilityType) row[4 + parentUuids.length] : null));
+			}
+			return entries;
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package de.symeda.sormas.backend.infrastructure;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto;
+import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
+import de.symeda.sormas.backend.common.AbstractAdoService;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.facility.FacilityFacadeEjb.FacilityFacadeEjbLocal;
+import de.symeda.sormas.backend.facility.FacilityService;
+import de.symeda.sormas.backend.infrastructure.PointOfEntryFacadeEjb.PointOfEntryFacadeEjbLocal;
+import de.symeda.sormas.backend.region.CommunityFacadeEjb.CommunityFacadeEjbLocal;
+import de.symeda.sormas.backend.region.CommunityService;
+import de.symeda.sormas.backend.region.DistrictFacadeEjb.DistrictFacadeEjbLocal;
+import de.symeda.sormas.backend.region.DistrictService;
+import de.symeda.sormas.backend.region.RegionFacadeEjb.RegionFacadeEjbLocal;
+import de.symeda.sormas.backend.region.RegionService;
+
+/**
+ * Maintains a gzip compressed JSON file containing all regions, districts, communities, facilities and points of entry,
+ * so an initial infrastructure sync of the mobile app does not have to query and serialize them again for every device.
+ * <p>
+ * The snapshot is identified by a version derived from the number and latest change date of these entities. A new snapshot
+ * is only created when this version has changed. Older snapshot files are deleted afterwards, except for the snapshot that has
+ * just been replaced, because it may still be about to be read by a sync that has been started before.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class InfrastructureSnapshotService {
+
+	static final String SNAPSHOT_DIRECTORY = "infrastructure";
+	private static final String SNAPSHOT_FILE_PREFIX = "infrastructure_";
+	private static final String SNAPSHOT_FILE_SUFFIX = ".json.gz";
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+	@EJB
+	private RegionService regionService;
+	@EJB
+	private DistrictService districtService;
+	@EJB
+	private CommunityService communityService;
+	@EJB
+	private FacilityService facilityService;
+	@EJB
+	private PointOfEntryService pointOfEntryService;
+	@EJB
+	private RegionFacadeEjbLocal regionFacade;
+	@EJB
+	private DistrictFacadeEjbLocal districtFacade;
+	@EJB
+	private CommunityFacadeEjbLocal communityFacade;
+	@EJB
+	private FacilityFacadeEjbLocal facilityFacade;
+	@EJB
+	private PointOfEntryFacadeEjbLocal pointOfEntryFacade;
+
+	private volatile InfrastructureSnapshotDto snapshot;
+
+	/**
+	 * @return The latest snapshot that has been created. Creates the snapshot if none has been created yet.
+	 */
+	public InfrastructureSnapshotDto getSnapshot() {
+
+		InfrastructureSnapshotDto currentSnapshot = snapshot;
+		if (currentSnapshot == null || !Files.exists(Paths.get(currentSnapshot.getFilePath()))) {
+			currentSnapshot = updateSnapshot();
+		}
+		return currentSnapshot;
+	}
+
+	/**
+	 * Creates a new snapshot if the infrastructure data has been changed since the last snapshot was created.
+	 */
+	public synchronized InfrastructureSnapshotDto updateSnapshot() {
+
+		String version = getCurrentVersion();
+		Path directory = Paths.get(configFacade.getGeneratedFilesPath(), SNAPSHOT_DIRECTORY);
+		Path snapshotFile = directory.resolve(SNAPSHOT_FILE_PREFIX + version + SNAPSHOT_FILE_SUFFIX);
+
+		// the file may also have been written before the server has been restarted
+		if (!Files.exists(snapshotFile)) {
+			long startTime = System.currentTimeMillis();
+			try {
+				Files.createDirectories(directory);
+				writeSnapshot(directory, snapshotFile);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to write infrastructure snapshot " + snapshotFile, e);
+			}
+			logger.info("Created infrastructure snapshot {} in {} ms", version, System.currentTimeMillis() - startTime);
+		}
+
+		snapshot = new InfrastructureSnapshotDto(version, snapshotFile.toString());
+		deleteOutdatedSnapshots(directory, snapshotFile);
+		return snapshot;
+	}
+
+	/**
+	 * The version changes whenever an entity is added or changed (which includes archiving).
+	 */
+	String getCurrentVersion() {
+
+		long count = 0;
+		long latestChange = 0;
+		for (AbstractAdoService<?> service : new AbstractAdoService<?>[] {
+			regionService,
+			districtService,
+			communityService,
+			facilityService,
+			pointOfEntryService }) {
+			count += service.count();
+			Timestamp latestChangeDate = service.getLatestChangeDate();
+			if (latestChangeDate != null) {
+				latestChange = Math.max(latestChange, latestChangeDate.getTime());
+			}
+		}
+
+		return Long.toHexString(latestChange) + "-" + Long.toHexString(count);
+	}
+
+	private void writeSnapshot(Path directory, Path snapshotFile) throws IOException {
+
+		InfrastructureSyncDto data = new InfrastructureSyncDto();
+		data.setRegions(regionFacade.getAllAfter(null));
+		data.setDistricts(districtFacade.getAllAfter(null));
+		data.setCommunities(communityFacade.getAllAfter(null));
+		data.setFacilities(facilityFacade.getAllByRegionAfter(null, null));
+		data.setPointsOfEntry(pointOfEntryFacade.getAllAfter(null));
+
+		// write to a temporary file first, so a snapshot file is never read before it is complete
+		Path tempFile = Files.createTempFile(directory, SNAPSHOT_FILE_PREFIX, ".tmp");
+		try {
+			try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+				objectMapper.writeValue(out, data);
+			}
+			Files.move(tempFile, snapshotFile, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	private void deleteOutdatedSnapshots(Path directory, Path snapshotFile) {
+
+		try {
+			List<Path> outdatedFiles = new ArrayList<>();
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SNAPSHOT_FILE_PREFIX + "*" + SNAPSHOT_FILE_SUFFIX)) {
+				for (Path file : files) {
+					if (!file.equals(snapshotFile)) {
+						outdatedFiles.add(file);
+					}
+				}
+			}
+
+			// keep the newest of them, which is the snapshot that has just been replaced
+			outdatedFiles.sort(Comparator.comparing(InfrastructureSnapshotService::getLastModifiedTime).reversed());
+			for (Path file : outdatedFiles.subList(Math.min(1, outdatedFiles.size()), outdatedFiles.size())) {
+				Files.deleteIfExists(file);
+			}
+		} catch (IOException | UncheckedIOException e) {
+			logger.warn("Failed to delete outdated infrastructure snapshots", e);
+		}
+	}
+
+	private static FileTime getLastModifiedTime(Path file) {
+
+		try {
+			return Files.getLastModifiedTime(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
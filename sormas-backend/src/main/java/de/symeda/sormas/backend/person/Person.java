@@ -19,6 +19,7 @@ package de.symeda.sormas.backend.person;
 
 import static de.symeda.sormas.api.EntityDto.COLUMN_LENGTH_DEFAULT;
 
+import java.sql.Timestamp;
 import java.util.Date;
 
 import javax.persistence.CascadeType;
@@ -32,6 +33,7 @@ import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
 
 import de.symeda.auditlog.api.Audited;
+import de.symeda.auditlog.api.AuditedIgnore;
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.person.ApproximateAgeType;
 import de.symeda.sormas.api.person.BurialConductor;
@@ -101,6 +103,7 @@ public class Person extends AbstractDomainObject {
 	public static final String PASSPORT_NUMBER = "passportNumber";
 	public static final String NATIONAL_HEALTH_ID = "nationalHealthId";
 	public static final String EMAIL_ADDRESS = "emailAddress";
+	public static final String AGGREGATE_CHANGE_DATE = "aggregateChangeDate";
 
 	private String firstName;
 	private String lastName;
@@ -155,6 +158,7 @@ public class Person extends AbstractDomainObject {
 	private String generalPractitionerDetails;
 	private String passportNumber;
 	private String nationalHealthId;
+	private Timestamp aggregateChangeDate;
 
 	@Column(nullable = false, length = COLUMN_LENGTH_DEFAULT)
 	public String getFirstName() {
@@ -564,4 +568,18 @@ public class Person extends AbstractDomainObject {
 	public String toString() {
 		return PersonDto.buildCaption(firstName, lastName);
 	}
+
+	/**
+	 * Latest change date of the person and its address. Maintained by {@link PersonService} with a separate update,
+	 * so it does not change the version of the entity.
+	 */
+	@AuditedIgnore
+	@Column(insertable = false, updatable = false)
+	public Timestamp getAggregateChangeDate() {
+		return aggregateChangeDate;
+	}
+
+	public void setAggregateChangeDate(Timestamp aggregateChangeDate) {
+		this.aggregateChangeDate = aggregateChangeDate;
+	}
 }
@@ -19,6 +19,7 @@ package de.symeda.sormas.backend.person;
 
 import com.auth0.jwt.internal.org.apache.commons.lang3.StringUtils;
 import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseDataDto;
 import de.symeda.sormas.api.caze.CaseOutcome;
@@ -41,12 +42,14 @@ import de.symeda.sormas.api.utils.DataHelper.Pair;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.caze.CaseAggregateCache;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
 import de.symeda.sormas.backend.caze.CaseJurisdictionChecker;
 import de.symeda.sormas.backend.caze.CaseService;
 import de.symeda.sormas.backend.caze.CaseUserFilterCriteria;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.common.SyncCursor;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactJurisdictionChecker;
 import de.symeda.sormas.backend.contact.ContactService;
@@ -88,6 +91,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -131,6 +135,8 @@ public class PersonFacadeEjb implements PersonFacade {
 	private EventJurisdictionChecker eventJurisdictionChecker;
 	@EJB
 	private VisitFacadeEjbLocal visitFacade;
+	@EJB
+	private CaseAggregateCache caseAggregateCache;
 
 	@Override
 	public List<String> getAllUuids() {
@@ -240,6 +246,21 @@ public class PersonFacadeEjb implements PersonFacade {
 		return result;
 	}
 
+	@Override
+	public SyncPageDto<PersonDto> getPersonsPage(Date date, String cursor) {
+
+		User user = userService.getCurrentUser();
+		if (user == null) {
+			return new SyncPageDto<>(Collections.emptyList(), null);
+		}
+
+		int pageSize = configFacade.getSyncPageSize();
+		return personService.executeReadOnly(() -> {
+			List<Person> persons = personService.getAllAfter(date, user, SyncCursor.parse(cursor), pageSize + 1);
+			return SyncCursor.toPage(persons, pageSize, this::convertToDto);
+		});
+	}
+
 	@Override
 	public List<PersonDto> getByUuids(List<String> uuids) {
 		return personService.getByUuids(uuids).stream().map(this::convertToDto).collect(Collectors.toList());
@@ -288,7 +309,16 @@ public class PersonFacadeEjb implements PersonFacade {
 		person = fillOrBuildEntity(source, person);
 		personService.ensurePersisted(person);
 
+		// the names of the person are part of the search texts of cases and contacts
+		if (existingPerson != null
+			&& (!Objects.equals(existingPerson.getFirstName(), person.getFirstName())
+				|| !Objects.equals(existingPerson.getLastName(), person.getLastName()))) {
+			caseService.updateSearchTexts(person);
+			contactService.updateSearchTexts(person);
+		}
+
 		onPersonChanged(existingPerson, person);
+		caseAggregateCache.invalidate();
 
 		return convertToDto(person);
 	}
@@ -29,6 +29,8 @@ import java.util.stream.Stream;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.EntityExistsException;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.From;
@@ -47,6 +49,7 @@ import de.symeda.sormas.backend.caze.Case;
 import de.symeda.sormas.backend.caze.CaseService;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.SyncCursor;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactService;
 import de.symeda.sormas.backend.event.EventParticipant;
@@ -133,6 +136,17 @@ public class PersonService extends AbstractAdoService<Person> {
 
 	@Override
 	public List<Person> getAllAfter(Date date, User user) {
+		return getAllAfter(date, user, null, null);
+	}
+
+	/**
+	 * @param cursor
+	 *            When not null, only persons positioned after the cursor are returned, ordered by {@link SyncCursor#ORDER}.
+	 * @param maxResults
+	 *            When not null, the result is limited and ordered by {@link SyncCursor#ORDER}.
+	 *            The partial queries by LGA, case, contact and event participant are limited individually before being merged.
+	 */
+	public List<Person> getAllAfter(Date date, User user, SyncCursor cursor, Integer maxResults) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 
@@ -146,8 +160,11 @@ public class PersonService extends AbstractAdoService<Person> {
 			Predicate dateFilter = createChangeDateFilter(cb, personsRoot, DateHelper.toTimestampUpper(date));
 			lgaFilter = cb.and(lgaFilter, dateFilter);
 		}
+		if (cursor != null) {
+			lgaFilter = cb.and(lgaFilter, cursor.createFilter(cb, personsRoot));
+		}
 		personsQuery.where(lgaFilter);
-		List<Person> lgaResultList = em.createQuery(personsQuery).getResultList();
+		List<Person> lgaResultList = getResultList(cb, personsQuery, personsRoot, cursor, maxResults);
 
 		// persons by case
 		CriteriaQuery<Person> casePersonsQuery = cb.createQuery(Person.class);
@@ -167,11 +184,14 @@ public class PersonService extends AbstractAdoService<Person> {
 				casePersonsFilter = cb.or(dateFilter, caseDateFilter);
 			}
 		}
+		if (cursor != null) {
+			casePersonsFilter = and(cb, casePersonsFilter, cursor.createFilter(cb, casePersonsSelect));
+		}
 		if (casePersonsFilter != null) {
 			casePersonsQuery.where(casePersonsFilter);
 		}
 		casePersonsQuery.distinct(true);
-		List<Person> casePersonsResultList = em.createQuery(casePersonsQuery).getResultList();
+		List<Person> casePersonsResultList = getResultList(cb, casePersonsQuery, casePersonsSelect, cursor, maxResults);
 
 		// persons by contact
 		CriteriaQuery<Person> contactPersonsQuery = cb.createQuery(Person.class);
@@ -186,11 +206,14 @@ public class PersonService extends AbstractAdoService<Person> {
 			Predicate contactDateFilter = contactService.createChangeDateFilter(cb, contactPersonsRoot, date);
 			contactPersonsFilter = cb.and(contactPersonsFilter, cb.or(dateFilter, contactDateFilter));
 		}
+		if (cursor != null) {
+			contactPersonsFilter = and(cb, contactPersonsFilter, cursor.createFilter(cb, contactPersonsSelect));
+		}
 		if (contactPersonsFilter != null) {
 			contactPersonsQuery.where(contactPersonsFilter);
 		}
 		contactPersonsQuery.distinct(true);
-		List<Person> contactPersonsResultList = em.createQuery(contactPersonsQuery).getResultList();
+		List<Person> contactPersonsResultList = getResultList(cb, contactPersonsQuery, contactPersonsSelect, cursor, maxResults);
 
 		// persons by event participant
 		CriteriaQuery<Person> eventPersonsQuery = cb.createQuery(Person.class);
@@ -206,17 +229,56 @@ public class PersonService extends AbstractAdoService<Person> {
 				eventParticipantService.createChangeDateFilter(cb, eventPersonsRoot, DateHelper.toTimestampUpper(date));
 			eventPersonsFilter = cb.and(eventPersonsFilter, cb.or(dateFilter, eventParticipantDateFilter));
 		}
+		if (cursor != null) {
+			eventPersonsFilter = and(cb, eventPersonsFilter, cursor.createFilter(cb, eventPersonsSelect));
+		}
 		if (eventPersonsFilter != null) {
 			eventPersonsQuery.where(eventPersonsFilter);
 		}
 		eventPersonsQuery.distinct(true);
-		List<Person> eventPersonsResultList = em.createQuery(eventPersonsQuery).getResultList();
+		List<Person> eventPersonsResultList = getResultList(cb, eventPersonsQuery, eventPersonsSelect, cursor, maxResults);
 
-		return Stream.of(lgaResultList, casePersonsResultList, contactPersonsResultList, eventPersonsResultList)
+		Stream<Person> persons = Stream.of(lgaResultList, casePersonsResultList, contactPersonsResultList, eventPersonsResultList)
 			.flatMap(List<Person>::stream)
-			.distinct()
-			.sorted(Comparator.comparing(Person::getChangeDate))
-			.collect(Collectors.toList());
+			.distinct();
+
+		if (cursor == null && maxResults == null) {
+			return persons.sorted(Comparator.comparing(Person::getChangeDate)).collect(Collectors.toList());
+		}
+
+		persons = persons.sorted(SyncCursor.ORDER);
+		if (maxResults != null) {
+			persons = persons.limit(maxResults);
+		}
+		return persons.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns 1 when {@link #getAllAfter(Date, User)} would return any person and 0 otherwise, because the persons are collected
+	 * by several partial queries that can't be counted together.
+	 */
+	@Override
+	public long countAfter(Date date, User user) {
+		return getAllAfter(date, user, null, 1).size();
+	}
+
+	private List<Person> getResultList(
+		CriteriaBuilder cb,
+		CriteriaQuery<Person> cq,
+		From<?, Person> person,
+		SyncCursor cursor,
+		Integer maxResults) {
+
+		if (cursor == null && maxResults == null) {
+			return em.createQuery(cq).getResultList();
+		}
+
+		cq.orderBy(SyncCursor.createOrder(cb, person));
+		TypedQuery<Person> query = em.createQuery(cq);
+		if (maxResults != null) {
+			query.setMaxResults(maxResults);
+		}
+		return query.getResultList();
 	}
 
 	public Set<PersonNameDto> getMatchingNameDtos(User user, PersonSimilarityCriteria criteria) {
@@ -390,8 +452,20 @@ public class PersonService extends AbstractAdoService<Person> {
 	public Predicate createChangeDateFilter(CriteriaBuilder cb, From<?, Person> from, Timestamp date) {
 
 		Predicate dateFilter = cb.greaterThan(from.get(AbstractDomainObject.CHANGE_DATE), date);
-		Join<Person, Location> address = from.join(Person.ADDRESS);
-		dateFilter = cb.or(dateFilter, cb.greaterThan(address.get(AbstractDomainObject.CHANGE_DATE), date));
+		// changes of the address are covered by the aggregate change date
+		dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, from.get(Person.AGGREGATE_CHANGE_DATE), date));
 		return dateFilter;
 	}
+
+	@Override
+	public void ensurePersisted(Person person) throws EntityExistsException {
+
+		super.ensurePersisted(person);
+		person.setAggregateChangeDate(
+			updateAggregateChangeDate(
+				person,
+				Person.AGGREGATE_CHANGE_DATE,
+				person.getAggregateChangeDate(),
+				getLatestChangeDate(Stream.of(person, person.getAddress()))));
+	}
 }
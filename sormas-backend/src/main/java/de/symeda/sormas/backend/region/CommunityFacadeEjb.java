@@ -52,6 +52,7 @@ import de.symeda.sormas.api.region.DistrictReferenceDto;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.facility.Facility;
+import de.symeda.sormas.backend.infrastructure.InfrastructureReferenceCache;
 import de.symeda.sormas.backend.user.UserService;
 import de.symeda.sormas.backend.util.DtoHelper;
 import de.symeda.sormas.backend.util.ModelConstants;
@@ -68,12 +69,12 @@ public class CommunityFacadeEjb implements CommunityFacade {
 	private UserService userService;
 	@EJB
 	private DistrictService districtService;
+	@EJB
+	private InfrastructureReferenceCache infrastructureReferenceCache;
 
 	@Override
 	public List<CommunityReferenceDto> getAllActiveByDistrict(String districtUuid) {
-
-		District district = districtService.getByUuid(districtUuid);
-		return district.getCommunities().stream().filter(c -> !c.isArchived()).map(f -> toReferenceDto(f)).collect(Collectors.toList());
+		return infrastructureReferenceCache.getActiveCommunitiesByDistrict(districtUuid);
 	}
 
 	@Override
@@ -100,6 +101,7 @@ public class CommunityFacadeEjb implements CommunityFacade {
 		Community community = communityService.getByUuid(communityUuid);
 		community.setArchived(true);
 		communityService.ensurePersisted(community);
+		infrastructureReferenceCache.invalidate();
 	}
 
 	@Override
@@ -108,6 +110,7 @@ public class CommunityFacadeEjb implements CommunityFacade {
 		Community community = communityService.getByUuid(communityUuid);
 		community.setArchived(false);
 		communityService.ensurePersisted(community);
+		infrastructureReferenceCache.invalidate();
 	}
 
 	// Need to be in the same order as in the constructor
@@ -228,12 +231,12 @@ public class CommunityFacadeEjb implements CommunityFacade {
 
 	@Override
 	public CommunityReferenceDto getCommunityReferenceByUuid(String uuid) {
-		return toReferenceDto(communityService.getByUuid(uuid));
+		return infrastructureReferenceCache.getCommunityByUuid(uuid);
 	}
 
 	@Override
 	public CommunityReferenceDto getCommunityReferenceById(long id) {
-		return toReferenceDto(communityService.getById(id));
+		return infrastructureReferenceCache.getCommunityById(id);
 	}
 
 	@Override
@@ -270,15 +273,13 @@ public class CommunityFacadeEjb implements CommunityFacade {
 
 		community = fillOrBuildEntity(dto, community);
 		communityService.ensurePersisted(community);
+		infrastructureReferenceCache.invalidate();
 	}
 
 	@Override
 	public List<CommunityReferenceDto> getByName(String name, DistrictReferenceDto districtRef, boolean includeArchivedEntities) {
 
-		return communityService.getByName(name, districtService.getByReferenceDto(districtRef), includeArchivedEntities)
-			.stream()
-			.map(c -> toReferenceDto(c))
-			.collect(Collectors.toList());
+		return infrastructureReferenceCache.getCommunitiesByName(name, districtRef != null ? districtRef.getUuid() : null, includeArchivedEntities);
 	}
 
 	@Override
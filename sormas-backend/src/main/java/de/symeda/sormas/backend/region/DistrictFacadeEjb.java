@@ -53,6 +53,7 @@ import de.symeda.sormas.api.region.RegionReferenceDto;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.facility.Facility;
+import de.symeda.sormas.backend.infrastructure.InfrastructureReferenceCache;
 import de.symeda.sormas.backend.infrastructure.PointOfEntry;
 import de.symeda.sormas.backend.infrastructure.PopulationDataFacadeEjb.PopulationDataFacadeEjbLocal;
 import de.symeda.sormas.backend.user.UserService;
@@ -73,17 +74,17 @@ public class DistrictFacadeEjb implements DistrictFacade {
 	private RegionService regionService;
 	@EJB
 	private PopulationDataFacadeEjbLocal populationDataFacade;
+	@EJB
+	private InfrastructureReferenceCache infrastructureReferenceCache;
 
 	@Override
 	public List<DistrictReferenceDto> getAllActiveAsReference() {
-		return districtService.getAllActive(District.NAME, true).stream().map(f -> toReferenceDto(f)).collect(Collectors.toList());
+		return infrastructureReferenceCache.getAllActiveDistricts();
 	}
 
 	@Override
 	public List<DistrictReferenceDto> getAllActiveByRegion(String regionUuid) {
-
-		Region region = regionService.getByUuid(regionUuid);
-		return region.getDistricts().stream().filter(d -> !d.isArchived()).map(f -> toReferenceDto(f)).collect(Collectors.toList());
+		return infrastructureReferenceCache.getActiveDistrictsByRegion(regionUuid);
 	}
 
 	@Override
@@ -221,12 +222,12 @@ public class DistrictFacadeEjb implements DistrictFacade {
 
 	@Override
 	public DistrictReferenceDto getDistrictReferenceByUuid(String uuid) {
-		return toReferenceDto(districtService.getByUuid(uuid));
+		return infrastructureReferenceCache.getDistrictByUuid(uuid);
 	}
 
 	@Override
 	public DistrictReferenceDto getDistrictReferenceById(long id) {
-		return toReferenceDto(districtService.getById(id));
+		return infrastructureReferenceCache.getDistrictById(id);
 	}
 
 	@Override
@@ -262,15 +263,13 @@ public class DistrictFacadeEjb implements DistrictFacade {
 
 		district = fillOrBuildEntity(dto, district);
 		districtService.ensurePersisted(district);
+		infrastructureReferenceCache.invalidate();
 	}
 
 	@Override
 	public List<DistrictReferenceDto> getByName(String name, RegionReferenceDto regionRef, boolean includeArchivedEntities) {
 
-		return districtService.getByName(name, regionService.getByReferenceDto(regionRef), includeArchivedEntities)
-			.stream()
-			.map(d -> toReferenceDto(d))
-			.collect(Collectors.toList());
+		return infrastructureReferenceCache.getDistrictsByName(name, regionRef != null ? regionRef.getUuid() : null, includeArchivedEntities);
 	}
 
 	@Override
@@ -292,6 +291,7 @@ public class DistrictFacadeEjb implements DistrictFacade {
 		District district = districtService.getByUuid(districtUuid);
 		district.setArchived(true);
 		districtService.ensurePersisted(district);
+		infrastructureReferenceCache.invalidate();
 	}
 
 	@Override
@@ -300,6 +300,7 @@ public class DistrictFacadeEjb implements DistrictFacade {
 		District district = districtService.getByUuid(districtUuid);
 		district.setArchived(false);
 		districtService.ensurePersisted(district);
+		infrastructureReferenceCache.invalidate();
 	}
 
 	@Override
@@ -23,13 +23,14 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 
 import javax.annotation.PostConstruct;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
-import javax.ejb.Stateless;
+import javax.ejb.Singleton;
 
 import org.geotools.data.shapefile.ShapefileDataStore;
 import org.geotools.data.simple.SimpleFeatureIterator;
@@ -41,6 +42,9 @@ import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
 import org.opengis.feature.GeometryAttribute;
 import org.opengis.feature.simple.SimpleFeature;
 import org.slf4j.Logger;
@@ -54,7 +58,16 @@ import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.region.DistrictFacadeEjb.DistrictFacadeEjbLocal;
 import de.symeda.sormas.backend.region.RegionFacadeEjb.RegionFacadeEjbLocal;
 
-@Stateless(name = "GeoShapeProvider")
+/**
+ * Loads the shapes of all regions and districts once and keeps them in memory, so all lookups are answered without accessing
+ * the shapefiles again. Coordinate lookups are answered by a spatial index of the prepared shapes.
+ * <p>
+ * The data is not changed after it has been loaded, so the bean doesn't need any locking. The bean also has a no-interface view
+ * for local clients, so there is only one instance that loads the shapes.
+ */
+@Singleton(name = "GeoShapeProvider")
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
 public class GeoShapeProviderEjb implements GeoShapeProvider {
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
@@ -66,13 +79,17 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 	@EJB
 	private ConfigFacadeEjbLocal configFacade;
 
+	private final GeometryFactory geometryFactory = JTSFactoryFinder.getGeometryFactory();
+
 	private Map<RegionReferenceDto, MultiPolygon> regionMultiPolygons = new HashMap<>();
 	private Map<RegionReferenceDto, GeoLatLon[][]> regionShapes = new HashMap<>();
+	private ShapeIndex<RegionReferenceDto> regionIndex = new ShapeIndex<>();
 
 	private GeoLatLon regionsCenter;
 
 	private Map<DistrictReferenceDto, MultiPolygon> districtMultiPolygons = new HashMap<>();
 	private Map<DistrictReferenceDto, GeoLatLon[][]> districtShapes = new HashMap<>();
+	private ShapeIndex<DistrictReferenceDto> districtIndex = new ShapeIndex<>();
 
 	private GeoLatLon[][] countryShape;
 
@@ -88,15 +105,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 
 	@Override
 	public RegionReferenceDto getRegionByCoord(GeoLatLon latLon) {
-
-		for (Entry<RegionReferenceDto, MultiPolygon> regionMultiPolygon : regionMultiPolygons.entrySet()) {
-			if (regionMultiPolygon.getValue()
-				.contains(
-					GeometryFactory.createPointFromInternalCoord(new Coordinate(latLon.getLon(), latLon.getLat()), regionMultiPolygon.getValue()))) {
-				return regionMultiPolygon.getKey();
-			}
-		}
-		return null;
+		return regionIndex.find(createPoint(latLon));
 	}
 
 	@Override
@@ -144,16 +153,24 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 
 	@Override
 	public DistrictReferenceDto getDistrictByCoord(GeoLatLon latLon) {
+		return districtIndex.find(createPoint(latLon));
+	}
 
-		for (Entry<DistrictReferenceDto, MultiPolygon> districtMultiPolygon : districtMultiPolygons.entrySet()) {
-			if (districtMultiPolygon.getValue()
-				.contains(
-					GeometryFactory
-						.createPointFromInternalCoord(new Coordinate(latLon.getLon(), latLon.getLat()), districtMultiPolygon.getValue()))) {
-				return districtMultiPolygon.getKey();
-			}
+	/**
+	 * Looks up all coordinates in the district index that has been loaded once, without a remote call per coordinate.
+	 */
+	@Override
+	public List<DistrictReferenceDto> getDistrictsByCoords(List<GeoLatLon> latLons) {
+
+		List<DistrictReferenceDto> districts = new ArrayList<>(latLons.size());
+		for (GeoLatLon latLon : latLons) {
+			districts.add(latLon != null ? districtIndex.find(createPoint(latLon)) : null);
 		}
-		return null;
+		return districts;
+	}
+
+	private Point createPoint(GeoLatLon latLon) {
+		return geometryFactory.createPoint(new Coordinate(latLon.getLon(), latLon.getLat()));
 	}
 
 	@Override
@@ -184,6 +201,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 
 		regionShapes.clear();
 		regionMultiPolygons.clear();
+		regionIndex = new ShapeIndex<>();
 
 		// load shapefile
 		String filepath = "shapefiles/" + countryName + "/regions.shp";
@@ -234,6 +252,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 				RegionReferenceDto region = regionResult.get();
 
 				regionMultiPolygons.put(region, multiPolygon);
+				regionIndex.add(region, multiPolygon);
 
 				GeoLatLon[][] regionShape = new GeoLatLon[multiPolygon.getNumGeometries()][];
 				for (int i = 0; i < multiPolygon.getNumGeometries(); i++) {
@@ -246,6 +265,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 			}
 			iterator.close();
 			dataStore.dispose();
+			regionIndex.build();
 
 			StringBuilder notFoundRegions = new StringBuilder();
 			for (RegionReferenceDto region : regions) {
@@ -270,6 +290,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 
 		districtShapes.clear();
 		districtMultiPolygons.clear();
+		districtIndex = new ShapeIndex<>();
 
 		// load shapefile
 		String filepath = "shapefiles/" + countryName + "/districts.shp";
@@ -325,6 +346,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 				DistrictReferenceDto district = districtResult.get();
 
 				districtMultiPolygons.put(district, multiPolygon);
+				districtIndex.add(district, multiPolygon);
 
 				GeoLatLon[][] districtShape = new GeoLatLon[multiPolygon.getNumGeometries()][];
 				for (int i = 0; i < multiPolygon.getNumGeometries(); i++) {
@@ -337,6 +359,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 			}
 			iterator.close();
 			dataStore.dispose();
+			districtIndex.build();
 
 			StringBuilder notFoundDistricts = new StringBuilder();
 			for (DistrictReferenceDto district : districts) {
@@ -466,9 +489,47 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 		return costs[s2.length()];
 	}
 
-	@LocalBean
-	@Stateless
-	public static class GeoShapeProviderEjbLocal extends GeoShapeProviderEjb {
+	/**
+	 * Spatial index of shapes. Candidates are found by their bounding box and then checked against the prepared shape,
+	 * which keeps an index of its own segments for repeated point-in-polygon tests.
+	 */
+	private static final class ShapeIndex<R> {
+
+		private final STRtree tree = new STRtree();
 
+		void add(R reference, MultiPolygon multiPolygon) {
+			tree.insert(multiPolygon.getEnvelopeInternal(), new IndexedShape<>(reference, PreparedGeometryFactory.prepare(multiPolygon)));
+		}
+
+		/**
+		 * Has to be called after all shapes have been added and before the first lookup, because building the tree is not
+		 * thread-safe.
+		 */
+		void build() {
+			tree.build();
+		}
+
+		R find(Point point) {
+
+			for (Object candidate : tree.query(point.getEnvelopeInternal())) {
+				@SuppressWarnings("unchecked")
+				IndexedShape<R> shape = (IndexedShape<R>) candidate;
+				if (shape.geometry.contains(point)) {
+					return shape.reference;
+				}
+			}
+			return null;
+		}
+	}
+
+	private static final class IndexedShape<R> {
+
+		private final R reference;
+		private final PreparedGeometry geometry;
+
+		private IndexedShape(R reference, PreparedGeometry geometry) {
+			this.reference = reference;
+			this.geometry = geometry;
+		}
 	}
 }
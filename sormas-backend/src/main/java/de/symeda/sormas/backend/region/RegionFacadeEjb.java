@@ -49,6 +49,7 @@ import de.symeda.sormas.api.region.RegionReferenceDto;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.facility.Facility;
+import de.symeda.sormas.backend.infrastructure.InfrastructureReferenceCache;
 import de.symeda.sormas.backend.infrastructure.PointOfEntry;
 import de.symeda.sormas.backend.infrastructure.PopulationDataFacadeEjb.PopulationDataFacadeEjbLocal;
 import de.symeda.sormas.backend.user.UserService;
@@ -73,10 +74,12 @@ public class RegionFacadeEjb implements RegionFacade {
 	private PopulationDataFacadeEjbLocal populationDataFacade;
 	@EJB
 	private AreaService areaService;
+	@EJB
+	private InfrastructureReferenceCache infrastructureReferenceCache;
 
 	@Override
 	public List<RegionReferenceDto> getAllActiveAsReference() {
-		return regionService.getAllActive(Region.NAME, true).stream().map(f -> toReferenceDto(f)).collect(Collectors.toList());
+		return infrastructureReferenceCache.getAllActiveRegions();
 	}
 
 	@Override
@@ -203,12 +206,12 @@ public class RegionFacadeEjb implements RegionFacade {
 
 	@Override
 	public RegionReferenceDto getRegionReferenceByUuid(String uuid) {
-		return toReferenceDto(regionService.getByUuid(uuid));
+		return infrastructureReferenceCache.getRegionByUuid(uuid);
 	}
 
 	@Override
 	public RegionReferenceDto getRegionReferenceById(int id) {
-		return toReferenceDto(regionService.getById(id));
+		return infrastructureReferenceCache.getRegionById(id);
 	}
 
 	@Override
@@ -229,6 +232,7 @@ public class RegionFacadeEjb implements RegionFacade {
 		Region region = regionService.getByUuid(regionUuid);
 		region.setArchived(true);
 		regionService.ensurePersisted(region);
+		infrastructureReferenceCache.invalidate();
 	}
 
 	@Override
@@ -236,6 +240,7 @@ public class RegionFacadeEjb implements RegionFacade {
 		Region region = regionService.getByUuid(regionUuid);
 		region.setArchived(false);
 		regionService.ensurePersisted(region);
+		infrastructureReferenceCache.invalidate();
 	}
 
 	@Override
@@ -302,11 +307,12 @@ public class RegionFacadeEjb implements RegionFacade {
 
 		region = fillOrBuildEntity(dto, region);
 		regionService.ensurePersisted(region);
+		infrastructureReferenceCache.invalidate();
 	}
 
 	@Override
 	public List<RegionReferenceDto> getByName(String name, boolean includeArchivedEntities) {
-		return regionService.getByName(name, includeArchivedEntities).stream().map(r -> toReferenceDto(r)).collect(Collectors.toList());
+		return infrastructureReferenceCache.getRegionsByName(name, includeArchivedEntities);
 	}
 
 	private Region fillOrBuildEntity(@NotNull RegionDto source, Region target) {
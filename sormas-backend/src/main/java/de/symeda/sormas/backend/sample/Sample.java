@@ -43,6 +43,7 @@ import javax.persistence.Transient;
 import org.apache.commons.lang3.StringUtils;
 
 import de.symeda.auditlog.api.Audited;
+import de.symeda.auditlog.api.AuditedIgnore;
 import de.symeda.sormas.api.sample.AdditionalTestType;
 import de.symeda.sormas.api.sample.PathogenTestResultType;
 import de.symeda.sormas.api.sample.PathogenTestType;
@@ -99,6 +100,7 @@ public class Sample extends CoreAdo {
 	public static final String REQUESTED_OTHER_PATHOGEN_TESTS = "requestedOtherPathogenTests";
 	public static final String REQUESTED_OTHER_ADDITIONAL_TESTS = "requestedOtherAdditionalTests";
 	public static final String PATHOGENTESTS = "pathogenTests";
+	public static final String SEARCH_TEXT = "searchText";
 
 	private Case associatedCase;
 	private Contact associatedContact;
@@ -143,6 +145,8 @@ public class Sample extends CoreAdo {
 	private List<PathogenTest> pathogenTests;
 	private List<AdditionalTest> additionalTests;
 
+	private String searchText;
+
 	@ManyToOne
 	@JoinColumn
 	public Case getAssociatedCase() {
@@ -554,4 +558,18 @@ public class Sample extends CoreAdo {
 		this.reportLatLonAccuracy = reportLatLonAccuracy;
 	}
 
+	/**
+	 * The uuid, person's names and epid number of the case, the lab and field sample ids and the lab name in lower case, searched
+	 * by the free text filter of the sample directory. Maintained by {@link SampleService} with a separate update, so it does not
+	 * change the version of the entity.
+	 */
+	@AuditedIgnore
+	@Column(insertable = false, updatable = false, columnDefinition = "text")
+	public String getSearchText() {
+		return searchText;
+	}
+
+	public void setSearchText(String searchText) {
+		this.searchText = searchText;
+	}
 }
@@ -46,6 +46,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.symeda.sormas.api.DiseaseHelper;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseJurisdictionDto;
 import de.symeda.sormas.api.contact.ContactJurisdictionDto;
@@ -68,16 +69,19 @@ import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.caze.CaseAggregateCache;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
 import de.symeda.sormas.backend.caze.CaseJurisdictionChecker;
 import de.symeda.sormas.backend.caze.CaseService;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.common.MessageType;
 import de.symeda.sormas.backend.common.MessagingService;
 import de.symeda.sormas.backend.common.NotificationDeliveryFailedException;
 import de.symeda.sormas.backend.common.QueryContext;
+import de.symeda.sormas.backend.common.SyncCursor;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb;
 import de.symeda.sormas.backend.contact.ContactJurisdictionChecker;
@@ -149,6 +153,8 @@ public class SampleFacadeEjb implements SampleFacade {
 	@EJB
 	private UserRoleConfigFacadeEjbLocal userRoleConfigFacade;
 	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+	@EJB
 	private PathogenTestFacadeEjbLocal pathogenTestFacade;
 	@EJB
 	private PseudonymizationService pseudonymizationService;
@@ -158,6 +164,8 @@ public class SampleFacadeEjb implements SampleFacade {
 	private ContactJurisdictionChecker contactJurisdictionChecker;
 	@EJB
 	private SampleJurisdictionChecker sampleJurisdictionChecker;
+	@EJB
+	private CaseAggregateCache caseAggregateCache;
 
 	@Override
 	public List<String> getAllActiveUuids() {
@@ -181,6 +189,21 @@ public class SampleFacadeEjb implements SampleFacade {
 		return sampleService.getAllActiveSamplesAfter(date, user).stream().map(e -> convertToDto(e)).collect(Collectors.toList());
 	}
 
+	@Override
+	public SyncPageDto<SampleDto> getAllActiveSamplesPage(Date date, String cursor) {
+
+		User user = userService.getCurrentUser();
+		if (user == null) {
+			return new SyncPageDto<>(Collections.emptyList(), null);
+		}
+
+		int pageSize = configFacade.getSyncPageSize();
+		return sampleService.executeReadOnly(() -> {
+			List<Sample> samples = sampleService.getAllActiveSamplesAfter(date, user, SyncCursor.parse(cursor), pageSize + 1);
+			return SyncCursor.toPage(samples, pageSize, this::convertToDto);
+		});
+	}
+
 	@Override
 	public List<SampleDto> getByUuids(List<String> uuids) {
 		return sampleService.getByUuids(uuids).stream().map(c -> convertToDto(c)).collect(Collectors.toList());
@@ -235,6 +258,7 @@ public class SampleFacadeEjb implements SampleFacade {
 		if (handleChanges) {
 			onSampleChanged(existingSample, sample);
 		}
+		caseAggregateCache.invalidate();
 
 		return toDto(sample);
 	}
@@ -734,6 +758,7 @@ public class SampleFacadeEjb implements SampleFacade {
 		if (associatedCase != null) {
 			caseFacade.onCaseChanged(CaseFacadeEjbLocal.toDto(associatedCase), associatedCase);
 		}
+		caseAggregateCache.invalidate();
 	}
 
 	@Override
@@ -27,8 +27,10 @@ import java.util.stream.Collectors;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.EntityExistsException;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
@@ -46,20 +48,20 @@ import de.symeda.sormas.api.sample.SampleAssociationType;
 import de.symeda.sormas.api.sample.SampleCriteria;
 import de.symeda.sormas.api.sample.SpecimenCondition;
 import de.symeda.sormas.api.user.JurisdictionLevel;
-import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.backend.caze.Case;
 import de.symeda.sormas.backend.caze.CaseService;
+import de.symeda.sormas.backend.caze.scope.CaseScopeService;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractCoreAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.common.CoreAdo;
+import de.symeda.sormas.backend.common.SyncCursor;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactService;
 import de.symeda.sormas.backend.event.Event;
 import de.symeda.sormas.backend.event.EventParticipant;
 import de.symeda.sormas.backend.event.EventParticipantService;
 import de.symeda.sormas.backend.facility.Facility;
-import de.symeda.sormas.backend.person.Person;
 import de.symeda.sormas.backend.region.District;
 import de.symeda.sormas.backend.region.Region;
 import de.symeda.sormas.backend.user.User;
@@ -79,6 +81,8 @@ public class SampleService extends AbstractCoreAdoService<Sample> {
 	private PathogenTestService pathogenTestService;
 	@EJB
 	private AdditionalTestService additionalTestService;
+	@EJB
+	private CaseScopeService caseScopeService;
 
 	public SampleService() {
 		super(Sample.class);
@@ -115,6 +119,16 @@ public class SampleService extends AbstractCoreAdoService<Sample> {
 	}
 
 	public List<Sample> getAllActiveSamplesAfter(Date date, User user) {
+		return getAllActiveSamplesAfter(date, user, null, null);
+	}
+
+	/**
+	 * @param cursor
+	 *            When not null, only samples positioned after the cursor are returned, ordered by {@link SyncCursor#ORDER}.
+	 * @param maxResults
+	 *            When not null, the result is limited and ordered by {@link SyncCursor#ORDER}.
+	 */
+	public List<Sample> getAllActiveSamplesAfter(Date date, User user, SyncCursor cursor, Integer maxResults) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Sample> cq = cb.createQuery(getElementClass());
@@ -132,11 +146,23 @@ public class SampleService extends AbstractCoreAdoService<Sample> {
 			filter = AbstractAdoService.and(cb, filter, dateFilter);
 		}
 
+		if (cursor != null) {
+			filter = AbstractAdoService.and(cb, filter, cursor.createFilter(cb, from));
+		}
+
 		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Sample.CHANGE_DATE)));
+		if (cursor != null || maxResults != null) {
+			cq.orderBy(SyncCursor.createOrder(cb, from));
+		} else {
+			cq.orderBy(cb.desc(from.get(Sample.CHANGE_DATE)));
+		}
 		cq.distinct(true);
 
-		return em.createQuery(cq).getResultList();
+		TypedQuery<Sample> query = em.createQuery(cq);
+		if (maxResults != null) {
+			query.setMaxResults(maxResults);
+		}
+		return query.getResultList();
 	}
 
 	public List<String> getAllActiveUuids(User user) {
@@ -425,26 +451,63 @@ public class SampleService extends AbstractCoreAdoService<Sample> {
 		}
 
 		if (criteria.getCaseCodeIdLike() != null) {
-			String[] textFilters = criteria.getCaseCodeIdLike().split("\\s+");
-			for (int i = 0; i < textFilters.length; i++) {
-				String textFilter = "%" + textFilters[i].toLowerCase() + "%";
-				if (!DataHelper.isNullOrEmpty(textFilter)) {
-					Predicate likeFilters = cb.or(
-						cb.like(cb.lower(joins.getCaze().get(Case.UUID)), textFilter),
-						cb.like(cb.lower(joins.getCasePerson().get(Person.FIRST_NAME)), textFilter),
-						cb.like(cb.lower(joins.getCasePerson().get(Person.LAST_NAME)), textFilter),
-						cb.like(cb.lower(joins.getCaze().get(Case.EPID_NUMBER)), textFilter),
-						cb.like(cb.lower(sample.get(Sample.LAB_SAMPLE_ID)), textFilter),
-						cb.like(cb.lower(sample.get(Sample.FIELD_SAMPLE_ID)), textFilter),
-						cb.like(cb.lower(joins.getLab().get(Facility.NAME)), textFilter));
-					filter = and(cb, filter, likeFilters);
-				}
-			}
+			filter = and(cb, filter, createSearchTextFilter(cb, sample.get(Sample.SEARCH_TEXT), criteria.getCaseCodeIdLike()));
 		}
 
 		return filter;
 	}
 
+	@Override
+	public void ensurePersisted(Sample sample) throws EntityExistsException {
+
+		super.ensurePersisted(sample);
+		caseScopeService.updateSampleScope(sample);
+		updateSearchText(sample);
+	}
+
+	/**
+	 * Updates the search texts of the case's samples, e.g. after the epid number or the names of the case person have been
+	 * changed.
+	 */
+	public void updateSearchTexts(Case caze) {
+		updateSearchTexts(Sample.ASSOCIATED_CASE, caze);
+	}
+
+	/**
+	 * Updates the search texts of the lab's samples, e.g. after the lab has been renamed.
+	 */
+	public void updateSearchTexts(Facility lab) {
+		updateSearchTexts(Sample.LAB, lab);
+	}
+
+	private void updateSearchTexts(String attribute, AbstractDomainObject value) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Sample> cq = cb.createQuery(getElementClass());
+		Root<Sample> from = cq.from(getElementClass());
+		cq.where(cb.equal(from.get(attribute), value));
+
+		for (Sample sample : em.createQuery(cq).getResultList()) {
+			updateSearchText(sample);
+		}
+	}
+
+	private void updateSearchText(Sample sample) {
+
+		Case caze = sample.getAssociatedCase();
+		Facility lab = sample.getLab();
+		String searchText = buildSearchText(
+			caze != null ? caze.getUuid() : null,
+			caze != null ? caze.getPerson().getFirstName() : null,
+			caze != null ? caze.getPerson().getLastName() : null,
+			caze != null ? caze.getEpidNumber() : null,
+			sample.getLabSampleID(),
+			sample.getFieldSampleID(),
+			lab != null ? lab.getName() : null);
+
+		sample.setSearchText(updateSearchText(sample, Sample.SEARCH_TEXT, sample.getSearchText(), searchText));
+	}
+
 	@Override
 	public void delete(Sample sample) {
 
@@ -42,6 +42,7 @@ import javax.persistence.criteria.Root;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
 import de.symeda.sormas.api.event.EventReferenceDto;
@@ -65,10 +66,12 @@ import de.symeda.sormas.backend.caze.CaseJurisdictionChecker;
 import de.symeda.sormas.backend.caze.CaseService;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.common.CronService;
 import de.symeda.sormas.backend.common.MessageType;
 import de.symeda.sormas.backend.common.MessagingService;
 import de.symeda.sormas.backend.common.NotificationDeliveryFailedException;
+import de.symeda.sormas.backend.common.SyncCursor;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb;
 import de.symeda.sormas.backend.contact.ContactJurisdictionChecker;
@@ -116,6 +119,8 @@ public class TaskFacadeEjb implements TaskFacade {
 	@EJB
 	private UserRoleConfigFacadeEjbLocal userRoleConfigFacade;
 	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+	@EJB
 	private PseudonymizationService pseudonymizationService;
 	@EJB
 	private CaseJurisdictionChecker caseJurisdictionChecker;
@@ -338,6 +343,21 @@ public class TaskFacadeEjb implements TaskFacade {
 		return taskService.getAllActiveTasksAfter(date, user).stream().map(c -> toDto(c)).collect(Collectors.toList());
 	}
 
+	@Override
+	public SyncPageDto<TaskDto> getAllActiveTasksPage(Date date, String cursor) {
+
+		User user = userService.getCurrentUser();
+		if (user == null) {
+			return new SyncPageDto<>(Collections.emptyList(), null);
+		}
+
+		int pageSize = configFacade.getSyncPageSize();
+		return taskService.executeReadOnly(() -> {
+			List<Task> tasks = taskService.getAllActiveTasksAfter(date, user, SyncCursor.parse(cursor), pageSize + 1);
+			return SyncCursor.toPage(tasks, pageSize, this::toDto);
+		});
+	}
+
 	@Override
 	public long count(TaskCriteria taskCriteria) {
 
@@ -23,6 +23,7 @@ import java.util.List;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.From;
@@ -41,6 +42,7 @@ import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.backend.caze.Case;
 import de.symeda.sormas.backend.caze.CaseService;
 import de.symeda.sormas.backend.common.AbstractAdoService;
+import de.symeda.sormas.backend.common.SyncCursor;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactService;
 import de.symeda.sormas.backend.event.Event;
@@ -63,6 +65,16 @@ public class TaskService extends AbstractAdoService<Task> {
 	}
 
 	public List<Task> getAllActiveTasksAfter(Date date, User user) {
+		return getAllActiveTasksAfter(date, user, null, null);
+	}
+
+	/**
+	 * @param cursor
+	 *            When not null, only tasks positioned after the cursor are returned, ordered by {@link SyncCursor#ORDER}.
+	 * @param maxResults
+	 *            When not null, the result is limited and ordered by {@link SyncCursor#ORDER}.
+	 */
+	public List<Task> getAllActiveTasksAfter(Date date, User user, SyncCursor cursor, Integer maxResults) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Task> cq = cb.createQuery(getElementClass());
@@ -80,11 +92,23 @@ public class TaskService extends AbstractAdoService<Task> {
 			filter = AbstractAdoService.and(cb, filter, dateFilter);
 		}
 
+		if (cursor != null) {
+			filter = AbstractAdoService.and(cb, filter, cursor.createFilter(cb, from));
+		}
+
 		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Task.CHANGE_DATE)));
+		if (cursor != null || maxResults != null) {
+			cq.orderBy(SyncCursor.createOrder(cb, from));
+		} else {
+			cq.orderBy(cb.desc(from.get(Task.CHANGE_DATE)));
+		}
 		cq.distinct(true);
 
-		return em.createQuery(cq).getResultList();
+		TypedQuery<Task> query = em.createQuery(cq);
+		if (maxResults != null) {
+			query.setMaxResults(maxResults);
+		}
+		return query.getResultList();
 	}
 
 	public List<String> getAllActiveUuids(User user) {
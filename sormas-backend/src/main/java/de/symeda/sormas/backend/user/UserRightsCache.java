@@ -0,0 +1,131 @@
+package de.symeda.sormas.backend.user;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.Singleton;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import de.symeda.sormas.api.user.UserRight;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.CacheLoader;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.common.VersionedCache;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Application wide cache of the effective user rights of every user role and of every combination of user roles that has been
+ * requested, so checking a user right does not need a query for each of the user's roles.
+ * <p>
+ * The cache is a {@link VersionedCache} that is rebuilt when the number of user role configurations or their latest change date
+ * has changed (changing the rights of a configuration also updates its change date). Changes made by
+ * {@link UserRoleConfigFacadeEjb} call {@link #invalidate()}, so they are checked for once they have been committed.
+ */
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class UserRightsCache {
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+	@EJB
+	private CacheLoader cacheLoader;
+
+	private final VersionedCache<UserRights> cache = new VersionedCache<>(this::loadVersion, this::loadUserRights);
+
+	/**
+	 * @return The unmodifiable set of rights a user with all of the given roles has
+	 */
+	public Set<UserRight> getEffectiveUserRights(Collection<UserRole> userRoles) {
+		return get().getEffectiveUserRights(userRoles);
+	}
+
+	public boolean hasRight(Collection<UserRole> userRoles, UserRight userRight) {
+		return getEffectiveUserRights(userRoles).contains(userRight);
+	}
+
+	/**
+	 * Makes sure the first access after the current transaction has been completed checks whether the user role configurations
+	 * have been changed.
+	 */
+	public void invalidate() {
+		cache.invalidate(cacheLoader);
+	}
+
+	private UserRights get() {
+		return cache.get(cacheLoader, configFacade.getCacheRefreshSeconds());
+	}
+
+	private Object loadVersion() {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<UserRoleConfig> root = cq.from(UserRoleConfig.class);
+		cq.multiselect(cb.count(root), cb.greatest(root.<Timestamp> get(AbstractDomainObject.CHANGE_DATE)));
+
+		// count and latest change date; the count also changes when a configuration has been deleted
+		return Arrays.asList(em.createQuery(cq).getSingleResult());
+	}
+
+	private UserRights loadUserRights() {
+
+		Map<UserRole, Set<UserRight>> rightsByRole = new EnumMap<>(UserRole.class);
+		for (UserRole userRole : UserRole.values()) {
+			rightsByRole.put(userRole, Collections.unmodifiableSet(EnumSet.copyOf(userRole.getDefaultUserRights())));
+		}
+
+		CriteriaQuery<UserRoleConfig> cq = em.getCriteriaBuilder().createQuery(UserRoleConfig.class);
+		cq.from(UserRoleConfig.class);
+		for (UserRoleConfig userRoleConfig : em.createQuery(cq).getResultList()) {
+			Set<UserRight> configuredRights = EnumSet.noneOf(UserRight.class);
+			configuredRights.addAll(userRoleConfig.getUserRights());
+			rightsByRole.put(userRoleConfig.getUserRole(), Collections.unmodifiableSet(configuredRights));
+		}
+
+		return new UserRights(rightsByRole);
+	}
+
+	/**
+	 * Immutable rights of all user roles; the rights of role combinations are added on demand.
+	 */
+	private static final class UserRights {
+
+		private final Map<UserRole, Set<UserRight>> rightsByRole;
+		private final Map<Set<UserRole>, Set<UserRight>> rightsByRoles = new ConcurrentHashMap<>();
+
+		private UserRights(Map<UserRole, Set<UserRight>> rightsByRole) {
+			this.rightsByRole = rightsByRole;
+		}
+
+		Set<UserRight> getEffectiveUserRights(Collection<UserRole> userRoles) {
+
+			if (userRoles.size() == 1) {
+				return rightsByRole.get(userRoles.iterator().next());
+			}
+
+			Set<UserRole> roleKey = userRoles.isEmpty() ? EnumSet.noneOf(UserRole.class) : EnumSet.copyOf(userRoles);
+			return rightsByRoles.computeIfAbsent(roleKey, roles -> {
+				Set<UserRight> rights = EnumSet.noneOf(UserRight.class);
+				roles.forEach(role -> rights.addAll(rightsByRole.get(role)));
+				return Collections.unmodifiableSet(rights);
+			});
+		}
+	}
+}
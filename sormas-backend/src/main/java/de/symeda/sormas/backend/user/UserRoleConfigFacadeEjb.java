@@ -18,6 +18,7 @@
 package de.symeda.sormas.backend.user;
 
 import java.sql.Timestamp;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
@@ -43,6 +44,8 @@ public class UserRoleConfigFacadeEjb implements UserRoleConfigFacade {
 	private UserRoleConfigService userRoleConfigService;
 	@EJB
 	private UserService userService;
+	@EJB
+	private UserRightsCache userRightsCache;
 
 	@Override
 	public List<UserRoleConfigDto> getAllAfter(Date since) {
@@ -79,6 +82,7 @@ public class UserRoleConfigFacadeEjb implements UserRoleConfigFacade {
 
 		UserRoleConfig entity = fromDto(dto);
 		userRoleConfigService.ensurePersisted(entity);
+		userRightsCache.invalidate();
 		return toDto(entity);
 	}
 
@@ -87,22 +91,15 @@ public class UserRoleConfigFacadeEjb implements UserRoleConfigFacade {
 
 		UserRoleConfig entity = userRoleConfigService.getByUuid(dto.getUuid());
 		userRoleConfigService.delete(entity);
+		userRightsCache.invalidate();
 	}
 
 	@Override
 	public Set<UserRight> getEffectiveUserRights(UserRole... userRoles) {
 
+		// the cached set is shared, so the caller gets a copy
 		Set<UserRight> userRights = EnumSet.noneOf(UserRight.class);
-
-		for (UserRole userRole : userRoles) {
-			UserRoleConfig userRoleConfig = userRoleConfigService.getByUserRole(userRole);
-			if (userRoleConfig != null) {
-				userRights.addAll(userRoleConfig.getUserRights());
-			} else {
-				userRights.addAll(userRole.getDefaultUserRights());
-			}
-		}
-
+		userRights.addAll(userRightsCache.getEffectiveUserRights(Arrays.asList(userRoles)));
 		return userRights;
 	}
 
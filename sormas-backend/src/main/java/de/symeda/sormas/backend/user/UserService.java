@@ -53,7 +53,7 @@ import de.symeda.sormas.backend.util.PasswordHelper;
 public class UserService extends AbstractAdoService<User> {
 
 	@EJB
-	private UserRoleConfigFacadeEjb.UserRoleConfigFacadeEjbLocal userRoleConfigFacade;
+	private UserRightsCache userRightsCache;
 
 	public UserService() {
 		super(User.class);
@@ -351,6 +351,6 @@ public class UserService extends AbstractAdoService<User> {
 	public boolean hasRight(UserRight right) {
 
 		User currentUser = getCurrentUser();
-		return userRoleConfigFacade.getEffectiveUserRights(currentUser.getUserRoles().toArray(new UserRole[0])).contains(right);
+		return userRightsCache.hasRight(currentUser.getUserRoles(), right);
 	}
 }
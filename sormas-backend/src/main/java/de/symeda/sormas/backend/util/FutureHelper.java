@@ -0,0 +1,44 @@
+package de.symeda.sormas.backend.util;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Helper methods for waiting on tasks submitted to a managed executor service.
+ */
+public final class FutureHelper {
+
+	private FutureHelper() {
+		// Hide Utility Class Constructor
+	}
+
+	/**
+	 * Waits for the task and returns its result. Runtime exceptions of the task are rethrown as they are, so callers see the
+	 * same exceptions as if the task had been run in their own thread.
+	 */
+	public static <T> T getResult(Future<T> future) {
+
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a task", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Cancels the tasks whose results are no longer needed, e.g. because another task has failed. Tasks that have not been started
+	 * yet are removed from the queue of the executor, running tasks are interrupted.
+	 */
+	public static void cancelAll(Future<?>... futures) {
+
+		for (Future<?> future : futures) {
+			future.cancel(true);
+		}
+	}
+}
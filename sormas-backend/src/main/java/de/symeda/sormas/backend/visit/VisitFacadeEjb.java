@@ -17,6 +17,7 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.visit;
 
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.CaseDataDto;
 import de.symeda.sormas.api.caze.CaseJurisdictionDto;
 import de.symeda.sormas.api.contact.ContactJurisdictionDto;
@@ -45,6 +46,7 @@ import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.common.MessageType;
 import de.symeda.sormas.backend.common.MessagingService;
 import de.symeda.sormas.backend.common.NotificationDeliveryFailedException;
+import de.symeda.sormas.backend.common.SyncCursor;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactJurisdictionChecker;
 import de.symeda.sormas.backend.contact.ContactService;
@@ -140,6 +142,16 @@ public class VisitFacadeEjb implements VisitFacade {
 		return visitService.getAllActiveVisitsAfter(date).stream().map(c -> toDto(c)).collect(Collectors.toList());
 	}
 
+	@Override
+	public SyncPageDto<VisitDto> getAllActiveVisitsPage(Date date, String cursor) {
+
+		int pageSize = configFacade.getSyncPageSize();
+		return visitService.executeReadOnly(() -> {
+			List<Visit> visits = visitService.getAllActiveVisitsAfter(date, SyncCursor.parse(cursor), pageSize + 1);
+			return SyncCursor.toPage(visits, pageSize, VisitFacadeEjb::toDto);
+		});
+	}
+
 	@Override
 	public List<VisitDto> getByUuids(List<String> uuids) {
 		return visitService.getByUuids(uuids).stream().map(c -> toDto(c)).collect(Collectors.toList());
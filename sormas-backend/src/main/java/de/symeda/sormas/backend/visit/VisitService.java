@@ -26,6 +26,7 @@ import java.util.Set;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Fetch;
@@ -42,6 +43,7 @@ import de.symeda.sormas.api.visit.VisitCriteria;
 import de.symeda.sormas.backend.caze.CaseService;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.common.SyncCursor;
 import de.symeda.sormas.backend.contact.Contact;
 import de.symeda.sormas.backend.contact.ContactService;
 import de.symeda.sormas.backend.person.Person;
@@ -82,6 +84,16 @@ public class VisitService extends AbstractAdoService<Visit> {
 	}
 
 	public List<Visit> getAllActiveVisitsAfter(Date date) {
+		return getAllActiveVisitsAfter(date, null, null);
+	}
+
+	/**
+	 * @param cursor
+	 *            When not null, only visits positioned after the cursor are returned, ordered by {@link SyncCursor#ORDER}.
+	 * @param maxResults
+	 *            When not null, the result is limited and ordered by {@link SyncCursor#ORDER}.
+	 */
+	public List<Visit> getAllActiveVisitsAfter(Date date, SyncCursor cursor, Integer maxResults) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Visit> visitsQuery = cb.createQuery(Visit.class);
@@ -98,12 +110,46 @@ public class VisitService extends AbstractAdoService<Visit> {
 			filter = and(cb, filter, createChangeDateFilter(cb, visitJoin, DateHelper.toTimestampUpper(date)));
 		}
 
+		if (cursor != null) {
+			filter = and(cb, filter, cursor.createFilter(cb, visitJoin));
+		}
+
 		visitsQuery.select(visitJoin);
 		visitsQuery.where(filter);
 		visitsQuery.distinct(true);
-		visitsQuery.orderBy(cb.asc(visitJoin.get(AbstractDomainObject.ID)));
+		if (cursor != null || maxResults != null) {
+			visitsQuery.orderBy(SyncCursor.createOrder(cb, visitJoin));
+		} else {
+			visitsQuery.orderBy(cb.asc(visitJoin.get(AbstractDomainObject.ID)));
+		}
 
-		return em.createQuery(visitsQuery).getResultList();
+		TypedQuery<Visit> query = em.createQuery(visitsQuery);
+		if (maxResults != null) {
+			query.setMaxResults(maxResults);
+		}
+		return query.getResultList();
+	}
+
+	/**
+	 * Counts the visits {@link #getAllActiveVisitsAfter(Date)} would return.
+	 */
+	@Override
+	public long countAfter(Date date, User user) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> visitsQuery = cb.createQuery(Long.class);
+		Root<Contact> contactRoot = visitsQuery.from(Contact.class);
+		Join<Contact, Visit> visitJoin = contactRoot.join(Contact.VISITS, JoinType.LEFT);
+
+		Predicate filter =
+			and(cb, contactService.createUserFilter(cb, visitsQuery, contactRoot), contactService.createActiveContactsFilter(cb, contactRoot));
+		if (date != null) {
+			filter = and(cb, filter, createChangeDateFilter(cb, visitJoin, DateHelper.toTimestampUpper(date)));
+		}
+
+		visitsQuery.select(cb.countDistinct(visitJoin));
+		visitsQuery.where(filter);
+		return em.createQuery(visitsQuery).getSingleResult();
 	}
 
 	// Used only for testing; directly retrieve the visits from the contact instead
@@ -51,4 +51,10 @@ CREATE TABLE auditlogentry_attributes (
 );
 ALTER TABLE auditlogentry_attributes OWNER TO sormas_user;
 
-INSERT INTO schema_version (version_number, comment) VALUES (2, 'Initial entity model');
\ No newline at end of file
+INSERT INTO schema_version (version_number, comment) VALUES (2, 'Initial entity model');
+
+-- 2020-07-28 Unique key of audit log entries, so entries written again after a restart are skipped
+ALTER TABLE auditlogentry ADD COLUMN entry_key character varying(255);
+ALTER TABLE auditlogentry ADD CONSTRAINT auditlogentry_entry_key_key UNIQUE (entry_key);
+
+INSERT INTO schema_version (version_number, comment) VALUES (3, 'Unique key of audit log entries');
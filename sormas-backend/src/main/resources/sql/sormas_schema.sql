@@ -4788,4 +4788,286 @@ ALTER TABLE contact_history ADD COLUMN tracingappdetails varchar(512);
 
 INSERT INTO schema_version (version_number, comment) VALUES (227, 'Add source of identification as contact to contacts #2070');
 
+-- 2020-07-20 Materialize the case access derived from contacts and samples
+CREATE TABLE casescope(
+	id bigint not null,
+	uuid varchar(36) not null unique,
+	changedate timestamp not null,
+	creationdate timestamp not null,
+	caze_id bigint not null,
+	contact_id bigint unique,
+	sample_id bigint unique,
+	region_id bigint,
+	district_id bigint,
+	laboratory_id bigint,
+	reportinguser_id bigint,
+	contactofficer_id bigint,
+	primary key(id)
+);
+
+ALTER TABLE casescope OWNER TO sormas_user;
+ALTER TABLE casescope ADD CONSTRAINT fk_casescope_caze_id FOREIGN KEY (caze_id) REFERENCES cases(id) ON DELETE CASCADE;
+ALTER TABLE casescope ADD CONSTRAINT fk_casescope_contact_id FOREIGN KEY (contact_id) REFERENCES contact(id) ON DELETE CASCADE;
+ALTER TABLE casescope ADD CONSTRAINT fk_casescope_sample_id FOREIGN KEY (sample_id) REFERENCES samples(id) ON DELETE CASCADE;
+ALTER TABLE casescope ADD CONSTRAINT fk_casescope_region_id FOREIGN KEY (region_id) REFERENCES region(id);
+ALTER TABLE casescope ADD CONSTRAINT fk_casescope_district_id FOREIGN KEY (district_id) REFERENCES district(id);
+ALTER TABLE casescope ADD CONSTRAINT fk_casescope_laboratory_id FOREIGN KEY (laboratory_id) REFERENCES facility(id);
+ALTER TABLE casescope ADD CONSTRAINT fk_casescope_reportinguser_id FOREIGN KEY (reportinguser_id) REFERENCES users(id);
+ALTER TABLE casescope ADD CONSTRAINT fk_casescope_contactofficer_id FOREIGN KEY (contactofficer_id) REFERENCES users(id);
+
+INSERT INTO casescope (id, uuid, changedate, creationdate, caze_id, contact_id, region_id, district_id, reportinguser_id, contactofficer_id)
+	SELECT nextval('entity_seq'), upper(substring(CAST(CAST(md5(CAST(random() AS text) || CAST(clock_timestamp() AS text)) AS uuid) AS text), 3, 29)), now(), now(), caze_id, id, region_id, district_id, reportinguser_id, contactofficer_id
+	FROM contact WHERE caze_id IS NOT NULL;
+INSERT INTO casescope (id, uuid, changedate, creationdate, caze_id, sample_id, laboratory_id)
+	SELECT nextval('entity_seq'), upper(substring(CAST(CAST(md5(CAST(random() AS text) || CAST(clock_timestamp() AS text)) AS uuid) AS text), 3, 29)), now(), now(), associatedcase_id, id, lab_id
+	FROM samples WHERE associatedcase_id IS NOT NULL AND lab_id IS NOT NULL;
+
+CREATE INDEX idx_casescope_caze_id ON casescope (caze_id);
+CREATE INDEX idx_casescope_region_id ON casescope (region_id);
+CREATE INDEX idx_casescope_district_id ON casescope (district_id);
+CREATE INDEX idx_casescope_laboratory_id ON casescope (laboratory_id);
+CREATE INDEX idx_casescope_reportinguser_id ON casescope (reportinguser_id);
+CREATE INDEX idx_casescope_contactofficer_id ON casescope (contactofficer_id);
+
+INSERT INTO schema_version (version_number, comment) VALUES (228, 'Materialize the case access derived from contacts and samples');
+
+-- 2020-07-21 Add aggregate change dates to cases, contacts and persons
+ALTER TABLE cases ADD COLUMN aggregatechangedate timestamp;
+ALTER TABLE cases_history ADD COLUMN aggregatechangedate timestamp;
+ALTER TABLE contact ADD COLUMN aggregatechangedate timestamp;
+ALTER TABLE contact_history ADD COLUMN aggregatechangedate timestamp;
+ALTER TABLE person ADD COLUMN aggregatechangedate timestamp;
+ALTER TABLE person_history ADD COLUMN aggregatechangedate timestamp;
+
+CREATE TEMP TABLE tmp_epidata_changedate AS
+	SELECT epidata.id, GREATEST(epidata.changedate,
+		(SELECT max(travel.changedate) FROM epidatatravel travel WHERE travel.epidata_id = epidata.id),
+		(SELECT max(GREATEST(burial.changedate, location.changedate)) FROM epidataburial burial
+			LEFT JOIN location ON location.id = burial.burialaddress_id WHERE burial.epidata_id = epidata.id),
+		(SELECT max(GREATEST(gathering.changedate, location.changedate)) FROM epidatagathering gathering
+			LEFT JOIN location ON location.id = gathering.gatheringaddress_id WHERE gathering.epidata_id = epidata.id)) AS changedate
+	FROM epidata;
+
+ALTER TABLE cases DISABLE TRIGGER versioning_trigger;
+UPDATE cases SET aggregatechangedate = aggregate.changedate FROM (
+	SELECT cases.id, GREATEST(cases.changedate, symptoms.changedate, hospitalization.changedate,
+		(SELECT max(previoushospitalization.changedate) FROM previoushospitalization WHERE previoushospitalization.hospitalization_id = hospitalization.id),
+		tmp_epidata_changedate.changedate, therapy.changedate, clinicalcourse.changedate, healthconditions.changedate,
+		maternalhistory.changedate, porthealthinfo.changedate) AS changedate
+	FROM cases
+	LEFT JOIN symptoms ON symptoms.id = cases.symptoms_id
+	LEFT JOIN hospitalization ON hospitalization.id = cases.hospitalization_id
+	LEFT JOIN tmp_epidata_changedate ON tmp_epidata_changedate.id = cases.epidata_id
+	LEFT JOIN therapy ON therapy.id = cases.therapy_id
+	LEFT JOIN clinicalcourse ON clinicalcourse.id = cases.clinicalcourse_id
+	LEFT JOIN healthconditions ON healthconditions.id = clinicalcourse.healthconditions_id
+	LEFT JOIN maternalhistory ON maternalhistory.id = cases.maternalhistory_id
+	LEFT JOIN porthealthinfo ON porthealthinfo.id = cases.porthealthinfo_id) AS aggregate
+WHERE cases.id = aggregate.id;
+ALTER TABLE cases ENABLE TRIGGER versioning_trigger;
+
+ALTER TABLE contact DISABLE TRIGGER versioning_trigger;
+UPDATE contact SET aggregatechangedate = GREATEST(contact.changedate, tmp_epidata_changedate.changedate)
+	FROM tmp_epidata_changedate WHERE tmp_epidata_changedate.id = contact.epidata_id;
+UPDATE contact SET aggregatechangedate = changedate WHERE aggregatechangedate IS NULL;
+ALTER TABLE contact ENABLE TRIGGER versioning_trigger;
+
+ALTER TABLE person DISABLE TRIGGER versioning_trigger;
+UPDATE person SET aggregatechangedate = GREATEST(person.changedate, location.changedate)
+	FROM location WHERE location.id = person.address_id;
+UPDATE person SET aggregatechangedate = changedate WHERE aggregatechangedate IS NULL;
+ALTER TABLE person ENABLE TRIGGER versioning_trigger;
+
+DROP TABLE tmp_epidata_changedate;
+
+CREATE INDEX idx_cases_changedate ON cases (changedate);
+CREATE INDEX idx_cases_aggregatechangedate ON cases (aggregatechangedate);
+CREATE INDEX idx_contact_changedate ON contact (changedate);
+CREATE INDEX idx_contact_aggregatechangedate ON contact (aggregatechangedate);
+CREATE INDEX idx_person_changedate ON person (changedate);
+CREATE INDEX idx_person_aggregatechangedate ON person (aggregatechangedate);
+
+INSERT INTO schema_version (version_number, comment) VALUES (229, 'Add aggregate change dates to cases, contacts and persons');
+
+-- 2020-07-22 Pre-aggregate the daily case counts for the statistics
+CREATE TABLE casecountrollup(
+	id bigint not null,
+	uuid varchar(36) not null unique,
+	changedate timestamp not null,
+	creationdate timestamp not null,
+	reportdate date,
+	onsetdate date,
+	disease varchar(255),
+	caseclassification varchar(255),
+	outcome varchar(255),
+	sex varchar(255),
+	caseage integer,
+	region_id bigint,
+	district_id bigint,
+	casecount bigint not null,
+	primary key(id)
+);
+
+ALTER TABLE casecountrollup OWNER TO sormas_user;
+ALTER TABLE casecountrollup ADD CONSTRAINT fk_casecountrollup_region_id FOREIGN KEY (region_id) REFERENCES region(id);
+ALTER TABLE casecountrollup ADD CONSTRAINT fk_casecountrollup_district_id FOREIGN KEY (district_id) REFERENCES district(id);
+
+CREATE TABLE casecountrollup_cases(
+	id bigint not null,
+	uuid varchar(36) not null unique,
+	changedate timestamp not null,
+	creationdate timestamp not null,
+	caze_id bigint not null unique,
+	rollup_id bigint not null,
+	primary key(id)
+);
+
+ALTER TABLE casecountrollup_cases OWNER TO sormas_user;
+ALTER TABLE casecountrollup_cases ADD CONSTRAINT fk_casecountrollup_cases_caze_id FOREIGN KEY (caze_id) REFERENCES cases(id) ON DELETE CASCADE;
+ALTER TABLE casecountrollup_cases ADD CONSTRAINT fk_casecountrollup_cases_rollup_id FOREIGN KEY (rollup_id) REFERENCES casecountrollup(id);
+
+CREATE TEMP TABLE tmp_casecountrollup_key AS
+	SELECT cases.id AS caze_id, CAST(cases.reportdate AS date) AS reportdate, CAST(symptoms.onsetdate AS date) AS onsetdate, cases.disease,
+		cases.caseclassification, cases.outcome, person.sex, cases.caseage, cases.region_id, cases.district_id
+	FROM cases
+	LEFT JOIN symptoms ON symptoms.id = cases.symptoms_id
+	LEFT JOIN person ON person.id = cases.person_id
+	WHERE cases.deleted = false;
+
+INSERT INTO casecountrollup (id, uuid, changedate, creationdate, reportdate, onsetdate, disease, caseclassification, outcome, sex, caseage, region_id, district_id, casecount)
+	SELECT nextval('entity_seq'), upper(substring(CAST(CAST(md5(CAST(random() AS text) || CAST(clock_timestamp() AS text)) AS uuid) AS text), 3, 29)), now(), now(), reportdate, onsetdate, disease, caseclassification, outcome, sex, caseage, region_id, district_id, count(*)
+	FROM tmp_casecountrollup_key
+	GROUP BY reportdate, onsetdate, disease, caseclassification, outcome, sex, caseage, region_id, district_id;
+INSERT INTO casecountrollup_cases (id, uuid, changedate, creationdate, caze_id, rollup_id)
+	SELECT nextval('entity_seq'), upper(substring(CAST(CAST(md5(CAST(random() AS text) || CAST(clock_timestamp() AS text)) AS uuid) AS text), 3, 29)), now(), now(), tmp_casecountrollup_key.caze_id, casecountrollup.id
+	FROM tmp_casecountrollup_key
+	JOIN casecountrollup ON casecountrollup.reportdate IS NOT DISTINCT FROM tmp_casecountrollup_key.reportdate
+		AND casecountrollup.onsetdate IS NOT DISTINCT FROM tmp_casecountrollup_key.onsetdate
+		AND casecountrollup.disease IS NOT DISTINCT FROM tmp_casecountrollup_key.disease
+		AND casecountrollup.caseclassification IS NOT DISTINCT FROM tmp_casecountrollup_key.caseclassification
+		AND casecountrollup.outcome IS NOT DISTINCT FROM tmp_casecountrollup_key.outcome
+		AND casecountrollup.sex IS NOT DISTINCT FROM tmp_casecountrollup_key.sex
+		AND casecountrollup.caseage IS NOT DISTINCT FROM tmp_casecountrollup_key.caseage
+		AND casecountrollup.region_id IS NOT DISTINCT FROM tmp_casecountrollup_key.region_id
+		AND casecountrollup.district_id IS NOT DISTINCT FROM tmp_casecountrollup_key.district_id;
+
+DROP TABLE tmp_casecountrollup_key;
+
+CREATE INDEX idx_casecountrollup_reportdate ON casecountrollup (reportdate);
+CREATE INDEX idx_casecountrollup_onsetdate ON casecountrollup (onsetdate);
+CREATE INDEX idx_casecountrollup_disease ON casecountrollup (disease);
+CREATE INDEX idx_casecountrollup_region_id ON casecountrollup (region_id);
+CREATE INDEX idx_casecountrollup_district_id ON casecountrollup (district_id);
+CREATE INDEX idx_casecountrollup_cases_rollup_id ON casecountrollup_cases (rollup_id);
+
+INSERT INTO schema_version (version_number, comment) VALUES (230, 'Pre-aggregate the daily case counts for the statistics');
+
+-- 2020-07-23 Store the case duplicate candidates found in the background
+
+CREATE TABLE caseduplicatecandidate(
+	id bigint not null,
+	uuid varchar(36) not null unique,
+	changedate timestamp not null,
+	creationdate timestamp not null,
+	oldercase_id bigint not null,
+	newercase_id bigint not null,
+	namesimilarity double precision not null,
+	primary key(id)
+);
+
+ALTER TABLE caseduplicatecandidate OWNER TO sormas_user;
+ALTER TABLE caseduplicatecandidate ADD CONSTRAINT fk_caseduplicatecandidate_oldercase_id FOREIGN KEY (oldercase_id) REFERENCES cases(id) ON DELETE CASCADE;
+ALTER TABLE caseduplicatecandidate ADD CONSTRAINT fk_caseduplicatecandidate_newercase_id FOREIGN KEY (newercase_id) REFERENCES cases(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_caseduplicatecandidate_oldercase_id ON caseduplicatecandidate (oldercase_id);
+CREATE INDEX idx_caseduplicatecandidate_newercase_id ON caseduplicatecandidate (newercase_id);
+
+INSERT INTO schema_version (version_number, comment) VALUES (231, 'Store the case duplicate candidates found in the background');
+
+-- 2020-07-24 Search the free text filters of cases, contacts and events with trigram indexes
+ALTER TABLE cases ADD COLUMN searchtext text;
+ALTER TABLE cases_history ADD COLUMN searchtext text;
+ALTER TABLE contact ADD COLUMN searchtext text;
+ALTER TABLE contact_history ADD COLUMN searchtext text;
+
+ALTER TABLE cases DISABLE TRIGGER versioning_trigger;
+UPDATE cases SET searchtext = lower(concat_ws(' ', person.firstname, person.lastname, cases.uuid, cases.epidnumber,
+		(SELECT facility.name FROM facility WHERE facility.id = cases.healthfacility_id), cases.healthfacilitydetails))
+	FROM person WHERE person.id = cases.person_id;
+ALTER TABLE cases ENABLE TRIGGER versioning_trigger;
+
+ALTER TABLE contact DISABLE TRIGGER versioning_trigger;
+UPDATE contact SET searchtext = lower(concat_ws(' ', contact.uuid, person.firstname, person.lastname, cases.uuid, caseperson.firstname, caseperson.lastname))
+	FROM person, contact AS c
+	LEFT JOIN cases ON cases.id = c.caze_id
+	LEFT JOIN person AS caseperson ON caseperson.id = cases.person_id
+	WHERE c.id = contact.id AND person.id = contact.person_id;
+ALTER TABLE contact ENABLE TRIGGER versioning_trigger;
+
+CREATE INDEX idx_cases_searchtext_trgm ON cases USING gin (searchtext gin_trgm_ops);
+CREATE INDEX idx_contact_searchtext_trgm ON contact USING gin (searchtext gin_trgm_ops);
+CREATE INDEX idx_events_uuid_trgm ON events USING gin (lower(uuid) gin_trgm_ops);
+CREATE INDEX idx_events_eventdesc_trgm ON events USING gin (lower(eventdesc) gin_trgm_ops);
+
+INSERT INTO schema_version (version_number, comment) VALUES (232, 'Search the free text filters of cases, contacts and events with trigram indexes');
+
+-- 2020-07-27 Index the change date of samples, which is used to detect changes of the aggregated case data
+CREATE INDEX idx_samples_changedate ON samples (changedate);
+
+INSERT INTO schema_version (version_number, comment) VALUES (233, 'Index the change date of samples');
+
+-- 2020-07-27 Store up to which change the case count rollup has been updated
+CREATE TABLE casecountrollupcursor(
+	id bigint not null,
+	uuid varchar(36) not null unique,
+	changedate timestamp not null,
+	creationdate timestamp not null,
+	source varchar(255) not null unique,
+	cursordate timestamp not null,
+	caseid bigint not null,
+	primary key(id)
+);
+
+ALTER TABLE casecountrollupcursor OWNER TO sormas_user;
+
+-- the rollup has been filled with the cases that existed when it was created
+INSERT INTO casecountrollupcursor (id, uuid, changedate, creationdate, source, cursordate, caseid)
+	SELECT nextval('entity_seq'), upper(substring(CAST(CAST(md5(CAST(random() AS text) || CAST(clock_timestamp() AS text)) AS uuid) AS text), 3, 29)), now(), now(), source, schema_version.changedate, 0
+	FROM (VALUES ('CASE'), ('CASE_AGGREGATE'), ('PERSON')) AS sources (source), schema_version
+	WHERE schema_version.version_number = 230;
+
+INSERT INTO schema_version (version_number, comment) VALUES (234, 'Store up to which change the case count rollup has been updated');
+
+-- 2020-07-27 Store up to which change the case duplicate candidates have been updated
+CREATE TABLE caseduplicatecandidatecursor(
+	id bigint not null,
+	uuid varchar(36) not null unique,
+	changedate timestamp not null,
+	creationdate timestamp not null,
+	processeduntil timestamp not null,
+	primary key(id)
+);
+
+ALTER TABLE caseduplicatecandidatecursor OWNER TO sormas_user;
+
+INSERT INTO schema_version (version_number, comment) VALUES (235, 'Store up to which change the case duplicate candidates have been updated');
+
+-- 2020-07-27 Search the free text filter of samples with a trigram index
+ALTER TABLE samples ADD COLUMN searchtext text;
+ALTER TABLE samples_history ADD COLUMN searchtext text;
+
+ALTER TABLE samples DISABLE TRIGGER versioning_trigger;
+UPDATE samples SET searchtext = lower(concat_ws(' ', cases.uuid, person.firstname, person.lastname, cases.epidnumber,
+		samples.labsampleid, samples.fieldsampleid, facility.name))
+	FROM samples AS s
+	LEFT JOIN cases ON cases.id = s.associatedcase_id
+	LEFT JOIN person ON person.id = cases.person_id
+	LEFT JOIN facility ON facility.id = s.lab_id
+	WHERE s.id = samples.id;
+ALTER TABLE samples ENABLE TRIGGER versioning_trigger;
+
+CREATE INDEX idx_samples_searchtext_trgm ON samples USING gin (searchtext gin_trgm_ops);
+
+INSERT INTO schema_version (version_number, comment) VALUES (236, 'Search the free text filter of samples with a trigram index');
+
 -- *** Insert new sql commands BEFORE this line ***
\ No newline at end of file
@@ -0,0 +1,57 @@
+package de.symeda.auditlog.api.value.reflection;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.symeda.auditlog.api.sample.Entity;
+
+/**
+ * Compares resolving the audited attributes by reflection for every entity with the cached {@link AuditedClassMetadata}. Not run
+ * by the build; start it with the main method from the IDE or with
+ * {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=...}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditedClassMetadataBenchmark {
+
+	private static final int ENTITY_COUNT = 20_000;
+
+	private List<Entity> entities;
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(AuditedClassMetadataBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	@Setup
+	public void setUp() {
+		entities = AuditedClassMetadataTest.buildEntities(ENTITY_COUNT);
+	}
+
+	@Benchmark
+	public List<String> inspectByReflection() throws Exception {
+		return AuditedClassMetadataTest.inspectUncached(entities);
+	}
+
+	@Benchmark
+	public List<String> inspectByCachedMetadata() throws Exception {
+		return AuditedClassMetadataTest.inspectCached(entities);
+	}
+}
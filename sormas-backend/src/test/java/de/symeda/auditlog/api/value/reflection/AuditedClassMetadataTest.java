@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2018 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.auditlog.api.value.reflection;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import de.symeda.auditlog.api.sample.Entity;
+import de.symeda.auditlog.api.sample.SubClassEntity;
+import de.symeda.auditlog.api.value.format.ValueFormatter;
+
+public class AuditedClassMetadataTest {
+
+	@Test
+	public void testMetadataIsCachedPerClass() {
+
+		AuditedClassMetadata metadata = AuditedClassMetadata.of(SubClassEntity.class);
+		assertThat(AuditedClassMetadata.of(SubClassEntity.class), is(sameInstance(metadata)));
+
+		List<Method> cachedMethods = metadata.getAttributes().stream().map(AuditedAttributeMetadata::getMethod).collect(Collectors.toList());
+		assertThat(cachedMethods, is(equalTo(EntityInspector.getAuditedAttributes(SubClassEntity.class))));
+	}
+
+	@Test
+	public void testCachedMetadataInspectsLikeReflection() throws Exception {
+
+		List<Entity> entities = buildEntities(10);
+		List<String> values = inspectCached(entities);
+		assertThat(values, is(equalTo(inspectUncached(entities))));
+		assertThat(values.isEmpty(), is(false));
+	}
+
+	static List<Entity> buildEntities(int count) {
+
+		List<Entity> entities = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			entities.add(new Entity("uuid-" + i, i % 2 == 0, "value-" + i, i));
+		}
+		return entities;
+	}
+
+	/**
+	 * Resolves the audited attributes by reflection for every entity, as done before the metadata was cached.
+	 */
+	@SuppressWarnings({
+		"rawtypes",
+		"unchecked" })
+	static List<String> inspectUncached(List<Entity> entities) throws Exception {
+
+		List<String> values = new ArrayList<>();
+		for (Entity entity : entities) {
+			for (Method method : EntityInspector.getAuditedAttributes(entity.getClass())) {
+				ValueFormatter formatter = EntityInspector.overrideFormatter(EntityInspector.getFormatter(null), method);
+				values.add(EntityInspector.buildFieldName(method) + "=" + formatter.format(method.invoke(entity)));
+			}
+		}
+
+		return values;
+	}
+
+	@SuppressWarnings({
+		"rawtypes",
+		"unchecked" })
+	static List<String> inspectCached(List<Entity> entities) throws Exception {
+
+		List<String> values = new ArrayList<>();
+		for (Entity entity : entities) {
+			for (AuditedAttributeMetadata attribute : AuditedClassMetadata.of(entity.getClass()).getAttributes()) {
+				ValueFormatter formatter = attribute.getFormatter();
+				values.add(attribute.getFieldName() + "=" + formatter.format(attribute.getValue(entity)));
+			}
+		}
+
+		return values;
+	}
+}
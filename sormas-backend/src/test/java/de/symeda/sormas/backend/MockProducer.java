@@ -17,6 +17,7 @@
  *******************************************************************************/
 package de.symeda.sormas.backend;
 
+import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
@@ -24,14 +25,20 @@ import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
 import java.security.Principal;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javax.ejb.SessionContext;
 import javax.ejb.TimerService;
+import javax.enterprise.concurrent.ManagedExecutorService;
 import javax.enterprise.inject.Produces;
 import javax.jms.ConnectionFactory;
 import javax.jms.Topic;
 import javax.mail.Session;
+import javax.sql.DataSource;
+import javax.transaction.TransactionSynchronizationRegistry;
 import javax.transaction.UserTransaction;
 
 import de.symeda.sormas.api.utils.InfoProvider;
@@ -52,6 +59,10 @@ public class MockProducer {
 	private static final TimerService timerService = mock(TimerService.class);
 	public static final Properties properties = new Properties();
 	private static final UserTransaction userTransaction = mock(UserTransaction.class);
+	private static final TransactionSynchronizationRegistry transactionSynchronizationRegistry = mock(TransactionSynchronizationRegistry.class);
+	private static final DataSource dataSource = mock(DataSource.class);
+	// runs the tasks in the calling thread, which has the request context and transaction of the test
+	private static final ManagedExecutorService executorService = mock(ManagedExecutorService.class, delegatesTo(new DirectExecutorService()));
 
 	// Receiving e-mail server is mocked: org. jvnet. mock_javamail. mailbox
 	private static Session mailSession;
@@ -59,6 +70,9 @@ public class MockProducer {
 	static {
 		properties.setProperty(ConfigFacadeEjb.COUNTRY_NAME, "nigeria");
 		properties.setProperty(ConfigFacadeEjb.CSV_SEPARATOR, ";");
+		// tests create data through the services, which doesn't invalidate the caches, and the database is reset after each test
+		properties.setProperty(ConfigFacadeEjb.CACHE_REFRESH, "0");
+		properties.setProperty(ConfigFacadeEjb.COUNT_CACHE_TTL, "0");
 
 		try {
 			Field instance = InfoProvider.class.getDeclaredField("instance");
@@ -78,7 +92,7 @@ public class MockProducer {
 
 	public static void resetMocks() {
 
-		reset(sessionContext, principal, topic, connectionFactory, timerService, userTransaction);
+		reset(sessionContext, principal, topic, connectionFactory, timerService, userTransaction, transactionSynchronizationRegistry, dataSource);
 		wireMocks();
 	}
 
@@ -122,8 +136,56 @@ public class MockProducer {
 		return userTransaction;
 	}
 
+	@Produces
+	public static TransactionSynchronizationRegistry getTransactionSynchronizationRegistry() {
+		return transactionSynchronizationRegistry;
+	}
+
+	@Produces
+	public static DataSource getDataSource() {
+		return dataSource;
+	}
+
+	@Produces
+	public static ManagedExecutorService getManagedExecutorService() {
+		return executorService;
+	}
+
 	@Produces
 	public static Principal getPrincipal() {
 		return principal;
 	}
+
+	private static class DirectExecutorService extends AbstractExecutorService {
+
+		@Override
+		public void execute(Runnable command) {
+			command.run();
+		}
+
+		@Override
+		public void shutdown() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Runnable> shutdownNow() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return false;
+		}
+
+		@Override
+		public boolean isTerminated() {
+			return false;
+		}
+
+		@Override
+		public boolean awaitTermination(long timeout, TimeUnit unit) {
+			return false;
+		}
+	}
 }
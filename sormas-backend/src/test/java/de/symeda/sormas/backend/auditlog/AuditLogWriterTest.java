@@ -0,0 +1,284 @@
+package de.symeda.sormas.backend.auditlog;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.symeda.auditlog.api.ChangeType;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+
+public class AuditLogWriterTest {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private DataSource dataSource;
+	private ConfigFacadeEjbLocal configFacade;
+
+	private boolean databaseAvailable = true;
+	private final List<String> writtenUuids = new ArrayList<>();
+	private final Set<String> writtenEntryKeys = new HashSet<>();
+
+	@Before
+	public void mockDatabase() throws SQLException {
+
+		configFacade = mock(ConfigFacadeEjbLocal.class);
+		when(configFacade.getAuditlogSpillPath()).thenReturn(temp.getRoot().getPath());
+		when(configFacade.isAuditlogSpillSync()).thenReturn(true);
+		when(configFacade.getAuditlogSpillMaxFiles()).thenReturn(100);
+
+		dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenAnswer(invocation -> {
+			if (!databaseAvailable) {
+				throw new SQLException("The audit database is not available");
+			}
+			return mockConnection();
+		});
+	}
+
+	/**
+	 * @return A connection that adds the uuids of the inserted entries to {@link #writtenUuids} when it is committed. Entries
+	 *         with an entry key that has already been written are skipped, like the database does.
+	 */
+	private Connection mockConnection() throws SQLException {
+
+		AtomicInteger requestedIds = new AtomicInteger();
+		AtomicInteger row = new AtomicInteger();
+		ResultSet ids = mock(ResultSet.class);
+		when(ids.next()).thenAnswer(invocation -> row.incrementAndGet() <= requestedIds.get());
+		when(ids.getLong(1)).thenAnswer(invocation -> (long) row.get());
+		PreparedStatement nextIds = mock(PreparedStatement.class);
+		doAnswer(invocation -> {
+			requestedIds.set((Integer) invocation.getArguments()[1]);
+			return null;
+		}).when(nextIds).setInt(eq(1), anyInt());
+		when(nextIds.executeQuery()).thenReturn(ids);
+
+		List<String> insertedUuids = new ArrayList<>();
+		List<String> insertedEntryKeys = new ArrayList<>();
+		PreparedStatement insertEntry = mock(PreparedStatement.class);
+		doAnswer(invocation -> insertedUuids.add((String) invocation.getArguments()[1])).when(insertEntry).setString(eq(6), anyString());
+		doAnswer(invocation -> insertedEntryKeys.add((String) invocation.getArguments()[1])).when(insertEntry).setString(eq(8), anyString());
+
+		Connection connection = mock(Connection.class);
+		when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+			String sql = (String) invocation.getArguments()[0];
+			if (sql.contains("nextval")) {
+				return nextIds;
+			} else if (sql.startsWith("INSERT INTO auditlogentry ")) {
+				return insertEntry;
+			}
+			return mock(PreparedStatement.class);
+		});
+		doAnswer(invocation -> {
+			for (int i = 0; i < insertedUuids.size(); i++) {
+				if (writtenEntryKeys.add(insertedEntryKeys.get(i))) {
+					writtenUuids.add(insertedUuids.get(i));
+				}
+			}
+			return null;
+		}).when(connection).commit();
+
+		return connection;
+	}
+
+	/**
+	 * @return A new writer, like the one created after a restart of the server.
+	 */
+	private AuditLogWriter createWriter() throws ReflectiveOperationException {
+
+		AuditLogWriter writer = new AuditLogWriter();
+		setField(writer, "dataSource", dataSource);
+		setField(writer, "configFacade", configFacade);
+		writer.initOutbox();
+		return writer;
+	}
+
+	private static void setField(AuditLogWriter writer, String name, Object value) throws ReflectiveOperationException {
+
+		Field field = AuditLogWriter.class.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(writer, value);
+	}
+
+	private static List<AuditLogEntry> createEntries(String... uuids) {
+
+		return Arrays.stream(uuids).map(uuid -> {
+			AuditLogEntry entry = new AuditLogEntry();
+			entry.setUuid(uuid);
+			entry.setEntryKey("key-" + uuid);
+			entry.setClazz(AuditLogEntry.class.getName());
+			entry.setChangeType(ChangeType.UPDATE);
+			entry.setDetectionTimestamp(new Date());
+			return entry;
+		}).collect(Collectors.toList());
+	}
+
+	private Path getOutboxDirectory() {
+		return temp.getRoot().toPath().resolve(AuditLogWriter.getNodeName());
+	}
+
+	private List<File> getOutboxFiles(String suffix) {
+		return Arrays.stream(getOutboxDirectory().toFile().listFiles())
+			.filter(file -> file.getName().endsWith(suffix))
+			.collect(Collectors.toList());
+	}
+
+	@Test
+	public void testEnqueueStoresEntriesBeforeWriting() throws ReflectiveOperationException {
+
+		AuditLogWriter writer = createWriter();
+		writer.enqueue(createEntries("uuid-1", "uuid-2"));
+		writer.enqueue(createEntries("uuid-3"));
+
+		assertThat(getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX), hasSize(2));
+		assertThat(writtenUuids, empty());
+
+		writer.flush();
+
+		assertThat(writtenUuids, contains("uuid-1", "uuid-2", "uuid-3"));
+		assertThat(getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX), empty());
+	}
+
+	@Test
+	public void testEnqueueBeyondCacheCapacity() throws ReflectiveOperationException {
+
+		AuditLogWriter writer = createWriter();
+		String[] uuids = IntStream.range(0, AuditLogWriter.CACHE_CAPACITY).mapToObj(i -> "uuid-" + i).toArray(String[]::new);
+		writer.enqueue(createEntries(uuids));
+		// doesn't fit into the cache anymore and is read back from the outbox
+		writer.enqueue(createEntries("overflow-1", "overflow-2"));
+
+		writer.flush();
+
+		assertEquals(AuditLogWriter.CACHE_CAPACITY + 2, writtenUuids.size());
+		assertThat(writtenUuids.subList(AuditLogWriter.CACHE_CAPACITY, writtenUuids.size()), contains("overflow-1", "overflow-2"));
+		assertThat(getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX), empty());
+	}
+
+	@Test
+	public void testReplayAfterDatabaseFailure() throws ReflectiveOperationException {
+
+		databaseAvailable = false;
+		AuditLogWriter writer = createWriter();
+		writer.enqueue(createEntries("uuid-1"));
+		writer.flush();
+		writer.enqueue(createEntries("uuid-2"));
+		writer.shutdown();
+
+		assertThat(writtenUuids, empty());
+		assertThat(getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX), hasSize(2));
+
+		// the entries survive the restart and are written in their original order
+		databaseAvailable = true;
+		createWriter().flush();
+
+		assertThat(writtenUuids, contains("uuid-1", "uuid-2"));
+		assertThat(getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX), empty());
+	}
+
+	@Test
+	public void testReplayIncompleteOutboxFiles() throws ReflectiveOperationException, IOException {
+
+		AuditLogWriter writer = createWriter();
+		writer.enqueue(createEntries("uuid-1"));
+
+		// the server stopped while the outbox files were being written
+		Path complete = getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX).get(0).toPath();
+		Files.move(complete, complete.resolveSibling(complete.getFileName() + ".tmp"));
+		Files.write(getOutboxDirectory().resolve(AuditLogWriter.OUTBOX_FILE_PREFIX + "9_truncated.ser.tmp"), new byte[] {
+			1, 2 });
+
+		createWriter().flush();
+
+		assertThat(writtenUuids, contains("uuid-1"));
+		assertThat(getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX), empty());
+		assertThat(getOutboxFiles(AuditLogWriter.CORRUPT_OUTBOX_FILE_SUFFIX), hasSize(1));
+	}
+
+	@Test
+	public void testReplayWrittenOutboxFile() throws ReflectiveOperationException, IOException {
+
+		AuditLogWriter writer = createWriter();
+		writer.enqueue(createEntries("uuid-1", "uuid-2"));
+		Path outboxFile = getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX).get(0).toPath();
+		byte[] content = Files.readAllBytes(outboxFile);
+		writer.flush();
+
+		// the server stopped after the entries were written, but before the file was deleted
+		Files.write(outboxFile, content);
+		createWriter().flush();
+
+		assertThat(writtenUuids, contains("uuid-1", "uuid-2"));
+		assertThat(getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX), empty());
+	}
+
+	@Test
+	public void testEnqueueIntoFullOutbox() throws ReflectiveOperationException {
+
+		when(configFacade.getAuditlogSpillMaxFiles()).thenReturn(2);
+		AuditLogWriter writer = createWriter();
+		writer.enqueue(createEntries("uuid-1"));
+		writer.enqueue(createEntries("uuid-2"));
+		// written right away instead of waiting in the outbox
+		writer.enqueue(createEntries("uuid-3"));
+
+		assertThat(writtenUuids, contains("uuid-3"));
+		assertThat(getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX), hasSize(2));
+
+		writer.flush();
+		writer.enqueue(createEntries("uuid-4"));
+
+		assertThat(writtenUuids, contains("uuid-3", "uuid-1", "uuid-2"));
+		assertThat(getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX), hasSize(1));
+	}
+
+	@Test
+	public void testTakeOverOutboxFilesOfSpillPath() throws ReflectiveOperationException, IOException {
+
+		AuditLogWriter writer = createWriter();
+		writer.enqueue(createEntries("uuid-1"));
+
+		// stored directly in the spill path by an earlier version
+		Path outboxFile = getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX).get(0).toPath();
+		Files.move(outboxFile, temp.getRoot().toPath().resolve(outboxFile.getFileName()));
+		createWriter().flush();
+
+		assertThat(writtenUuids, contains("uuid-1"));
+		assertThat(getOutboxFiles(AuditLogWriter.OUTBOX_FILE_SUFFIX), empty());
+	}
+}
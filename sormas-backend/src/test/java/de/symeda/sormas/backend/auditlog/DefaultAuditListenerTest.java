@@ -0,0 +1,65 @@
+package de.symeda.sormas.backend.auditlog;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import de.symeda.auditlog.api.Auditor;
+import de.symeda.auditlog.api.sample.Entity;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultAuditListenerTest {
+
+	@Mock
+	private Auditor auditor;
+	@Mock
+	private ReadOnlyLoadingScope readOnlyLoadingScope;
+	@Mock
+	private EntityManager em;
+	@Mock
+	private Session session;
+	@InjectMocks
+	private DefaultAuditListener auditListener;
+
+	@Before
+	public void setUp() {
+		when(em.unwrap(Session.class)).thenReturn(session);
+	}
+
+	@Test
+	public void testPostLoadRegistersEntity() {
+
+		Entity entity = new Entity("uuid-1", false, "value", 1);
+		auditListener.postLoad(entity);
+		verify(auditor).register(entity);
+	}
+
+	@Test
+	public void testPostLoadSkipsEntityLoadedReadOnly() {
+
+		when(readOnlyLoadingScope.isActive()).thenReturn(true);
+		Entity entity = new Entity("uuid-1", false, "value", 1);
+		auditListener.postLoad(entity);
+		verify(auditor, never()).register(entity);
+	}
+
+	@Test
+	public void testPostLoadSkipsEntityOfReadOnlyQuery() {
+
+		Entity entity = new Entity("uuid-1", false, "value", 1);
+		when(session.contains(entity)).thenReturn(true);
+		when(session.isReadOnly(entity)).thenReturn(true);
+		auditListener.postLoad(entity);
+		verify(auditor, never()).register(entity);
+	}
+}
@@ -0,0 +1,72 @@
+package de.symeda.sormas.backend.auditlog;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Test;
+
+import de.symeda.auditlog.api.Auditor;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.person.Person;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+public class ReadOnlyLoadingScopeTest extends AbstractBeanTest {
+
+	@Test
+	public void testExecuteReadOnlyActivatesScope() {
+
+		ReadOnlyLoadingScope readOnlyLoadingScope = getBean(ReadOnlyLoadingScope.class);
+		assertFalse(readOnlyLoadingScope.isActive());
+
+		// nested reads keep the scope active until the outermost read ends
+		assertTrue(getCaseService().executeReadOnly(() -> getPersonService().executeReadOnly(readOnlyLoadingScope::isActive)));
+		assertTrue(getCaseService().executeReadOnly(() -> {
+			getPersonService().executeReadOnly(() -> null);
+			return readOnlyLoadingScope.isActive();
+		}));
+		assertFalse(readOnlyLoadingScope.isActive());
+	}
+
+	@Test
+	public void testReadOnlyQueryKeepsNoSnapshot() throws ReflectiveOperationException {
+
+		creator.createPerson();
+		EntityManager em = getEntityManager();
+		Auditor auditor = new Auditor();
+		DefaultAuditListener auditListener = new DefaultAuditListener();
+		setField(auditListener, "auditor", auditor);
+		setField(auditListener, "readOnlyLoadingScope", new ReadOnlyLoadingScope());
+		setField(auditListener, "em", em);
+
+		// the listener is called like after loading the entities, outside of executeReadOnly
+		em.clear();
+		em.createQuery("SELECT p FROM Person p", Person.class)
+			.setHint(ModelConstants.HINT_HIBERNATE_READ_ONLY, true)
+			.getResultList()
+			.forEach(auditListener::postLoad);
+		assertTrue(getChanges(auditor).isEmpty());
+
+		em.clear();
+		em.createQuery("SELECT p FROM Person p", Person.class).getResultList().forEach(auditListener::postLoad);
+		assertFalse(getChanges(auditor).isEmpty());
+	}
+
+	private static void setField(DefaultAuditListener auditListener, String name, Object value) throws ReflectiveOperationException {
+
+		Field field = DefaultAuditListener.class.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(auditListener, value);
+	}
+
+	private static Map<?, ?> getChanges(Auditor auditor) throws ReflectiveOperationException {
+
+		Field field = Auditor.class.getDeclaredField("changes");
+		field.setAccessible(true);
+		return (Map<?, ?>) field.get(auditor);
+	}
+}
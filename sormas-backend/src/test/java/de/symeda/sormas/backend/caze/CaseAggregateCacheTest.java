@@ -0,0 +1,95 @@
+package de.symeda.sormas.backend.caze;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.InvestigationStatus;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb;
+
+public class CaseAggregateCacheTest extends AbstractBeanTest {
+
+	@After
+	public void resetCacheSize() {
+		MockProducer.getProperties().remove(ConfigFacadeEjb.AGGREGATE_CACHE_SIZE);
+		getBean(CaseAggregateCache.class).invalidate();
+	}
+
+	@Test
+	public void testGet() {
+
+		CaseAggregateCache cache = getBean(CaseAggregateCache.class);
+		cache.invalidate();
+		AtomicInteger loads = new AtomicInteger();
+		Supplier<List<String>> loader = () -> {
+			loads.incrementAndGet();
+			return Arrays.asList("a", "b");
+		};
+		long hits = cache.getStatistics().get("hits");
+
+		assertEquals(Arrays.asList("a", "b"), cache.get(loader, "testGet", 1));
+		assertEquals(Arrays.asList("a", "b"), cache.get(loader, "testGet", 1));
+		assertEquals(1, loads.get());
+		assertEquals(hits + 1, (long) cache.getStatistics().get("hits"));
+
+		// other parameters
+		cache.get(loader, "testGet", 2);
+		assertEquals(2, loads.get());
+
+		// changed cases discard all results
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		creator.createCase(
+			user.toReference(),
+			creator.createPerson("Case", "Person").toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+		cache.get(loader, "testGet", 1);
+		assertEquals(3, loads.get());
+	}
+
+	@Test
+	public void testEviction() {
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.AGGREGATE_CACHE_SIZE, "5");
+		CaseAggregateCache cache = getBean(CaseAggregateCache.class);
+		cache.invalidate();
+		AtomicInteger loads = new AtomicInteger();
+		Supplier<List<String>> loader = () -> {
+			loads.incrementAndGet();
+			return Arrays.asList("a", "b");
+		};
+
+		// each result has a size of 3, so only one of them fits
+		cache.get(loader, "testEviction", 1);
+		cache.get(loader, "testEviction", 2);
+		assertEquals(1, (long) cache.getStatistics().get("entries"));
+		cache.get(loader, "testEviction", 2);
+		assertEquals(2, loads.get());
+		cache.get(loader, "testEviction", 1);
+		assertEquals(3, loads.get());
+
+		// a disabled cache always loads
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.AGGREGATE_CACHE_SIZE, "0");
+		cache.get(loader, "testEviction", 1);
+		assertEquals(4, loads.get());
+	}
+}
@@ -17,6 +17,9 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.caze;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -26,6 +29,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -33,6 +37,7 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -40,6 +45,7 @@ import org.junit.rules.ExpectedException;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseDataDto;
@@ -60,6 +66,7 @@ import de.symeda.sormas.api.contact.ContactReferenceDto;
 import de.symeda.sormas.api.contact.FollowUpStatus;
 import de.symeda.sormas.api.epidata.EpiDataTravelDto;
 import de.symeda.sormas.api.event.EventReferenceDto;
+import de.symeda.sormas.api.facility.FacilityDto;
 import de.symeda.sormas.api.facility.FacilityReferenceDto;
 import de.symeda.sormas.api.hospitalization.PreviousHospitalizationDto;
 import de.symeda.sormas.api.person.PersonDto;
@@ -84,14 +91,19 @@ import de.symeda.sormas.api.therapy.TreatmentDto;
 import de.symeda.sormas.api.user.UserDto;
 import de.symeda.sormas.api.user.UserReferenceDto;
 import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.CountStrategy;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.utils.OutdatedEntityException;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.YesNoUnknown;
 import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
 import de.symeda.sormas.backend.TestDataCreator.RDCF;
 import de.symeda.sormas.backend.TestDataCreator.RDCFEntities;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
+import de.symeda.sormas.backend.caze.duplicate.CaseDuplicateCandidateUpdater;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb;
+import de.symeda.sormas.backend.common.CountCache;
 import de.symeda.sormas.backend.region.District;
 import de.symeda.sormas.backend.region.Region;
 import de.symeda.sormas.backend.util.DateHelper8;
@@ -267,6 +279,79 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertEquals(1, mapCaseDtos.size());
 	}
 
+	@Test
+	public void testCountWithStrategy() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		for (int i = 0; i < 3; i++) {
+			creator.createCase(user.toReference(), creator.createPerson("Case", "Person" + i).toReference(), rdcf);
+		}
+
+		CaseCriteria criteria = new CaseCriteria();
+		assertEquals(3, getCaseFacade().count(criteria, CountStrategy.EXACT, 0));
+		assertEquals(2, getCaseFacade().count(criteria, CountStrategy.HAS_MORE, 1));
+		assertEquals(3, getCaseFacade().count(criteria, CountStrategy.HAS_MORE, 2));
+		assertEquals(3, getCaseFacade().count(criteria, CountStrategy.HAS_MORE, 10));
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.COUNT_CACHE_TTL, "3600");
+		CountCache countCache = getBean(CountCache.class);
+		countCache.invalidate();
+		try {
+			assertEquals(3, getCaseFacade().count(criteria, CountStrategy.CACHED, 0));
+			assertEquals(3, countCache.get(() -> 0, Case.class.getSimpleName(), criteria, getCaseService().getUserFilterScope()));
+
+			// saving or deleting a case discards the cached counts
+			CaseDataDto caze = creator.createCase(user.toReference(), creator.createPerson("Case", "Person3").toReference(), rdcf);
+			assertEquals(4, getCaseFacade().count(criteria, CountStrategy.CACHED, 0));
+			getCaseFacade().deleteCase(caze.getUuid());
+			assertEquals(3, getCaseFacade().count(criteria, CountStrategy.CACHED, 0));
+
+			// other criteria are counted separately
+			criteria.setDisease(Disease.EVD);
+			assertEquals(0, countCache.get(() -> 0, Case.class.getSimpleName(), criteria, getCaseService().getUserFilterScope()));
+		} finally {
+			MockProducer.getProperties().setProperty(ConfigFacadeEjb.COUNT_CACHE_TTL, "0");
+			countCache.invalidate();
+		}
+	}
+
+	@Test
+	public void testGetIndexListByNameUuidEpidNumber() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		PersonDto cazePerson = creator.createPerson("Anna", "Schmidt");
+		CaseDataDto caze = creator.createCase(user.toReference(), cazePerson.toReference(), rdcf);
+		creator.createCase(user.toReference(), creator.createPerson("Berta", "Meyer").toReference(), rdcf);
+
+		assertThat(getCaseIndexUuids("SCHMI ann"), contains(caze.getUuid()));
+		assertThat(getCaseIndexUuids(caze.getUuid().substring(3, 10).toLowerCase()), contains(caze.getUuid()));
+		assertThat(getCaseIndexUuids("facil"), hasSize(2));
+		assertThat(getCaseIndexUuids("schmidt meyer"), empty());
+
+		// the search texts follow changes of the person and the facility
+		cazePerson.setLastName("Schmitt");
+		getPersonFacade().savePerson(cazePerson);
+		assertThat(getCaseIndexUuids("schmidt"), empty());
+		assertThat(getCaseIndexUuids("schmitt"), contains(caze.getUuid()));
+
+		FacilityDto facility = getFacilityFacade().getByUuid(rdcf.facility.getUuid());
+		facility.setName("Hospital");
+		getFacilityFacade().saveFacility(facility);
+		assertThat(getCaseIndexUuids("facil"), empty());
+		assertThat(getCaseIndexUuids("hospital schmitt"), contains(caze.getUuid()));
+	}
+
+	private List<String> getCaseIndexUuids(String nameUuidEpidNumberLike) {
+
+		CaseCriteria criteria = new CaseCriteria();
+		criteria.setNameUuidEpidNumberLike(nameUuidEpidNumberLike);
+		return getCaseFacade().getIndexList(criteria, null, null, null).stream().map(CaseIndexDto::getUuid).collect(Collectors.toList());
+	}
+
 	@Test
 	public void testGetIndexList() {
 
@@ -424,6 +509,59 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertThat(exportDto.getTraveled(), equalTo(YesNoUnknown.YES));
 	}
 
+	@Test
+	public void testGetExportListAfter() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		PersonDto cazePerson = creator.createPerson("Case", "Person");
+
+		Date reportDate = new Date();
+		Date earlierReportDate = DateHelper.subtractDays(reportDate, 1);
+		// two cases with the same report date, so the keyset has to respect the id as well
+		CaseDataDto caze1 = creator.createCase(
+			user.toReference(),
+			cazePerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			reportDate,
+			rdcf);
+		CaseDataDto caze2 = creator.createCase(
+			user.toReference(),
+			cazePerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			reportDate,
+			rdcf);
+		CaseDataDto caze3 = creator.createCase(
+			user.toReference(),
+			cazePerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			earlierReportDate,
+			rdcf);
+
+		List<CaseExportDto> firstBlock =
+			getCaseFacade().getExportListAfter(new CaseCriteria(), CaseExportType.CASE_SURVEILLANCE, null, 2, null, Language.EN);
+		assertThat(firstBlock, hasSize(2));
+		assertThat(firstBlock.get(0).getUuid(), equalTo(caze2.getUuid()));
+		assertThat(firstBlock.get(1).getUuid(), equalTo(caze1.getUuid()));
+
+		List<CaseExportDto> secondBlock = getCaseFacade()
+			.getExportListAfter(new CaseCriteria(), CaseExportType.CASE_SURVEILLANCE, firstBlock.get(1).getId(), 2, null, Language.EN);
+		assertThat(secondBlock, hasSize(1));
+		assertThat(secondBlock.get(0).getUuid(), equalTo(caze3.getUuid()));
+
+		assertThat(
+			getCaseFacade()
+				.getExportListAfter(new CaseCriteria(), CaseExportType.CASE_SURVEILLANCE, secondBlock.get(0).getId(), 2, null, Language.EN),
+			hasSize(0));
+	}
+
 	@Test
 	public void testCaseDeletion() {
 
@@ -641,6 +779,108 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertEquals(0, getCaseFacade().getArchivedUuidsSince(testStartDate).size());
 	}
 
+	@Test
+	public void testGetAllActiveCasesPage() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		List<String> caseUuids = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			PersonDto cazePerson = creator.createPerson("Case", "Person" + i);
+			caseUuids.add(
+				creator
+					.createCase(
+						user.toReference(),
+						cazePerson.toReference(),
+						Disease.EVD,
+						CaseClassification.PROBABLE,
+						InvestigationStatus.PENDING,
+						new Date(),
+						rdcf)
+					.getUuid());
+		}
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.SYNC_PAGE_SIZE, "2");
+		try {
+			SyncPageDto<CaseDataDto> firstPage = getCaseFacade().getAllActiveCasesPage(null, null);
+			assertThat(firstPage.getElements(), hasSize(2));
+			assertTrue(firstPage.hasNext());
+
+			SyncPageDto<CaseDataDto> secondPage = getCaseFacade().getAllActiveCasesPage(null, firstPage.getNextCursor());
+			assertThat(secondPage.getElements(), hasSize(1));
+			assertFalse(secondPage.hasNext());
+
+			List<String> pulledUuids = new ArrayList<>();
+			firstPage.getElements().forEach(c -> pulledUuids.add(c.getUuid()));
+			secondPage.getElements().forEach(c -> pulledUuids.add(c.getUuid()));
+			assertThat(pulledUuids, hasSize(3));
+			assertTrue(pulledUuids.containsAll(caseUuids));
+		} finally {
+			MockProducer.getProperties().remove(ConfigFacadeEjb.SYNC_PAGE_SIZE);
+		}
+	}
+
+	@Test
+	public void testGetAllActiveCasesByContactScope() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		RDCF otherRdcf = creator.createRDCF("Region2", "District2", "Community2", "Facility2");
+		UserDto survOff =
+			creator.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Off", UserRole.SURVEILLANCE_OFFICER);
+		UserDto contactOff = creator.createUser(
+			otherRdcf.region.getUuid(),
+			otherRdcf.district.getUuid(),
+			otherRdcf.facility.getUuid(),
+			"Cont",
+			"Off",
+			UserRole.CONTACT_OFFICER);
+		CaseDataDto caze = creator.createCase(survOff.toReference(), creator.createPerson("Case", "Person").toReference(), rdcf);
+
+		when(MockProducer.getPrincipal().getName()).thenReturn("ContOff");
+		assertThat(getCaseFacade().getAllActiveCasesAfter(null), hasSize(0));
+
+		// the contact officer of one of the contacts has access to the case
+		ContactDto contact = creator
+			.createContact(survOff.toReference(), contactOff.toReference(), creator.createPerson().toReference(), caze, new Date(), null, null);
+		assertThat(getCaseFacade().getAllActiveCasesAfter(null), hasSize(1));
+
+		contact = getContactFacade().getContactByUuid(contact.getUuid());
+		contact.setContactOfficer(null);
+		getContactFacade().saveContact(contact);
+		assertThat(getCaseFacade().getAllActiveCasesAfter(null), hasSize(0));
+	}
+
+	@Test
+	public void testGetAllActiveCasesAfterChangeOfOwnedEntity() throws InterruptedException {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = useSurveillanceOfficerLogin(rdcf);
+		CaseDataDto caze = creator.createCase(
+			user.toReference(),
+			creator.createPerson("Case", "Person").toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+
+		Date date = new Date();
+		//the delay is needed in order to ensure the time difference between the date and the case dependent objects update
+		Thread.sleep(10L);
+
+		assertEquals(0, getCaseFacade().getAllActiveCasesAfter(date).size());
+
+		caze = getCaseFacade().getCaseDataByUuid(caze.getUuid());
+		caze.getHospitalization().setIsolated(YesNoUnknown.YES);
+		getCaseFacade().saveCase(caze);
+
+		assertEquals(1, getCaseFacade().getAllActiveCasesAfter(date).size());
+		Case caseEntity = getCaseService().getByUuid(caze.getUuid());
+		assertTrue(caseEntity.getAggregateChangeDate().after(date));
+		assertFalse(caseEntity.getChangeDate().after(caseEntity.getAggregateChangeDate()));
+	}
+
 	@Test
 	public void testGetAllActiveCasesIncludeExtendedChangeDateFiltersSample() throws InterruptedException {
 
@@ -1045,6 +1285,39 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertThat(caze.getSurveillanceOfficer(), is(survOff3));
 	}
 
+	@Test
+	public void testGetCasesForDuplicateMerging() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities();
+		RDCFEntities rdcf2 = creator.createRDCFEntities("Region2", "District2", "Community2", "Facility2");
+		UserReferenceDto user = creator.createUser(rdcf, UserRole.NATIONAL_USER).toReference();
+		CaseDataDto caze = creator.createCase(user, creator.createPerson("Anna", "Schmidt").toReference(), rdcf);
+		CaseDataDto duplicate = creator.createCase(user, creator.createPerson("Anna", "Schmitt").toReference(), rdcf);
+		CaseDataDto otherRegion = creator.createCase(user, creator.createPerson("Schmidt", "Anna").toReference(), rdcf2);
+		PersonDto otherPerson = creator.createPerson("Berta", "Meyer");
+		creator.createCase(user, otherPerson.toReference(), rdcf);
+
+		// candidates are only found by the background job
+		assertThat(getCaseFacade().getCasesForDuplicateMerging(new CaseCriteria(), true), hasSize(0));
+		getBean(CaseDuplicateCandidateUpdater.class).update();
+
+		List<CaseIndexDto[]> pairs = getCaseFacade().getCasesForDuplicateMerging(new CaseCriteria(), false);
+		assertThat(pairs, hasSize(1));
+		assertThat(Arrays.asList(pairs.get(0)[0].getUuid(), pairs.get(0)[1].getUuid()), containsInAnyOrder(caze.getUuid(), duplicate.getUuid()));
+		assertThat(getCaseFacade().getCasesForDuplicateMerging(new CaseCriteria(), true), hasSize(3));
+
+		// deleted cases are left out
+		getCaseFacade().deleteCase(otherRegion.getUuid());
+		assertThat(getCaseFacade().getCasesForDuplicateMerging(new CaseCriteria(), true), hasSize(1));
+
+		// changed names are found by the next update
+		otherPerson.setFirstName("Anna");
+		otherPerson.setLastName("Schmidt");
+		getPersonFacade().savePerson(otherPerson);
+		getBean(CaseDuplicateCandidateUpdater.class).update();
+		assertThat(getCaseFacade().getCasesForDuplicateMerging(new CaseCriteria(), true), hasSize(3));
+	}
+
 //	@Test
 //	public void testGetSimilarCases() {
 //		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
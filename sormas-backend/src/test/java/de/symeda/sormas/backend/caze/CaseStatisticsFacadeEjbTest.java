@@ -1,7 +1,9 @@
 package de.symeda.sormas.backend.caze;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -15,6 +17,7 @@ import de.symeda.sormas.api.IntegerRange;
 import de.symeda.sormas.api.Year;
 import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.caze.CaseOutcome;
 import de.symeda.sormas.api.caze.InvestigationStatus;
 import de.symeda.sormas.api.infrastructure.PopulationDataDto;
 import de.symeda.sormas.api.person.ApproximateAgeType;
@@ -30,6 +33,8 @@ import de.symeda.sormas.api.user.UserDto;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.backend.AbstractBeanTest;
 import de.symeda.sormas.backend.TestDataCreator.RDCF;
+import de.symeda.sormas.backend.caze.CaseStatisticsFacadeEjb.CaseStatisticsFacadeEjbLocal;
+import de.symeda.sormas.backend.caze.rollup.CaseCountRollupUpdater;
 import de.symeda.sormas.backend.util.DateHelper8;
 
 public class CaseStatisticsFacadeEjbTest extends AbstractBeanTest {
@@ -162,4 +167,79 @@ public class CaseStatisticsFacadeEjbTest extends AbstractBeanTest {
 		// List should have one entry
 		assertEquals(Integer.valueOf(12214), results.get(0).getPopulation());
 	}
+
+	@Test
+	public void testQueryCaseCountFromRollup() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		CaseDataDto caze1 = creator.createCase(
+			user.toReference(),
+			creator.createPerson("Case", "Person1").toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+		CaseDataDto caze2 = creator.createCase(
+			user.toReference(),
+			creator.createPerson("Case", "Person2").toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+
+		getBean(CaseCountRollupUpdater.class).update();
+
+		StatisticsCaseCriteria criteria = new StatisticsCaseCriteria();
+		criteria.regions(Arrays.asList(rdcf.region));
+		CaseStatisticsFacadeEjbLocal caseStatisticsFacade = getBean(CaseStatisticsFacadeEjbLocal.class);
+		assertTrue(caseStatisticsFacade.canUseCaseCountRollup(criteria, StatisticsCaseAttribute.OUTCOME, null, null, null));
+
+		List<StatisticsCaseCountDto> results =
+			caseStatisticsFacade.queryCaseCount(criteria, StatisticsCaseAttribute.OUTCOME, null, null, null, false, false, null);
+		assertEquals(1, results.size());
+		assertEquals(Integer.valueOf(2), results.get(0).getCaseCount());
+		assertEquals(CaseOutcome.NO_OUTCOME, results.get(0).getRowKey());
+
+		// the rollup is updated before it is queried
+		caze1 = getCaseFacade().getCaseDataByUuid(caze1.getUuid());
+		caze1.setOutcome(CaseOutcome.RECOVERED);
+		getCaseFacade().saveCase(caze1);
+		getCaseFacade().deleteCase(caze2.getUuid());
+
+		results = caseStatisticsFacade.queryCaseCount(criteria, StatisticsCaseAttribute.OUTCOME, null, null, null, false, false, null);
+		assertEquals(1, results.size());
+		assertEquals(Integer.valueOf(1), results.get(0).getCaseCount());
+		assertEquals(CaseOutcome.RECOVERED, results.get(0).getRowKey());
+
+		// try all groupings that can be answered from the rollup
+		for (StatisticsCaseAttribute groupingAttribute : StatisticsCaseAttribute.values()) {
+			StatisticsCaseSubAttribute[] subAttributes = groupingAttribute.getSubAttributes();
+			if (subAttributes.length == 0) {
+				if (caseStatisticsFacade.canUseCaseCountRollup(criteria, groupingAttribute, null, null, null)) {
+					results = caseStatisticsFacade.queryCaseCount(criteria, groupingAttribute, null, null, null, false, false, null);
+					assertEquals(Integer.valueOf(1), results.get(0).getCaseCount());
+				}
+			} else {
+				for (StatisticsCaseSubAttribute subGroupingAttribute : groupingAttribute.getSubAttributes()) {
+					if (subGroupingAttribute.isUsedForGrouping()
+						&& caseStatisticsFacade.canUseCaseCountRollup(criteria, groupingAttribute, subGroupingAttribute, null, null)) {
+						results =
+							caseStatisticsFacade.queryCaseCount(criteria, groupingAttribute, subGroupingAttribute, null, null, false, false, null);
+						assertEquals(Integer.valueOf(1), results.get(0).getCaseCount());
+					}
+				}
+			}
+		}
+
+		// the rollup does not know the community of a case
+		criteria.communities(Arrays.asList(rdcf.community));
+		assertFalse(caseStatisticsFacade.canUseCaseCountRollup(criteria, null, null, null, null));
+		// nor the time of day
+		criteria = new StatisticsCaseCriteria().dateRange(new Date(), null, StatisticsCaseAttribute.REPORT_TIME);
+		assertFalse(caseStatisticsFacade.canUseCaseCountRollup(criteria, null, null, null, null));
+	}
 }
@@ -0,0 +1,102 @@
+package de.symeda.sormas.backend.caze.classification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.classification.DiseaseClassificationCriteriaDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.backend.caze.classification.ClassificationCriteriaCompilerTest.ClassificationFixture;
+
+/**
+ * Compares the classification of the {@link ClassificationCriteriaCompilerTest} fixtures by the criteria DTOs with the
+ * classification by the compiled criteria. Not run by the build; start it with the main method from the IDE or with
+ * {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=...}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CaseClassificationBenchmark {
+
+	private final List<ClassificationFixture> fixtures = new ArrayList<>();
+	private final List<DiseaseClassificationCriteriaDto> criteria = new ArrayList<>();
+	private final List<DiseaseClassificationEvaluator> evaluators = new ArrayList<>();
+	private PersonDto person;
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CaseClassificationBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	@Setup
+	public void setUp() {
+
+		CaseClassificationFacadeEjb caseClassificationFacade = new CaseClassificationFacadeEjb();
+		person = ClassificationCriteriaCompilerTest.buildPerson();
+
+		for (Disease disease : Disease.values()) {
+			DiseaseClassificationCriteriaDto diseaseCriteria = caseClassificationFacade.getByDisease(disease);
+			if (diseaseCriteria != null) {
+				for (ClassificationFixture fixture : ClassificationCriteriaCompilerTest.buildFixtures(disease)) {
+					fixtures.add(fixture);
+					criteria.add(diseaseCriteria);
+					evaluators.add(ClassificationCriteriaCompiler.compile(diseaseCriteria));
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void classifyByDtos(Blackhole blackhole) {
+
+		for (int i = 0; i < fixtures.size(); i++) {
+			blackhole.consume(classify(criteria.get(i), fixtures.get(i)));
+		}
+	}
+
+	@Benchmark
+	public void classifyByCompiledCriteria(Blackhole blackhole) {
+
+		for (int i = 0; i < fixtures.size(); i++) {
+			ClassificationFixture fixture = fixtures.get(i);
+			blackhole.consume(evaluators.get(i).classify(fixture.caze, person, fixture.sampleTests));
+		}
+	}
+
+	/**
+	 * The evaluation done by {@link CaseClassificationFacadeEjb#getClassification} before the criteria were compiled.
+	 */
+	private CaseClassification classify(DiseaseClassificationCriteriaDto criteria, ClassificationFixture fixture) {
+
+		if (criteria.getConfirmedCriteria() != null && criteria.getConfirmedCriteria().eval(fixture.caze, person, fixture.sampleTests)) {
+			return CaseClassification.CONFIRMED;
+		} else if (criteria.getNotACaseCriteria() != null && criteria.getNotACaseCriteria().eval(fixture.caze, person, fixture.sampleTests)) {
+			return CaseClassification.NO_CASE;
+		} else if (criteria.getProbableCriteria() != null && criteria.getProbableCriteria().eval(fixture.caze, person, fixture.sampleTests)) {
+			return CaseClassification.PROBABLE;
+		} else if (criteria.getSuspectCriteria() != null && criteria.getSuspectCriteria().eval(fixture.caze, person, fixture.sampleTests)) {
+			return CaseClassification.SUSPECT;
+		} else {
+			return CaseClassification.NOT_CLASSIFIED;
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package de.symeda.sormas.backend.caze.classification;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.caze.CaseOutcome;
+import de.symeda.sormas.api.caze.PlagueType;
+import de.symeda.sormas.api.caze.classification.ClassificationCriteriaDto;
+import de.symeda.sormas.api.caze.classification.DiseaseClassificationCriteriaDto;
+import de.symeda.sormas.api.epidata.EpiDataDto;
+import de.symeda.sormas.api.person.ApproximateAgeType;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.sample.PathogenTestDto;
+import de.symeda.sormas.api.sample.PathogenTestResultType;
+import de.symeda.sormas.api.sample.PathogenTestType;
+import de.symeda.sormas.api.symptoms.SymptomState;
+import de.symeda.sormas.api.symptoms.SymptomsDto;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.api.utils.YesNoUnknown;
+
+public class ClassificationCriteriaCompilerTest {
+
+	@Test
+	public void testCompiledCriteriaEvaluateLikeDtos() {
+
+		CaseClassificationFacadeEjb caseClassificationFacade = new CaseClassificationFacadeEjb();
+		PersonDto person = buildPerson();
+
+		for (Disease disease : Disease.values()) {
+			DiseaseClassificationCriteriaDto criteria = caseClassificationFacade.getByDisease(disease);
+			if (criteria == null) {
+				continue;
+			}
+
+			for (ClassificationFixture fixture : buildFixtures(disease)) {
+				assertEvaluatesLikeDto(criteria.getConfirmedCriteria(), fixture, person);
+				assertEvaluatesLikeDto(criteria.getNotACaseCriteria(), fixture, person);
+				assertEvaluatesLikeDto(criteria.getProbableCriteria(), fixture, person);
+				assertEvaluatesLikeDto(criteria.getSuspectCriteria(), fixture, person);
+			}
+		}
+	}
+
+	private static void assertEvaluatesLikeDto(ClassificationCriteriaDto criteria, ClassificationFixture fixture, PersonDto person) {
+
+		if (criteria != null) {
+			assertEquals(
+				fixture.caze.getDisease() + ": " + fixture.description,
+				criteria.eval(fixture.caze, person, fixture.sampleTests),
+				ClassificationCriteriaCompiler.compile(criteria).eval(fixture.caze, person, fixture.sampleTests));
+		}
+	}
+
+	static PersonDto buildPerson() {
+
+		PersonDto person = PersonDto.build();
+		person.setApproximateAge(5);
+		person.setApproximateAgeType(ApproximateAgeType.YEARS);
+		return person;
+	}
+
+	/**
+	 * Cases of the disease that cover the scenarios of the CaseClassificationLogicTest without accessing the database.
+	 */
+	static List<ClassificationFixture> buildFixtures(Disease disease) {
+
+		List<ClassificationFixture> fixtures = new ArrayList<>();
+		fixtures.add(new ClassificationFixture("unclassified", buildCase(disease), Collections.emptyList()));
+
+		CaseDataDto caze = buildCase(disease);
+		fillSymptoms(caze.getSymptoms());
+		caze.setPlagueType(PlagueType.BUBONIC);
+		fixtures.add(new ClassificationFixture("symptoms", caze, Collections.emptyList()));
+
+		caze = buildCase(disease);
+		fillSymptoms(caze.getSymptoms());
+		fillEpiData(caze.getEpiData());
+		fixtures.add(new ClassificationFixture("symptoms and epi data", caze, Collections.emptyList()));
+
+		caze = buildCase(disease);
+		fillSymptoms(caze.getSymptoms());
+		fillEpiData(caze.getEpiData());
+		caze.setOutcome(CaseOutcome.DECEASED);
+		fixtures.add(new ClassificationFixture("deceased", caze, Collections.emptyList()));
+
+		caze = buildCase(disease);
+		fillSymptoms(caze.getSymptoms());
+		caze.setVaccinationDate(DateHelper.subtractDays(new Date(), 31));
+		fixtures.add(new ClassificationFixture("positive tests", caze, buildSampleTests(disease, PathogenTestResultType.POSITIVE)));
+
+		caze = buildCase(disease);
+		fillSymptoms(caze.getSymptoms());
+		caze.setVaccinationDate(DateHelper.subtractDays(new Date(), 10));
+		fixtures.add(new ClassificationFixture("recently vaccinated", caze, buildSampleTests(disease, PathogenTestResultType.POSITIVE)));
+
+		caze = buildCase(disease);
+		fillSymptoms(caze.getSymptoms());
+		fixtures.add(new ClassificationFixture("negative tests", caze, buildSampleTests(disease, PathogenTestResultType.NEGATIVE)));
+
+		Disease otherDisease = disease == Disease.DENGUE ? Disease.YELLOW_FEVER : Disease.DENGUE;
+		caze = buildCase(disease);
+		fillSymptoms(caze.getSymptoms());
+		fixtures
+			.add(new ClassificationFixture("other disease positive", caze, buildSampleTests(otherDisease, PathogenTestResultType.POSITIVE)));
+
+		return fixtures;
+	}
+
+	private static CaseDataDto buildCase(Disease disease) {
+
+		CaseDataDto caze = CaseDataDto.build(buildPerson().toReference(), disease);
+		caze.setReportDate(new Date());
+		return caze;
+	}
+
+	private static List<PathogenTestDto> buildSampleTests(Disease testedDisease, PathogenTestResultType testResult) {
+
+		List<PathogenTestDto> sampleTests = new ArrayList<>();
+		for (PathogenTestType testType : PathogenTestType.values()) {
+			PathogenTestDto sampleTest = new PathogenTestDto();
+			sampleTest.setTestType(testType);
+			sampleTest.setTestResult(testResult);
+			sampleTest.setTestedDisease(testedDisease);
+			sampleTest.setFourFoldIncreaseAntibodyTiter(true);
+			sampleTests.add(sampleTest);
+		}
+		return sampleTests;
+	}
+
+	/**
+	 * Sets all symptoms with the SymptomState type to YES.
+	 */
+	private static void fillSymptoms(SymptomsDto symptoms) {
+
+		for (Method method : SymptomsDto.class.getDeclaredMethods()) {
+			if (method.getName().startsWith("set") && method.getParameterTypes()[0] == SymptomState.class) {
+				try {
+					method.invoke(symptoms, SymptomState.YES);
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets all epi data fields with the YesNoUnknown type to YES.
+	 */
+	private static void fillEpiData(EpiDataDto epiData) {
+
+		for (Method method : EpiDataDto.class.getDeclaredMethods()) {
+			if (method.getName().startsWith("set") && method.getParameterTypes()[0] == YesNoUnknown.class) {
+				try {
+					method.invoke(epiData, YesNoUnknown.YES);
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+		}
+	}
+
+	static final class ClassificationFixture {
+
+		final String description;
+		final CaseDataDto caze;
+		final List<PathogenTestDto> sampleTests;
+
+		ClassificationFixture(String description, CaseDataDto caze, List<PathogenTestDto> sampleTests) {
+			this.description = description;
+			this.caze = caze;
+			this.sampleTests = sampleTests;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package de.symeda.sormas.backend.caze.duplicate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.person.Sex;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.caze.duplicate.CaseDuplicateFinder.CaseData;
+
+/**
+ * Finds the duplicates among generated cases, of which about 5% are copies of another case with a typo in one name. Comparing
+ * all pairs like the former self join did is only done for the first {@link #ALL_PAIRS_CASE_COUNT} cases, because it grows
+ * quadratically. Not run by the build; start it with the main method from the IDE or with
+ * {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=...}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CaseDuplicateFinderBenchmark {
+
+	private static final int ALL_PAIRS_CASE_COUNT = 5000;
+
+	private static final String[] SYLLABLES = {
+		"an",
+		"be",
+		"chi",
+		"da",
+		"el",
+		"fo",
+		"gu",
+		"ha",
+		"ik",
+		"jo",
+		"ka",
+		"lu",
+		"ma",
+		"ne",
+		"ok",
+		"pa",
+		"ri",
+		"sa",
+		"tu",
+		"wo",
+		"ya",
+		"ze" };
+
+	private static final Disease[] DISEASES = {
+		Disease.CORONAVIRUS,
+		Disease.CHOLERA,
+		Disease.MEASLES,
+		Disease.LASSA,
+		Disease.EVD };
+
+	@Param({
+		"100000" })
+	private int caseCount;
+
+	private List<CaseData> cases;
+	private List<String> fullNames;
+	private final CaseDuplicateFinder finder = new CaseDuplicateFinder(0.6);
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CaseDuplicateFinderBenchmark.class.getSimpleName()).build()).run();
+	}
+
+	@Setup
+	public void setUp() {
+
+		Random random = new Random(42);
+		Date startDate = DateHelper.getDateZero(2020, 0, 1);
+		cases = new ArrayList<>(caseCount);
+		fullNames = new ArrayList<>(caseCount);
+		Object[][] attributes = new Object[caseCount][];
+
+		for (int i = 0; i < caseCount; i++) {
+			if (i > 0 && random.nextInt(20) == 0) {
+				// a duplicate of a previous case that has been reported a few days later
+				Object[] original = attributes[random.nextInt(i)].clone();
+				original[1] = withTypo((String) original[1], random);
+				original[5] = DateHelper.addDays((Date) original[5], random.nextInt(5));
+				attributes[i] = original;
+			} else {
+				attributes[i] = new Object[] {
+					name(random),
+					name(random),
+					DISEASES[random.nextInt(DISEASES.length)],
+					random.nextBoolean() ? Sex.MALE : Sex.FEMALE,
+					random.nextInt(5) == 0 ? null : 1940 + random.nextInt(80),
+					DateHelper.addDays(startDate, random.nextInt(365)) };
+			}
+
+			Object[] caze = attributes[i];
+			fullNames.add(caze[0] + " " + caze[1]);
+			cases.add(
+				new CaseData(
+					i,
+					(Disease) caze[2],
+					(String) caze[0],
+					(String) caze[1],
+					(Sex) caze[3],
+					null,
+					null,
+					(Integer) caze[4],
+					(Date) caze[5],
+					null,
+					new Date(i)));
+		}
+	}
+
+	@Benchmark
+	public void findByBlocks(Blackhole blackhole) {
+		blackhole.consume(finder.find(cases));
+	}
+
+	@Benchmark
+	public void compareAllPairs(Blackhole blackhole) {
+
+		List<long[]> trigrams = new ArrayList<>(ALL_PAIRS_CASE_COUNT);
+		for (String fullName : fullNames.subList(0, Math.min(ALL_PAIRS_CASE_COUNT, fullNames.size()))) {
+			trigrams.add(CaseDuplicateFinder.trigrams(fullName));
+		}
+		for (int i = 0; i < trigrams.size(); i++) {
+			for (int j = i + 1; j < trigrams.size(); j++) {
+				blackhole.consume(CaseDuplicateFinder.similarity(trigrams.get(i), trigrams.get(j)));
+			}
+		}
+	}
+
+	private static String name(Random random) {
+
+		StringBuilder name = new StringBuilder();
+		int syllableCount = 2 + random.nextInt(2);
+		for (int i = 0; i < syllableCount; i++) {
+			name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+		}
+		name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+		return name.toString();
+	}
+
+	private static String withTypo(String name, Random random) {
+
+		int position = 1 + random.nextInt(name.length() - 1);
+		return name.substring(0, position) + (char) ('a' + random.nextInt(26)) + name.substring(position + 1);
+	}
+}
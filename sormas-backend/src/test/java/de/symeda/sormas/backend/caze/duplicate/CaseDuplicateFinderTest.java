@@ -0,0 +1,138 @@
+package de.symeda.sormas.backend.caze.duplicate;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.person.Sex;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.caze.duplicate.CaseDuplicateFinder.CandidatePair;
+import de.symeda.sormas.backend.caze.duplicate.CaseDuplicateFinder.CaseData;
+
+public class CaseDuplicateFinderTest {
+
+	private static final Date REPORT_DATE = DateHelper.getDateZero(2020, 6, 1);
+
+	@Test
+	public void testSoundex() {
+
+		assertEquals("R163", CaseDuplicateFinder.soundex("Robert"));
+		assertEquals("R163", CaseDuplicateFinder.soundex("Rupert"));
+		assertEquals("A261", CaseDuplicateFinder.soundex("Ashcraft"));
+		assertEquals("T522", CaseDuplicateFinder.soundex("Tymczak"));
+		assertEquals("P236", CaseDuplicateFinder.soundex("Pfister"));
+		assertEquals("M460", CaseDuplicateFinder.soundex("Müller"));
+		assertEquals("O000", CaseDuplicateFinder.soundex("O"));
+		assertNull(CaseDuplicateFinder.soundex(" - "));
+		assertNull(CaseDuplicateFinder.soundex(null));
+	}
+
+	@Test
+	public void testNameKey() {
+
+		assertEquals("R163", CaseDuplicateFinder.nameKey("Robert"));
+		assertEquals("~ив", CaseDuplicateFinder.nameKey("Иван"));
+		assertEquals("~مح", CaseDuplicateFinder.nameKey("محمد"));
+		assertEquals("~αν", CaseDuplicateFinder.nameKey("Άννα"));
+		assertNull(CaseDuplicateFinder.nameKey(" - "));
+		assertNull(CaseDuplicateFinder.nameKey(null));
+	}
+
+	@Test
+	public void testSimilarity() {
+
+		// same results as the similarity function of pg_trgm
+		assertEquals(1, similarity("Anna Schmidt", "schmidt, ANNA"), 0);
+		assertEquals(10 / 16d, similarity("Anna Schmidt", "Anna Schmitt"), 0.0001);
+		assertEquals(0, similarity("Anna", "Otto"), 0);
+		assertEquals(0, similarity("", ""), 0);
+	}
+
+	@Test
+	public void testFind() {
+
+		CaseDuplicateFinder finder = new CaseDuplicateFinder(0.6);
+		CaseData caze = caseData(1, Disease.EVD, "Anna", "Schmidt", Sex.FEMALE, 1980, 0);
+		CaseData typo = caseData(2, Disease.EVD, "Anna", "Schmitt", null, null, 1);
+		CaseData switchedNames = caseData(3, Disease.EVD, "Schmidt", "Anna", Sex.FEMALE, 1980, 2);
+		CaseData otherDisease = caseData(4, Disease.CHOLERA, "Anna", "Schmidt", Sex.FEMALE, 1980, 3);
+		CaseData otherBirthYear = caseData(5, Disease.EVD, "Anna", "Schmidt", Sex.FEMALE, 1981, 4);
+		CaseData otherName = caseData(6, Disease.EVD, "Berta", "Meyer", Sex.FEMALE, 1980, 5);
+
+		assertThat(
+			finder.find(Arrays.asList(otherName, otherBirthYear, otherDisease, switchedNames, typo, caze)),
+			containsInAnyOrder(
+				new CandidatePair(1, 2, 0),
+				new CandidatePair(1, 3, 0),
+				new CandidatePair(2, 3, 0),
+				new CandidatePair(2, 5, 0)));
+
+		// report dates more than 30 days apart
+		CaseData later = caseData(7, Disease.EVD, "Anna", "Schmidt", null, null, 31);
+		assertThat(finder.find(Arrays.asList(caze, later)), empty());
+
+		// neither sex nor birth date match
+		CaseData male = new CaseData(8, Disease.EVD, "Anna", "Schmidt", Sex.MALE, 2, 1, 1980, REPORT_DATE, null, new Date(8));
+		CaseData female = new CaseData(9, Disease.EVD, "Anna", "Schmidt", Sex.FEMALE, 3, 1, 1980, REPORT_DATE, null, new Date(9));
+		assertThat(finder.find(Arrays.asList(male, female)), empty());
+	}
+
+	@Test
+	public void testFindNonLatinNames() {
+
+		CaseDuplicateFinder finder = new CaseDuplicateFinder(0.6);
+		CaseData caze = caseData(1, Disease.EVD, "Иван", "Петров", Sex.MALE, 1980, 0);
+		CaseData typo = caseData(2, Disease.EVD, "Иван", "Петровв", Sex.MALE, 1980, 1);
+		CaseData otherName = caseData(3, Disease.EVD, "Мария", "Смирнова", Sex.FEMALE, 1980, 2);
+
+		assertThat(finder.find(Arrays.asList(caze, typo, otherName)), containsInAnyOrder(new CandidatePair(1, 2, 0)));
+	}
+
+	@Test
+	public void testFindTimeSpan() {
+
+		CaseDuplicateFinder finder = new CaseDuplicateFinder(0.6);
+		CaseData first = caseData(1, Disease.EVD, "Anna", "Schmidt", null, null, 0);
+		CaseData second = caseData(2, Disease.EVD, "Anna", "Schmidt", null, null, 20);
+		CaseData third = caseData(3, Disease.EVD, "Anna", "Schmidt", null, null, 40);
+		CaseData withoutReportDate = new CaseData(4, Disease.EVD, "Anna", "Schmidt", null, null, null, null, null, null, new Date(4));
+
+		assertThat(
+			finder.find(Arrays.asList(third, withoutReportDate, second, first)),
+			containsInAnyOrder(new CandidatePair(1, 2, 0), new CandidatePair(2, 3, 0)));
+
+		// only the pairs of changed cases
+		assertThat(
+			finder.find(Arrays.asList(third, second, first), Collections.singleton(3L)),
+			containsInAnyOrder(new CandidatePair(2, 3, 0)));
+		assertThat(finder.find(Arrays.asList(third, second, first), Collections.emptySet()), empty());
+	}
+
+	private static double similarity(String text, String otherText) {
+		return CaseDuplicateFinder.similarity(CaseDuplicateFinder.trigrams(text), CaseDuplicateFinder.trigrams(otherText));
+	}
+
+	private static CaseData caseData(long id, Disease disease, String firstName, String lastName, Sex sex, Integer birthYear, int daysLater) {
+		return new CaseData(
+			id,
+			disease,
+			firstName,
+			lastName,
+			sex,
+			null,
+			null,
+			birthYear,
+			DateHelper.addDays(REPORT_DATE, daysLater),
+			null,
+			new Date(id));
+	}
+}
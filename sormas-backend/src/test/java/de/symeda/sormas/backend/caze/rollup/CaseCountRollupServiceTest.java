@@ -0,0 +1,77 @@
+package de.symeda.sormas.backend.caze.rollup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.caze.CaseOutcome;
+import de.symeda.sormas.api.caze.InvestigationStatus;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+import de.symeda.sormas.backend.caze.rollup.CaseCountRollupService.ChangePosition;
+import de.symeda.sormas.backend.caze.rollup.CaseCountRollupService.ChangeSource;
+
+public class CaseCountRollupServiceTest extends AbstractBeanTest {
+
+	@Test
+	public void testUpdateChangedCasesFromCursor() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		CaseDataDto caze1 = createCase(user, rdcf, "Person1");
+		CaseDataDto caze2 = createCase(user, rdcf, "Person2");
+
+		CaseCountRollupService rollupService = getBean(CaseCountRollupService.class);
+		Date until = new Date(System.currentTimeMillis() + 60 * 1000L);
+
+		// nothing has been processed yet
+		ChangePosition position = rollupService.getCursorPosition(ChangeSource.CASE);
+		assertEquals(0, position.getCaseId());
+		assertNull(rollupService.updateChangedCases(ChangeSource.CASE, position, until, true));
+		assertEquals(2, countLinks());
+
+		// the cursor is stored at the latest change, which is not processed again
+		position = rollupService.getCursorPosition(ChangeSource.CASE);
+		assertEquals(getCaseService().getByUuid(caze2.getUuid()).getId().longValue(), position.getCaseId());
+		assertNull(rollupService.updateChangedCases(ChangeSource.CASE, position, until, true));
+		assertEquals(position.getChangeDate(), rollupService.getCursorPosition(ChangeSource.CASE).getChangeDate());
+
+		caze1 = getCaseFacade().getCaseDataByUuid(caze1.getUuid());
+		caze1.setOutcome(CaseOutcome.RECOVERED);
+		getCaseFacade().saveCase(caze1);
+		assertNull(rollupService.updateChangedCases(ChangeSource.CASE, position, until, true));
+		assertEquals(getCaseService().getByUuid(caze1.getUuid()).getId().longValue(), rollupService.getCursorPosition(ChangeSource.CASE).getCaseId());
+
+		// changes processed without saving the cursor are processed again
+		getCaseFacade().deleteCase(caze2.getUuid());
+		position = rollupService.getCursorPosition(ChangeSource.CASE);
+		assertNull(rollupService.updateChangedCases(ChangeSource.CASE, position, null, false));
+		assertEquals(1, countLinks());
+		assertEquals(position.getChangeDate(), rollupService.getCursorPosition(ChangeSource.CASE).getChangeDate());
+	}
+
+	private CaseDataDto createCase(UserDto user, RDCF rdcf, String lastName) {
+
+		return creator.createCase(
+			user.toReference(),
+			creator.createPerson("Case", lastName).toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+	}
+
+	private long countLinks() {
+		return getEntityManager().createQuery("SELECT COUNT(l) FROM " + CaseCountRollupCase.TABLE_NAME + " l", Long.class).getSingleResult();
+	}
+}
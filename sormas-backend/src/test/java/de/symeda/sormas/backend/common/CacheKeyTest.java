@@ -0,0 +1,47 @@
+package de.symeda.sormas.backend.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseCriteria;
+import de.symeda.sormas.api.region.RegionReferenceDto;
+
+public class CacheKeyTest {
+
+	@Test
+	public void testEqualCriteria() {
+
+		// the same date object is referenced twice, which makes no difference
+		Date date = new Date();
+		CaseCriteria criteria =
+			new CaseCriteria().disease(Disease.EVD).region(new RegionReferenceDto("region-uuid")).newCaseDateBetween(date, date, null);
+		CaseCriteria equalCriteria = new CaseCriteria().disease(Disease.EVD)
+			.region(new RegionReferenceDto("region-uuid"))
+			.newCaseDateBetween(new Date(date.getTime()), new Date(date.getTime()), null);
+
+		assertEquals(new CacheKey("query", criteria, "scope"), new CacheKey("query", equalCriteria, "scope"));
+		assertEquals(new CacheKey("query", criteria, "scope").hashCode(), new CacheKey("query", equalCriteria, "scope").hashCode());
+
+		assertNotEquals(new CacheKey("query", criteria, "scope"), new CacheKey("query", equalCriteria.disease(Disease.CHOLERA), "scope"));
+		assertNotEquals(new CacheKey("query", criteria, "scope"), new CacheKey("query", criteria, "other scope"));
+		assertNotEquals(new CacheKey("query", criteria, null), new CacheKey("query", criteria, "null"));
+	}
+
+	@Test
+	public void testSetOrder() {
+
+		assertEquals(
+			new CacheKey(new LinkedHashSet<>(Arrays.asList("a", "b", "c"))),
+			new CacheKey(new LinkedHashSet<>(Arrays.asList("c", "b", "a"))));
+		assertEquals(
+			new CacheKey(new LinkedHashSet<>(Arrays.asList(Disease.EVD, Disease.CHOLERA))),
+			new CacheKey(new LinkedHashSet<>(Arrays.asList(Disease.CHOLERA, Disease.EVD))));
+	}
+}
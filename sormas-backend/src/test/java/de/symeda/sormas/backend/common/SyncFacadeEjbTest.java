@@ -0,0 +1,53 @@
+package de.symeda.sormas.backend.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.SyncChangeDatesDto;
+import de.symeda.sormas.api.SyncEntityType;
+import de.symeda.sormas.api.SyncManifestDto;
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+
+public class SyncFacadeEjbTest extends AbstractBeanTest {
+
+	@Test
+	public void testGetSyncManifest() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		Date since = new Date();
+
+		PersonDto person = creator.createPerson("Case", "Person");
+		CaseDataDto caze = creator.createCase(user.toReference(), person.toReference(), rdcf);
+
+		// without change dates, everything the user has access to is counted
+		SyncManifestDto manifest = getSyncFacade().getSyncManifest(new SyncChangeDatesDto());
+		assertEquals(Long.valueOf(1), manifest.getChangedCounts().get(SyncEntityType.CASE));
+		assertTrue(manifest.hasChanges(SyncEntityType.PERSON));
+		assertFalse(manifest.hasChanges(SyncEntityType.SAMPLE));
+		assertTrue(manifest.getDeletedCounts().isEmpty());
+
+		SyncChangeDatesDto changeDates = new SyncChangeDatesDto();
+		changeDates.getChangeDates().put(SyncEntityType.CASE, DateHelper.addDays(new Date(), 1));
+		changeDates.setDeletedSince(since);
+		manifest = getSyncFacade().getSyncManifest(changeDates);
+		assertFalse(manifest.hasChanges(SyncEntityType.CASE));
+		assertFalse(manifest.hasDeletions(SyncEntityType.CASE));
+
+		getCaseFacade().deleteCase(caze.getUuid());
+		manifest = getSyncFacade().getSyncManifest(changeDates);
+		assertEquals(Long.valueOf(1), manifest.getDeletedCounts().get(SyncEntityType.CASE));
+	}
+}
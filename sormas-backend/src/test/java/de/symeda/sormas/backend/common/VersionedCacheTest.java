@@ -0,0 +1,72 @@
+package de.symeda.sormas.backend.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class VersionedCacheTest {
+
+	private CacheLoader cacheLoader;
+	// invalidations waiting for the transaction to be completed
+	private final List<Runnable> pendingInvalidations = new ArrayList<>();
+
+	private int version;
+	private final AtomicInteger loadedContents = new AtomicInteger();
+	private VersionedCache<String> cache;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void createCache() {
+
+		cacheLoader = mock(CacheLoader.class);
+		when(cacheLoader.load(any(Supplier.class))).thenAnswer(invocation -> ((Supplier<?>) invocation.getArguments()[0]).get());
+		doAnswer(invocation -> pendingInvalidations.add((Runnable) invocation.getArguments()[0])).when(cacheLoader)
+			.invalidateAfterCompletion(any(Runnable.class));
+
+		cache = new VersionedCache<>(() -> version, () -> "content " + version + "/" + loadedContents.incrementAndGet());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testReloadWhenVersionChanged() {
+
+		assertEquals("content 0/1", cache.get(cacheLoader, 0));
+		assertEquals("content 0/1", cache.get(cacheLoader, 0));
+
+		version++;
+		assertEquals("content 1/2", cache.get(cacheLoader, 0));
+
+		// version and content are loaded outside of the caller's transaction
+		verify(cacheLoader, times(3)).load(any(Supplier.class));
+	}
+
+	@Test
+	public void testInvalidateAfterCompletion() {
+
+		assertEquals("content 0/1", cache.get(cacheLoader, 3600));
+
+		// changed, but not checked again within the refresh interval
+		version++;
+		assertEquals("content 0/1", cache.get(cacheLoader, 3600));
+
+		// not checked again before the changing transaction has been completed
+		cache.invalidate(cacheLoader);
+		assertEquals("content 0/1", cache.get(cacheLoader, 3600));
+
+		pendingInvalidations.forEach(Runnable::run);
+		assertEquals("content 1/2", cache.get(cacheLoader, 3600));
+		assertEquals("content 1/2", cache.get(cacheLoader, 3600));
+	}
+}
@@ -18,6 +18,7 @@
 package de.symeda.sormas.backend.contact;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertEquals;
@@ -34,6 +35,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.time.DateUtils;
 import org.junit.Assert;
@@ -49,9 +51,11 @@ import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.caze.InvestigationStatus;
 import de.symeda.sormas.api.caze.MapCaseDto;
 import de.symeda.sormas.api.contact.ContactClassification;
+import de.symeda.sormas.api.contact.ContactCriteria;
 import de.symeda.sormas.api.contact.ContactDto;
 import de.symeda.sormas.api.contact.ContactExportDto;
 import de.symeda.sormas.api.contact.ContactFacade;
+import de.symeda.sormas.api.contact.ContactIndexDto;
 import de.symeda.sormas.api.contact.ContactLogic;
 import de.symeda.sormas.api.contact.ContactSimilarityCriteria;
 import de.symeda.sormas.api.contact.ContactStatus;
@@ -76,6 +80,7 @@ import de.symeda.sormas.api.task.TaskStatus;
 import de.symeda.sormas.api.task.TaskType;
 import de.symeda.sormas.api.user.UserDto;
 import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.CountStrategy;
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.utils.YesNoUnknown;
@@ -88,6 +93,8 @@ import de.symeda.sormas.backend.MockProducer;
 import de.symeda.sormas.backend.TestDataCreator;
 import de.symeda.sormas.backend.TestDataCreator.RDCF;
 import de.symeda.sormas.backend.TestDataCreator.RDCFEntities;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb;
+import de.symeda.sormas.backend.common.CountCache;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb.ContactFacadeEjbLocal;
 import de.symeda.sormas.backend.util.DateHelper8;
 import de.symeda.sormas.backend.visit.Visit;
@@ -811,4 +818,76 @@ public class ContactFacadeEjbTest extends AbstractBeanTest {
 
 		assertThat(getContactService().getAllByVisit(visitEntity), hasSize(1));
 	}
+
+	@Test
+	public void testCountWithStrategy() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		CaseDataDto caze = creator.createCase(user.toReference(), creator.createPerson("Case", "Person").toReference(), rdcf);
+		for (int i = 0; i < 3; i++) {
+			creator.createContact(user.toReference(), creator.createPerson("Contact", "Person" + i).toReference(), caze);
+		}
+
+		ContactCriteria criteria = new ContactCriteria();
+		assertEquals(3, getContactFacade().count(criteria, CountStrategy.EXACT, 0));
+		assertEquals(2, getContactFacade().count(criteria, CountStrategy.HAS_MORE, 1));
+		assertEquals(3, getContactFacade().count(criteria, CountStrategy.HAS_MORE, 2));
+		assertEquals(3, getContactFacade().count(criteria, CountStrategy.HAS_MORE, 10));
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.COUNT_CACHE_TTL, "3600");
+		CountCache countCache = getBean(CountCache.class);
+		countCache.invalidate();
+		try {
+			assertEquals(3, getContactFacade().count(criteria, CountStrategy.CACHED, 0));
+			assertEquals(3, countCache.get(() -> 0, Contact.class.getSimpleName(), criteria, getContactService().getUserFilterScope()));
+
+			// saving or deleting a contact discards the cached counts
+			ContactDto contact = creator.createContact(user.toReference(), creator.createPerson("Contact", "Person3").toReference(), caze);
+			assertEquals(4, getContactFacade().count(criteria, CountStrategy.CACHED, 0));
+			getContactFacade().deleteContact(contact.getUuid());
+			assertEquals(3, getContactFacade().count(criteria, CountStrategy.CACHED, 0));
+		} finally {
+			MockProducer.getProperties().setProperty(ConfigFacadeEjb.COUNT_CACHE_TTL, "0");
+			countCache.invalidate();
+		}
+	}
+
+	@Test
+	public void testGetIndexListByNameUuidCase() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		PersonDto cazePerson = creator.createPerson("Anna", "Schmidt");
+		CaseDataDto caze = creator.createCase(user.toReference(), cazePerson.toReference(), rdcf);
+		PersonDto contactPerson = creator.createPerson("Carl", "Meyer");
+		ContactDto contact = creator.createContact(user.toReference(), contactPerson.toReference(), caze);
+		creator.createContact(user.toReference(), creator.createPerson("Berta", "Meyer").toReference());
+
+		assertThat(getContactIndexUuids("carl MEY"), contains(contact.getUuid()));
+		assertThat(getContactIndexUuids("schmidt"), contains(contact.getUuid()));
+		assertThat(getContactIndexUuids(caze.getUuid().substring(3, 10).toLowerCase()), contains(contact.getUuid()));
+		assertThat(getContactIndexUuids("meyer"), hasSize(2));
+
+		// the search texts follow changes of the contact person
+		contactPerson.setFirstName("Karl");
+		getPersonFacade().savePerson(contactPerson);
+		assertThat(getContactIndexUuids("carl"), empty());
+		assertThat(getContactIndexUuids("karl"), contains(contact.getUuid()));
+
+		// and of the case person
+		cazePerson.setLastName("Schmitt");
+		getPersonFacade().savePerson(cazePerson);
+		assertThat(getContactIndexUuids("schmidt"), empty());
+		assertThat(getContactIndexUuids("karl schmitt"), contains(contact.getUuid()));
+	}
+
+	private List<String> getContactIndexUuids(String nameUuidCaseLike) {
+
+		ContactCriteria criteria = new ContactCriteria();
+		criteria.setNameUuidCaseLike(nameUuidCaseLike);
+		return getContactFacade().getIndexList(criteria, null, null, null).stream().map(ContactIndexDto::getUuid).collect(Collectors.toList());
+	}
 }
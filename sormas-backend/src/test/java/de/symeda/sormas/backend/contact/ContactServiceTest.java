@@ -4,8 +4,10 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.Date;
@@ -29,12 +31,35 @@ import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.visit.VisitDto;
 import de.symeda.sormas.api.visit.VisitStatus;
 import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
 import de.symeda.sormas.backend.TestDataCreator.RDCFEntities;
 import de.symeda.sormas.backend.person.Person;
 import de.symeda.sormas.backend.util.DateHelper8;
 
 public class ContactServiceTest extends AbstractBeanTest {
 
+	@Test
+	public void testGetUserFilterScope() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		creator.createUser(null, null, null, "Nat", "User", UserRole.NATIONAL_USER);
+		creator.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), null, "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		creator.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), null, "Surv", "Sup2", UserRole.SURVEILLANCE_SUPERVISOR);
+
+		// national users have access to the same contacts
+		String adminScope = getContactService().getUserFilterScope();
+		when(MockProducer.getPrincipal().getName()).thenReturn("NatUser");
+		assertEquals(adminScope, getContactService().getUserFilterScope());
+
+		// other users have access to the contacts they are responsible for
+		when(MockProducer.getPrincipal().getName()).thenReturn("SurvSup");
+		String supervisorScope = getContactService().getUserFilterScope();
+		assertNotEquals(adminScope, supervisorScope);
+		when(MockProducer.getPrincipal().getName()).thenReturn("SurvSup2");
+		assertNotEquals(supervisorScope, getContactService().getUserFilterScope());
+	}
+
 	@Test
 	public void testGetAllRelevantContacts() {
 
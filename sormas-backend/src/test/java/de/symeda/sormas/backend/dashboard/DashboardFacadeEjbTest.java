@@ -0,0 +1,121 @@
+package de.symeda.sormas.backend.dashboard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.caze.InvestigationStatus;
+import de.symeda.sormas.api.dashboard.DashboardDataDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb;
+
+public class DashboardFacadeEjbTest extends AbstractBeanTest {
+
+	@After
+	public void resetCacheRefresh() {
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.CACHE_REFRESH, "0");
+	}
+
+	@Test
+	public void testGetSurveillanceDashboardData() {
+
+		Date referenceDate = new Date();
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+
+		PersonDto cazePerson = creator.createPerson("Case", "Person");
+		creator.createCase(
+			user.toReference(),
+			cazePerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			referenceDate,
+			rdcf);
+
+		PersonDto previousCazePerson = creator.createPerson("Case", "Person2");
+		creator.createCase(
+			user.toReference(),
+			previousCazePerson.toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			DateHelper.subtractDays(referenceDate, 5),
+			rdcf);
+
+		Date from = DateHelper.getStartOfDay(referenceDate);
+		Date to = DateHelper.getEndOfDay(DateHelper.addDays(referenceDate, 1));
+		Date previousFrom = DateHelper.getStartOfDay(DateHelper.subtractDays(referenceDate, 10));
+		Date previousTo = DateHelper.getEndOfDay(DateHelper.subtractDays(referenceDate, 1));
+
+		DashboardDataDto data =
+			getDashboardFacade().getSurveillanceDashboardData(rdcf.region, rdcf.district, Disease.EVD, from, to, previousFrom, previousTo);
+		assertEquals(1, data.getCases().size());
+		assertEquals(1, data.getPreviousCases().size());
+		assertEquals(rdcf.district.getCaption(), data.getLastReportedDistrictName());
+		assertTrue(data.getEvents().isEmpty());
+		assertEquals(Long.valueOf(0), data.getOutbreakDistrictCount());
+
+		// without a disease there is nothing disease specific to show
+		data = getDashboardFacade().getSurveillanceDashboardData(rdcf.region, rdcf.district, null, from, to, previousFrom, previousTo);
+		assertTrue(data.getCases().isEmpty());
+
+		data = getDashboardFacade().getContactsDashboardData(rdcf.region, rdcf.district, null, from, to, previousFrom, previousTo);
+		assertEquals(1, data.getCases().size());
+		assertEquals(1, data.getPreviousCases().size());
+		assertTrue(data.getContacts().isEmpty());
+	}
+
+	@Test
+	public void testNoStaleCasesAfterChange() {
+
+		Date referenceDate = new Date();
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		CaseDataDto caze = creator.createCase(
+			user.toReference(),
+			creator.createPerson("Case", "Person").toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			referenceDate,
+			rdcf);
+
+		Date from = DateHelper.getStartOfDay(referenceDate);
+		Date to = DateHelper.getEndOfDay(referenceDate);
+		Date previousFrom = DateHelper.getStartOfDay(DateHelper.subtractDays(referenceDate, 10));
+		Date previousTo = DateHelper.getEndOfDay(DateHelper.subtractDays(referenceDate, 1));
+
+		// changes made on this server are visible without waiting for the next check of the change dates
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.CACHE_REFRESH, "3600");
+		DashboardDataDto data =
+			getDashboardFacade().getSurveillanceDashboardData(rdcf.region, rdcf.district, Disease.EVD, from, to, previousFrom, previousTo);
+		assertEquals(CaseClassification.PROBABLE, data.getCases().get(0).getCaseClassification());
+
+		caze = getCaseFacade().getCaseDataByUuid(caze.getUuid());
+		caze.setCaseClassification(CaseClassification.CONFIRMED);
+		getCaseFacade().saveCase(caze);
+		data = getDashboardFacade().getSurveillanceDashboardData(rdcf.region, rdcf.district, Disease.EVD, from, to, previousFrom, previousTo);
+		assertEquals(CaseClassification.CONFIRMED, data.getCases().get(0).getCaseClassification());
+
+		getCaseFacade().deleteCase(caze.getUuid());
+		data = getDashboardFacade().getSurveillanceDashboardData(rdcf.region, rdcf.district, Disease.EVD, from, to, previousFrom, previousTo);
+		assertTrue(data.getCases().isEmpty());
+	}
+}
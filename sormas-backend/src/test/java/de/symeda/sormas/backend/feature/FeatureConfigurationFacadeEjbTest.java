@@ -1,12 +1,16 @@
 package de.symeda.sormas.backend.feature;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 
+import org.junit.After;
 import org.junit.Test;
 
 import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.feature.FeatureConfigurationCriteria;
 import de.symeda.sormas.api.feature.FeatureConfigurationIndexDto;
 import de.symeda.sormas.api.feature.FeatureType;
 import de.symeda.sormas.api.person.PersonReferenceDto;
@@ -15,10 +19,18 @@ import de.symeda.sormas.api.user.UserReferenceDto;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
 import de.symeda.sormas.backend.TestDataCreator.RDCFEntities;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb;
 
 public class FeatureConfigurationFacadeEjbTest extends AbstractBeanTest {
 
+	@After
+	public void resetRefreshInterval() {
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.CACHE_REFRESH, "0");
+		getBean(FeatureConfigurationCache.class).invalidate();
+	}
+
 	@Test
 	public void testIsTaskGenerationFeatureEnabled() {
 
@@ -35,4 +47,23 @@ public class FeatureConfigurationFacadeEjbTest extends AbstractBeanTest {
 		List<TaskDto> caseTasks = getTaskFacade().getAllPendingByCase(caze.toReference());
 		assertEquals(0, caseTasks.size());
 	}
+
+	@Test
+	public void testIsFeatureDisabled() {
+
+		// changes made through the facade have to be visible right away
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.CACHE_REFRESH, "3600");
+		getBean(FeatureConfigurationCache.class).invalidate();
+		assertFalse(getFeatureConfigurationFacade().isFeatureDisabled(FeatureType.TASK_GENERATION_CASE_SURVEILLANCE));
+
+		FeatureConfigurationIndexDto featureConfiguration =
+			new FeatureConfigurationIndexDto(DataHelper.createUuid(), null, null, null, null, null, false, null);
+		getFeatureConfigurationFacade().saveFeatureConfiguration(featureConfiguration, FeatureType.TASK_GENERATION_CASE_SURVEILLANCE);
+		assertTrue(getFeatureConfigurationFacade().isFeatureDisabled(FeatureType.TASK_GENERATION_CASE_SURVEILLANCE));
+		assertTrue(getFeatureConfigurationFacade().isFeatureEnabled(FeatureType.TASK_GENERATION_CONTACT_TRACING));
+
+		FeatureConfigurationCriteria criteria = new FeatureConfigurationCriteria().featureType(FeatureType.TASK_GENERATION_CASE_SURVEILLANCE);
+		getFeatureConfigurationFacade().deleteAllFeatureConfigurations(criteria);
+		assertFalse(getFeatureConfigurationFacade().isFeatureDisabled(FeatureType.TASK_GENERATION_CASE_SURVEILLANCE));
+	}
 }
@@ -1,13 +1,60 @@
 package de.symeda.sormas.backend.importexport;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isEmptyString;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+
+import org.apache.commons.io.IOUtils;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
+import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.CopyOut;
 
 import de.symeda.sormas.api.importexport.DatabaseTable;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 
 /**
  * @see DatabaseExportService
@@ -15,6 +62,18 @@ import de.symeda.sormas.api.importexport.DatabaseTable;
  */
 public class DatabaseExportServiceTest {
 
+	private static final String SNAPSHOT_ID = "00000003-0000001B-1";
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+	@After
+	public void shutdownExecutor() {
+		executor.shutdownNow();
+	}
+
 	/**
 	 * Assure, that every {@link DatabaseTable} has an export configuration defined.
 	 */
@@ -36,4 +95,128 @@ public class DatabaseExportServiceTest {
 			}
 		}
 	}
+
+	/**
+	 * COPY and exported snapshots are specific to PostgreSQL, so the connections are mocked: every COPY command returns rows
+	 * derived from its SQL, the same for the serial and the parallel export.
+	 */
+	@Test
+	public void testExportAsCsvFilesInParallel() throws Exception {
+
+		List<DatabaseTable> databaseTables = Arrays.asList(
+			DatabaseTable.CASES,
+			DatabaseTable.CASE_SYMPTOMS,
+			DatabaseTable.HOSPITALIZATIONS,
+			DatabaseTable.PREVIOUSHOSPITALIZATIONS,
+			DatabaseTable.EPIDATA,
+			DatabaseTable.EPIDATATRAVELS);
+
+		Statement statement = mock(Statement.class);
+		ResultSet snapshotResult = mock(ResultSet.class);
+		when(snapshotResult.next()).thenReturn(true);
+		when(snapshotResult.getString(1)).thenReturn(SNAPSHOT_ID);
+		when(statement.executeQuery("SELECT pg_export_snapshot()")).thenReturn(snapshotResult);
+
+		CopyManager copyManager = mock(CopyManager.class);
+		when(copyManager.copyOut(anyString(), any(Writer.class))).thenAnswer(invocation -> {
+			String csv = createCsv((String) invocation.getArguments()[0]);
+			((Writer) invocation.getArguments()[1]).write(csv);
+			return (long) csv.length();
+		});
+		when(copyManager.copyOut(anyString())).thenAnswer(invocation -> {
+			// the rows are read in several chunks
+			byte[] csv = createCsv((String) invocation.getArguments()[0]).getBytes(StandardCharsets.UTF_8);
+			Queue<byte[]> chunks = new LinkedList<>();
+			chunks.add(Arrays.copyOfRange(csv, 0, csv.length / 2));
+			chunks.add(Arrays.copyOfRange(csv, csv.length / 2, csv.length));
+			return mock(
+				CopyOut.class,
+				copyInvocation -> "readFromCopy".equals(copyInvocation.getMethod().getName())
+					? chunks.poll()
+					: RETURNS_DEFAULTS.answer(copyInvocation));
+		});
+		PGConnection pgConnection = mock(PGConnection.class);
+		when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+
+		Connection connection = mock(Connection.class);
+		when(connection.createStatement()).thenReturn(statement);
+		when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+
+		DatabaseExportService exportService = createExportService(connection);
+
+		ByteArrayOutputStream serialExport = new ByteArrayOutputStream();
+		try (ZipOutputStream zos = new ZipOutputStream(serialExport)) {
+			exportService.exportAsCsvFiles(zos, databaseTables);
+		}
+		ByteArrayOutputStream parallelExport = new ByteArrayOutputStream();
+		exportService.exportAsCsvFilesInParallel(parallelExport, databaseTables, 3);
+
+		Map<String, String> serialFiles = readZip(serialExport.toByteArray());
+		Map<String, String> parallelFiles = readZip(parallelExport.toByteArray());
+		assertThat(
+			parallelFiles.keySet(),
+			contains(databaseTables.stream().map(databaseTable -> databaseTable.getFileName() + ".csv").toArray()));
+		assertThat(parallelFiles, is(serialFiles));
+
+		// each of the three workers has copied its tables from the snapshot of the exporting transaction
+		verify(statement).executeQuery("SELECT pg_export_snapshot()");
+		verify(statement, times(3)).execute("SET TRANSACTION SNAPSHOT '" + SNAPSHOT_ID + "'");
+		verify(connection, times(4)).rollback();
+		assertThat(temp.getRoot().list(), is(emptyArray()));
+	}
+
+	private DatabaseExportService createExportService(Connection connection) throws Exception {
+
+		EntityManager em = mock(EntityManager.class);
+		Session session = mock(Session.class);
+		when(em.unwrap(Session.class)).thenReturn(session);
+		doAnswer(invocation -> {
+			((Work) invocation.getArguments()[0]).execute(connection);
+			return null;
+		}).when(session).doWork(any(Work.class));
+
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+
+		ManagedExecutorService executorService = mock(ManagedExecutorService.class);
+		when(executorService.submit(any(Callable.class))).thenAnswer(invocation -> executor.submit((Callable<?>) invocation.getArguments()[0]));
+
+		ConfigFacadeEjbLocal configFacade = mock(ConfigFacadeEjbLocal.class);
+		when(configFacade.getTempFilesPath()).thenReturn(temp.getRoot().getPath());
+
+		DatabaseExportService exportService = new DatabaseExportService();
+		setField(exportService, "em", em);
+		setField(exportService, "dataSource", dataSource);
+		setField(exportService, "executorService", executorService);
+		setField(exportService, "configFacade", configFacade);
+		return exportService;
+	}
+
+	private static String createCsv(String sql) {
+
+		StringBuilder csv = new StringBuilder("id;sql\n");
+		for (int i = 1; i <= 200; i++) {
+			csv.append(i).append(";\"").append(sql).append("\"\n");
+		}
+		return csv.toString();
+	}
+
+	private static Map<String, String> readZip(byte[] zip) throws IOException {
+
+		Map<String, String> files = new LinkedHashMap<>();
+		try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+			ZipEntry entry;
+			while ((entry = zis.getNextEntry()) != null) {
+				files.put(entry.getName(), IOUtils.toString(zis, StandardCharsets.UTF_8));
+			}
+		}
+		return files;
+	}
+
+	private static void setField(DatabaseExportService exportService, String name, Object value) throws ReflectiveOperationException {
+
+		Field field = DatabaseExportService.class.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(exportService, value);
+	}
 }
@@ -0,0 +1,103 @@
+package de.symeda.sormas.backend.infrastructure;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.Locale;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.symeda.sormas.api.facility.FacilityType;
+import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.TestDataCreator.RDCFEntities;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb;
+import de.symeda.sormas.backend.region.District;
+import de.symeda.sormas.backend.region.Region;
+
+public class InfrastructureReferenceCacheTest extends AbstractBeanTest {
+
+	@After
+	public void resetRefreshInterval() {
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.CACHE_REFRESH, "0");
+		getBean(InfrastructureReferenceCache.class).invalidate();
+	}
+
+	@Test
+	public void testLookups() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		Region otherRegion = creator.createRegion("Other Region");
+		District otherDistrict = creator.createDistrict(" district ", otherRegion);
+		District archivedDistrict = creator.createDistrict("Archived", rdcf.region);
+		archivedDistrict.setArchived(true);
+		getDistrictService().ensurePersisted(archivedDistrict);
+		creator.createFacility("Lab", FacilityType.LABORATORY, rdcf.region, rdcf.district, rdcf.community);
+
+		InfrastructureReferenceCache cache = getBean(InfrastructureReferenceCache.class);
+
+		DistrictReferenceDto district = cache.getDistrictByUuid(rdcf.district.getUuid());
+		assertThat(district.getCaption(), is("District"));
+		assertThat(cache.getDistrictById(rdcf.district.getId()), is(district));
+		assertThat(cache.getDistrictByUuid("unknown"), nullValue());
+
+		assertThat(cache.getActiveDistrictsByRegion(rdcf.region.getUuid()), contains(district));
+		assertThat(cache.getAllActiveDistricts(), hasSize(2));
+
+		// names are compared case insensitive and trimmed
+		assertThat(cache.getDistrictsByName("DISTRICT", null, false), hasSize(2));
+		assertThat(cache.getDistrictsByName("District", rdcf.region.getUuid(), false), contains(district));
+		assertThat(cache.getDistrictsByName("District", otherRegion.getUuid(), false).get(0).getUuid(), is(otherDistrict.getUuid()));
+		assertThat(cache.getDistrictsByName("Archived", null, false), empty());
+		assertThat(cache.getDistrictsByName("Archived", null, true), hasSize(1));
+
+		assertThat(cache.getHealthFacilitiesByName("facility", rdcf.district.getUuid(), null, false), hasSize(1));
+		assertThat(cache.getHealthFacilitiesByName("Facility", otherDistrict.getUuid(), null, false), empty());
+		assertThat(cache.getHealthFacilitiesByName("Lab", null, null, true), empty());
+	}
+
+	@Test
+	public void testRefresh() {
+
+		Region region = creator.createRegion("Region");
+		InfrastructureReferenceCache cache = getBean(InfrastructureReferenceCache.class);
+		assertThat(cache.getAllActiveRegions(), hasSize(1));
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.CACHE_REFRESH, "3600");
+		cache.invalidate();
+		assertThat(cache.getAllActiveRegions(), hasSize(1));
+
+		// changes made without the facades are not visible until the next check
+		creator.createRegion("Other Region");
+		assertThat(cache.getAllActiveRegions(), hasSize(1));
+
+		cache.invalidate();
+		assertThat(cache.getAllActiveRegions(), hasSize(2));
+
+		// changes made through the facades are visible right away
+		getRegionFacade().archive(region.getUuid());
+		assertThat(cache.getAllActiveRegions(), hasSize(1));
+	}
+
+	@Test
+	public void testNamesIgnoreDefaultLocale() {
+
+		Region region = creator.createRegion("Istanbul");
+		InfrastructureReferenceCache cache = getBean(InfrastructureReferenceCache.class);
+
+		Locale defaultLocale = Locale.getDefault();
+		try {
+			// the Turkish lower case of 'I' is the dotless 'ı'
+			Locale.setDefault(new Locale("tr"));
+			assertThat(cache.getRegionsByName("istanbul", false).get(0).getUuid(), is(region.getUuid()));
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+}
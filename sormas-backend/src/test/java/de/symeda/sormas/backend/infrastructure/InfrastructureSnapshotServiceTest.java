@@ -0,0 +1,81 @@
+package de.symeda.sormas.backend.infrastructure;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb;
+import de.symeda.sormas.backend.facility.FacilityService;
+
+public class InfrastructureSnapshotServiceTest extends AbstractBeanTest {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	@After
+	public void resetGeneratedFilesPath() {
+		MockProducer.getProperties().remove(ConfigFacadeEjb.GENERATED_FILES_PATH);
+	}
+
+	@Test
+	public void testUpdateSnapshot() throws IOException {
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.GENERATED_FILES_PATH, temp.getRoot().getAbsolutePath());
+		creator.createRDCF();
+
+		InfrastructureSnapshotService snapshotService = getBean(InfrastructureSnapshotService.class);
+		InfrastructureSnapshotDto snapshot = snapshotService.updateSnapshot();
+
+		JsonNode data = readSnapshot(snapshot);
+		assertThat(data.get("regions").size(), is(1));
+		assertThat(data.get("districts").size(), is(1));
+		assertThat(data.get("communities").size(), is(1));
+		assertThat((long) data.get("facilities").size(), is(getBean(FacilityService.class).count()));
+
+		// unchanged infrastructure keeps the snapshot
+		assertThat(snapshotService.updateSnapshot().getVersion(), is(snapshot.getVersion()));
+		assertThat(snapshotService.getSnapshot().getFilePath(), is(snapshot.getFilePath()));
+
+		creator.createRegion("Other region");
+		InfrastructureSnapshotDto updatedSnapshot = snapshotService.updateSnapshot();
+
+		assertThat(updatedSnapshot.getVersion(), not(is(snapshot.getVersion())));
+		assertThat(readSnapshot(updatedSnapshot).get("regions").size(), is(2));
+		// a sync that has been started before can still read the snapshot that has just been replaced
+		assertThat(readSnapshot(snapshot).get("regions").size(), is(1));
+
+		// the file of the replaced snapshot would otherwise have the same modification time
+		Files.setLastModifiedTime(Paths.get(snapshot.getFilePath()), FileTime.fromMillis(System.currentTimeMillis() - 60000));
+		creator.createRegion("Third region");
+		InfrastructureSnapshotDto latestSnapshot = snapshotService.updateSnapshot();
+
+		assertThat(readSnapshot(latestSnapshot).get("regions").size(), is(3));
+		assertThat(readSnapshot(updatedSnapshot).get("regions").size(), is(2));
+		assertThat(Files.exists(Paths.get(snapshot.getFilePath())), is(false));
+	}
+
+	private static JsonNode readSnapshot(InfrastructureSnapshotDto snapshot) throws IOException {
+
+		try (InputStream in = new GZIPInputStream(Files.newInputStream(Paths.get(snapshot.getFilePath())))) {
+			return new ObjectMapper().readTree(in);
+		}
+	}
+}
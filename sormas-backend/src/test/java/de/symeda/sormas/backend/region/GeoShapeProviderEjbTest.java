@@ -17,85 +17,64 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.region;
 
-public class GeoShapeProviderEjbTest {
-
-//TODO: Re-implement relevant unit tests once shape files can be imported from the ui
-
-//    private static BeanProviderHelper bm;
-//    
-//    @BeforeClass
-//    public static void initialize() {
-//        bm = BeanProviderHelper.getInstance();
-//        
-//		RegionService regionService = getBean(RegionService.class);
-//		DistrictService districtService = getBean(DistrictService.class);
-//
-//		String countryName = getBean(ConfigFacadeEjbLocal.class).getCountryName();
-//		List<Region> regions = regionService.getAll();
-//
-//		regionService.importRegions(countryName, regions);
-//		districtService.importDistricts(countryName, regions);
-//    }
-//
-//    @AfterClass
-//    public static void cleanUp() {
-//        bm.shutdown();
-//    }
-//    
-//    protected static <T> T getBean(Class<T> beanClass, Annotation... qualifiers) {
-//        return bm.getBean(beanClass, qualifiers);
-//    }
-//    
-//
-//	
-//	@Test
-//	public void testGetRegionShape() {
-//		GeoShapeProvider geoShapeProvider = getBean(GeoShapeProviderEjbLocal.class);
-//		RegionFacade regionFacade = getBean(RegionFacadeEjbLocal.class);
-//		
-//		List<RegionReferenceDto> regions = regionFacade.getAllActiveAsReference();
-//		assertThat(regions.size(), greaterThan(1)); // make sure we have some regions
-//		for (RegionReferenceDto region : regions) {
-//			GeoLatLon[][] regionShape = geoShapeProvider.getRegionShape(region);
-//			assertNotNull(regionShape);
-//		}
-//	}
-//
-//	@Test
-//	public void testGetRegionByCoord() {
-//		GeoShapeProvider geoShapeProvider = getBean(GeoShapeProviderEjbLocal.class);
-//		RegionReferenceDto region = geoShapeProvider.getRegionByCoord(new GeoLatLon(9.076344, 7.276929));
-//		assertEquals("FCT", region.getCaption());
-//	}
-//
-//	@Test
-//	public void testGetDistrictShape() {
-//		GeoShapeProvider geoShapeProvider = getBean(GeoShapeProviderEjbLocal.class);
-//
-//		RegionReferenceDto region = geoShapeProvider.getRegionByCoord(new GeoLatLon(9.076344, 7.276929));
-//		
-//		DistrictFacade districtFacade = getBean(DistrictFacadeEjbLocal.class);
-//		List<DistrictReferenceDto> districts = districtFacade.getAllActiveByRegion(region.getUuid());
-//		assertThat(districts.size(), greaterThan(1)); // make sure we have some districts
-//		
-//		for (DistrictReferenceDto district : districts) {
-//			GeoLatLon[][] districtShape = geoShapeProvider.getDistrictShape(district);
-//			assertNotNull(districtShape);
-//		}
-//	}
-//
-//	@Test
-//	public void testGetDistrictByCoord() {
-//		GeoShapeProvider geoShapeProvider = getBean(GeoShapeProviderEjbLocal.class);
-//		DistrictReferenceDto district = geoShapeProvider.getDistrictByCoord(new GeoLatLon(9.076344, 7.276929));
-//		assertEquals("Abuja Municipal", district.getCaption());
-//	}
-//
-//	@Test
-//	public void testBuildCountryShape() {
-//		GeoShapeProvider geoShapeProvider = getBean(GeoShapeProviderEjbLocal.class);
-//
-//		GeoLatLon[][] countryShape = geoShapeProvider.getCountryShape();
-//		assertEquals(4, countryShape.length);
-//	}
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.GeoLatLon;
+import de.symeda.sormas.api.region.GeoShapeProvider;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+
+public class GeoShapeProviderEjbTest extends AbstractBeanTest {
+
+	@Test
+	public void testGetByCoord() {
+
+		// the shapes are matched to the regions and districts when they are loaded, so these have to be created first
+		RDCF rdcf = creator.createRDCF("FCT", "Abuja Municipal", "Community", "Facility");
+		GeoShapeProvider geoShapeProvider = getGeoShapeProvider();
+
+		GeoLatLon abuja = new GeoLatLon(9.076344, 7.276929);
+		assertEquals(rdcf.region, geoShapeProvider.getRegionByCoord(abuja));
+		assertEquals(rdcf.district, geoShapeProvider.getDistrictByCoord(abuja));
+
+		GeoLatLon gulfOfGuinea = new GeoLatLon(0, 0);
+		assertNull(geoShapeProvider.getRegionByCoord(gulfOfGuinea));
+		assertNull(geoShapeProvider.getDistrictByCoord(gulfOfGuinea));
+	}
+
+	@Test
+	public void testGetDistrictsByCoords() {
+
+		RDCF rdcf = creator.createRDCF("FCT", "Abuja Municipal", "Community", "Facility");
+		GeoShapeProvider geoShapeProvider = getGeoShapeProvider();
+
+		GeoLatLon abuja = new GeoLatLon(9.076344, 7.276929);
+		GeoLatLon gulfOfGuinea = new GeoLatLon(0, 0);
+		List<GeoLatLon> latLons = Arrays.asList(abuja, gulfOfGuinea, null, abuja);
+
+		// coordinates outside of all districts are kept as null entries, so the result matches the coordinates by position
+		List<DistrictReferenceDto> districts = geoShapeProvider.getDistrictsByCoords(latLons);
+		assertEquals(Arrays.asList(rdcf.district, null, null, rdcf.district), districts);
+		assertEquals(geoShapeProvider.getDistrictByCoord(abuja), districts.get(0));
+		assertEquals(geoShapeProvider.getDistrictByCoord(gulfOfGuinea), districts.get(1));
+	}
+
+	@Test
+	public void testGetShapes() {
+
+		RDCF rdcf = creator.createRDCF("FCT", "Abuja Municipal", "Community", "Facility");
+		GeoShapeProvider geoShapeProvider = getGeoShapeProvider();
+
+		assertNotNull(geoShapeProvider.getRegionShape(rdcf.region));
+		assertNotNull(geoShapeProvider.getDistrictShape(rdcf.district));
+		assertNotNull(geoShapeProvider.getCountryShape());
+	}
 }
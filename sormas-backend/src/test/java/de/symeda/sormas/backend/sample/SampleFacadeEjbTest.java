@@ -101,6 +101,38 @@ public class SampleFacadeEjbTest extends AbstractBeanTest {
 		assertEquals(AdditionalTestingStatus.PERFORMED, sampleIndexDtos.get(1).getAdditionalTestingStatus());
 	}
 
+	@Test
+	public void testGetIndexListByCaseCodeId() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		PersonDto cazePerson = creator.createPerson("Anna", "Schmidt");
+		CaseDataDto caze = creator.createCase(user.toReference(), cazePerson.toReference(), rdcf);
+		SampleDto sample = creator.createSample(caze.toReference(), user.toReference(), rdcf.facility);
+		sample.setLabSampleID("LAB-4711");
+		getSampleFacade().saveSample(sample);
+		CaseDataDto otherCase = creator.createCase(user.toReference(), creator.createPerson("Berta", "Meyer").toReference(), rdcf);
+		creator.createSample(otherCase.toReference(), user.toReference(), rdcf.facility);
+
+		assertThat(getSampleIndexUuids("SCHMI ann"), contains(sample.getUuid()));
+		assertThat(getSampleIndexUuids("lab-4711"), contains(sample.getUuid()));
+		assertThat(getSampleIndexUuids("facil"), hasSize(2));
+
+		// the search texts follow changes of the case person
+		cazePerson.setLastName("Schmitt");
+		getPersonFacade().savePerson(cazePerson);
+		assertThat(getSampleIndexUuids("schmidt"), hasSize(0));
+		assertThat(getSampleIndexUuids("schmitt 4711"), contains(sample.getUuid()));
+	}
+
+	private List<String> getSampleIndexUuids(String caseCodeIdLike) {
+
+		SampleCriteria criteria = new SampleCriteria();
+		criteria.setCaseCodeIdLike(caseCodeIdLike);
+		return getSampleFacade().getIndexList(criteria, null, null, null).stream().map(SampleIndexDto::getUuid).collect(Collectors.toList());
+	}
+
 	@Test
 	public void testGetIndexListBySampleAssociationType() {
 
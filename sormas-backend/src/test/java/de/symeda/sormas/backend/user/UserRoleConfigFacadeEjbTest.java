@@ -1,22 +1,33 @@
 package de.symeda.sormas.backend.user;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.hamcrest.collection.IsEmptyCollection;
+import org.junit.After;
 import org.junit.Test;
 
 import de.symeda.sormas.api.user.UserRight;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.user.UserRoleConfigDto;
 import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb;
 
 public class UserRoleConfigFacadeEjbTest extends AbstractBeanTest {
 
+	@After
+	public void resetRefreshInterval() {
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.CACHE_REFRESH, "0");
+		getBean(UserRightsCache.class).invalidate();
+	}
+
 	@Test
 	public void testGetEffectiveUserRights() {
 
@@ -47,6 +58,26 @@ public class UserRoleConfigFacadeEjbTest extends AbstractBeanTest {
 		assertThat(mixedUserRights, is(expectedUserRights));
 	}
 
+	@Test
+	public void testUserRightsCache() {
+
+		// changes made through the facade have to be visible right away, also for combined roles
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.CACHE_REFRESH, "3600");
+		UserRightsCache userRightsCache = getBean(UserRightsCache.class);
+		userRightsCache.invalidate();
+		Set<UserRole> userRoles = new HashSet<>(Arrays.asList(UserRole.SURVEILLANCE_SUPERVISOR, UserRole.CASE_SUPERVISOR));
+		assertTrue(userRightsCache.hasRight(userRoles, UserRight.CASE_CREATE));
+
+		UserRoleConfigDto supervisorConfig = getUserRoleConfigFacade().saveUserRoleConfig(UserRoleConfigDto.build(UserRole.SURVEILLANCE_SUPERVISOR));
+		getUserRoleConfigFacade().saveUserRoleConfig(UserRoleConfigDto.build(UserRole.CASE_SUPERVISOR));
+		assertFalse(userRightsCache.hasRight(userRoles, UserRight.CASE_CREATE));
+		assertThat(userRightsCache.getEffectiveUserRights(userRoles), is(IsEmptyCollection.empty()));
+
+		getUserRoleConfigFacade().deleteUserRoleConfig(supervisorConfig);
+		assertTrue(userRightsCache.hasRight(userRoles, UserRight.CASE_CREATE));
+		assertThat(userRightsCache.getEffectiveUserRights(userRoles), is(UserRole.SURVEILLANCE_SUPERVISOR.getDefaultUserRights()));
+	}
+
 	// not testable, because history tables don't work with H2
 //	@Test
 //	public void testGetDeletedUuids() {
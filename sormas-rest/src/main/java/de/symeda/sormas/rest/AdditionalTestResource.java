@@ -39,7 +39,7 @@ import de.symeda.sormas.api.sample.AdditionalTestDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class AdditionalTestResource extends EntityDtoResource {
+public class AdditionalTestResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
@@ -66,4 +66,9 @@ public class AdditionalTestResource extends EntityDtoResource {
 	public List<String> getAllActiveUuids() {
 		return FacadeProvider.getAdditionalTestFacade().getAllActiveUuids();
 	}
+
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getAdditionalTestFacade().getAllActiveUuids();
+	}
 }
@@ -22,7 +22,7 @@ import de.symeda.sormas.api.report.AggregateReportDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class AggregateReportResource extends EntityDtoResource {
+public class AggregateReportResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
@@ -49,4 +49,9 @@ public class AggregateReportResource extends EntityDtoResource {
 	public List<String> getAllUuids() {
 		return FacadeProvider.getAggregateReportFacade().getAllUuids();
 	}
+
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getAggregateReportFacade().getAllUuids();
+	}
 }
@@ -22,16 +22,35 @@ import java.util.List;
 
 import javax.annotation.security.RolesAllowed;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import de.symeda.sormas.api.FacadeProvider;
+import de.symeda.sormas.api.Language;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
+import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.caze.CaseExportDto;
+import de.symeda.sormas.api.caze.CaseExportType;
+import de.symeda.sormas.api.clinicalcourse.HealthConditionsDto;
+import de.symeda.sormas.api.epidata.EpiDataDto;
+import de.symeda.sormas.api.hospitalization.HospitalizationDto;
+import de.symeda.sormas.api.i18n.I18nProperties;
+import de.symeda.sormas.api.location.LocationDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.symptoms.SymptomsDto;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRight;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.DateHelper;
 
 @Path("/cases")
 @Produces(MediaType.APPLICATION_JSON + "; charset=UTF-8")
@@ -39,12 +58,65 @@ import de.symeda.sormas.api.caze.CaseDataDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class CaseResource extends EntityDtoResource {
+public class CaseResource extends UuidDigestResource {
+
+	private static final int EXPORT_BLOCK_SIZE = 1000;
 
 	@GET
 	@Path("/all/{since}")
-	public List<CaseDataDto> getAllCases(@PathParam("since") long since) {
-		return FacadeProvider.getCaseFacade().getAllActiveCasesAfter(new Date(since));
+	public StreamingOutput getAllCases(@PathParam("since") long since) {
+		return streamPages(cursor -> FacadeProvider.getCaseFacade().getAllActiveCasesPage(new Date(since), cursor));
+	}
+
+	@GET
+	@Path("/page/{since}")
+	public SyncPageDto<CaseDataDto> getCasesPage(@PathParam("since") long since, @QueryParam("cursor") String cursor) {
+		return FacadeProvider.getCaseFacade().getAllActiveCasesPage(new Date(since), cursor);
+	}
+
+	/**
+	 * Detailed case export as CSV, like the one in the UI.
+	 * 
+	 * @param exportType
+	 *            {@link CaseExportType#CASE_SURVEILLANCE} if not specified
+	 */
+	@POST
+	@Path("/export")
+	@Produces("text/csv; charset=UTF-8")
+	public StreamingOutput exportCases(CaseCriteria criteria, @QueryParam("type") CaseExportType exportType) {
+
+		UserDto user = FacadeProvider.getUserFacade().getCurrentUser();
+		if (!FacadeProvider.getUserRoleConfigFacade()
+			.getEffectiveUserRights(user.getUserRoles().toArray(new UserRole[0]))
+			.contains(UserRight.CASE_EXPORT)) {
+			throw new ForbiddenException();
+		}
+
+		CaseCriteria caseCriteria = criteria != null ? criteria : new CaseCriteria();
+		CaseExportType caseExportType = exportType != null ? exportType : CaseExportType.CASE_SURVEILLANCE;
+		Language language = I18nProperties.getUserLanguage();
+
+		return streamCsvExport(
+			CaseExportDto.class,
+			caseExportType,
+			after -> FacadeProvider.getCaseFacade()
+				.getExportListAfter(caseCriteria, caseExportType, after != null ? after.getId() : null, EXPORT_BLOCK_SIZE, null, language),
+			(propertyId, type) -> {
+				String caption = I18nProperties.findPrefixCaption(
+					propertyId,
+					CaseExportDto.I18N_PREFIX,
+					CaseDataDto.I18N_PREFIX,
+					PersonDto.I18N_PREFIX,
+					LocationDto.I18N_PREFIX,
+					SymptomsDto.I18N_PREFIX,
+					EpiDataDto.I18N_PREFIX,
+					HospitalizationDto.I18N_PREFIX,
+					HealthConditionsDto.I18N_PREFIX);
+				if (Date.class.isAssignableFrom(type)) {
+					caption += " (" + DateHelper.getLocalDatePattern(language) + ")";
+				}
+				return caption;
+			});
 	}
 
 	@GET
@@ -71,6 +143,11 @@ public class CaseResource extends EntityDtoResource {
 		return FacadeProvider.getCaseFacade().getAllActiveUuids();
 	}
 
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getCaseFacade().getAllActiveUuids();
+	}
+
 	@GET
 	@Path("/archived/{since}")
 	public List<String> getArchivedUuidsSince(@PathParam("since") long since) {
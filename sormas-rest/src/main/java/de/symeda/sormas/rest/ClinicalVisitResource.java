@@ -39,7 +39,7 @@ import de.symeda.sormas.api.clinicalcourse.ClinicalVisitDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class ClinicalVisitResource extends EntityDtoResource {
+public class ClinicalVisitResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
@@ -68,4 +68,9 @@ public class ClinicalVisitResource extends EntityDtoResource {
 	public List<String> getAllActiveUuids() {
 		return FacadeProvider.getClinicalVisitFacade().getAllActiveUuids();
 	}
+
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getClinicalVisitFacade().getAllActiveUuids();
+	}
 }
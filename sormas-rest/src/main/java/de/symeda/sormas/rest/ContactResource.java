@@ -27,10 +27,13 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.contact.ContactDto;
 
 /**
@@ -47,12 +50,18 @@ import de.symeda.sormas.api.contact.ContactDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class ContactResource extends EntityDtoResource {
+public class ContactResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
-	public List<ContactDto> getAllContacts(@PathParam("since") long since) {
-		return FacadeProvider.getContactFacade().getAllActiveContactsAfter(new Date(since));
+	public StreamingOutput getAllContacts(@PathParam("since") long since) {
+		return streamPages(cursor -> FacadeProvider.getContactFacade().getAllActiveContactsPage(new Date(since), cursor));
+	}
+
+	@GET
+	@Path("/page/{since}")
+	public SyncPageDto<ContactDto> getContactsPage(@PathParam("since") long since, @QueryParam("cursor") String cursor) {
+		return FacadeProvider.getContactFacade().getAllActiveContactsPage(new Date(since), cursor);
 	}
 
 	@POST
@@ -77,6 +86,11 @@ public class ContactResource extends EntityDtoResource {
 		return FacadeProvider.getContactFacade().getAllActiveUuids();
 	}
 
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getContactFacade().getAllActiveUuids();
+	}
+
 	@GET
 	@Path("/deleted/{since}")
 	public List<String> getDeletedUuidsSince(@PathParam("since") long since) {
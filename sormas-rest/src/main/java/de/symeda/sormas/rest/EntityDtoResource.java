@@ -1,51 +1,180 @@
 package de.symeda.sormas.rest;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import javax.ejb.EJB;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.sormas.api.ConfigFacade;
 import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.api.FacadeProvider;
+import de.symeda.sormas.api.Language;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
+import de.symeda.sormas.api.i18n.I18nProperties;
+import de.symeda.sormas.api.importexport.ExportCsvWriter;
 import de.symeda.sormas.api.utils.OutdatedEntityException;
 
 public abstract class EntityDtoResource {
 
+	// an incomplete array must not be closed when writing fails, so clients can detect the truncation
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+		.configure(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT, false);
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	@EJB
 	private TransactionWrapper transactionWrapper;
 
+	/**
+	 * Writes the entities of all pages as one JSON array directly to the response.
+	 * Each page is retrieved in its own transaction, so only the entities of the current page
+	 * are held in memory and attached to a persistence context at a time.
+	 * <p>
+	 * The response has already been committed when retrieving a later page fails. In that case the array is left open and the
+	 * exception is rethrown, which aborts the response. Clients fail to parse the incomplete JSON instead of taking it for all
+	 * entities.
+	 * 
+	 * @param getPage
+	 *            Retrieves the page following the given cursor (null for the first page).
+	 */
+	protected <T extends EntityDto> StreamingOutput streamPages(Function<String, SyncPageDto<T>> getPage) {
+
+		return output -> {
+			JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(output, JsonEncoding.UTF8);
+			generator.writeStartArray();
+
+			String cursor = null;
+			try {
+				do {
+					SyncPageDto<T> page = transactionWrapper.execute(getPage, cursor);
+					for (T dto : page.getElements()) {
+						generator.writeObject(dto);
+					}
+					generator.flush();
+					cursor = page.getNextCursor();
+				} while (cursor != null);
+			} catch (RuntimeException e) {
+				logger.error("Streaming the entities failed after cursor " + cursor + ", aborting the response", e);
+				throw new IOException("Streaming the entities failed, the response is incomplete", e);
+			}
+
+			generator.writeEndArray();
+			generator.close();
+		};
+	}
+
+	/**
+	 * Writes the export rows as CSV directly to the response, retrieving them block by block.
+	 * 
+	 * @param getRowsAfter
+	 *            Retrieves the block of rows following the given row (null for the first block). An empty block ends the export.
+	 * @see ExportCsvWriter
+	 */
+	protected <T> StreamingOutput streamCsvExport(
+		Class<T> exportRowClass,
+		Enum<?> exportType,
+		Function<T, List<T>> getRowsAfter,
+		BiFunction<String, Class<?>, String> propertyIdCaptionFunction) {
+
+		ConfigFacade configFacade = FacadeProvider.getConfigFacade();
+		char separator = configFacade.getCsvSeparator();
+		String countryLocale = configFacade.getCountryLocale();
+		Language language = I18nProperties.getUserLanguage();
+
+		return output -> {
+			try (ExportCsvWriter<T> writer = new ExportCsvWriter<>(
+				new OutputStreamWriter(output, StandardCharsets.UTF_8),
+				separator,
+				exportRowClass,
+				exportType,
+				null,
+				countryLocale,
+				language)) {
+
+				writer.writeHeader(propertyIdCaptionFunction);
+
+				List<T> rows = getRowsAfter.apply(null);
+				while (!rows.isEmpty()) {
+					writer.writeRows(rows);
+					rows = getRowsAfter.apply(rows.get(rows.size() - 1));
+				}
+			}
+		};
+	}
+
+	/**
+	 * Saves the pushed entities in batches of {@link ConfigFacade#getPushBatchSize()}, each in its own transaction.
+	 * When saving a batch fails, its transaction is rolled back as a whole and its entities are saved one by one, so that only
+	 * the erroneous entities are rejected.
+	 * 
+	 * @return The result for each of the pushed entities, in the same order
+	 */
 	protected <T extends Object> List<PushResult> savePushedDto(List<T> dtos, Function<T, T> saveEntityDto) {
 
+		int batchSize = FacadeProvider.getConfigFacade().getPushBatchSize();
+
 		List<PushResult> results = new ArrayList<>(dtos.size());
-		for (T dto : dtos) {
-			PushResult result;
-			try {
-				dto = transactionWrapper.execute(saveEntityDto, dto);
-				result = PushResult.OK;
-			} catch (Exception e) {
-				String errorMessage = createErrorMessage(dto);
-				errorMessage += e.getMessage();
-				if (e instanceof OutdatedEntityException || ExceptionUtils.getRootCause(e) instanceof OutdatedEntityException) {
-					logger.warn(errorMessage, e);
-					result = PushResult.TOO_OLD;
-				} else {
-					logger.error(errorMessage, e);
-					result = PushResult.ERROR;
+		for (int fromIndex = 0; fromIndex < dtos.size(); fromIndex += batchSize) {
+			List<T> batch = dtos.subList(fromIndex, Math.min(fromIndex + batchSize, dtos.size()));
+			if (batch.size() > 1 && saveBatch(batch, saveEntityDto)) {
+				batch.forEach(dto -> results.add(PushResult.OK));
+			} else {
+				for (T dto : batch) {
+					results.add(saveSingle(dto, saveEntityDto));
 				}
 			}
-			results.add(result);
 		}
 		return results;
 	}
 
+	private <T extends Object> boolean saveBatch(List<T> batch, Function<T, T> saveEntityDto) {
+
+		try {
+			transactionWrapper.executeAllOrNothing(dtos -> {
+				dtos.forEach(saveEntityDto::apply);
+				return null;
+			}, batch);
+			return true;
+		} catch (Exception e) {
+			logger.info("Saving a batch of " + batch.size() + " pushed entities failed, saving them one by one: " + e.getMessage());
+			return false;
+		}
+	}
+
+	private <T extends Object> PushResult saveSingle(T dto, Function<T, T> saveEntityDto) {
+
+		try {
+			transactionWrapper.executeAllOrNothing(saveEntityDto, dto);
+			return PushResult.OK;
+		} catch (Exception e) {
+			String errorMessage = createErrorMessage(dto);
+			errorMessage += e.getMessage();
+			if (e instanceof OutdatedEntityException || ExceptionUtils.getRootCause(e) instanceof OutdatedEntityException) {
+				logger.warn(errorMessage, e);
+				return PushResult.TOO_OLD;
+			} else {
+				logger.error(errorMessage, e);
+				return PushResult.ERROR;
+			}
+		}
+	}
+
 	protected <T extends Object> String createErrorMessage(T dto) {
 
 		final EntityDto entityDto = (EntityDto) dto;
@@ -46,7 +46,7 @@ import de.symeda.sormas.api.event.EventParticipantDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class EventParticipantResource extends EntityDtoResource {
+public class EventParticipantResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
@@ -75,4 +75,9 @@ public class EventParticipantResource extends EntityDtoResource {
 	public List<String> getAllActiveUuids() {
 		return FacadeProvider.getEventParticipantFacade().getAllActiveUuids();
 	}
+
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getEventParticipantFacade().getAllActiveUuids();
+	}
 }
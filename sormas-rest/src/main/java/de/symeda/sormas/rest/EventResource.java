@@ -39,7 +39,7 @@ import de.symeda.sormas.api.event.EventDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class EventResource extends EntityDtoResource {
+public class EventResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
@@ -67,6 +67,11 @@ public class EventResource extends EntityDtoResource {
 		return FacadeProvider.getEventFacade().getAllActiveUuids();
 	}
 
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getEventFacade().getAllActiveUuids();
+	}
+
 	@GET
 	@Path("/archived/{since}")
 	public List<String> getArchivedUuidsSince(@PathParam("since") long since) {
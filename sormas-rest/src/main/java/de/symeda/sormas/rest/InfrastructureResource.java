@@ -1,13 +1,28 @@
 package de.symeda.sormas.rest;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
 import javax.annotation.security.RolesAllowed;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.infrastructure.InfrastructureChangeDatesDto;
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
 
 @Path("/infrastructure")
@@ -17,9 +32,45 @@ import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
 	"REST_USER" })
 public class InfrastructureResource {
 
+	private static final String GZIP = "gzip";
+
 	@POST
 	@Path("/sync")
 	public InfrastructureSyncDto getInfrastructureSyncData(InfrastructureChangeDatesDto changeDates) {
 		return FacadeProvider.getInfrastructureFacade().getInfrastructureSyncData(changeDates);
 	}
+
+	/**
+	 * Delivers the precomputed infrastructure snapshot as gzip compressed JSON. The snapshot version is used as entity tag, so
+	 * clients can send it as If-None-Match to find out whether the snapshot has changed.
+	 */
+	@GET
+	@Path("/snapshot")
+	public Response getInfrastructureSnapshot(@Context Request request, @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+
+		InfrastructureSnapshotDto snapshot = FacadeProvider.getInfrastructureFacade().getInfrastructureSnapshot();
+		EntityTag entityTag = new EntityTag(snapshot.getVersion());
+
+		ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+		if (notModified != null) {
+			return notModified.build();
+		}
+
+		File snapshotFile = new File(snapshot.getFilePath());
+		if (acceptEncoding != null && acceptEncoding.contains(GZIP)) {
+			// the file is sent as it is, without decompressing and compressing it again
+			return Response.ok(snapshotFile).tag(entityTag).header(HttpHeaders.CONTENT_ENCODING, GZIP).build();
+		}
+
+		StreamingOutput uncompressed = output -> {
+			try (InputStream in = new GZIPInputStream(new FileInputStream(snapshotFile))) {
+				byte[] buffer = new byte[8192];
+				int read;
+				while ((read = in.read(buffer)) != -1) {
+					output.write(buffer, 0, read);
+				}
+			}
+		};
+		return Response.ok(uncompressed).tag(entityTag).build();
+	}
 }
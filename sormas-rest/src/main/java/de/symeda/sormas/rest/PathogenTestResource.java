@@ -39,7 +39,7 @@ import de.symeda.sormas.api.sample.PathogenTestDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class PathogenTestResource extends EntityDtoResource {
+public class PathogenTestResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
@@ -74,6 +74,11 @@ public class PathogenTestResource extends EntityDtoResource {
 		return FacadeProvider.getPathogenTestFacade().getAllActiveUuids();
 	}
 
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getPathogenTestFacade().getAllActiveUuids();
+	}
+
 	@GET
 	@Path("/deleted/{since}")
 	public List<String> getDeletedUuidsSince(@PathParam("since") long since) {
@@ -27,10 +27,13 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.person.PersonDto;
 
 /**
@@ -47,12 +50,18 @@ import de.symeda.sormas.api.person.PersonDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class PersonResource extends EntityDtoResource {
+public class PersonResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
-	public List<PersonDto> getAllPersons(@PathParam("since") long since) {
-		return FacadeProvider.getPersonFacade().getPersonsAfter(new Date(since));
+	public StreamingOutput getAllPersons(@PathParam("since") long since) {
+		return streamPages(cursor -> FacadeProvider.getPersonFacade().getPersonsPage(new Date(since), cursor));
+	}
+
+	@GET
+	@Path("/page/{since}")
+	public SyncPageDto<PersonDto> getPersonsPage(@PathParam("since") long since, @QueryParam("cursor") String cursor) {
+		return FacadeProvider.getPersonFacade().getPersonsPage(new Date(since), cursor);
 	}
 
 	@POST
@@ -72,4 +81,9 @@ public class PersonResource extends EntityDtoResource {
 	public List<String> getAllUuids() {
 		return FacadeProvider.getPersonFacade().getAllUuids();
 	}
+
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getPersonFacade().getAllUuids();
+	}
 }
@@ -39,7 +39,7 @@ import de.symeda.sormas.api.therapy.PrescriptionDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class PrescriptionResource extends EntityDtoResource {
+public class PrescriptionResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
@@ -64,4 +64,9 @@ public class PrescriptionResource extends EntityDtoResource {
 	public List<String> getAllActiveUuids() {
 		return FacadeProvider.getPrescriptionFacade().getAllActiveUuids();
 	}
+
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getPrescriptionFacade().getAllActiveUuids();
+	}
 }
@@ -27,10 +27,13 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.sample.SampleDto;
 
 @Path("/samples")
@@ -39,12 +42,18 @@ import de.symeda.sormas.api.sample.SampleDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class SampleResource extends EntityDtoResource {
+public class SampleResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
-	public List<SampleDto> getAllSamples(@PathParam("since") long since) {
-		return FacadeProvider.getSampleFacade().getAllActiveSamplesAfter(new Date(since));
+	public StreamingOutput getAllSamples(@PathParam("since") long since) {
+		return streamPages(cursor -> FacadeProvider.getSampleFacade().getAllActiveSamplesPage(new Date(since), cursor));
+	}
+
+	@GET
+	@Path("/page/{since}")
+	public SyncPageDto<SampleDto> getSamplesPage(@PathParam("since") long since, @QueryParam("cursor") String cursor) {
+		return FacadeProvider.getSampleFacade().getAllActiveSamplesPage(new Date(since), cursor);
 	}
 
 	@POST
@@ -74,6 +83,11 @@ public class SampleResource extends EntityDtoResource {
 		return FacadeProvider.getSampleFacade().getAllActiveUuids();
 	}
 
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getSampleFacade().getAllActiveUuids();
+	}
+
 	@GET
 	@Path("/deleted/{since}")
 	public List<String> getDeletedUuidsSince(@PathParam("since") long since) {
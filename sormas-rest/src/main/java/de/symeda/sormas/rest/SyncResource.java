@@ -0,0 +1,27 @@
+package de.symeda.sormas.rest;
+
+import javax.annotation.security.RolesAllowed;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import de.symeda.sormas.api.FacadeProvider;
+import de.symeda.sormas.api.SyncChangeDatesDto;
+import de.symeda.sormas.api.SyncManifestDto;
+
+@Path("/sync")
+@Produces(MediaType.APPLICATION_JSON + "; charset=UTF-8")
+@Consumes(MediaType.APPLICATION_JSON + "; charset=UTF-8")
+@RolesAllowed({
+	"USER",
+	"REST_USER" })
+public class SyncResource {
+
+	@POST
+	@Path("/manifest")
+	public SyncManifestDto getSyncManifest(SyncChangeDatesDto changeDates) {
+		return FacadeProvider.getSyncFacade().getSyncManifest(changeDates);
+	}
+}
@@ -27,10 +27,13 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.task.TaskDto;
 
 /**
@@ -47,12 +50,18 @@ import de.symeda.sormas.api.task.TaskDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class TaskResource extends EntityDtoResource {
+public class TaskResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
-	public List<TaskDto> getAll(@PathParam("since") long since) {
-		return FacadeProvider.getTaskFacade().getAllActiveTasksAfter(new Date(since));
+	public StreamingOutput getAll(@PathParam("since") long since) {
+		return streamPages(cursor -> FacadeProvider.getTaskFacade().getAllActiveTasksPage(new Date(since), cursor));
+	}
+
+	@GET
+	@Path("/page/{since}")
+	public SyncPageDto<TaskDto> getTasksPage(@PathParam("since") long since, @QueryParam("cursor") String cursor) {
+		return FacadeProvider.getTaskFacade().getAllActiveTasksPage(new Date(since), cursor);
 	}
 
 	@POST
@@ -76,4 +85,9 @@ public class TaskResource extends EntityDtoResource {
 	public List<String> getAllActiveUuids() {
 		return FacadeProvider.getTaskFacade().getAllActiveUuids();
 	}
+
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getTaskFacade().getAllActiveUuids();
+	}
 }
@@ -2,8 +2,10 @@ package de.symeda.sormas.rest;
 
 import java.util.function.Function;
 
+import javax.annotation.Resource;
 import javax.annotation.security.PermitAll;
 import javax.ejb.LocalBean;
+import javax.ejb.SessionContext;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
@@ -23,6 +25,9 @@ import javax.ejb.TransactionAttributeType;
 @PermitAll
 public class TransactionWrapper {
 
+	@Resource
+	private SessionContext sessionContext;
+
 	/**
 	 * Calls the passed function in a new JTA transaction.
 	 * 
@@ -37,4 +42,26 @@ public class TransactionWrapper {
 
 		return function.apply(data);
 	}
+
+	/**
+	 * Calls the passed function in a new JTA transaction that is rolled back when the function throws any exception.
+	 * Application exceptions like {@link de.symeda.sormas.api.utils.ValidationRuntimeException} don't roll back a transaction by
+	 * themselves, so the changes made before the exception would be committed otherwise.
+	 * 
+	 * @param function
+	 *            The business logic to be executed.
+	 * @param data
+	 *            The data to be processed.
+	 * @return The return value of the processing defined by {@code function} (typically a result/report).
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public <T, R> R executeAllOrNothing(Function<T, R> function, T data) {
+
+		try {
+			return function.apply(data);
+		} catch (RuntimeException e) {
+			sessionContext.setRollbackOnly();
+			throw e;
+		}
+	}
 }
@@ -22,7 +22,7 @@ import de.symeda.sormas.api.therapy.TreatmentDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class TreatmentResource extends EntityDtoResource {
+public class TreatmentResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
@@ -47,4 +47,9 @@ public class TreatmentResource extends EntityDtoResource {
 	public List<String> getAllActiveUuids() {
 		return FacadeProvider.getTreatmentFacade().getAllActiveUuids();
 	}
+
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getTreatmentFacade().getAllActiveUuids();
+	}
 }
@@ -0,0 +1,35 @@
+package de.symeda.sormas.rest;
+
+import java.util.List;
+
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+
+import de.symeda.sormas.api.UuidDigestDto;
+import de.symeda.sormas.api.utils.UuidDigestHelper;
+
+/**
+ * Lets the app find the uuids it is missing or should no longer have by comparing digests of the uuids, so only the uuids of
+ * the buckets that differ have to be transferred.
+ *
+ * @see UuidDigestHelper
+ */
+public abstract class UuidDigestResource extends EntityDtoResource {
+
+	/**
+	 * @return The uuids the app should have, like the uuids endpoint of the resource
+	 */
+	protected abstract List<String> getDigestedUuids();
+
+	@POST
+	@Path("/uuids/digests")
+	public List<UuidDigestDto> getUuidDigests(List<String> prefixes) {
+		return UuidDigestHelper.digest(getDigestedUuids(), prefixes);
+	}
+
+	@POST
+	@Path("/uuids/query")
+	public List<String> getUuidsByPrefixes(List<String> prefixes) {
+		return UuidDigestHelper.filterByPrefixes(getDigestedUuids(), prefixes);
+	}
+}
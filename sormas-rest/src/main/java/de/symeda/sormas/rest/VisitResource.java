@@ -27,10 +27,13 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
 import de.symeda.sormas.api.visit.VisitDto;
 
 /**
@@ -47,13 +50,18 @@ import de.symeda.sormas.api.visit.VisitDto;
 @RolesAllowed({
 	"USER",
 	"REST_USER" })
-public class VisitResource extends EntityDtoResource {
+public class VisitResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
-	public List<VisitDto> getAllVisits(@PathParam("since") long since) {
+	public StreamingOutput getAllVisits(@PathParam("since") long since) {
+		return streamPages(cursor -> FacadeProvider.getVisitFacade().getAllActiveVisitsPage(new Date(since), cursor));
+	}
 
-		return FacadeProvider.getVisitFacade().getAllActiveVisitsAfter(new Date(since));
+	@GET
+	@Path("/page/{since}")
+	public SyncPageDto<VisitDto> getVisitsPage(@PathParam("since") long since, @QueryParam("cursor") String cursor) {
+		return FacadeProvider.getVisitFacade().getAllActiveVisitsPage(new Date(since), cursor);
 	}
 
 	@POST
@@ -77,4 +85,9 @@ public class VisitResource extends EntityDtoResource {
 	public List<String> getAllActiveUuids() {
 		return FacadeProvider.getVisitFacade().getAllActiveUuids();
 	}
+
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getVisitFacade().getAllActiveUuids();
+	}
 }
@@ -39,7 +39,7 @@ import de.symeda.sormas.api.report.WeeklyReportDto;
 @Produces(MediaType.APPLICATION_JSON + "; charset=UTF-8")
 @Consumes(MediaType.APPLICATION_JSON + "; charset=UTF-8")
 @RolesAllowed("USER")
-public class WeeklyReportResource extends EntityDtoResource {
+public class WeeklyReportResource extends UuidDigestResource {
 
 	@GET
 	@Path("/all/{since}")
@@ -66,4 +66,9 @@ public class WeeklyReportResource extends EntityDtoResource {
 	public List<String> getAllUuids(@Context SecurityContext sc) {
 		return FacadeProvider.getWeeklyReportFacade().getAllUuids();
 	}
+
+	@Override
+	protected List<String> getDigestedUuids() {
+		return FacadeProvider.getWeeklyReportFacade().getAllUuids();
+	}
 }
@@ -0,0 +1,175 @@
+package de.symeda.sormas.rest;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.sormas.api.ConfigFacade;
+import de.symeda.sormas.api.FacadeProvider;
+import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPageDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.utils.OutdatedEntityException;
+import de.symeda.sormas.api.utils.ValidationRuntimeException;
+
+public class EntityDtoResourceTest {
+
+	private EntityDtoResource resource;
+
+	// entities saved in the current transaction and entities whose transaction has been committed
+	private final List<String> pendingUuids = new ArrayList<>();
+	private final List<String> committedUuids = new ArrayList<>();
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void createResource() throws ReflectiveOperationException {
+
+		// the transaction wrapper calls the function directly, like the container does within the new transaction
+		TransactionWrapper transactionWrapper = mock(TransactionWrapper.class);
+		when(transactionWrapper.execute(any(Function.class), any()))
+			.thenAnswer(invocation -> ((Function<Object, Object>) invocation.getArguments()[0]).apply(invocation.getArguments()[1]));
+		when(transactionWrapper.executeAllOrNothing(any(Function.class), any())).thenAnswer(invocation -> {
+			pendingUuids.clear();
+			try {
+				Object result = ((Function<Object, Object>) invocation.getArguments()[0]).apply(invocation.getArguments()[1]);
+				committedUuids.addAll(pendingUuids);
+				return result;
+			} finally {
+				pendingUuids.clear();
+			}
+		});
+
+		resource = new EntityDtoResource() {
+		};
+		Field field = EntityDtoResource.class.getDeclaredField("transactionWrapper");
+		field.setAccessible(true);
+		field.set(resource, transactionWrapper);
+
+		ConfigFacade configFacade = mock(ConfigFacade.class);
+		when(configFacade.getPushBatchSize()).thenReturn(10);
+		setFacadeProvider(new FacadeProvider() {
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public <P> P lookupEjbRemote(Class<P> clazz) {
+				if (clazz == ConfigFacade.class) {
+					return (P) configFacade;
+				}
+				throw new UnsupportedOperationException(clazz.getSimpleName());
+			}
+		});
+	}
+
+	@After
+	public void resetFacadeProvider() throws ReflectiveOperationException {
+		setFacadeProvider(null);
+	}
+
+	private static void setFacadeProvider(FacadeProvider facadeProvider) throws ReflectiveOperationException {
+
+		Field instance = FacadeProvider.class.getDeclaredField("instance");
+		instance.setAccessible(true);
+		instance.set(null, facadeProvider);
+	}
+
+	@Test
+	public void testSavePushedDtoRollsBackFailedBatch() {
+
+		PersonDto first = PersonDto.build();
+		PersonDto invalid = PersonDto.build();
+		PersonDto last = PersonDto.build();
+		Arrays.asList(first, invalid, last).forEach(person -> person.setChangeDate(new Date()));
+
+		List<PushResult> results = resource.savePushedDto(Arrays.asList(first, invalid, last), dto -> {
+			if (dto == invalid) {
+				throw new ValidationRuntimeException("Invalid person");
+			}
+			// saving an entity a second time with the same change date fails
+			if (committedUuids.contains(dto.getUuid())) {
+				throw new OutdatedEntityException(dto.getUuid(), PersonDto.class);
+			}
+			pendingUuids.add(dto.getUuid());
+			return dto;
+		});
+
+		assertThat(results, contains(PushResult.OK, PushResult.ERROR, PushResult.OK));
+		assertThat(committedUuids, containsInAnyOrder(first.getUuid(), last.getUuid()));
+	}
+
+	@Test
+	public void testStreamPages() throws IOException {
+
+		PersonDto first = PersonDto.build();
+		PersonDto second = PersonDto.build();
+		StreamingOutput output = resource.streamPages(
+			cursor -> cursor == null
+				? new SyncPageDto<>(Collections.singletonList(first), "1")
+				: new SyncPageDto<>(Collections.singletonList(second), null));
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		output.write(bytes);
+
+		JsonNode json = new ObjectMapper().readTree(bytes.toByteArray());
+		assertEquals(2, json.size());
+		assertEquals(first.getUuid(), json.get(0).get(PersonDto.UUID).asText());
+		assertEquals(second.getUuid(), json.get(1).get(PersonDto.UUID).asText());
+	}
+
+	@Test
+	public void testStreamPagesFailsIncompleteResponse() {
+
+		PersonDto first = PersonDto.build();
+		StreamingOutput output = resource.streamPages(cursor -> {
+			if (cursor == null) {
+				return new SyncPageDto<>(Collections.singletonList(first), "1");
+			}
+			throw new IllegalStateException("Loading the second page failed");
+		});
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			output.write(bytes);
+			fail("The failure has to abort the response");
+		} catch (IOException e) {
+			// expected
+		}
+
+		// the first page has already been sent, but the array is not closed
+		assertThat(new String(bytes.toByteArray(), StandardCharsets.UTF_8), containsString(first.getUuid()));
+		try {
+			new ObjectMapper().readTree(bytes.toByteArray());
+			fail("Clients must not be able to parse the incomplete response");
+		} catch (JsonProcessingException e) {
+			// expected
+		} catch (IOException e) {
+			fail(e.getMessage());
+		}
+	}
+}
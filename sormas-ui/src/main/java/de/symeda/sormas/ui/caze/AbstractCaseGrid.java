@@ -207,7 +207,7 @@ public abstract class AbstractCaseGrid<IndexDto extends CaseIndexDto> extends Fi
 					.stream()
 					.map(sortOrder -> new SortProperty(sortOrder.getSorted(), sortOrder.getDirection() == SortDirection.ASCENDING))
 					.collect(Collectors.toList())).stream(),
-			query -> (int) FacadeProvider.getCaseFacade().count(query.getFilter().orElse(null)));
+			query -> (int) FacadeProvider.getCaseFacade().count(query.getFilter().orElse(null), getLazyCountStrategy(), LAZY_COUNT_LIMIT));
 		setDataProvider(dataProvider);
 		setSelectionMode(SelectionMode.NONE);
 	}
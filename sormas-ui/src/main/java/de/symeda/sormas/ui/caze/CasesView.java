@@ -198,11 +198,17 @@ public class CasesView extends AbstractView {
 			}
 
 			{
-				StreamResource exportStreamResource = DownloadUtil.createCsvExportStreamResource(
+				StreamResource exportStreamResource = DownloadUtil.createKeysetCsvExportStreamResource(
 					CaseExportDto.class,
 					CaseExportType.CASE_SURVEILLANCE,
-					(Integer start, Integer max) -> FacadeProvider.getCaseFacade()
-						.getExportList(grid.getCriteria(), CaseExportType.CASE_SURVEILLANCE, start, max, null, I18nProperties.getUserLanguage()),
+					(CaseExportDto after) -> FacadeProvider.getCaseFacade()
+						.getExportListAfter(
+							grid.getCriteria(),
+							CaseExportType.CASE_SURVEILLANCE,
+							after != null ? after.getId() : null,
+							DownloadUtil.DETAILED_EXPORT_BLOCK_SIZE,
+							null,
+							I18nProperties.getUserLanguage()),
 					(propertyId, type) -> {
 						String caption = I18nProperties.findPrefixCaption(
 							propertyId,
@@ -277,11 +283,17 @@ public class CasesView extends AbstractView {
 					customExportsLayout.setExportCallback((exportConfig) -> {
 						Page.getCurrent()
 							.open(
-								DownloadUtil.createCsvExportStreamResource(
+								DownloadUtil.createKeysetCsvExportStreamResource(
 									CaseExportDto.class,
 									null,
-									(Integer start, Integer max) -> FacadeProvider.getCaseFacade()
-										.getExportList(grid.getCriteria(), null, start, max, exportConfig, I18nProperties.getUserLanguage()),
+									(CaseExportDto after) -> FacadeProvider.getCaseFacade()
+										.getExportListAfter(
+											grid.getCriteria(),
+											null,
+											after != null ? after.getId() : null,
+											DownloadUtil.DETAILED_EXPORT_BLOCK_SIZE,
+											exportConfig,
+											I18nProperties.getUserLanguage()),
 									(propertyId, type) -> {
 										String caption = I18nProperties.findPrefixCaption(
 											propertyId,
@@ -644,7 +656,7 @@ public class CasesView extends AbstractView {
 		CssStyles.removeStyles(activeStatusButton, CssStyles.BUTTON_FILTER_LIGHT);
 		if (activeStatusButton != null) {
 			activeStatusButton
-				.setCaption(statusButtons.get(activeStatusButton) + LayoutUtil.spanCss(CssStyles.BADGE, String.valueOf(grid.getItemCount())));
+				.setCaption(statusButtons.get(activeStatusButton) + LayoutUtil.spanCss(CssStyles.BADGE, grid.getItemCountCaption()));
 		}
 	}
 }
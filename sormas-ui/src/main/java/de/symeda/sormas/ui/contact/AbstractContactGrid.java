@@ -185,7 +185,7 @@ public abstract class AbstractContactGrid<IndexDTO extends ContactIndexDto> exte
 					.stream()
 					.map(sortOrder -> new SortProperty(sortOrder.getSorted(), sortOrder.getDirection() == SortDirection.ASCENDING))
 					.collect(Collectors.toList())).stream(),
-			query -> (int) FacadeProvider.getContactFacade().count(query.getFilter().orElse(null)));
+			query -> (int) FacadeProvider.getContactFacade().count(query.getFilter().orElse(null), getLazyCountStrategy(), LAZY_COUNT_LIMIT));
 		setDataProvider(dataProvider);
 		setSelectionMode(SelectionMode.NONE);
 	}
@@ -152,7 +152,7 @@ public class ContactFollowUpGrid extends FilteredGrid<ContactFollowUpDto, Contac
 						.map(sortOrder -> new SortProperty(sortOrder.getSorted(), sortOrder.getDirection() == SortDirection.ASCENDING))
 						.collect(Collectors.toList()))
 				.stream(),
-			query -> (int) FacadeProvider.getContactFacade().count(query.getFilter().orElse(null)));
+			query -> (int) FacadeProvider.getContactFacade().count(query.getFilter().orElse(null), getLazyCountStrategy(), LAZY_COUNT_LIMIT));
 		setDataProvider(dataProvider);
 		setSelectionMode(SelectionMode.NONE);
 	}
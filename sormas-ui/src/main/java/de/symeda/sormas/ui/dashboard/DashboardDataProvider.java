@@ -19,22 +19,17 @@ package de.symeda.sormas.ui.dashboard;
 
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.FacadeProvider;
-import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.DashboardCaseDto;
-import de.symeda.sormas.api.caze.NewCaseDateType;
 import de.symeda.sormas.api.contact.DashboardContactDto;
+import de.symeda.sormas.api.dashboard.DashboardDataDto;
 import de.symeda.sormas.api.disease.DiseaseBurdenDto;
 import de.symeda.sormas.api.event.DashboardEventDto;
-import de.symeda.sormas.api.event.EventCriteria;
 import de.symeda.sormas.api.event.EventStatus;
-import de.symeda.sormas.api.outbreak.OutbreakCriteria;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
 import de.symeda.sormas.api.region.RegionReferenceDto;
 import de.symeda.sormas.api.sample.DashboardTestResultDto;
@@ -83,60 +78,31 @@ public class DashboardDataProvider {
 	private void refreshDataForSelectedDisease() {
 
 		// Update the entities lists according to the filters
-
+		// The dashboard facade loads the data concurrently in one call
+		DashboardDataDto data;
 		if (getDashboardType() == DashboardType.CONTACTS) {
+			data = FacadeProvider.getDashboardFacade()
+				.getContactsDashboardData(region, district, disease, fromDate, toDate, previousFromDate, previousToDate);
 			// Contacts
-			setContacts(FacadeProvider.getContactFacade().getContactsForDashboard(region, district, disease, fromDate, toDate));
-			setPreviousContacts(
-				FacadeProvider.getContactFacade().getContactsForDashboard(region, district, disease, previousFromDate, previousToDate));
-		}
-
-		if (getDashboardType() == DashboardType.CONTACTS || this.disease != null) {
-			// Cases
-			CaseCriteria caseCriteria = new CaseCriteria();
-			caseCriteria.region(region).district(district).disease(disease).newCaseDateBetween(fromDate, toDate, NewCaseDateType.MOST_RELEVANT);
-			setCases(FacadeProvider.getCaseFacade().getCasesForDashboard(caseCriteria));
-			setLastReportedDistrict(FacadeProvider.getCaseFacade().getLastReportedDistrictName(caseCriteria, true, true));
-
-			caseCriteria.newCaseDateBetween(previousFromDate, previousToDate, NewCaseDateType.MOST_RELEVANT);
-			setPreviousCases(FacadeProvider.getCaseFacade().getCasesForDashboard(caseCriteria));
-
-			if (getDashboardType() != DashboardType.CONTACTS) {
-				if (getCases().size() > 0) {
-					setTestResultCountByResultType(
-						FacadeProvider.getSampleFacade()
-							.getNewTestResultCountByResultType(getCases().stream().map(c -> c.getId()).collect(Collectors.toList())));
-				} else {
-					setTestResultCountByResultType(new HashMap<>());
-				}
-			}
-		}
-
-		if (this.disease == null || getDashboardType() == DashboardType.CONTACTS) {
+			setContacts(data.getContacts());
+			setPreviousContacts(data.getPreviousContacts());
+		} else if (this.disease != null) {
+			data = FacadeProvider.getDashboardFacade()
+				.getSurveillanceDashboardData(region, district, disease, fromDate, toDate, previousFromDate, previousToDate);
+			setTestResultCountByResultType(data.getTestResultCountByResultType());
+			// Events
+			setEvents(data.getEvents());
+			setPreviousEvents(data.getPreviousEvents());
+			setEventCountByStatus(data.getEventCountByStatus());
+			setOutbreakDistrictCount(data.getOutbreakDistrictCount());
+		} else {
 			return;
 		}
 
-		// Events
-		EventCriteria eventCriteria = new EventCriteria();
-		eventCriteria.region(region).district(district).disease(disease).reportedBetween(fromDate, toDate);
-		setEvents(FacadeProvider.getEventFacade().getNewEventsForDashboard(eventCriteria));
-
-		eventCriteria.reportedBetween(previousFromDate, previousToDate);
-		setPreviousEvents(FacadeProvider.getEventFacade().getNewEventsForDashboard(eventCriteria));
-
-		eventCriteria.reportedBetween(fromDate, toDate);
-		setEventCountByStatus(FacadeProvider.getEventFacade().getEventCountByStatus(eventCriteria));
-
-		// Test results
-		//		setTestResults(FacadeProvider.getPathogenTestFacade().getNewTestResultsForDashboard(region, district, disease,
-		//				fromDate, toDate, userUuid));
-		//		setPreviousTestResults(FacadeProvider.getPathogenTestFacade().getNewTestResultsForDashboard(region, district,
-		//				disease, previousFromDate, previousToDate, userUuid));
-
-		setOutbreakDistrictCount(
-			FacadeProvider.getOutbreakFacade()
-				.getOutbreakDistrictCount(
-					new OutbreakCriteria().region(region).district(district).disease(disease).reportedBetween(fromDate, toDate)));
+		// Cases
+		setCases(data.getCases());
+		setPreviousCases(data.getPreviousCases());
+		setLastReportedDistrict(data.getLastReportedDistrictName());
 	}
 
 	public List<DashboardCaseDto> getCases() {
@@ -30,24 +30,18 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -72,12 +66,7 @@ import com.vaadin.v7.ui.CheckBox;
 import com.vaadin.v7.ui.Grid.Column;
 
 import de.symeda.sormas.api.AgeGroup;
-import de.symeda.sormas.api.EntityDto;
 import de.symeda.sormas.api.FacadeProvider;
-import de.symeda.sormas.api.Language;
-import de.symeda.sormas.api.caze.AgeAndBirthDateDto;
-import de.symeda.sormas.api.caze.BirthDateDto;
-import de.symeda.sormas.api.caze.BurialInfoDto;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseDataDto;
 import de.symeda.sormas.api.caze.CaseExportDto;
@@ -94,11 +83,9 @@ import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Strings;
 import de.symeda.sormas.api.importexport.DatabaseTable;
 import de.symeda.sormas.api.importexport.ExportConfigurationDto;
-import de.symeda.sormas.api.importexport.ExportProperty;
-import de.symeda.sormas.api.importexport.ExportTarget;
+import de.symeda.sormas.api.importexport.ExportCsvWriter;
 import de.symeda.sormas.api.infrastructure.PopulationDataDto;
 import de.symeda.sormas.api.person.PersonDto;
-import de.symeda.sormas.api.person.PersonHelper;
 import de.symeda.sormas.api.person.Sex;
 import de.symeda.sormas.api.symptoms.SymptomsDto;
 import de.symeda.sormas.api.therapy.PrescriptionDto;
@@ -109,10 +96,7 @@ import de.symeda.sormas.api.utils.CSVUtils;
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.utils.ExportErrorException;
-import de.symeda.sormas.api.utils.Order;
-import de.symeda.sormas.api.utils.fieldvisibility.checkers.CountryFieldVisibilityChecker;
 import de.symeda.sormas.api.visit.VisitDto;
-import de.symeda.sormas.api.visit.VisitExportType;
 import de.symeda.sormas.api.visit.VisitSummaryExportDto;
 import de.symeda.sormas.ui.statistics.DatabaseExportView;
 
@@ -123,6 +107,11 @@ public final class DownloadUtil {
 	}
 
 	public static final int DETAILED_EXPORT_STEP_SIZE = 50;
+	/**
+	 * Block size for exports that use keyset paging, which makes retrieving the following blocks independent of the rows
+	 * that have already been exported.
+	 */
+	public static final int DETAILED_EXPORT_BLOCK_SIZE = 1000;
 
 	public static StreamResource createDatabaseExportStreamResource(DatabaseExportView databaseExportView, String fileName, String mimeType) {
 
@@ -291,11 +280,17 @@ public final class DownloadUtil {
 
 	public static StreamResource createCaseManagementExportResource(CaseCriteria criteria, String exportFileName) {
 
-		StreamResource casesResource = createCsvExportStreamResource(
+		StreamResource casesResource = createKeysetCsvExportStreamResource(
 			CaseExportDto.class,
 			CaseExportType.CASE_MANAGEMENT,
-			(Integer start, Integer max) -> FacadeProvider.getCaseFacade()
-				.getExportList(criteria, CaseExportType.CASE_MANAGEMENT, start, max, null, I18nProperties.getUserLanguage()),
+			(CaseExportDto after) -> FacadeProvider.getCaseFacade()
+				.getExportListAfter(
+					criteria,
+					CaseExportType.CASE_MANAGEMENT,
+					after != null ? after.getId() : null,
+					DETAILED_EXPORT_BLOCK_SIZE,
+					null,
+					I18nProperties.getUserLanguage()),
 			(propertyId, type) -> {
 				String caption = I18nProperties.getPrefixCaption(
 					CaseExportDto.I18N_PREFIX,
@@ -577,136 +572,76 @@ public final class DownloadUtil {
 		String exportFileName,
 		ExportConfigurationDto exportConfiguration) {
 
+		return createCsvExportStreamResource(exportRowClass, exportType, () -> {
+			int[] startIndex = {
+				0 };
+			return () -> {
+				List<T> exportRows = exportRowsSupplier.apply(startIndex[0], DETAILED_EXPORT_STEP_SIZE);
+				startIndex[0] += DETAILED_EXPORT_STEP_SIZE;
+				return exportRows;
+			};
+		}, propertyIdCaptionFunction, exportFileName, exportConfiguration);
+	}
 
-		CountryFieldVisibilityChecker countryFieldVisibilityChecker = new CountryFieldVisibilityChecker(FacadeProvider.getConfigFacade().getCountryLocale());
-		StreamResource extendedStreamResource = new StreamResource(() -> {
+	/**
+	 * Like {@link #createCsvExportStreamResource(Class, Enum, BiFunction, BiFunction, String, ExportConfigurationDto)}, but the rows are
+	 * retrieved in blocks that follow the last row of the previous block (keyset paging), which avoids re-reading all previous rows
+	 * for every block.
+	 * 
+	 * @param exportRowsAfterSupplier
+	 *            Retrieves the next block of rows following the given row (null for the first block). An empty block ends the export.
+	 */
+	public static <T> StreamResource createKeysetCsvExportStreamResource(
+		Class<T> exportRowClass,
+		Enum<?> exportType,
+		Function<T, List<T>> exportRowsAfterSupplier,
+		BiFunction<String, Class<?>, String> propertyIdCaptionFunction,
+		String exportFileName,
+		ExportConfigurationDto exportConfiguration) {
 
-			return new DelayedInputStream((out) -> {
-				try (CSVWriter writer = CSVUtils.createCSVWriter(
-					new OutputStreamWriter(out, StandardCharsets.UTF_8.name()),
-					FacadeProvider.getConfigFacade().getCsvSeparator())) {
-
-					// 1. fields in order of declaration - not using Introspector here, because it gives properties in alphabetical order
-					List<Method> readMethods = new ArrayList<Method>();
-					readMethods.addAll(
-						Arrays.stream(exportRowClass.getDeclaredMethods())
-							.filter(
-								m -> (m.getName().startsWith("get") || m.getName().startsWith("is"))
-									&& m.isAnnotationPresent(Order.class)
-									&& (countryFieldVisibilityChecker.isVisible(m))
-									&& (exportType == null || hasExportTarget(exportType, m))
-									&& (exportConfiguration == null
-										|| exportConfiguration.getProperties().contains(m.getAnnotation(ExportProperty.class).value())))
-							.sorted(Comparator.comparingInt(a -> a.getAnnotationsByType(Order.class)[0].value()))
-							.collect(Collectors.toList()));
-
-					// 2. replace entity fields with all the columns of the entity
-					Map<Method, Function<T, ?>> subEntityProviders = new HashMap<Method, Function<T, ?>>();
-					for (int i = 0; i < readMethods.size(); i++) {
-						Method method = readMethods.get(i);
-						if (EntityDto.class.isAssignableFrom(method.getReturnType())) {
-
-							// allows us to access the sub entity
-							Function<T, ?> subEntityProvider = o -> {
-								try {
-									return method.invoke(o);
-								} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-									throw new RuntimeException(e);
-								}
-							};
+		return createCsvExportStreamResource(exportRowClass, exportType, () -> {
+			List<T> previousRows = new ArrayList<>();
+			return () -> {
+				List<T> exportRows = exportRowsAfterSupplier.apply(previousRows.isEmpty() ? null : previousRows.get(previousRows.size() - 1));
+				previousRows.clear();
+				previousRows.addAll(exportRows);
+				return exportRows;
+			};
+		}, propertyIdCaptionFunction, exportFileName, exportConfiguration);
+	}
 
-							// remove entity field
-							readMethods.remove(i);
+	/**
+	 * @param exportRowsSupplierFactory
+	 *            Creates a supplier of the consecutive blocks of rows for each download
+	 */
+	private static <T> StreamResource createCsvExportStreamResource(
+		Class<T> exportRowClass,
+		Enum<?> exportType,
+		Supplier<Supplier<List<T>>> exportRowsSupplierFactory,
+		BiFunction<String, Class<?>, String> propertyIdCaptionFunction,
+		String exportFileName,
+		ExportConfigurationDto exportConfiguration) {
 
-							// add columns of the entity
-							List<Method> subReadMethods = Arrays.stream(method.getReturnType().getDeclaredMethods())
-								.filter(m -> (m.getName().startsWith("get") || m.getName().startsWith("is")) && m.isAnnotationPresent(Order.class))
-								.sorted(Comparator.comparingInt(a2 -> a2.getAnnotationsByType(Order.class)[0].value()))
-								.collect(Collectors.toList());
-							readMethods.addAll(i, subReadMethods);
-							i--;
+		String countryLocale = FacadeProvider.getConfigFacade().getCountryLocale();
+		StreamResource extendedStreamResource = new StreamResource(() -> {
 
-							for (Method subReadMethod : subReadMethods) {
-								subEntityProviders.put(subReadMethod, subEntityProvider);
-							}
-						}
-					}
+			return new DelayedInputStream((out) -> {
+				try (ExportCsvWriter<T> writer = new ExportCsvWriter<>(
+					new OutputStreamWriter(out, StandardCharsets.UTF_8.name()),
+					FacadeProvider.getConfigFacade().getCsvSeparator(),
+					exportRowClass,
+					exportType,
+					exportConfiguration,
+					countryLocale,
+					I18nProperties.getUserLanguage())) {
 
-					String[] fieldValues = new String[readMethods.size()];
-					for (int i = 0; i < readMethods.size(); i++) {
-						final Method method = readMethods.get(i);
-						// field caption
-						String propertyId = method.getName().startsWith("get") ? method.getName().substring(3) : method.getName().substring(2);
-						if (method.isAnnotationPresent(ExportProperty.class)) {
-							// TODO not sure why we are using the export property name to get the caption here
-							final ExportProperty exportProperty = method.getAnnotation(ExportProperty.class);
-							if (!exportProperty.combined()) {
-								propertyId = exportProperty.value();
-							}
-						}
-						propertyId = Character.toLowerCase(propertyId.charAt(0)) + propertyId.substring(1);
-						fieldValues[i] = propertyIdCaptionFunction.apply(propertyId, method.getReturnType());
-					}
-					writer.writeNext(fieldValues);
+					writer.writeHeader(propertyIdCaptionFunction);
 
-					int startIndex = 0;
-					List<T> exportRows = exportRowsSupplier.apply(startIndex, DETAILED_EXPORT_STEP_SIZE);
-					Language userLanguage = I18nProperties.getUserLanguage();
+					Supplier<List<T>> exportRowsSupplier = exportRowsSupplierFactory.get();
+					List<T> exportRows = exportRowsSupplier.get();
 					while (!exportRows.isEmpty()) {
-						try {
-							for (T exportRow : exportRows) {
-								for (int i = 0; i < readMethods.size(); i++) {
-									Method method = readMethods.get(i);
-									Function<T, ?> subEntityProvider = subEntityProviders.getOrDefault(method, null);
-									Object entity = subEntityProvider != null ? subEntityProvider.apply(exportRow) : exportRow;
-									// Sub entity might be null
-									Object value = entity != null ? method.invoke(entity) : null;
-									if (value == null) {
-										fieldValues[i] = "";
-									} else if (value instanceof Date) {
-										fieldValues[i] = DateFormatHelper.formatDate((Date) value);
-									} else if (value.getClass().equals(boolean.class) || value.getClass().equals(Boolean.class)) {
-										fieldValues[i] = DataHelper.parseBoolean((Boolean) value);
-									} else if (value instanceof Set) {
-										StringBuilder sb = new StringBuilder();
-										for (Object o : (Set<?>) value) {
-											if (sb.length() != 0) {
-												sb.append(", ");
-											}
-											sb.append(o);
-										}
-										fieldValues[i] = sb.toString();
-									} else if (value instanceof BurialInfoDto) {
-										fieldValues[i] = PersonHelper.buildBurialInfoString((BurialInfoDto) value, userLanguage);
-									} else if (value instanceof AgeAndBirthDateDto) {
-										AgeAndBirthDateDto ageAndBirthDate = (AgeAndBirthDateDto) value;
-										fieldValues[i] = PersonHelper.getAgeAndBirthdateString(
-											ageAndBirthDate.getAge(),
-											ageAndBirthDate.getAgeType(),
-											ageAndBirthDate.getBirthdateDD(),
-											ageAndBirthDate.getBirthdateMM(),
-											ageAndBirthDate.getBirthdateYYYY(),
-											userLanguage);
-									} else if (value instanceof BirthDateDto) {
-										BirthDateDto birthDate = (BirthDateDto) value;
-										fieldValues[i] = PersonHelper.formatBirthdate(
-											birthDate.getBirthdateDD(),
-											birthDate.getBirthdateMM(),
-											birthDate.getBirthdateYYYY(),
-											userLanguage);
-									} else {
-										fieldValues[i] = value.toString();
-									}
-								}
-								writer.writeNext(fieldValues);
-							} ;
-						} catch (InvocationTargetException | IllegalAccessException | IllegalArgumentException e) {
-							throw new RuntimeException(e);
-						}
-
-						writer.flush();
-						startIndex += DETAILED_EXPORT_STEP_SIZE;
-						exportRows = exportRowsSupplier.apply(startIndex, DETAILED_EXPORT_STEP_SIZE);
+						writer.writeRows(exportRows);
+						exportRows = exportRowsSupplier.get();
 					}
 				}
 				catch (Exception e) {
@@ -732,30 +667,6 @@ public final class DownloadUtil {
 		return extendedStreamResource;
 	}
 
-	@SuppressWarnings("rawtypes")
-	private static boolean hasExportTarget(Enum<?> exportType, Method m) {
-
-		if (m.isAnnotationPresent(ExportTarget.class)) {
-			final Class<? extends Enum> exportTypeClass = exportType.getClass();
-			final ExportTarget exportTarget = m.getAnnotation(ExportTarget.class);
-			Supplier<Enum[]> exportTypeSupplier = null;
-			if (exportTypeClass.isAssignableFrom(CaseExportType.class)) {
-				exportTypeSupplier = exportTarget::caseExportTypes;
-			}
-			if (exportTypeClass.isAssignableFrom(VisitExportType.class)) {
-				exportTypeSupplier = exportTarget::visitExportTypes;
-
-			}
-			return exportTypeSupplier == null ? false : containsExportType(exportType, exportTypeSupplier);
-		}
-		return false;
-	}
-
-	@SuppressWarnings("rawtypes")
-	private static boolean containsExportType(Enum<?> exportType, Supplier<Enum[]> supplier) {
-		return Arrays.asList(supplier.get()).contains(exportType);
-	}
-
 	/**
 	 * <p>
 	 * When downloading a Resource via FileDownloader,
@@ -11,11 +11,20 @@ import com.vaadin.ui.Grid;
 import com.vaadin.ui.renderers.HtmlRenderer;
 
 import de.symeda.sormas.api.BaseCriteria;
+import de.symeda.sormas.api.user.JurisdictionLevel;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.CountStrategy;
+import de.symeda.sormas.ui.UserProvider;
 
 public class FilteredGrid<T, C extends BaseCriteria> extends Grid<T> {
 
 	public static final String EDIT_BTN_ID = "edit";
 
+	/**
+	 * The maximum number of entities shown by lazy grids that use {@link CountStrategy#HAS_MORE}.
+	 */
+	public static final int LAZY_COUNT_LIMIT = 10000;
+
 	private static final long serialVersionUID = 8116377533153377424L;
 
 	private C criteria;
@@ -63,10 +72,36 @@ public class FilteredGrid<T, C extends BaseCriteria> extends Grid<T> {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * National users have access to all entities, so their lazy grids only count up to {@link #LAZY_COUNT_LIMIT} entities.
+	 * Other users count all of their entities, but the count is reused for a short time.
+	 */
+	protected CountStrategy getLazyCountStrategy() {
+
+		if (UserRole.getJurisdictionLevel(UserProvider.getCurrent().getUserRoles()) == JurisdictionLevel.NATION) {
+			return CountStrategy.HAS_MORE;
+		} else {
+			return CountStrategy.CACHED;
+		}
+	}
+
 	public int getItemCount() {
 		return getDataProvider().size(new Query<>());
 	}
 
+	/**
+	 * @return The number of items to show e.g. in a badge; "10000+" if the grid uses {@link CountStrategy#HAS_MORE} and there are
+	 *         more than {@link #LAZY_COUNT_LIMIT} items
+	 */
+	public String getItemCountCaption() {
+
+		int itemCount = getItemCount();
+		if (!inEagerMode && itemCount > LAZY_COUNT_LIMIT && getLazyCountStrategy() == CountStrategy.HAS_MORE) {
+			return LAZY_COUNT_LIMIT + "+";
+		}
+		return String.valueOf(itemCount);
+	}
+
 	protected void addEditColumn(Consumer<T> handler) {
 
 		Column<T, String> editColumn = addColumn(entry -> VaadinIcons.EDIT.getHtml(), new HtmlRenderer());
@@ -42,7 +42,7 @@ import de.symeda.sormas.backend.outbreak.OutbreakFacadeEjb.OutbreakFacadeEjbLoca
 import de.symeda.sormas.backend.person.PersonFacadeEjb.PersonFacadeEjbLocal;
 import de.symeda.sormas.backend.region.CommunityFacadeEjb.CommunityFacadeEjbLocal;
 import de.symeda.sormas.backend.region.DistrictFacadeEjb.DistrictFacadeEjbLocal;
-import de.symeda.sormas.backend.region.GeoShapeProviderEjb.GeoShapeProviderEjbLocal;
+import de.symeda.sormas.backend.region.GeoShapeProviderEjb;
 import de.symeda.sormas.backend.region.RegionFacadeEjb.RegionFacadeEjbLocal;
 import de.symeda.sormas.backend.report.WeeklyReportFacadeEjb.WeeklyReportFacadeEjbLocal;
 import de.symeda.sormas.backend.sample.PathogenTestFacadeEjb.PathogenTestFacadeEjbLocal;
@@ -96,7 +96,7 @@ public final class FacadeProviderMock extends FacadeProvider {
 		} else if (WeeklyReportFacade.class == clazz) {
 			return (P) bm.getBean(WeeklyReportFacadeEjbLocal.class);
 		} else if (GeoShapeProvider.class == clazz) {
-			return (P) bm.getBean(GeoShapeProviderEjbLocal.class);
+			return (P) bm.getBean(GeoShapeProviderEjb.class);
 		} else if (OutbreakFacade.class == clazz) {
 			return (P) bm.getBean(OutbreakFacadeEjbLocal.class);
 		} else if (ConfigFacade.class == clazz) {